@@ -1,40 +1,157 @@
 import building.Building;
-import building.Controller;
-import building.Elevator;
-import human.Human;
+import config.OutputSink;
+import config.SimulationConfig;
+import config.SimulationMode;
+import simulation.Checkpoint;
+import simulation.ConvergenceResult;
+import simulation.ShardedSimulation;
+import simulation.Simulation;
+import simulation.SimulationResult;
 import util.HumanGenerator;
+import util.SpeedReporter;
 import util.UserInterface;
+import util.columnar.ColumnarJourneyRecorder;
+import util.lock.LockProfiler;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
 
 public class Main {
-    public static void main(String[] args) {
-        int numberOfFloors = 10;
-        int capacityOfElevator = 500;
-        int startFloorNumber = 0;
-        int movingSpeed = 100;
-        int doorWorkSpeed = 100;
-        int generatingSpeed = 100;
-        int userInterfaceRenderingSpeed = 600;
-
-        Building building = Building.of(numberOfFloors)
-                .setController(Controller.getEmpty())
-                .addElevator(Elevator.of(capacityOfElevator, startFloorNumber, movingSpeed, doorWorkSpeed))
-                .addElevator(Elevator.of(capacityOfElevator, startFloorNumber, movingSpeed, doorWorkSpeed))
-                .addElevator(Elevator.of(capacityOfElevator, startFloorNumber, movingSpeed, doorWorkSpeed))
-                .addElevator(Elevator.of(capacityOfElevator, startFloorNumber, movingSpeed, doorWorkSpeed))
-                .addElevator(Elevator.of(capacityOfElevator, startFloorNumber, movingSpeed, doorWorkSpeed))
-                .addElevator(Elevator.of(capacityOfElevator, startFloorNumber, movingSpeed, doorWorkSpeed))
-                .addElevator(Elevator.of(capacityOfElevator, startFloorNumber, movingSpeed, doorWorkSpeed))
-                .addElevator(Elevator.of(capacityOfElevator, startFloorNumber, movingSpeed, doorWorkSpeed))
-                .addElevator(Elevator.of(capacityOfElevator, startFloorNumber, movingSpeed, doorWorkSpeed))
-                .addElevator(Elevator.of(capacityOfElevator, startFloorNumber, movingSpeed, doorWorkSpeed));
-
-        HumanGenerator humanGenerator = HumanGenerator.of(building,
-                Human.MIN_WEIGHT, Human.MAX_WEIGHT, generatingSpeed);
-
-        UserInterface userInterface = UserInterface.of(building, userInterfaceRenderingSpeed);
+    public static void main(String[] args) throws IOException {
+        SimulationConfig config = args.length > 0
+                ? SimulationConfig.load(Paths.get(args[0]))
+                : SimulationConfig.loadDefault();
+        if (config.getSinks().contains(OutputSink.LOCKS)) {
+            LockProfiler.enable();
+        }
+
+        if (config.getMode() == SimulationMode.FAST) {
+            Simulation simulation = config.createSimulation();
+            ColumnarJourneyRecorder recorder = config.getSinks().contains(OutputSink.COLUMNAR)
+                    ? ColumnarJourneyRecorder.of(config.getColumnarPath())
+                    : null;
+            simulation.getBuilding().getStatistics().setRecorder(recorder);
+            if (config.getCheckpointLoadPath() != null) {
+                Checkpoint.restore(config.getCheckpointLoadPath(), simulation);
+                simulation.getBuilding().getSpeedGauge().restart();
+            }
+            SpeedReporter reporter = startSpeedReporter(config, List.of(simulation.getBuilding()));
+            if (config.getCheckpointSavePath() != null) {
+                simulation.runUntil(config.getCheckpointTime());
+                Checkpoint.save(simulation, config.getCheckpointSavePath());
+            }
+            SimulationResult result;
+            if (config.getStoppingRule() == null) {
+                result = simulation.run();
+            } else {
+                ConvergenceResult convergenceResult = simulation.run(config.getStoppingRule());
+                if (config.getSinks().contains(OutputSink.CONSOLE)) {
+                    System.out.println(convergenceResult);
+                }
+                result = convergenceResult.getResult();
+            }
+            stopSpeedReporter(reporter);
+            if (recorder != null) {
+                recorder.close();
+            }
+            writeResult(config, result, List.of(simulation.getBuilding()));
+
+            return;
+        }
+        if (config.getMode() == SimulationMode.SHARDED) {
+            ShardedSimulation simulation = config.createShardedSimulation();
+            SpeedReporter reporter = startSpeedReporter(config, simulation.getBuildings());
+            SimulationResult result = simulation.run();
+            stopSpeedReporter(reporter);
+            writeResult(config, result, simulation.getBuildings());
+
+            return;
+        }
+
+        Building building = config.createBuilding();
+
+        HumanGenerator humanGenerator = HumanGenerator.of(building, config.getTraffic().getWeightFrom(),
+                config.getTraffic().getWeightTo(), config.getTraffic().getGenerateSpeed());
+
+        if (config.getSinks().contains(OutputSink.CONSOLE)) {
+            UserInterface.of(building, config.getRenderingSpeed()).start();
+        }
+        if (config.getSinks().contains(OutputSink.COLUMNAR)) {
+            ColumnarJourneyRecorder recorder = ColumnarJourneyRecorder.of(config.getColumnarPath());
+            building.getStatistics().setRecorder(recorder);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> close(recorder)));
+        }
+        if (config.getSinks().contains(OutputSink.CSV)) {
+            long startTime = building.getClock().currentTime();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> writeCsv(config.getCsvPath(),
+                    SimulationResult.of(building.getStatistics(),
+                            Math.max(1, building.getClock().currentTime() - startTime)))));
+        }
+        if (config.getSinks().contains(OutputSink.LOCKS)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> writeLocks(config.getLocksPath())));
+        }
 
         humanGenerator.start();
-        userInterface.start();
         building.start();
+        startSpeedReporter(config, List.of(building));
+    }
+
+    @Nullable
+    private static SpeedReporter startSpeedReporter(SimulationConfig config, List<Building> buildings) {
+        if (config.getSpeedReportPeriod() == 0) {
+            return null;
+        }
+
+        SpeedReporter reporter = SpeedReporter.of(buildings, config.getSpeedReportPeriod());
+        reporter.start();
+
+        return reporter;
+    }
+
+    private static void stopSpeedReporter(@Nullable SpeedReporter reporter) {
+        if (reporter != null) {
+            reporter.turnOff();
+        }
+    }
+
+    private static void writeResult(SimulationConfig config, SimulationResult result, List<Building> buildings) {
+        if (config.getSinks().contains(OutputSink.CONSOLE)) {
+            System.out.println(result);
+            buildings.forEach(building -> System.out.println("Speed: " + building.getSpeedGauge().read()));
+        }
+        if (config.getSinks().contains(OutputSink.CSV)) {
+            writeCsv(config.getCsvPath(), result);
+        }
+        if (config.getSinks().contains(OutputSink.LOCKS)) {
+            writeLocks(config.getLocksPath());
+        }
+    }
+
+    private static void close(ColumnarJourneyRecorder recorder) {
+        try {
+            recorder.close();
+        } catch (IOException exception) {
+            System.err.printf("cannot write journey records: %s%n", exception.getMessage());
+        }
+    }
+
+    private static void writeCsv(Path path, SimulationResult result) {
+        try {
+            Files.write(path, List.of(SimulationResult.CSV_HEADER, result.toCsvRow()));
+        } catch (IOException exception) {
+            System.err.printf("cannot write %s: %s%n", path, exception.getMessage());
+        }
+    }
+
+    private static void writeLocks(Path path) {
+        try {
+            LockProfiler.writeCsv(path);
+        } catch (IOException exception) {
+            System.err.printf("cannot write %s: %s%n", path, exception.getMessage());
+        }
     }
 }
@@ -0,0 +1,116 @@
+package building;
+
+import building.state.Direction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Stops of a car in the order it serves them. Times are relative to the moment the car
+ * becomes free to move, {@link #getStartTime()} is the absolute time of that moment
+ * or {@link #NOW} when the car is free to move as soon as it is asked.
+ */
+class ArrivalPlan {
+    static final long NOW = -1;
+
+    private final long version;
+    private final long startTime;
+    private final int[] floors;
+    private final long[] departureTimes;
+    private final long[] arrivalTimes;
+    private final IntToLongFunction travelTime;
+
+    private ArrivalPlan(long version, long startTime, int[] floors, long[] departureTimes, long[] arrivalTimes,
+                        IntToLongFunction travelTime) {
+        this.version = version;
+        this.startTime = startTime;
+        this.floors = floors;
+        this.departureTimes = departureTimes;
+        this.arrivalTimes = arrivalTimes;
+        this.travelTime = travelTime;
+    }
+
+    static ArrivalPlan of(long version, long startTime, int startFloorNumber, long startDelay, List<Call> calls,
+                          long stopTime, IntToLongFunction travelTime) {
+        List<Call> remainingCalls = new ArrayList<>(calls);
+        int[] floors = new int[remainingCalls.size() + 1];
+        long[] departureTimes = new long[remainingCalls.size() + 1];
+        long[] arrivalTimes = new long[remainingCalls.size() + 1];
+
+        int numberOfStops = 0;
+        int floorNumber = startFloorNumber;
+        long time = startDelay;
+        floors[0] = floorNumber;
+        arrivalTimes[0] = time;
+
+        while (!remainingCalls.isEmpty()) {
+            int nextStop = findNextStop(floorNumber, remainingCalls.get(0).getTargetFloorNumber(), remainingCalls);
+            remainingCalls.removeIf(i -> i.getTargetFloorNumber() == nextStop);
+            if (nextStop == floorNumber) {
+                time += stopTime;
+                continue;
+            }
+
+            departureTimes[numberOfStops] = time;
+            time += travelTime.applyAsLong(Math.abs(nextStop - floorNumber));
+            numberOfStops++;
+            floors[numberOfStops] = nextStop;
+            arrivalTimes[numberOfStops] = time;
+            time += stopTime;
+            floorNumber = nextStop;
+        }
+        departureTimes[numberOfStops] = time;
+
+        return new ArrivalPlan(version, startTime, Arrays.copyOf(floors, numberOfStops + 1),
+                Arrays.copyOf(departureTimes, numberOfStops + 1), Arrays.copyOf(arrivalTimes, numberOfStops + 1),
+                travelTime);
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    long getStartTime() {
+        return startTime;
+    }
+
+    long getArrivalTime(int floorNumber, Direction direction, long currentTime) {
+        long delay = startTime == NOW ? 0 : Math.max(0, startTime - currentTime);
+
+        if (floors[0] == floorNumber) {
+            return delay + arrivalTimes[0];
+        }
+
+        for (int i = 1; i < floors.length; i++) {
+            int from = floors[i - 1];
+            int to = floors[i];
+            Direction legDirection = to > from ? Direction.UP : Direction.DOWN;
+            boolean isOnTheWay = legDirection == Direction.UP
+                    ? floorNumber > from && floorNumber <= to
+                    : floorNumber < from && floorNumber >= to;
+
+            if (isOnTheWay && (direction == Direction.NONE || direction == legDirection)) {
+                return delay + departureTimes[i - 1] + travelTime.applyAsLong(Math.abs(floorNumber - from));
+            }
+        }
+
+        int lastStop = floors.length - 1;
+
+        return delay + departureTimes[lastStop]
+                + travelTime.applyAsLong(Math.abs(floorNumber - floors[lastStop]));
+    }
+
+    private static int findNextStop(int floorNumber, int targetFloorNumber, List<Call> calls) {
+        int step = targetFloorNumber > floorNumber ? 1 : -1;
+        for (int i = floorNumber; i != targetFloorNumber; i += step) {
+            int stop = i;
+            if (calls.stream().anyMatch(call -> call.getTargetFloorNumber() == stop)) {
+                return stop;
+            }
+        }
+
+        return targetFloorNumber;
+    }
+}
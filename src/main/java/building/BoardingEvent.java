@@ -0,0 +1,32 @@
+package building;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a car loading at a floor, from the first passenger leaving to the last one boarding.
+ */
+@Name("elevators.Boarding")
+@Label("Boarding")
+@Category({"Elevators", "Elevator"})
+@Description("A car has let passengers out and taken people in at a floor")
+@StackTrace(false)
+class BoardingEvent extends jdk.jfr.Event {
+    @Label("Elevator")
+    String elevatorId;
+
+    @Label("Floor")
+    int floorNumber;
+
+    @Label("Alighted")
+    int numberOfAlighted;
+
+    @Label("Boarded")
+    int numberOfBoarded;
+
+    @Label("Passengers")
+    int numberOfPassengers;
+}
@@ -4,11 +4,25 @@ import com.google.common.collect.ImmutableList;
 import human.Human;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import util.StatisticsHolder;
+import util.clock.RealTimeClock;
+import util.clock.SimulationClock;
+import util.lock.LockProfiler;
 
+import javax.annotation.Nullable;
+
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static com.google.common.base.Preconditions.*;
@@ -23,19 +37,36 @@ public class Building {
     private final List<Floor> floors;
     private final List<Elevator> elevators;
     private final Lock buildingLock;
+    private volatile List<Zone> zones;
+    @Nullable
+    private volatile List<Zone> routingZones;
+    private volatile Route[] routes;
+    @Nullable
+    private volatile ObjIntConsumer<Human> transferHandler;
 
     @Getter
     private volatile Controller controller;
+    @Getter
+    private volatile SimulationClock clock;
+    @Getter
+    private volatile StatisticsHolder statistics;
+    @Getter
+    private final SpeedGauge speedGauge;
 
     private Building(int numberOfFloors) {
         checkArgument(numberOfFloors >= MIN_NUMBER_OF_FLOORS);
 
-        this.buildingLock = new ReentrantLock();
+        this.buildingLock = LockProfiler.newLock("Building.buildingLock", false);
         this.numberOfFloors = numberOfFloors;
         this.elevators = new ArrayList<>();
         this.floors = new ArrayList<>();
+        this.zones = ImmutableList.of();
+        this.routes = new Route[numberOfFloors * numberOfFloors];
+        this.clock = RealTimeClock.of();
+        this.statistics = StatisticsHolder.getInstance();
 
         IntStream.range(Floor.GROUND_FLOOR, numberOfFloors).forEachOrdered(i -> floors.add(Floor.of(i, this)));
+        this.speedGauge = SpeedGauge.of(this);
     }
 
     public static Building of(int numberOfFloors) {
@@ -45,8 +76,17 @@ public class Building {
     public Building addElevator(Elevator elevator) {
         checkNotNull(elevator);
 
+        checkArgument(elevator.getZone().getHighestFloorNumber() < numberOfFloors || elevator.getZone().isAll());
+
+        buildingLock.lock();
         elevator.addTo(this);
         elevators.add(elevator);
+        zones = ImmutableList.copyOf(elevators.stream()
+                .map(Elevator::getZone)
+                .distinct()
+                .collect(Collectors.toList()));
+        routes = new Route[numberOfFloors * numberOfFloors];
+        buildingLock.unlock();
 
         return this;
     }
@@ -60,10 +100,52 @@ public class Building {
         return this;
     }
 
+    public Building setClock(SimulationClock clock) {
+        checkNotNull(clock);
+
+        this.clock = clock;
+
+        return this;
+    }
+
+    public Building setStatistics(StatisticsHolder statistics) {
+        checkNotNull(statistics);
+
+        this.statistics = statistics;
+
+        return this;
+    }
+
+    /**
+     * Makes routes go through the given zones instead of the zones of this building's elevators. A building
+     * that simulates one bank of a tower routes people as the whole tower would.
+     */
+    public Building setRoutingZones(List<Zone> routingZones) {
+        checkNotNull(routingZones);
+        checkArgument(routingZones.containsAll(zones));
+
+        buildingLock.lock();
+        this.routingZones = ImmutableList.copyOf(routingZones);
+        routes = new Route[numberOfFloors * numberOfFloors];
+        buildingLock.unlock();
+
+        return this;
+    }
+
+    /**
+     * Sets where people go when they change cars at a floor and their next car is not in this building.
+     */
+    public Building setTransferHandler(@Nullable ObjIntConsumer<Human> transferHandler) {
+        this.transferHandler = transferHandler;
+
+        return this;
+    }
+
     public Building start() {
         checkNotNull(controller);
         checkState(elevators.size() >= MIN_NUMBER_OF_ELEVATORS);
 
+        speedGauge.restart();
         startElevators();
         startController();
 
@@ -127,13 +209,123 @@ public class Building {
 
     public Building addHuman(Human human) {
         checkNotNull(human);
-        checkArgument(floors.contains(human.getStartFloor()));
+        checkArgument(isFloorOf(human));
+
+        human.getStartFloor().addHuman(human);
+
+        return this;
+    }
+
+    /**
+     * Adds people in the given order; nobody is added unless everyone starts at a floor of this building.
+     */
+    public Building addHumans(Collection<Human> humans) {
+        checkNotNull(humans);
+        humans.forEach(human -> checkArgument(isFloorOf(checkNotNull(human))));
 
-        this.getFloor(human.getStartFloor().getFloorNumber()).addHuman(human);
+        humans.forEach(human -> human.getStartFloor().addHuman(human));
 
         return this;
     }
 
+    private boolean isFloorOf(Human human) {
+        int floorNumber = human.getStartFloor().getFloorNumber();
+
+        return floorNumber < floors.size() && floors.get(floorNumber) == human.getStartFloor();
+    }
+
+    public List<Zone> getZones() {
+        return zones;
+    }
+
+    /**
+     * Puts a person who has left a car at a floor before their destination back in line for the next car.
+     */
+    public void transferHuman(Human human, int floorNumber) {
+        checkNotNull(human);
+
+        ObjIntConsumer<Human> handler = transferHandler;
+        if (handler != null && !zones.contains(findRoute(floorNumber, human.getDestinationFloorNumber()).getZone())) {
+            handler.accept(human, floorNumber);
+        } else {
+            getFloor(floorNumber).addHuman(human);
+        }
+    }
+
+    public Route findRoute(int fromFloorNumber, int toFloorNumber) {
+        checkArgument(fromFloorNumber >= Floor.GROUND_FLOOR && fromFloorNumber < numberOfFloors);
+        checkArgument(toFloorNumber >= Floor.GROUND_FLOOR && toFloorNumber < numberOfFloors);
+        checkArgument(fromFloorNumber != toFloorNumber);
+
+        Route[] currentRoutes = routes;
+        int index = fromFloorNumber * numberOfFloors + toFloorNumber;
+        Route route = currentRoutes[index];
+        if (route == null) {
+            List<Zone> currentRoutingZones = routingZones;
+            route = resolveRoute(currentRoutingZones == null ? zones : currentRoutingZones, fromFloorNumber,
+                    toFloorNumber);
+            currentRoutes[index] = route;
+        }
+
+        return route;
+    }
+
+    private Route resolveRoute(List<Zone> zones, int fromFloorNumber, int toFloorNumber) {
+        if (zones.isEmpty()) {
+            return Route.of(Zone.ALL, toFloorNumber);
+        }
+
+        Optional<Zone> directZone = zones.stream()
+                .filter(i -> i.serves(fromFloorNumber) && i.serves(toFloorNumber))
+                .min(Comparator.comparingInt(Zone::getNumberOfFloors));
+        if (directZone.isPresent()) {
+            return Route.of(directZone.get(), toFloorNumber);
+        }
+
+        Map<Zone, Zone> previousZones = new HashMap<>();
+        Queue<Zone> queue = new ArrayDeque<>();
+        zones.stream().filter(i -> i.serves(fromFloorNumber)).forEach(i -> {
+            previousZones.put(i, i);
+            queue.add(i);
+        });
+
+        while (!queue.isEmpty()) {
+            Zone zone = queue.poll();
+
+            if (zone.serves(toFloorNumber)) {
+                Zone firstZone = zone;
+                Zone secondZone = zone;
+                while (previousZones.get(firstZone) != firstZone) {
+                    secondZone = firstZone;
+                    firstZone = previousZones.get(firstZone);
+                }
+
+                return Route.of(firstZone, firstZone.getNearestCommonFloor(secondZone, fromFloorNumber));
+            }
+
+            for (Zone nextZone : zones) {
+                if (!previousZones.containsKey(nextZone) && zone.intersects(nextZone)) {
+                    previousZones.put(nextZone, zone);
+                    queue.add(nextZone);
+                }
+            }
+        }
+
+        throw new IllegalArgumentException(
+                String.format("no elevator route from floor %d to floor %d", fromFloorNumber, toFloorNumber));
+    }
+
+    /**
+     * Position of the elevator in {@link #getElevators()}, without copying the list.
+     */
+    int getElevatorIndex(Elevator elevator) {
+        buildingLock.lock();
+        int index = elevators.indexOf(elevator);
+        buildingLock.unlock();
+
+        return index;
+    }
+
     public List<Elevator> getElevators() {
         buildingLock.lock();
         List<Elevator> list = ImmutableList.copyOf(elevators);
@@ -0,0 +1,326 @@
+package building;
+
+import building.dispatch.FloorDemand;
+import building.dispatch.ParkingPolicy;
+import building.state.Direction;
+import building.state.State;
+import human.Human;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Binary form of everything that changes while a building runs: floor queues, elevator positions, calls and
+ * passengers, the controller queue and assignments and parking demand. The structure itself (floors, elevator
+ * groups, strategy) comes from the configuration, so a checkpoint is restored into a freshly created building
+ * with the same floors and elevators. People are written once and referenced by index.
+ */
+public class BuildingCheckpoint {
+    private static final int NONE = -1;
+
+    private BuildingCheckpoint() {
+    }
+
+    public static void write(Building building, DataOutput output) throws IOException {
+        checkNotNull(building);
+        checkNotNull(output);
+
+        List<Elevator> elevators = building.getElevators();
+        output.writeInt(building.getNumberOfFloors());
+        output.writeInt(elevators.size());
+        for (Elevator elevator : elevators) {
+            checkState(!elevator.isTravelling(), "elevator %s is in the middle of a run", elevator.getId());
+            output.writeInt(elevator.getCapacity());
+            writeZone(elevator.getZone(), output);
+        }
+
+        List<Human> people = collectHumans(building);
+        Map<Human, Integer> humans = new IdentityHashMap<>();
+        output.writeInt(people.size());
+        for (Human human : people) {
+            humans.put(human, humans.size());
+            writeHuman(human, elevators, output);
+        }
+
+        for (Floor floor : building.getFloors()) {
+            for (Direction direction : List.of(Direction.UP, Direction.DOWN)) {
+                Map<Zone, Queue<Human>> queues = floor.getQueues(direction);
+                output.writeInt(queues.size());
+                for (Map.Entry<Zone, Queue<Human>> queue : queues.entrySet()) {
+                    writeZone(queue.getKey(), output);
+                    writeHumans(queue.getValue(), humans, output);
+                }
+            }
+
+            Map<Elevator, Queue<Human>> assignedQueues = floor.getAssignedQueues();
+            output.writeInt(assignedQueues.size());
+            for (Map.Entry<Elevator, Queue<Human>> queue : assignedQueues.entrySet()) {
+                output.writeInt(elevators.indexOf(queue.getKey()));
+                writeHumans(queue.getValue(), humans, output);
+            }
+        }
+
+        for (Elevator elevator : elevators) {
+            List<Call> calls = elevator.getCalls();
+            output.writeInt(elevator.getCurrentFloorNumber());
+            output.writeByte(elevator.getDirection().ordinal());
+            output.writeByte(elevator.getState().ordinal());
+            output.writeInt(calls.size());
+            for (Call call : calls) {
+                writeCall(call, output);
+            }
+            output.writeInt(elevator.getParkingCall() == null ? NONE : calls.indexOf(elevator.getParkingCall()));
+            writeHumans(elevator.getPassengers(), humans, output);
+            output.writeInt(elevator.getNumberOfDeliveredPeople().get());
+        }
+
+        writeController(building.getController(), elevators, output);
+    }
+
+    public static void read(Building building, ByteBuffer input) {
+        checkNotNull(building);
+        checkNotNull(input);
+
+        List<Elevator> elevators = building.getElevators();
+        checkArgument(input.getInt() == building.getNumberOfFloors(), "checkpoint has another number of floors");
+        checkArgument(input.getInt() == elevators.size(), "checkpoint has another number of elevators");
+        for (Elevator elevator : elevators) {
+            checkArgument(input.getInt() == elevator.getCapacity() && readZone(input).equals(elevator.getZone()),
+                    "checkpoint has other elevators");
+        }
+
+        List<Human> humans = new ArrayList<>();
+        int numberOfHumans = input.getInt();
+        for (int i = 0; i < numberOfHumans; i++) {
+            humans.add(readHuman(building, elevators, input));
+        }
+
+        for (Floor floor : building.getFloors()) {
+            for (int i = 0; i < 2; i++) {
+                int numberOfQueues = input.getInt();
+                for (int j = 0; j < numberOfQueues; j++) {
+                    readZone(input);
+                    readHumans(humans, input).forEach(floor::restoreHuman);
+                }
+            }
+
+            int numberOfAssignedQueues = input.getInt();
+            for (int i = 0; i < numberOfAssignedQueues; i++) {
+                input.getInt();
+                readHumans(humans, input).forEach(floor::restoreHuman);
+            }
+        }
+
+        for (Elevator elevator : elevators) {
+            int floorNumber = input.getInt();
+            Direction direction = Direction.values()[input.get()];
+            State state = State.values()[input.get()];
+            List<Call> calls = new ArrayList<>();
+            int numberOfCalls = input.getInt();
+            for (int i = 0; i < numberOfCalls; i++) {
+                calls.add(readCall(input));
+            }
+            int parkingCall = input.getInt();
+            List<Human> passengers = readHumans(humans, input);
+            elevator.restore(floorNumber, direction, state, calls, parkingCall == NONE ? null : calls.get(parkingCall),
+                    passengers, input.getInt());
+        }
+
+        readController(building.getController(), elevators, input);
+    }
+
+    private static List<Human> collectHumans(Building building) {
+        List<Human> humans = new ArrayList<>();
+        for (Floor floor : building.getFloors()) {
+            floor.getQueues(Direction.UP).values().forEach(humans::addAll);
+            floor.getQueues(Direction.DOWN).values().forEach(humans::addAll);
+            floor.getAssignedQueues().values().forEach(humans::addAll);
+        }
+        building.getElevators().forEach(elevator -> humans.addAll(elevator.getPassengers()));
+
+        return humans;
+    }
+
+    private static void writeHuman(Human human, List<Elevator> elevators, DataOutput output) throws IOException {
+        output.writeLong(human.getSsn().getMostSignificantBits());
+        output.writeLong(human.getSsn().getLeastSignificantBits());
+        output.writeInt(human.getWeight());
+        output.writeInt(human.getDestinationFloorNumber());
+        output.writeInt(human.getStartFloor().getFloorNumber());
+        output.writeInt(human.getCurrentFloor().getFloorNumber());
+        output.writeLong(human.getArrivalTime());
+        output.writeLong(human.getWaitingSince());
+        output.writeLong(human.getBoardingTime());
+        output.writeLong(human.getWaitTime());
+        output.writeInt(human.getNumberOfRides());
+        output.writeInt(human.getCall().getTargetFloorNumber());
+        writeZone(human.getZone(), output);
+        output.writeInt(human.getAssignedElevator() == null ? NONE : elevators.indexOf(human.getAssignedElevator()));
+    }
+
+    private static Human readHuman(Building building, List<Elevator> elevators, ByteBuffer input) {
+        UUID ssn = new UUID(input.getLong(), input.getLong());
+        int weight = input.getInt();
+        int destinationFloorNumber = input.getInt();
+        Floor startFloor = building.getFloor(input.getInt());
+        Floor currentFloor = building.getFloor(input.getInt());
+        long arrivalTime = input.getLong();
+        long waitingSince = input.getLong();
+        long boardingTime = input.getLong();
+        long waitTime = input.getLong();
+        int numberOfRides = input.getInt();
+        int targetFloorNumber = input.getInt();
+        Zone zone = readZone(input);
+        int elevator = input.getInt();
+
+        Human human = Human.of(ssn, weight, destinationFloorNumber, startFloor);
+        human.arriveAt(currentFloor, arrivalTime);
+        human.arriveAt(currentFloor, waitingSince);
+        human.restoreRides(boardingTime, waitTime, numberOfRides);
+        human.followRoute(Route.of(zone, targetFloorNumber));
+        human.assignTo(elevator == NONE ? null : elevators.get(elevator));
+
+        return human;
+    }
+
+    private static void writeHumans(Iterable<Human> humans, Map<Human, Integer> indices, DataOutput output)
+            throws IOException {
+        List<Human> list = new ArrayList<>();
+        humans.forEach(list::add);
+
+        output.writeInt(list.size());
+        for (Human human : list) {
+            output.writeInt(indices.get(human));
+        }
+    }
+
+    private static List<Human> readHumans(List<Human> humans, ByteBuffer input) {
+        int size = input.getInt();
+        List<Human> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(humans.get(input.getInt()));
+        }
+
+        return list;
+    }
+
+    private static void writeController(Controller controller, List<Elevator> elevators, DataOutput output)
+            throws IOException {
+        List<Call> calls = controller.getAllCalls();
+        output.writeInt(calls.size());
+        for (Call call : calls) {
+            writeCall(call, output);
+        }
+
+        Map<Call, Elevator> assignedCalls = controller.getAssignedCalls();
+        output.writeInt(assignedCalls.size());
+        for (Map.Entry<Call, Elevator> assignment : assignedCalls.entrySet()) {
+            writeCall(assignment.getKey(), output);
+            output.writeInt(elevators.indexOf(assignment.getValue()));
+        }
+
+        Map<DestinationCall, Elevator> assignedElevators = controller.getAssignedElevators();
+        output.writeInt(assignedElevators.size());
+        for (Map.Entry<DestinationCall, Elevator> assignment : assignedElevators.entrySet()) {
+            writeDestinationCall(assignment.getKey(), output);
+            output.writeInt(elevators.indexOf(assignment.getValue()));
+            output.writeInt(controller.getAssignedWeights().getOrDefault(assignment.getKey(), 0));
+        }
+
+        ParkingPolicy parkingPolicy = controller.getParkingPolicy();
+        output.writeBoolean(parkingPolicy != null);
+        if (parkingPolicy != null) {
+            FloorDemand demand = parkingPolicy.getFloorDemand();
+            output.writeInt(demand.getNumberOfFloors());
+            for (int i = 0; i < demand.getNumberOfFloors(); i++) {
+                output.writeDouble(demand.getRecordedDemand(i));
+                output.writeLong(demand.getUpdateTime(i));
+            }
+        }
+    }
+
+    private static void readController(Controller controller, List<Elevator> elevators, ByteBuffer input) {
+        List<Call> calls = new ArrayList<>();
+        int numberOfCalls = input.getInt();
+        for (int i = 0; i < numberOfCalls; i++) {
+            calls.add(readCall(input));
+        }
+
+        Map<Call, Elevator> assignedCalls = new LinkedHashMap<>();
+        int numberOfAssignedCalls = input.getInt();
+        for (int i = 0; i < numberOfAssignedCalls; i++) {
+            assignedCalls.put(readCall(input), elevators.get(input.getInt()));
+        }
+
+        Map<DestinationCall, Elevator> assignedElevators = new LinkedHashMap<>();
+        Map<DestinationCall, Integer> assignedWeights = new LinkedHashMap<>();
+        int numberOfAssignedElevators = input.getInt();
+        for (int i = 0; i < numberOfAssignedElevators; i++) {
+            DestinationCall destinationCall = readDestinationCall(input);
+            assignedElevators.put(destinationCall, elevators.get(input.getInt()));
+            assignedWeights.put(destinationCall, input.getInt());
+        }
+
+        controller.restore(calls, assignedCalls, assignedElevators, assignedWeights);
+
+        if (input.get() != 0) {
+            int numberOfFloors = input.getInt();
+            ParkingPolicy parkingPolicy = controller.getParkingPolicy();
+            checkArgument(parkingPolicy != null, "checkpoint has parking demand, but parking is disabled");
+            for (int i = 0; i < numberOfFloors; i++) {
+                parkingPolicy.getFloorDemand().restore(i, input.getDouble(), input.getLong());
+            }
+        }
+    }
+
+    private static void writeCall(Call call, DataOutput output) throws IOException {
+        output.writeInt(call.getTargetFloorNumber());
+        output.writeByte(call.getDirection().ordinal());
+        writeZone(call.getZone(), output);
+    }
+
+    private static Call readCall(ByteBuffer input) {
+        return Call.of(input.getInt(), Direction.values()[input.get()], readZone(input));
+    }
+
+    private static void writeDestinationCall(DestinationCall call, DataOutput output) throws IOException {
+        output.writeInt(call.getOriginFloorNumber());
+        output.writeInt(call.getTargetFloorNumber());
+        writeZone(call.getZone(), output);
+    }
+
+    private static DestinationCall readDestinationCall(ByteBuffer input) {
+        return DestinationCall.of(input.getInt(), input.getInt(), readZone(input));
+    }
+
+    private static void writeZone(Zone zone, DataOutput output) throws IOException {
+        output.writeBoolean(zone.isAll());
+        long[] words = zone.toLongArray();
+        output.writeByte(words.length);
+        for (long word : words) {
+            output.writeLong(word);
+        }
+    }
+
+    private static Zone readZone(ByteBuffer input) {
+        boolean isAll = input.get() != 0;
+        long[] words = new long[input.get()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = input.getLong();
+        }
+
+        return Zone.fromLongArray(isAll, words);
+    }
+}
@@ -0,0 +1,172 @@
+package building;
+
+import building.state.Direction;
+import human.Human;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Immutable copy of what matters for dispatching: where each car is, which calls it has in which order and who
+ * is waiting or riding. Forks made by {@link #withCall(int, Call)} share everything but the call list of one
+ * car, so a candidate assignment costs one small array copy.
+ */
+public class BuildingSnapshot {
+    static final int NOT_RIDING = -1;
+    private static final int DIRECTION_BITS = 2;
+
+    @Getter
+    private final long time;
+    @Getter
+    private final int numberOfFloors;
+    @Getter
+    private final List<Elevator> elevators;
+    final int[] floorNumbers;
+    final int[] directions;
+    final long[] readyDelays;
+    final int[] capacities;
+    final long[] stopTimes;
+    final long[][] travelTimes;
+    final Zone[] zones;
+    final int[][] calls;
+    final int[] origins;
+    final int[] targets;
+    final int[] weights;
+    final int[] cars;
+
+    private BuildingSnapshot(BuildingSnapshot snapshot, int[][] calls) {
+        this.time = snapshot.time;
+        this.numberOfFloors = snapshot.numberOfFloors;
+        this.elevators = snapshot.elevators;
+        this.floorNumbers = snapshot.floorNumbers;
+        this.directions = snapshot.directions;
+        this.readyDelays = snapshot.readyDelays;
+        this.capacities = snapshot.capacities;
+        this.stopTimes = snapshot.stopTimes;
+        this.travelTimes = snapshot.travelTimes;
+        this.zones = snapshot.zones;
+        this.calls = calls;
+        this.origins = snapshot.origins;
+        this.targets = snapshot.targets;
+        this.weights = snapshot.weights;
+        this.cars = snapshot.cars;
+    }
+
+    private BuildingSnapshot(Building building) {
+        this.time = building.getClock().currentTime();
+        this.numberOfFloors = building.getNumberOfFloors();
+        this.elevators = building.getElevators();
+
+        int numberOfElevators = elevators.size();
+        this.floorNumbers = new int[numberOfElevators];
+        this.directions = new int[numberOfElevators];
+        this.readyDelays = new long[numberOfElevators];
+        this.capacities = new int[numberOfElevators];
+        this.stopTimes = new long[numberOfElevators];
+        this.travelTimes = new long[numberOfElevators][numberOfFloors];
+        this.zones = new Zone[numberOfElevators];
+        this.calls = new int[numberOfElevators][];
+
+        List<Human> humans = new ArrayList<>();
+        List<Integer> humanCars = new ArrayList<>();
+        for (int i = 0; i < numberOfElevators; i++) {
+            Elevator elevator = elevators.get(i);
+            floorNumbers[i] = elevator.getStartFloorNumber();
+            directions[i] = toSign(elevator.getDirection());
+            readyDelays[i] = elevator.getReadyDelay(time);
+            capacities[i] = elevator.getCapacity();
+            stopTimes[i] = elevator.getStopTime();
+            zones[i] = elevator.getZone();
+            for (int j = 0; j < numberOfFloors; j++) {
+                travelTimes[i][j] = elevator.getTravelTime(j);
+            }
+
+            Call parkingCall = elevator.getParkingCall();
+            calls[i] = elevator.getCalls().stream()
+                    .filter(call -> !call.equals(parkingCall))
+                    .mapToInt(BuildingSnapshot::encode)
+                    .toArray();
+
+            int car = i;
+            elevator.tryGetPassengers().ifPresent(passengers -> passengers.forEach(human -> {
+                humans.add(human);
+                humanCars.add(car);
+            }));
+        }
+
+        building.getFloors().forEach(floor -> floor.tryGetWaitingHumans().ifPresent(waiting -> waiting.forEach(
+                human -> {
+                    humans.add(human);
+                    humanCars.add(NOT_RIDING);
+                })));
+
+        this.origins = new int[humans.size()];
+        this.targets = new int[humans.size()];
+        this.weights = new int[humans.size()];
+        this.cars = new int[humans.size()];
+        for (int i = 0; i < humans.size(); i++) {
+            Human human = humans.get(i);
+            cars[i] = humanCars.get(i);
+            origins[i] = cars[i] == NOT_RIDING ? human.getCurrentFloor().getFloorNumber() : NOT_RIDING;
+            targets[i] = human.getCall().getTargetFloorNumber();
+            weights[i] = human.getWeight();
+        }
+    }
+
+    public static BuildingSnapshot of(Building building) {
+        checkNotNull(building);
+
+        return new BuildingSnapshot(building);
+    }
+
+    public int getNumberOfPeople() {
+        return targets.length;
+    }
+
+    public BuildingSnapshot withCall(int elevatorIndex, Call call) {
+        checkArgument(elevatorIndex >= 0 && elevatorIndex < elevators.size());
+        checkNotNull(call);
+        checkArgument(call.getTargetFloorNumber() < numberOfFloors);
+
+        int[][] forkedCalls = calls.clone();
+        forkedCalls[elevatorIndex] = Arrays.copyOf(calls[elevatorIndex], calls[elevatorIndex].length + 1);
+        forkedCalls[elevatorIndex][calls[elevatorIndex].length] = encode(call);
+
+        return new BuildingSnapshot(this, forkedCalls);
+    }
+
+    /**
+     * Plays the snapshot forward for the given time and returns the total time people spend waiting within it;
+     * whoever is still waiting at the end counts the whole horizon.
+     */
+    public long simulate(long horizon) {
+        checkArgument(horizon > 0);
+
+        return Rollout.of(this).run(horizon);
+    }
+
+    static int floorNumberOf(int call) {
+        return call >> DIRECTION_BITS;
+    }
+
+    static int directionOf(int call) {
+        return (call & 1) - (call >> 1 & 1);
+    }
+
+    static int encode(int floorNumber, int direction) {
+        return floorNumber << DIRECTION_BITS | (direction > 0 ? 1 : direction < 0 ? 2 : 0);
+    }
+
+    private static int encode(Call call) {
+        return encode(call.getTargetFloorNumber(), toSign(call.getDirection()));
+    }
+
+    private static int toSign(Direction direction) {
+        return direction == Direction.UP ? 1 : direction == Direction.DOWN ? -1 : 0;
+    }
+}
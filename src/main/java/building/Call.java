@@ -12,19 +12,30 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public class Call {
     private final int targetFloorNumber;
     private final Direction direction;
+    private final Zone zone;
 
-    private Call(int targetFloorNumber, Direction direction) {
+    private Call(int targetFloorNumber, Direction direction, Zone zone) {
         checkArgument(targetFloorNumber >= Floor.GROUND_FLOOR);
         checkNotNull(direction);
+        checkNotNull(zone);
 
         this.targetFloorNumber = targetFloorNumber;
         this.direction = direction;
+        this.zone = zone;
+    }
+
+    private Call(int targetFloorNumber, Direction direction) {
+        this(targetFloorNumber, direction, Zone.ALL);
     }
 
     public static Call of(int targetFloorNumber, Direction direction) {
         return new Call(targetFloorNumber, direction);
     }
 
+    public static Call of(int targetFloorNumber, Direction direction, Zone zone) {
+        return new Call(targetFloorNumber, direction, zone);
+    }
+
     public static Call of(Floor targetFloor, Direction direction) {
         checkNotNull(targetFloor);
 
@@ -73,6 +84,10 @@ public class Call {
 
     @Override
     public String toString() {
+        if (!zone.isAll()) {
+            return String.format("(To->%S; Direction:%s; Zone:%s)", targetFloorNumber, direction, zone);
+        }
+
         return String.format("(To->%S; Direction:%s)", targetFloorNumber, direction);
     }
 }
@@ -1,27 +1,55 @@
 package building;
 
+import building.dispatch.ControlMode;
+import building.dispatch.DispatchStrategy;
+import building.dispatch.AssignmentProblem;
+import building.dispatch.NearestIdleStrategy;
+import building.dispatch.OptimizingDispatcher;
+import building.dispatch.ParkingPolicy;
+import building.dispatch.ReassignmentPolicy;
 import building.state.Direction;
 import building.state.State;
 import com.google.common.collect.ImmutableList;
+import human.Human;
 import lombok.Getter;
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import util.interrupt.Interruptible;
+import util.lock.LockProfiler;
 
+import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 @Slf4j
 public class Controller implements Runnable, Interruptible {
-    @Setter
+    public static final int STOP_COST = 4;
+
     private List<Elevator> elevators;
     private final Queue<Call> calls;
+    private final Map<DestinationCall, Elevator> assignedElevators;
+    private final Map<DestinationCall, Integer> assignedWeights;
+    private final Map<Call, Elevator> assignedCalls;
+    private final LoadingIndex loadingIndex;
+    @Getter
+    private volatile DispatchStrategy strategy;
+    @Getter
+    private volatile ControlMode controlMode;
+    @Getter
+    @Nullable
+    private volatile ParkingPolicy parkingPolicy;
+    @Getter
+    @Nullable
+    private volatile ReassignmentPolicy reassignmentPolicy;
+    @Getter
+    @Nullable
+    private volatile OptimizingDispatcher optimizingDispatcher;
 
     private final Condition controllerStopCondition;
     private final Lock callLock;
@@ -33,9 +61,15 @@ public class Controller implements Runnable, Interruptible {
     private Controller() {
         this.elevators = new ArrayList<>();
         this.calls = new LinkedList<>();
-        this.callLock = new ReentrantLock(true);
-        this.elevatorLock = new ReentrantLock(true);
+        this.assignedElevators = new HashMap<>();
+        this.assignedWeights = new HashMap<>();
+        this.assignedCalls = new LinkedHashMap<>();
+        this.loadingIndex = new LoadingIndex();
+        this.callLock = LockProfiler.newLock("Controller.callLock", true);
+        this.elevatorLock = LockProfiler.newLock("Controller.elevatorLock", true);
         this.controllerStopCondition = callLock.newCondition();
+        this.strategy = NearestIdleStrategy.of();
+        this.controlMode = ControlMode.CONVENTIONAL;
         this.isRunning = false;
     }
 
@@ -48,21 +82,99 @@ public class Controller implements Runnable, Interruptible {
         return controller;
     }
 
+    public static Controller of(DispatchStrategy strategy) {
+        checkNotNull(strategy);
+
+        Controller controller = new Controller();
+        controller.setStrategy(strategy);
+
+        return controller;
+    }
+
     public static Controller getEmpty() {
         return new Controller();
     }
 
-    public boolean canCallElevator(Call call) {
-        checkNotNull(call);
+    public void setElevators(List<Elevator> elevators) {
+        checkNotNull(elevators);
+
+        this.elevators = elevators;
+        elevators.forEach(elevator -> updateLoadingCar(elevator, elevator.getCurrentFloorNumber(),
+                elevator.getDirection(), elevator.getState()));
+    }
+
+    public void setStrategy(DispatchStrategy strategy) {
+        checkNotNull(strategy);
+
+        this.strategy = strategy;
+    }
+
+    public void setControlMode(ControlMode controlMode) {
+        checkNotNull(controlMode);
+
+        this.controlMode = controlMode;
+    }
+
+    public void setParkingPolicy(@Nullable ParkingPolicy parkingPolicy) {
+        this.parkingPolicy = parkingPolicy;
+    }
+
+    public void setReassignmentPolicy(@Nullable ReassignmentPolicy reassignmentPolicy) {
+        this.reassignmentPolicy = reassignmentPolicy;
+    }
+
+    public void setOptimizingDispatcher(@Nullable OptimizingDispatcher optimizingDispatcher) {
+        this.optimizingDispatcher = optimizingDispatcher;
+    }
+
+    public void recordArrival(int floorNumber, long time) {
+        ParkingPolicy policy = parkingPolicy;
+        if (policy != null) {
+            policy.recordArrival(floorNumber, time);
+        }
+    }
+
+    public void parkElevator(Elevator elevator, long time) {
+        checkNotNull(elevator);
+
+        ParkingPolicy policy = parkingPolicy;
+        if (policy == null) {
+            return;
+        }
 
         elevatorLock.lock();
-        boolean result = elevators.stream()
-                .noneMatch(i -> (i.getDirection().equals(call.getDirection()) || i.getDirection().equals(Direction.NONE))
-                        && i.getCurrentFloorNumber() == call.getTargetFloorNumber()
-                        && (i.getState().equals(State.LOAD) || i.getState().equals(State.OPEN_DOOR)));
+        OptionalInt parkingFloor = policy.selectParkingFloor(elevator, elevators, time);
         elevatorLock.unlock();
 
-        return result;
+        if (parkingFloor.isPresent() && parkingFloor.getAsInt() != elevator.getCurrentFloorNumber()) {
+            elevator.parkAt(parkingFloor.getAsInt());
+
+            log.info("elevator {} has been sent to park at floor {}", elevator.getId(), parkingFloor.getAsInt());
+        }
+    }
+
+    public boolean isDestinationControl() {
+        return controlMode == ControlMode.DESTINATION;
+    }
+
+    /**
+     * Whether no car of the call's zone is loading at its floor in its direction already; a lock-free lookup.
+     */
+    public boolean canCallElevator(Call call) {
+        checkNotNull(call);
+
+        return canCallElevator(call.getTargetFloorNumber(), call.getDirection(), call.getZone());
+    }
+
+    public boolean canCallElevator(int floorNumber, Direction direction, Zone zone) {
+        checkNotNull(direction);
+        checkNotNull(zone);
+
+        return !loadingIndex.isLoading(floorNumber, direction, zone);
+    }
+
+    void updateLoadingCar(Elevator elevator, int floorNumber, Direction direction, State state) {
+        loadingIndex.update(elevator, floorNumber, direction, state);
     }
 
     public void addCall(Call call) {
@@ -81,7 +193,11 @@ public class Controller implements Runnable, Interruptible {
         checkNotNull(call);
 
         callLock.lock();
-        calls.removeAll(calls.stream().filter(call::equals).collect(Collectors.toList()));
+        boolean isRemoved;
+        do {
+            isRemoved = calls.remove(call);
+        } while (isRemoved);
+        assignedCalls.remove(call);
         callLock.unlock();
 
         log.info("call has been removed {}", call);
@@ -93,18 +209,16 @@ public class Controller implements Runnable, Interruptible {
         if (!calls.isEmpty()) {
             Call call = calls.poll();
 
-            List<Elevator> suitableElevators;
+            Optional<Elevator> suitableElevator;
 
             elevatorLock.lock();
-            suitableElevators = elevators.stream()
-                    .filter(i -> i.getDirection().equals(Direction.NONE)
-                            && i.getState().equals(State.STOP))
-                    .sorted(Comparator.comparing(i -> Math.abs(i.getCurrentFloorNumber() - call.getTargetFloorNumber())))
-                    .collect(Collectors.toList());
+            suitableElevator = strategy.selectElevator(call, getCompatibleElevators(call));
             elevatorLock.unlock();
 
-            if (!suitableElevators.isEmpty()) {
-                suitableElevators.get(0).addCall(call);
+            if (suitableElevator.isPresent()) {
+                suitableElevator.get().addCall(call);
+                assignedCalls.put(call, suitableElevator.get());
+                recordDispatch(call, suitableElevator.get());
                 log.info("call has been dispatched {}", call);
             } else {
                 calls.add(call);
@@ -114,11 +228,269 @@ public class Controller implements Runnable, Interruptible {
         callLock.unlock();
     }
 
+    public Elevator assignElevator(Human human) {
+        checkNotNull(human);
+
+        DestinationCall destinationCall = DestinationCall.of(human.getCurrentFloor().getFloorNumber(),
+                human.getCall().getTargetFloorNumber(), human.getZone());
+
+        callLock.lock();
+        Elevator elevator = assignedElevators.get(destinationCall);
+        int weight = assignedWeights.getOrDefault(destinationCall, 0) + human.getWeight();
+        if (elevator == null || weight > elevator.getCapacity()) {
+            Call call = destinationCall.getHallCall();
+
+            elevatorLock.lock();
+            List<Elevator> compatibleElevators = getCompatibleElevators(call);
+            elevatorLock.unlock();
+            checkState(!compatibleElevators.isEmpty(), "no elevator serves %s", destinationCall);
+
+            Elevator fullElevator = elevator;
+            if (compatibleElevators.stream().anyMatch(i -> i != fullElevator)) {
+                compatibleElevators.remove(fullElevator);
+            }
+
+            elevator = selectCheapestElevator(destinationCall, compatibleElevators);
+            weight = human.getWeight();
+
+            recordDispatch(destinationCall, elevator);
+
+            assignedElevators.put(destinationCall, elevator);
+            elevator.addCall(call);
+        }
+        assignedWeights.put(destinationCall, weight);
+        callLock.unlock();
+
+        log.info("destination call {} has been assigned to elevator {}", destinationCall, elevator.getId());
+
+        return elevator;
+    }
+
+    public void releaseAssignments(Elevator elevator, int floorNumber) {
+        checkNotNull(elevator);
+
+        callLock.lock();
+        if (!assignedElevators.isEmpty()) {
+            Iterator<Map.Entry<DestinationCall, Elevator>> assignments = assignedElevators.entrySet().iterator();
+            while (assignments.hasNext()) {
+                Map.Entry<DestinationCall, Elevator> assignment = assignments.next();
+                if (assignment.getValue() == elevator && assignment.getKey().getOriginFloorNumber() == floorNumber) {
+                    assignments.remove();
+                    assignedWeights.remove(assignment.getKey());
+                }
+            }
+        }
+        callLock.unlock();
+    }
+
+    private void recordDispatch(Call call, Elevator elevator) {
+        if (!FlightRecording.isRecording()) {
+            return;
+        }
+
+        DispatchEvent event = new DispatchEvent();
+        if (event.shouldCommit()) {
+            event.floorNumber = call.getTargetFloorNumber();
+            event.destinationFloorNumber = -1;
+            event.direction = call.getDirection().name();
+            event.elevatorId = elevator.getId().toString();
+            event.cost = Math.abs(elevator.getCurrentFloorNumber() - call.getTargetFloorNumber());
+            event.strategy = strategy.getClass().getSimpleName();
+            event.commit();
+        }
+    }
+
+    private void recordDispatch(DestinationCall destinationCall, Elevator elevator) {
+        if (!FlightRecording.isRecording()) {
+            return;
+        }
+
+        DispatchEvent event = new DispatchEvent();
+        if (event.shouldCommit()) {
+            event.floorNumber = destinationCall.getOriginFloorNumber();
+            event.destinationFloorNumber = destinationCall.getTargetFloorNumber();
+            event.direction = destinationCall.getDirection().name();
+            event.elevatorId = elevator.getId().toString();
+            event.cost = getAssignmentCost(destinationCall, elevator);
+            event.strategy = ControlMode.DESTINATION.name();
+            event.commit();
+        }
+    }
+
+    private Elevator selectCheapestElevator(DestinationCall destinationCall, List<Elevator> elevators) {
+        return elevators.stream()
+                .min(Comparator.comparingInt((Elevator i) -> getAssignmentCost(destinationCall, i)))
+                .orElseThrow();
+    }
+
+    private int getAssignmentCost(DestinationCall destinationCall, Elevator elevator) {
+        List<Call> elevatorCalls = elevator.getCalls();
+        int cost = Math.abs(elevator.getCurrentFloorNumber() - destinationCall.getOriginFloorNumber())
+                + STOP_COST * elevatorCalls.size();
+        if (elevatorCalls.stream().noneMatch(i -> i.getTargetFloorNumber() == destinationCall.getOriginFloorNumber())) {
+            cost += STOP_COST;
+        }
+        if (elevatorCalls.stream().noneMatch(i -> i.getTargetFloorNumber() == destinationCall.getTargetFloorNumber())) {
+            cost += STOP_COST;
+        }
+
+        return cost;
+    }
+
+    public void reassignCalls() {
+        ReassignmentPolicy policy = reassignmentPolicy;
+        if (policy == null) {
+            return;
+        }
+
+        callLock.lock();
+        assignedCalls.entrySet().removeIf(i -> !i.getValue().getCalls().contains(i.getKey()));
+
+        for (Map.Entry<Call, Elevator> assignment : assignedCalls.entrySet()) {
+            Call call = assignment.getKey();
+            Elevator elevator = assignment.getValue();
+            long currentArrivalTime = elevator.getEstimatedArrivalTime(call.getTargetFloorNumber(),
+                    call.getDirection());
+
+            elevatorLock.lock();
+            Optional<Elevator> betterElevator = getCompatibleElevators(call).stream()
+                    .filter(i -> i != elevator)
+                    .min(Comparator.comparingLong(i -> i.getEstimatedArrivalTime(call.getTargetFloorNumber(),
+                            call.getDirection())));
+            elevatorLock.unlock();
+
+            if (betterElevator.isPresent()
+                    && policy.isWorthReassigning(currentArrivalTime, betterElevator.get()
+                    .getEstimatedArrivalTime(call.getTargetFloorNumber(), call.getDirection()))
+                    && elevator.revokeCall(call)) {
+                betterElevator.get().addCall(call);
+                assignment.setValue(betterElevator.get());
+
+                log.info("call {} has been reassigned to elevator {}", call, betterElevator.get().getId());
+            }
+        }
+        callLock.unlock();
+    }
+
+    public void requestPlan() {
+        OptimizingDispatcher dispatcher = optimizingDispatcher;
+        if (dispatcher == null || dispatcher.isSearching()) {
+            return;
+        }
+
+        dispatcher.submit(createAssignmentProblem());
+    }
+
+    public void applyPlan() {
+        OptimizingDispatcher dispatcher = optimizingDispatcher;
+        if (dispatcher == null) {
+            return;
+        }
+
+        Map<Call, Elevator> plan = dispatcher.pollPlan();
+        if (plan != null) {
+            applyPlan(plan);
+        }
+    }
+
+    public void optimizeCalls() {
+        OptimizingDispatcher dispatcher = optimizingDispatcher;
+        if (dispatcher == null) {
+            return;
+        }
+
+        applyPlan(dispatcher.optimize(createAssignmentProblem()));
+    }
+
+    /**
+     * Copies the calls and their assignments under the call lock and estimates the arrivals after releasing it, so
+     * the cars never wait for the estimates to register or remove a call.
+     */
+    private AssignmentProblem createAssignmentProblem() {
+        callLock.lock();
+        assignedCalls.entrySet().removeIf(i -> !i.getValue().getCalls().contains(i.getKey()));
+        Set<Call> pendingCalls = new LinkedHashSet<>(calls);
+        pendingCalls.addAll(assignedCalls.keySet());
+        Map<Call, Elevator> currentAssignedCalls = new HashMap<>(assignedCalls);
+        elevatorLock.lock();
+        List<Elevator> allElevators = ImmutableList.copyOf(elevators);
+        elevatorLock.unlock();
+        callLock.unlock();
+
+        List<Call> problemCalls = pendingCalls.stream()
+                .filter(i -> allElevators.stream().anyMatch(j -> j.canServe(i)))
+                .collect(Collectors.toList());
+        long[][] arrivalTimes = new long[problemCalls.size()][allElevators.size()];
+        int[] currentAssignment = new int[problemCalls.size()];
+        for (int i = 0; i < problemCalls.size(); i++) {
+            Call call = problemCalls.get(i);
+            for (int j = 0; j < allElevators.size(); j++) {
+                Elevator elevator = allElevators.get(j);
+                arrivalTimes[i][j] = elevator.canServe(call)
+                        ? elevator.getEstimatedArrivalTime(call.getTargetFloorNumber(), call.getDirection())
+                        : AssignmentProblem.INCOMPATIBLE;
+            }
+            currentAssignment[i] = allElevators.indexOf(currentAssignedCalls.get(call));
+        }
+
+        long[] stopTimes = allElevators.stream().mapToLong(Elevator::getStopTime).toArray();
+
+        return AssignmentProblem.of(problemCalls, allElevators, arrivalTimes, stopTimes, currentAssignment);
+    }
+
+    private void applyPlan(Map<Call, Elevator> plan) {
+        callLock.lock();
+        for (Map.Entry<Call, Elevator> assignment : plan.entrySet()) {
+            Call call = assignment.getKey();
+            Elevator elevator = assignment.getValue();
+            Elevator currentElevator = assignedCalls.get(call);
+
+            if (calls.contains(call)) {
+                calls.removeIf(call::equals);
+                elevator.addCall(call);
+                assignedCalls.put(call, elevator);
+
+                log.info("call {} has been dispatched to elevator {} by plan", call, elevator.getId());
+            } else if (currentElevator != null && currentElevator != elevator
+                    && currentElevator.getCalls().contains(call) && currentElevator.revokeCall(call)) {
+                elevator.addCall(call);
+                assignedCalls.put(call, elevator);
+
+                log.info("call {} has been reassigned to elevator {} by plan", call, elevator.getId());
+            }
+        }
+        callLock.unlock();
+    }
+
+    public void dispatchAllCalls() {
+        callLock.lock();
+        int numberOfCalls = calls.size();
+        for (int i = 0; i < numberOfCalls; i++) {
+            dispatchCall();
+        }
+        callLock.unlock();
+    }
+
+    private List<Elevator> getCompatibleElevators(Call call) {
+        return elevators.stream()
+                .filter(i -> i.canServe(call))
+                .collect(Collectors.toList());
+    }
+
     public void waitCall() {
+        ReassignmentPolicy policy = reassignmentPolicy;
+        long timeout = optimizingDispatcher != null
+                ? OptimizingDispatcher.CYCLE_PERIOD
+                : policy != null ? policy.getPeriod() : 0;
+
         callLock.lock();
         while (calls.isEmpty()) {
             try {
-                controllerStopCondition.await();
+                if (timeout == 0) {
+                    controllerStopCondition.await();
+                } else if (!controllerStopCondition.await(timeout, TimeUnit.MILLISECONDS)) {
+                    break;
+                }
             } catch (InterruptedException exception) {
                 log.error("controller cannot wait, cause it was interrupted");
                 log.error(exception.getMessage());
@@ -129,6 +501,32 @@ public class Controller implements Runnable, Interruptible {
         callLock.unlock();
     }
 
+    Map<Call, Elevator> getAssignedCalls() {
+        return assignedCalls;
+    }
+
+    Map<DestinationCall, Elevator> getAssignedElevators() {
+        return assignedElevators;
+    }
+
+    Map<DestinationCall, Integer> getAssignedWeights() {
+        return assignedWeights;
+    }
+
+    void restore(List<Call> calls, Map<Call, Elevator> assignedCalls, Map<DestinationCall, Elevator> assignedElevators,
+                 Map<DestinationCall, Integer> assignedWeights) {
+        callLock.lock();
+        this.calls.clear();
+        this.calls.addAll(calls);
+        this.assignedCalls.clear();
+        this.assignedCalls.putAll(assignedCalls);
+        this.assignedElevators.clear();
+        this.assignedElevators.putAll(assignedElevators);
+        this.assignedWeights.clear();
+        this.assignedWeights.putAll(assignedWeights);
+        callLock.unlock();
+    }
+
     public List<Call> getAllCalls() {
         callLock.lock();
         List<Call> allCalls = ImmutableList.copyOf(calls);
@@ -153,11 +551,25 @@ public class Controller implements Runnable, Interruptible {
     public void run() {
         turnOn();
 
+        long lastReassignmentTime = System.currentTimeMillis();
+        long lastPlanTime = System.currentTimeMillis();
         while (isRunning) {
-            while (calls.isEmpty()) {
-                waitCall();
-            }
+            waitCall();
             dispatchCall();
+
+            if (optimizingDispatcher != null) {
+                applyPlan();
+                if (System.currentTimeMillis() - lastPlanTime >= OptimizingDispatcher.CYCLE_PERIOD) {
+                    requestPlan();
+                    lastPlanTime = System.currentTimeMillis();
+                }
+            }
+
+            ReassignmentPolicy policy = reassignmentPolicy;
+            if (policy != null && System.currentTimeMillis() - lastReassignmentTime >= policy.getPeriod()) {
+                reassignCalls();
+                lastReassignmentTime = System.currentTimeMillis();
+            }
         }
     }
 }
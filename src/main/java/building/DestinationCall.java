@@ -0,0 +1,44 @@
+package building;
+
+import building.state.Direction;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+@Getter
+@EqualsAndHashCode
+public class DestinationCall {
+    private final int originFloorNumber;
+    private final int targetFloorNumber;
+    private final Zone zone;
+
+    private DestinationCall(int originFloorNumber, int targetFloorNumber, Zone zone) {
+        checkArgument(originFloorNumber >= Floor.GROUND_FLOOR);
+        checkArgument(targetFloorNumber >= Floor.GROUND_FLOOR);
+        checkArgument(originFloorNumber != targetFloorNumber);
+        checkNotNull(zone);
+
+        this.originFloorNumber = originFloorNumber;
+        this.targetFloorNumber = targetFloorNumber;
+        this.zone = zone;
+    }
+
+    public static DestinationCall of(int originFloorNumber, int targetFloorNumber, Zone zone) {
+        return new DestinationCall(originFloorNumber, targetFloorNumber, zone);
+    }
+
+    public Direction getDirection() {
+        return targetFloorNumber > originFloorNumber ? Direction.UP : Direction.DOWN;
+    }
+
+    public Call getHallCall() {
+        return Call.of(originFloorNumber, getDirection(), zone);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("(From->%d; To->%d; Zone:%s)", originFloorNumber, targetFloorNumber, zone);
+    }
+}
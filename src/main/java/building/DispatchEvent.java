@@ -0,0 +1,37 @@
+package building;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the controller giving a call to a car. The cost is the one the controller compares
+ * cars by for destination calls; for hall calls, whose strategy does not report one, it is the distance in floors.
+ */
+@Name("elevators.Dispatch")
+@Label("Call Dispatch")
+@Category({"Elevators", "Controller"})
+@Description("The controller has given a call to a car")
+@StackTrace(false)
+class DispatchEvent extends jdk.jfr.Event {
+    @Label("Floor")
+    int floorNumber;
+
+    @Label("Destination Floor")
+    @Description("Floor the passenger goes to, or -1 for a hall call")
+    int destinationFloorNumber;
+
+    @Label("Direction")
+    String direction;
+
+    @Label("Elevator")
+    String elevatorId;
+
+    @Label("Cost")
+    int cost;
+
+    @Label("Strategy")
+    String strategy;
+}
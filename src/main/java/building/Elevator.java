@@ -7,17 +7,20 @@ import human.Human;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import util.StatisticsHolder;
+import util.clock.SimulationClock;
 import util.interrupt.Interruptible;
+import util.lock.LockProfiler;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.*;
 
@@ -33,8 +36,17 @@ public class Elevator implements Runnable, Interruptible {
     private final int moveSpeed;
     @Getter
     private final int doorWorkSpeed;
+    @Getter
+    private final Zone zone;
+    @Getter
+    @Nullable
+    private final MotionProfile motionProfile;
     private final List<Human> passengers;
     private final List<Call> calls;
+    private final List<Human> leavingPassengers;
+    private final List<Human> boardingPassengers;
+    @Nullable
+    private Call[] hallCalls;
 
     private final Condition elevatorStopCondition;
     private final Lock currentFloorLock;
@@ -49,8 +61,22 @@ public class Elevator implements Runnable, Interruptible {
     private volatile Building building;
     private volatile Direction direction;
     private volatile State state;
-
-    private Elevator(int capacity, int currentFloorNumber, int moveSpeed, int doorWorkSpeed) {
+    private volatile Direction destinationDirection;
+    @Nullable
+    private volatile Call parkingCall;
+    private final AtomicLong transitions;
+    @Nullable
+    private volatile ArrivalPlan arrivalPlan;
+    private volatile long runEndTime;
+    private volatile int runTargetFloorNumber;
+    private int passengersWeight;
+    private State publishedState;
+    private Direction publishedDirection;
+
+    private Elevator(int capacity, int currentFloorNumber, int moveSpeed, int doorWorkSpeed, Zone zone,
+                     @Nullable MotionProfile motionProfile) {
+        checkNotNull(zone);
+        checkArgument(zone.serves(currentFloorNumber));
         checkArgument(capacity > MIN_CAPACITY);
         checkArgument(moveSpeed >= MIN_SPEED && moveSpeed <= MAX_SPEED);
         checkArgument(doorWorkSpeed >= MIN_SPEED && doorWorkSpeed <= MAX_SPEED);
@@ -59,55 +85,75 @@ public class Elevator implements Runnable, Interruptible {
         this.capacity = capacity;
         this.moveSpeed = moveSpeed;
         this.doorWorkSpeed = doorWorkSpeed;
+        this.zone = zone;
+        this.motionProfile = motionProfile;
         this.currentFloorNumber = new AtomicInteger(currentFloorNumber);
 
-        this.currentFloorLock = new ReentrantLock(true);
-        this.peopleLock = new ReentrantLock(true);
-        this.stateLock = new ReentrantLock(true);
-        this.callLock = new ReentrantLock(true);
+        this.currentFloorLock = LockProfiler.newLock("Elevator.currentFloorLock", true);
+        this.peopleLock = LockProfiler.newLock("Elevator.peopleLock", true);
+        this.stateLock = LockProfiler.newLock("Elevator.stateLock", true);
+        this.callLock = LockProfiler.newLock("Elevator.callLock", true);
         this.elevatorStopCondition = callLock.newCondition();
 
         this.passengers = new ArrayList<>();
         this.calls = new ArrayList<>();
+        this.leavingPassengers = new ArrayList<>();
+        this.boardingPassengers = new ArrayList<>();
 
         this.direction = Direction.NONE;
         this.state = State.STOP;
+        this.destinationDirection = Direction.NONE;
+        this.publishedDirection = direction;
+        this.publishedState = state;
 
         this.numberOfDeliveredPeople = new AtomicInteger(0);
+        this.transitions = new AtomicLong(0);
+        this.runEndTime = ArrivalPlan.NOW;
     }
 
     public static Elevator of(int capacity) {
-        return new Elevator(capacity, Floor.GROUND_FLOOR, MIN_SPEED, MIN_SPEED);
+        return new Elevator(capacity, Floor.GROUND_FLOOR, MIN_SPEED, MIN_SPEED, Zone.ALL, null);
     }
 
     public static Elevator of(int capacity, int startFloorNumber) {
-        return new Elevator(capacity, startFloorNumber, MIN_SPEED, MIN_SPEED);
+        return new Elevator(capacity, startFloorNumber, MIN_SPEED, MIN_SPEED, Zone.ALL, null);
     }
 
     public static Elevator of(int capacity, int startFloorNumber, int speed) {
-        return new Elevator(capacity, startFloorNumber, speed, speed);
+        return new Elevator(capacity, startFloorNumber, speed, speed, Zone.ALL, null);
     }
 
     public static Elevator of(int capacity, int startFloorNumber, int moveSpeed, int doorWorkSpeed) {
-        return new Elevator(capacity, startFloorNumber, moveSpeed, doorWorkSpeed);
+        return new Elevator(capacity, startFloorNumber, moveSpeed, doorWorkSpeed, Zone.ALL, null);
     }
 
     public static Elevator of(int capacity, Floor startFloor) {
         checkNotNull(startFloor);
 
-        return new Elevator(capacity, startFloor.getFloorNumber(), MIN_SPEED, MIN_SPEED);
+        return new Elevator(capacity, startFloor.getFloorNumber(), MIN_SPEED, MIN_SPEED, Zone.ALL, null);
     }
 
     public static Elevator of(int capacity, Floor startFloor, int speed) {
         checkNotNull(startFloor);
 
-        return new Elevator(capacity, startFloor.getFloorNumber(), speed, speed);
+        return new Elevator(capacity, startFloor.getFloorNumber(), speed, speed, Zone.ALL, null);
     }
 
     public static Elevator of(int capacity, Floor startFloor, int moveSpeed, int doorWorkSpeed) {
         checkNotNull(startFloor);
 
-        return new Elevator(capacity, startFloor.getFloorNumber(), moveSpeed, doorWorkSpeed);
+        return new Elevator(capacity, startFloor.getFloorNumber(), moveSpeed, doorWorkSpeed, Zone.ALL, null);
+    }
+
+    public static Elevator of(int capacity, int startFloorNumber, int moveSpeed, int doorWorkSpeed, Zone zone) {
+        return new Elevator(capacity, startFloorNumber, moveSpeed, doorWorkSpeed, zone, null);
+    }
+
+    public static Elevator of(int capacity, int startFloorNumber, int doorWorkSpeed, Zone zone,
+                              MotionProfile motionProfile) {
+        checkNotNull(motionProfile);
+
+        return new Elevator(capacity, startFloorNumber, MIN_SPEED, doorWorkSpeed, zone, motionProfile);
     }
 
     public void addTo(Building building) {
@@ -132,6 +178,12 @@ public class Elevator implements Runnable, Interruptible {
         return floor;
     }
 
+    public Building getBuilding() {
+        checkNotNull(building);
+
+        return building;
+    }
+
     public Controller getController() {
         checkNotNull(building);
         checkNotNull(building.getController());
@@ -139,6 +191,18 @@ public class Elevator implements Runnable, Interruptible {
         return building.getController();
     }
 
+    public SimulationClock getClock() {
+        checkNotNull(building);
+
+        return building.getClock();
+    }
+
+    public StatisticsHolder getStatistics() {
+        checkNotNull(building);
+
+        return building.getStatistics();
+    }
+
     public int getNumberOfPeople() {
         peopleLock.lock();
         int size = passengers.size();
@@ -163,19 +227,16 @@ public class Elevator implements Runnable, Interruptible {
         return currentDirection;
     }
 
+    /**
+     * Direction of the first call; a lock-free read, so the controller and the car under its state lock can ask.
+     */
     public Direction getDestinationDirection() {
-        callLock.lock();
-        stateLock.lock();
-        Direction currentDirection = calls.isEmpty() ? Direction.NONE : calls.get(0).getDirection();
-        stateLock.unlock();
-        callLock.unlock();
-
-        return currentDirection;
+        return destinationDirection;
     }
 
     public int getFreeSpace() {
         peopleLock.lock();
-        int engagedSpace = passengers.stream().mapToInt(Human::getWeight).sum();
+        int engagedSpace = passengersWeight;
         peopleLock.unlock();
 
         return capacity - engagedSpace;
@@ -205,41 +266,285 @@ public class Elevator implements Runnable, Interruptible {
         return list;
     }
 
+    public boolean canServe(Call call) {
+        checkNotNull(call);
+
+        return zone.serves(call.getTargetFloorNumber())
+                && (call.getZone().isAll() || call.getZone().equals(zone));
+    }
+
+    public boolean isParking() {
+        return parkingCall != null;
+    }
+
+    public boolean isIdle() {
+        stateLock.lock();
+        boolean result = direction == Direction.NONE && state == State.STOP;
+        stateLock.unlock();
+
+        return result || isParking();
+    }
+
+    public OptionalInt getParkingFloorNumber() {
+        Call call = parkingCall;
+
+        return call == null ? OptionalInt.empty() : OptionalInt.of(call.getTargetFloorNumber());
+    }
+
+    public void parkAt(int floorNumber) {
+        Call call = Call.of(floorNumber, getCurrentFloorNumber());
+        addCall(call);
+
+        callLock.lock();
+        if (calls.size() == 1 && calls.get(0).equals(call)) {
+            parkingCall = call;
+        }
+        callLock.unlock();
+    }
+
     public void addCall(Call call) {
         checkNotNull(call);
 
+        boolean isParkingCancelled = false;
+
         callLock.lock();
+        if (parkingCall != null) {
+            calls.remove(parkingCall);
+            parkingCall = null;
+            isParkingCancelled = true;
+        }
         calls.add(call);
+        updateDestinationDirection();
         elevatorStopCondition.signal();
+        invalidateArrivalPlan();
         callLock.unlock();
 
         stateLock.lock();
         currentFloorLock.lock();
-        if (direction == Direction.NONE) {
+        if (direction == Direction.NONE || isParkingCancelled) {
             direction = call.getTargetFloorNumber() - currentFloorNumber.get() > 0 ? Direction.UP : Direction.DOWN;
         }
         currentFloorLock.unlock();
+        publishState();
         stateLock.unlock();
 
         log.info("elevator called to {}", call);
     }
 
+    public boolean revokeCall(Call call) {
+        checkNotNull(call);
+
+        boolean result = false;
+
+        // the car takes the call lock under the state lock, so the two are not nested here
+        stateLock.lock();
+        boolean isServing = call.getTargetFloorNumber() == currentFloorNumber.get() && state != State.MOVE;
+        stateLock.unlock();
+
+        callLock.lock();
+        if (!isServing && !call.equals(parkingCall)) {
+            result = calls.remove(call);
+            updateDestinationDirection();
+            invalidateArrivalPlan();
+        }
+        callLock.unlock();
+
+        if (result) {
+            log.info("call has been revoked from elevator {}", call);
+        }
+
+        return result;
+    }
+
+    public long getTravelTime(int numberOfFloors) {
+        checkArgument(numberOfFloors >= 0);
+
+        return motionProfile == null
+                ? (long) numberOfFloors * (DEFAULT_OPERATION_TIME - moveSpeed)
+                : motionProfile.getTravelTime(numberOfFloors);
+    }
+
+    public long getEstimatedArrivalTime(int floorNumber, Direction direction) {
+        checkArgument(floorNumber >= Floor.GROUND_FLOOR);
+        checkNotNull(direction);
+
+        long version = transitions.get();
+        ArrivalPlan plan = arrivalPlan;
+        if (plan == null || plan.getVersion() != version) {
+            plan = createArrivalPlan(version);
+            arrivalPlan = plan;
+        }
+
+        return plan.getArrivalTime(floorNumber, direction, getClock().currentTime());
+    }
+
+    public long getStopTime() {
+        return 2 * (DEFAULT_OPERATION_TIME - doorWorkSpeed);
+    }
+
+    private ArrivalPlan createArrivalPlan(long version) {
+        long startTime = runEndTime;
+
+        return ArrivalPlan.of(version, startTime, getStartFloorNumber(startTime), getDoorDelay(), getCalls(),
+                getStopTime(), this::getTravelTime);
+    }
+
+    /**
+     * Floor the car leaves from next and how long it takes until it can, as used by lookahead snapshots.
+     */
+    int getStartFloorNumber() {
+        return getStartFloorNumber(runEndTime);
+    }
+
+    long getReadyDelay(long currentTime) {
+        long startTime = runEndTime;
+        long runDelay = startTime == ArrivalPlan.NOW ? 0 : Math.max(0, startTime - currentTime);
+
+        return runDelay + getDoorDelay();
+    }
+
+    @Nullable
+    Call getParkingCall() {
+        return parkingCall;
+    }
+
+    Optional<List<Human>> tryGetPassengers() {
+        if (!peopleLock.tryLock()) {
+            return Optional.empty();
+        }
+
+        List<Human> list = ImmutableList.copyOf(passengers);
+        peopleLock.unlock();
+
+        return Optional.of(list);
+    }
+
+    boolean isTravelling() {
+        return runEndTime != ArrivalPlan.NOW;
+    }
+
+    void restore(int floorNumber, Direction direction, State state, List<Call> calls, @Nullable Call parkingCall,
+                 List<Human> passengers, int numberOfDeliveredPeople) {
+        peopleLock.lock();
+        stateLock.lock();
+        callLock.lock();
+        currentFloorNumber.set(floorNumber);
+        this.direction = direction;
+        this.state = state;
+        this.calls.clear();
+        this.calls.addAll(calls);
+        updateDestinationDirection();
+        this.parkingCall = parkingCall;
+        this.passengers.clear();
+        this.passengers.addAll(passengers);
+        this.passengersWeight = passengers.stream().mapToInt(Human::getWeight).sum();
+        this.numberOfDeliveredPeople.set(numberOfDeliveredPeople);
+        runEndTime = ArrivalPlan.NOW;
+        callLock.unlock();
+        peopleLock.unlock();
+        publishState();
+        stateLock.unlock();
+        invalidateArrivalPlan();
+    }
+
+    private int getStartFloorNumber(long startTime) {
+        return startTime == ArrivalPlan.NOW ? getCurrentFloorNumber() : runTargetFloorNumber;
+    }
+
+    private long getDoorDelay() {
+        State currentState = getState();
+
+        return currentState == State.OPEN_DOOR || currentState == State.LOAD
+                ? DEFAULT_OPERATION_TIME - doorWorkSpeed
+                : 0;
+    }
+
+    /**
+     * Publishes the direction of the first call; called under the call lock whenever the calls change.
+     */
+    private void updateDestinationDirection() {
+        destinationDirection = calls.isEmpty() ? Direction.NONE : calls.get(0).getDirection();
+    }
+
+    private void invalidateArrivalPlan() {
+        transitions.incrementAndGet();
+    }
+
+    private boolean hasCallTo(int floorNumber) {
+        for (int i = 0; i < calls.size(); i++) {
+            if (calls.get(i).getTargetFloorNumber() == floorNumber) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The hall call of this car's zone at the floor, created once and reused by every later stop there.
+     */
+    private Call getHallCall(int floorNumber, Direction direction) {
+        if (hallCalls == null) {
+            hallCalls = new Call[2 * building.getNumberOfFloors()];
+        }
+
+        int index = 2 * floorNumber + (direction == Direction.UP ? 0 : 1);
+        Call call = hallCalls[index];
+        if (call == null) {
+            call = Call.of(floorNumber, direction, zone);
+            hallCalls[index] = call;
+        }
+
+        return call;
+    }
+
+    /**
+     * Reports the floor, direction and state to the controller's index of loading cars and, when they have changed,
+     * to the flight recorder; called under the state lock.
+     */
+    private void publishState() {
+        Building currentBuilding = building;
+        Controller controller = currentBuilding == null ? null : currentBuilding.getController();
+        if (controller != null) {
+            controller.updateLoadingCar(this, currentFloorNumber.get(), direction, state);
+        }
+
+        if (state == publishedState && direction == publishedDirection) {
+            return;
+        }
+        if (FlightRecording.isRecording()) {
+            ElevatorStateEvent event = new ElevatorStateEvent();
+            if (event.shouldCommit()) {
+                event.elevatorId = id.toString();
+                event.floorNumber = currentFloorNumber.get();
+                event.previousState = publishedState.name();
+                event.state = state.name();
+                event.direction = direction.name();
+                event.commit();
+            }
+        }
+        publishedState = state;
+        publishedDirection = direction;
+    }
+
     public void goUp() {
         checkState(getCurrentFloorNumber() < building.getNumberOfFloors());
 
         stateLock.lock();
         direction = Direction.UP;
         state = State.MOVE;
+        publishState();
         stateLock.unlock();
 
         currentFloorLock.lock();
         currentFloorNumber.incrementAndGet();
         currentFloorLock.unlock();
+        invalidateArrivalPlan();
 
-        StatisticsHolder.getInstance().incrementNumberOfPassedFloors();
+        getStatistics().incrementNumberOfPassedFloors();
 
         try {
-            TimeUnit.MILLISECONDS.sleep(DEFAULT_OPERATION_TIME - moveSpeed);
+            getClock().pause(DEFAULT_OPERATION_TIME - moveSpeed);
         } catch (InterruptedException exception){
             log.error("elevator cannot go up, cause it was interrupted");
             log.error(exception.getMessage());
@@ -258,16 +563,18 @@ public class Elevator implements Runnable, Interruptible {
         stateLock.lock();
         direction = Direction.DOWN;
         state = State.MOVE;
+        publishState();
         stateLock.unlock();
 
         currentFloorLock.lock();
         currentFloorNumber.decrementAndGet();
         currentFloorLock.unlock();
+        invalidateArrivalPlan();
 
-        StatisticsHolder.getInstance().incrementNumberOfPassedFloors();
+        getStatistics().incrementNumberOfPassedFloors();
 
         try {
-            TimeUnit.MILLISECONDS.sleep(DEFAULT_OPERATION_TIME - moveSpeed);
+            getClock().pause(DEFAULT_OPERATION_TIME - moveSpeed);
         } catch (InterruptedException exception){
             log.error("elevator cannot go down, cause it was interrupted");
             log.error(exception.getMessage());
@@ -280,13 +587,90 @@ public class Elevator implements Runnable, Interruptible {
         log.info("elevator moved to floor number {}", currentFloorNumber);
     }
 
+    public void travelTo(int floorNumber) {
+        checkState(motionProfile != null);
+        checkArgument(floorNumber >= Floor.GROUND_FLOOR && floorNumber < building.getNumberOfFloors());
+
+        int numberOfFloors = Math.abs(floorNumber - getCurrentFloorNumber());
+        long travelTime = motionProfile.getTravelTime(numberOfFloors);
+
+        stateLock.lock();
+        direction = floorNumber > getCurrentFloorNumber() ? Direction.UP : Direction.DOWN;
+        state = State.MOVE;
+        runTargetFloorNumber = floorNumber;
+        runEndTime = getClock().currentTime() + travelTime;
+        publishState();
+        stateLock.unlock();
+        invalidateArrivalPlan();
+
+        try {
+            getClock().pause(travelTime);
+        } catch (InterruptedException exception){
+            log.error("elevator cannot travel, cause it was interrupted");
+            log.error(exception.getMessage());
+
+            end();
+            turnOff();
+            Thread.currentThread().interrupt();
+        }
+
+        currentFloorLock.lock();
+        currentFloorNumber.set(floorNumber);
+        currentFloorLock.unlock();
+        runEndTime = ArrivalPlan.NOW;
+        invalidateArrivalPlan();
+
+        getStatistics().addNumberOfPassedFloors(numberOfFloors);
+
+        log.info("elevator travelled {} floors to floor number {}", numberOfFloors, floorNumber);
+    }
+
+    public int findNextStop(int targetFloorNumber) {
+        int floorNumber = getCurrentFloorNumber();
+        int step = targetFloorNumber > floorNumber ? 1 : -1;
+        Direction travelDirection = step > 0 ? Direction.UP : Direction.DOWN;
+
+        for (int i = floorNumber + step; i != targetFloorNumber; i += step) {
+            if (zone.serves(i) && shouldStopAt(i, travelDirection)) {
+                return i;
+            }
+        }
+
+        return targetFloorNumber;
+    }
+
+    private boolean shouldStopAt(int floorNumber, Direction travelDirection) {
+        callLock.lock();
+        boolean hasCall = hasCallTo(floorNumber);
+        callLock.unlock();
+
+        if (hasCall) {
+            return true;
+        }
+
+        Floor floor = building.getFloor(floorNumber);
+        int freeSpace = getFreeSpace();
+
+        Human assignedHuman = floor.getFirstAssignedHuman(this);
+        if (assignedHuman != null && assignedHuman.getWeight() <= freeSpace) {
+            return true;
+        }
+
+        Human human = floor.getFirstHuman(travelDirection, zone);
+
+        return human != null && human.getWeight() <= freeSpace
+                && getDestinationDirection().equals(travelDirection);
+    }
+
     public void openDoor() {
         stateLock.lock();
         state = State.OPEN_DOOR;
+        publishState();
         stateLock.unlock();
+        invalidateArrivalPlan();
 
         try {
-            TimeUnit.MILLISECONDS.sleep(DEFAULT_OPERATION_TIME - doorWorkSpeed);
+            getClock().pause(DEFAULT_OPERATION_TIME - doorWorkSpeed);
         } catch (InterruptedException exception){
             log.error("elevator cannot open door, cause it was interrupted");
             log.error(exception.getMessage());
@@ -306,18 +690,23 @@ public class Elevator implements Runnable, Interruptible {
         if (direction == Direction.NONE) {
             direction = human.getCall().getDirection();
         }
+        publishState();
         stateLock.unlock();
 
         peopleLock.lock();
         passengers.add(human);
+        passengersWeight += human.getWeight();
         peopleLock.unlock();
 
-        getController().removeCall(Call.of(getCurrentFloorNumber(), human.getCall().getDirection()));
+        human.board(getClock().currentTime());
+        getStatistics().recordWaitTime(Math.max(0, getClock().currentTime() - human.getWaitingSince()));
+
+        getController().removeCall(getHallCall(getCurrentFloorNumber(), human.getCall().getDirection()));
 
         addCall(human.getCall());
 
         try {
-            TimeUnit.MILLISECONDS.sleep(DEFAULT_OPERATION_TIME - doorWorkSpeed);
+            getClock().pause(DEFAULT_OPERATION_TIME - doorWorkSpeed);
         } catch (InterruptedException exception){
             log.error("elevator cannot pickup human, cause it was interrupted");
             log.error(exception.getMessage());
@@ -336,13 +725,30 @@ public class Elevator implements Runnable, Interruptible {
 
         peopleLock.lock();
         passengers.remove(human);
+        passengersWeight -= human.getWeight();
         peopleLock.unlock();
 
-        StatisticsHolder.getInstance().incrementNumberOfDeliveredPeople();
-        numberOfDeliveredPeople.incrementAndGet();
+        int floorNumber = getCurrentFloorNumber();
+        if (getStatistics().isRecording()) {
+            getStatistics().recordRide(building.getElevatorIndex(this),
+                    human.getCurrentFloor().getFloorNumber(), floorNumber, human.getWeight(),
+                    human.getBoardingTime(), getClock().currentTime());
+        }
+        if (human.getCall().getTargetFloorNumber() == floorNumber && human.getDestinationFloorNumber() != floorNumber) {
+            building.transferHuman(human, floorNumber);
+
+            log.info("human transfers at floor {}: {}", floorNumber, human);
+        } else {
+            getStatistics().incrementNumberOfDeliveredPeople();
+            getStatistics().recordJourneyTime(getClock().currentTime() - human.getArrivalTime());
+            getStatistics().recordPassenger(human.getStartFloor().getFloorNumber(), human.getDestinationFloorNumber(),
+                    human.getWeight(), human.getArrivalTime(), getClock().currentTime(), human.getWaitTime(),
+                    human.getNumberOfRides());
+            numberOfDeliveredPeople.incrementAndGet();
+        }
 
         try {
-            TimeUnit.MILLISECONDS.sleep(DEFAULT_OPERATION_TIME - doorWorkSpeed);
+            getClock().pause(DEFAULT_OPERATION_TIME - doorWorkSpeed);
         } catch (InterruptedException exception){
             log.error("elevator cannot disembark human, cause it was interrupted");
             log.error(exception.getMessage());
@@ -363,7 +769,7 @@ public class Elevator implements Runnable, Interruptible {
         stateLock.lock();
         Direction destinationDirection = getDestinationDirection();
         if (!destinationDirection.equals(Direction.NONE) && destinationDirection.equals(direction)) {
-            human = getCurrentFloor().getFirstHuman(direction);
+            human = getCurrentFloor().getFirstHuman(direction, zone);
         }
         stateLock.unlock();
         getCurrentFloor().getFloorLock().unlock();
@@ -374,6 +780,11 @@ public class Elevator implements Runnable, Interruptible {
             result = human.getCall().getDirection() == direction;
             stateLock.unlock();
         }
+
+        Human assignedHuman = getCurrentFloor().getFirstAssignedHuman(this);
+        if (assignedHuman != null && assignedHuman.getWeight() <= getFreeSpace()) {
+            result = true;
+        }
         peopleLock.unlock();
 
         return result;
@@ -382,25 +793,52 @@ public class Elevator implements Runnable, Interruptible {
     public void load() {
         stateLock.lock();
         state = State.LOAD;
+        publishState();
         stateLock.unlock();
+        invalidateArrivalPlan();
 
-        handleDisembark();
+        getController().releaseAssignments(this, currentFloorNumber.get());
+
+        BoardingEvent event = FlightRecording.isRecording() ? new BoardingEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        int numberOfAlighted = handleDisembark();
         handleLoadDirectionState();
-        handleEmbark();
+        int numberOfBoarded = handleAssignedEmbark() + handleEmbark();
+        if (event != null && event.shouldCommit()) {
+            event.elevatorId = id.toString();
+            event.floorNumber = currentFloorNumber.get();
+            event.numberOfAlighted = numberOfAlighted;
+            event.numberOfBoarded = numberOfBoarded;
+            event.numberOfPassengers = getNumberOfPeople();
+            event.commit();
+        }
+
+        getCurrentFloor().releaseAssignedHumans(this);
 
         log.info("elevator finishes load");
     }
 
-    private void handleDisembark() {
+    private int handleDisembark() {
         peopleLock.lock();
-        List<Human> peopleForDisembark = passengers.stream()
-                .filter(i -> i.getCall().getTargetFloorNumber() == currentFloorNumber.get())
-                .collect(Collectors.toList());
+        for (int i = 0; i < passengers.size(); i++) {
+            Human passenger = passengers.get(i);
+            if (passenger.getCall().getTargetFloorNumber() == currentFloorNumber.get()) {
+                leavingPassengers.add(passenger);
+            }
+        }
         peopleLock.unlock();
 
-        peopleForDisembark.forEach(this::disembark);
+        int numberOfAlighted = leavingPassengers.size();
+        for (int i = 0; i < numberOfAlighted; i++) {
+            disembark(leavingPassengers.get(i));
+        }
+        leavingPassengers.clear();
 
         log.info("elevator has finished disembarking");
+
+        return numberOfAlighted;
     }
 
     private void handleLoadDirectionState() {
@@ -412,16 +850,29 @@ public class Elevator implements Runnable, Interruptible {
         } else if (passengers.isEmpty()) {
             direction = getDestinationDirection();
         }
+        publishState();
         stateLock.unlock();
         peopleLock.unlock();
     }
 
-    private void handleEmbark() {
+    private int handleAssignedEmbark() {
+        getCurrentFloor().pollAssignedHumans(this, getFreeSpace(), boardingPassengers);
+        int numberOfBoarded = boardingPassengers.size();
+        for (int i = 0; i < numberOfBoarded; i++) {
+            pickUpHuman(boardingPassengers.get(i));
+        }
+        boardingPassengers.clear();
+
+        return numberOfBoarded;
+    }
+
+    private int handleEmbark() {
+        int numberOfBoarded = 0;
         boolean isEmbarking = true;
         while (state == State.LOAD && isEmbarking) {
             getCurrentFloor().getFloorLock().lock();
             stateLock.lock();
-            Human human = getCurrentFloor().getFirstHuman(direction);
+            Human human = getCurrentFloor().getFirstHuman(direction, zone);
             Direction destinationDirection = getDestinationDirection();
 
             if (human != null && ((!destinationDirection.equals(Direction.NONE)
@@ -433,17 +884,19 @@ public class Elevator implements Runnable, Interruptible {
                 if (human.getWeight() <= getFreeSpace()) {
                     if (direction.equals(Direction.NONE)) {
                         direction = human.getCall().getDirection();
+                        publishState();
                     }
                     stateLock.unlock();
-                    human = getCurrentFloor().pollFirstHuman(direction);
+                    human = getCurrentFloor().pollFirstHuman(direction, zone);
                     getCurrentFloor().getFloorLock().unlock();
                     pickUpHuman(human);
+                    numberOfBoarded++;
 
                     log.info("human has been picked up {}", human);
                 } else {
                     stateLock.unlock();
                     getCurrentFloor().getFloorLock().unlock();
-                    getController().addCall(Call.of(currentFloorNumber.get(), human.getCall().getDirection()));
+                    getController().addCall(getHallCall(currentFloorNumber.get(), human.getCall().getDirection()));
 
                     log.info("elevator cannot pick up human, 'cause there is not enough space {}", human);
                     log.info("elevator recall {}", human.getCall());
@@ -457,15 +910,19 @@ public class Elevator implements Runnable, Interruptible {
                 isEmbarking = false;
             }
         }
+
+        return numberOfBoarded;
     }
 
     public void closeDoor() {
         stateLock.lock();
         state = State.CLOSE_DOOR;
+        publishState();
         stateLock.unlock();
+        invalidateArrivalPlan();
 
         try {
-            TimeUnit.MILLISECONDS.sleep(DEFAULT_OPERATION_TIME - doorWorkSpeed);
+            getClock().pause(DEFAULT_OPERATION_TIME - doorWorkSpeed);
         } catch (InterruptedException exception){
             log.error("elevator cannot close door, cause it was interrupted");
             log.error(exception.getMessage());
@@ -479,12 +936,10 @@ public class Elevator implements Runnable, Interruptible {
     }
 
     public void stop() {
-        callLock.lock();
+        idle();
+        park();
 
-        stateLock.lock();
-        direction = Direction.NONE;
-        state = State.STOP;
-        stateLock.unlock();
+        callLock.lock();
 
         while (calls.isEmpty()) {
             log.info("elevator stopped");
@@ -504,11 +959,26 @@ public class Elevator implements Runnable, Interruptible {
         callLock.unlock();
     }
 
+    public void idle() {
+        stateLock.lock();
+        direction = Direction.NONE;
+        state = State.STOP;
+        publishState();
+        stateLock.unlock();
+        invalidateArrivalPlan();
+    }
+
+    public void park() {
+        getController().parkElevator(this, getClock().currentTime());
+    }
+
     public void end() {
         stateLock.lock();
         direction = Direction.NONE;
         state = State.END;
+        publishState();
         stateLock.unlock();
+        invalidateArrivalPlan();
 
         log.warn("elevator has finished his way");
     }
@@ -517,10 +987,21 @@ public class Elevator implements Runnable, Interruptible {
         boolean hasExecutedCalls;
 
         callLock.lock();
-        List<Call> currentFloorCalls = calls.stream()
-                .filter(i -> i.getTargetFloorNumber() == currentFloorNumber.get())
-                .collect(Collectors.toList());
-        hasExecutedCalls = calls.removeAll(currentFloorCalls);
+        if (parkingCall != null && parkingCall.getTargetFloorNumber() == currentFloorNumber.get()) {
+            calls.remove(parkingCall);
+            parkingCall = null;
+        }
+        hasExecutedCalls = false;
+        for (int i = calls.size() - 1; i >= 0; i--) {
+            if (calls.get(i).getTargetFloorNumber() == currentFloorNumber.get()) {
+                calls.remove(i);
+                hasExecutedCalls = true;
+            }
+        }
+        updateDestinationDirection();
+        if (hasExecutedCalls) {
+            invalidateArrivalPlan();
+        }
         callLock.unlock();
 
         return hasExecutedCalls;
@@ -540,38 +1021,75 @@ public class Elevator implements Runnable, Interruptible {
         log.info("elevator has been started");
     }
 
-    @Override
-    public void run() {
+    public boolean hasCalls() {
+        callLock.lock();
+        boolean result = !calls.isEmpty();
+        callLock.unlock();
+
+        return result;
+    }
+
+    public boolean step() {
         boolean areWaitingPeopleOnThisFloor;
         boolean hasExecutedCalls;
         int currentCallFloorNumber;
 
+        callLock.lock();
+        if (calls.isEmpty()) {
+            callLock.unlock();
+
+            return false;
+        }
+
+        hasExecutedCalls = removeExecutedCalls();
+        currentCallFloorNumber = calls.isEmpty()
+                ? currentFloorNumber.get()
+                : calls.get(0).getTargetFloorNumber();
+
+        callLock.unlock();
+
+        areWaitingPeopleOnThisFloor = checkFloor();
+
+        long startTime = getClock().currentTime();
+        int startFloorNumber = currentFloorNumber.get();
+        if (hasExecutedCalls || areWaitingPeopleOnThisFloor) {
+            openDoor();
+            load();
+            closeDoor();
+        } else if (motionProfile != null && currentCallFloorNumber != currentFloorNumber.get()) {
+            travelTo(findNextStop(currentCallFloorNumber));
+        } else if (currentCallFloorNumber > currentFloorNumber.get()) {
+            goUp();
+        } else if (currentCallFloorNumber < currentFloorNumber.get()) {
+            goDown();
+        }
+        recordMovement(startFloorNumber, startTime);
+        building.getSpeedGauge().countStep();
+
+        return true;
+    }
+
+    private void recordMovement(int startFloorNumber, long startTime) {
+        long endTime = getClock().currentTime();
+        if (!getStatistics().isRecording() || endTime == startTime) {
+            return;
+        }
+
+        peopleLock.lock();
+        int numberOfPassengers = passengers.size();
+        peopleLock.unlock();
+
+        getStatistics().recordMovement(building.getElevatorIndex(this), startFloorNumber,
+                currentFloorNumber.get(), numberOfPassengers, startTime, endTime);
+    }
+
+    @Override
+    public void run() {
         turnOn();
 
         while (isRunning) {
-            callLock.lock();
-            if (calls.isEmpty()) {
-                callLock.unlock();
+            if (!step()) {
                 stop();
-            } else {
-                hasExecutedCalls = removeExecutedCalls();
-                currentCallFloorNumber = calls.isEmpty()
-                        ? currentFloorNumber.get()
-                        : calls.get(0).getTargetFloorNumber();
-
-                callLock.unlock();
-
-                areWaitingPeopleOnThisFloor = checkFloor();
-
-                if (hasExecutedCalls || areWaitingPeopleOnThisFloor) {
-                    openDoor();
-                    load();
-                    closeDoor();
-                } else if (currentCallFloorNumber > currentFloorNumber.get()) {
-                    goUp();
-                } else if (currentCallFloorNumber < currentFloorNumber.get()) {
-                    goDown();
-                }
             }
         }
 
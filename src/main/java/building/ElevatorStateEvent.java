@@ -0,0 +1,32 @@
+package building;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a car changing its state or direction.
+ */
+@Name("elevators.ElevatorState")
+@Label("Elevator State")
+@Category({"Elevators", "Elevator"})
+@Description("A car has changed its state or direction")
+@StackTrace(false)
+class ElevatorStateEvent extends jdk.jfr.Event {
+    @Label("Elevator")
+    String elevatorId;
+
+    @Label("Floor")
+    int floorNumber;
+
+    @Label("Previous State")
+    String previousState;
+
+    @Label("State")
+    String state;
+
+    @Label("Direction")
+    String direction;
+}
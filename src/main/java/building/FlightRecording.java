@@ -0,0 +1,38 @@
+package building;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Whether a flight recording is running in this JVM. Kept up to date by a listener, so the cars, the floors and
+ * the controller pay a single volatile read for their events, and create none, while nothing is recorded.
+ */
+final class FlightRecording {
+    private static volatile boolean isRecording;
+
+    static {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                update();
+            }
+        });
+        if (FlightRecorder.isInitialized()) {
+            update();
+        }
+    }
+
+    private FlightRecording() {
+    }
+
+    static boolean isRecording() {
+        return isRecording;
+    }
+
+    private static void update() {
+        isRecording = FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .anyMatch(recording -> recording.getState() == RecordingState.RUNNING);
+    }
+}
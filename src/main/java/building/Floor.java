@@ -3,24 +3,23 @@ package building;
 import building.state.Direction;
 import com.google.common.collect.ImmutableList;
 import human.Human;
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import util.lock.LockProfiler;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 @Slf4j
-@EqualsAndHashCode
 public class Floor {
     public static final int GROUND_FLOOR = 0;
 
@@ -31,8 +30,7 @@ public class Floor {
     @Getter
     private final Condition floorLockCondition;
     private final Building building;
-    private final Queue<Human> queueUp;
-    private final Queue<Human> queueDown;
+    private final FloorQueue queue;
 
     private Floor(int floorNumber, Building building) {
         checkArgument(floorNumber >= GROUND_FLOOR);
@@ -41,10 +39,9 @@ public class Floor {
 
         this.floorNumber = floorNumber;
         this.building = building;
-        this.queueUp = new ConcurrentLinkedQueue<>();
-        this.queueDown = new ConcurrentLinkedQueue<>();
+        this.queue = new FloorQueue();
 
-        this.floorLock = new ReentrantLock(true);
+        this.floorLock = LockProfiler.newLock("Floor.floorLock", true);
         this.floorLockCondition = floorLock.newCondition();
     }
 
@@ -60,25 +57,97 @@ public class Floor {
 
 
     public void callElevator(Direction direction) {
+        callElevator(direction, Zone.ALL);
+    }
+
+    public void callElevator(Direction direction, Zone zone) {
         checkNotNull(direction);
+        checkNotNull(zone);
         checkNotNull(getController());
 
-        getController().addCall(Call.of(floorNumber, direction));
+        getController().addCall(Call.of(floorNumber, direction, zone));
     }
 
     public void addHuman(Human human) {
         checkNotNull(human);
 
+        long time = building.getClock().currentTime();
+        human.arriveAt(this, time);
+        getController().recordArrival(floorNumber, time);
+        human.followRoute(building.findRoute(floorNumber, human.getDestinationFloorNumber()));
+
+        if (getController().isDestinationControl()) {
+            Elevator elevator = getController().assignElevator(human);
+            human.assignTo(elevator);
+
+            floorLock.lock();
+            queue.addAssigned(elevator, human);
+            recordQueue();
+            floorLock.unlock();
+
+            log.info("human has been assigned to elevator {}: {}", elevator.getId(), human);
+        } else {
+            floorLock.lock();
+            enqueue(human);
+            recordQueue();
+            floorLock.unlock();
+
+            log.info("human has been added to {}", human);
+        }
+    }
+
+    @Nullable
+    public Human getFirstAssignedHuman(Elevator elevator) {
+        checkNotNull(elevator);
+
         floorLock.lock();
-        Direction direction = human.getCall().getDirection();
-        if (direction == Direction.UP) {
-            enqueue(queueUp, human);
-        } else if (direction == Direction.DOWN) {
-            enqueue(queueDown, human);
+        Human human = queue.peekAssigned(elevator);
+        floorLock.unlock();
+
+        return human;
+    }
+
+    @Nullable
+    public Human pollFirstAssignedHuman(Elevator elevator) {
+        checkNotNull(elevator);
+
+        floorLock.lock();
+        Human human = queue.pollAssigned(elevator);
+        if (human != null) {
+            recordQueue();
         }
         floorLock.unlock();
 
-        log.info("human has been added to {}", human);
+        return human;
+    }
+
+    /**
+     * Moves the people at the head of the car's queue whose total weight fits into the given space to the given
+     * collection, in one go.
+     */
+    public void pollAssignedHumans(Elevator elevator, int freeSpace, Collection<Human> humans) {
+        checkNotNull(elevator);
+        checkNotNull(humans);
+
+        floorLock.lock();
+        queue.pollAssigned(elevator, freeSpace, humans);
+        recordQueue();
+        floorLock.unlock();
+    }
+
+    public void releaseAssignedHumans(Elevator elevator) {
+        checkNotNull(elevator);
+
+        floorLock.lock();
+        Human human;
+        while ((human = queue.pollAssigned(elevator)) != null) {
+            human.assignTo(null);
+            enqueue(human);
+
+            log.info("human has been left behind by elevator {}: {}", elevator.getId(), human);
+        }
+        recordQueue();
+        floorLock.unlock();
     }
 
     public int getNumberOfPeople(Direction direction) {
@@ -86,7 +155,19 @@ public class Floor {
 
         floorLock.lock();
         direction = resolveDirection(direction);
-        int count = direction.equals(Direction.UP) ? queueUp.size() : queueDown.size();
+        int count = queue.size(direction) + queue.assignedSize(direction);
+        floorLock.unlock();
+
+        return count;
+    }
+
+    public int getNumberOfPeople(Direction direction, Zone zone) {
+        checkNotNull(direction);
+        checkNotNull(zone);
+
+        floorLock.lock();
+        direction = resolveDirection(direction, zone);
+        int count = queue.size(direction, zone);
         floorLock.unlock();
 
         return count;
@@ -98,7 +179,20 @@ public class Floor {
 
         floorLock.lock();
         direction = resolveDirection(direction);
-        Human human = direction.equals(Direction.UP) ? queueUp.peek() : queueDown.peek();
+        Human human = queue.peek(direction);
+        floorLock.unlock();
+
+        return human;
+    }
+
+    @Nullable
+    public Human getFirstHuman(Direction direction, Zone zone) {
+        checkNotNull(direction);
+        checkNotNull(zone);
+
+        floorLock.lock();
+        direction = resolveDirection(direction, zone);
+        Human human = queue.peek(direction, zone);
         floorLock.unlock();
 
         return human;
@@ -108,16 +202,32 @@ public class Floor {
     public Human pollFirstHuman(Direction direction) {
         checkNotNull(direction);
 
+        floorLock.lock();
+        Human firstHuman = getFirstHuman(direction);
+        Human human = firstHuman == null
+                ? null
+                : pollFirstHuman(firstHuman.getCall().getDirection(), firstHuman.getZone());
+        floorLock.unlock();
+
+        return human;
+    }
+
+    @Nullable
+    public Human pollFirstHuman(Direction direction, Zone zone) {
+        checkNotNull(direction);
+        checkNotNull(zone);
+
         Human human = null;
 
         floorLock.lock();
-        direction = resolveDirection(direction);
-        if (getFirstHuman(direction) != null) {
-            human = direction.equals(Direction.UP) ? queueUp.poll() : queueDown.poll();
-
-            if (getFirstHuman(direction) != null
-                    && getController().canCallElevator(Objects.requireNonNull(getFirstHuman(direction)).getCall())) {
-                callElevator(direction);
+        direction = resolveDirection(direction, zone);
+        human = queue.poll(direction, zone);
+        if (human != null) {
+            recordQueue();
+            Human nextHuman = queue.peek(direction, zone);
+            if (nextHuman != null && getController().canCallElevator(nextHuman.getCall().getTargetFloorNumber(),
+                    nextHuman.getCall().getDirection(), zone)) {
+                callElevator(direction, zone);
             }
 
             log.info("human has been polled {}", human);
@@ -132,21 +242,90 @@ public class Floor {
 
         floorLock.lock();
         direction = resolveDirection(direction);
+        ImmutableList.Builder<Human> humans = ImmutableList.builder();
+        queue.getQueues(direction).values().forEach(humans::addAll);
+        humans.addAll(queue.getAssigned(direction));
+        floorLock.unlock();
+
+        return humans.build();
+    }
+
+    /**
+     * Everyone waiting at the floor, or nothing when the floor is busy; never blocks.
+     */
+    Optional<List<Human>> tryGetWaitingHumans() {
+        if (!floorLock.tryLock()) {
+            return Optional.empty();
+        }
+
+        ImmutableList.Builder<Human> humans = ImmutableList.builder();
+        queue.forEach(humans::add);
         floorLock.unlock();
 
-        return direction.equals(Direction.UP) ? ImmutableList.copyOf(queueUp) : ImmutableList.copyOf(queueDown);
+        return Optional.of(humans.build());
     }
 
-    private void enqueue(Queue<Human> queue, Human human) {
-        if (queue.isEmpty()) {
+    /**
+     * Samples the depth of the queues for the flight recorder; called under the floor lock.
+     */
+    private void recordQueue() {
+        if (!FlightRecording.isRecording()) {
+            return;
+        }
+
+        FloorQueueEvent event = new FloorQueueEvent();
+        if (event.shouldCommit()) {
+            event.floorNumber = floorNumber;
+            event.numberOfPeopleUp = queue.size(Direction.UP);
+            event.numberOfPeopleDown = queue.size(Direction.DOWN);
+            event.numberOfAssignedUp = queue.assignedSize(Direction.UP);
+            event.numberOfAssignedDown = queue.assignedSize(Direction.DOWN);
+            event.commit();
+        }
+    }
+
+    private void enqueue(Human human) {
+        if (queue.add(human)) {
             human.pushButton();
         }
-        queue.add(human);
+    }
+
+    Map<Elevator, Queue<Human>> getAssignedQueues() {
+        return queue.getAssignedQueues();
+    }
+
+    /**
+     * Puts a human back at the end of its queue without pressing the button, used when restoring a checkpoint.
+     */
+    void restoreHuman(Human human) {
+        checkNotNull(human);
+
+        floorLock.lock();
+        if (human.getAssignedElevator() != null) {
+            queue.addAssigned(human.getAssignedElevator(), human);
+        } else {
+            queue.add(human);
+        }
+        floorLock.unlock();
+    }
+
+    Map<Zone, Queue<Human>> getQueues(Direction direction) {
+        return queue.getQueues(direction);
     }
 
     private Direction resolveDirection(Direction direction) {
         if (direction == Direction.NONE) {
-            return queueUp.size() > queueDown.size() ? Direction.UP : Direction.DOWN;
+            return queue.size(Direction.UP) > queue.size(Direction.DOWN) ? Direction.UP : Direction.DOWN;
+        }
+
+        return direction;
+    }
+
+    private Direction resolveDirection(Direction direction, Zone zone) {
+        if (direction == Direction.NONE) {
+            return queue.size(Direction.UP, zone) > queue.size(Direction.DOWN, zone)
+                    ? Direction.UP
+                    : Direction.DOWN;
         }
 
         return direction;
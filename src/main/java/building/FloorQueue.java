@@ -0,0 +1,173 @@
+package building;
+
+import building.state.Direction;
+import human.Human;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Consumer;
+
+/**
+ * People waiting at a floor: a queue per direction and zone and a queue per car they are assigned to. The
+ * number of people going each way is kept as they come and go, so counting, peeking and polling are O(1)
+ * however long the queues get. Not thread-safe: the floor guards it with its lock.
+ */
+class FloorQueue {
+    private final Map<Zone, Queue<Human>> queuesUp;
+    private final Map<Zone, Queue<Human>> queuesDown;
+    private final Map<Elevator, Queue<Human>> assignedQueues;
+    private int numberOfPeopleUp;
+    private int numberOfPeopleDown;
+    private int numberOfAssignedUp;
+    private int numberOfAssignedDown;
+
+    FloorQueue() {
+        this.queuesUp = new LinkedHashMap<>();
+        this.queuesDown = new LinkedHashMap<>();
+        this.assignedQueues = new LinkedHashMap<>();
+    }
+
+    /**
+     * Puts a human at the end of the queue of its direction and zone; returns whether the queue was empty.
+     */
+    boolean add(Human human) {
+        Queue<Human> queue = getQueues(human.getCall().getDirection())
+                .computeIfAbsent(human.getZone(), i -> new ArrayDeque<>());
+        boolean isFirst = queue.isEmpty();
+        queue.add(human);
+        count(human, 1);
+
+        return isFirst;
+    }
+
+    void addAssigned(Elevator elevator, Human human) {
+        assignedQueues.computeIfAbsent(elevator, i -> new ArrayDeque<>()).add(human);
+        countAssigned(human, 1);
+    }
+
+    @Nullable
+    Human peek(Direction direction) {
+        for (Queue<Human> queue : getQueues(direction).values()) {
+            if (!queue.isEmpty()) {
+                return queue.peek();
+            }
+        }
+
+        return null;
+    }
+
+    @Nullable
+    Human peek(Direction direction, Zone zone) {
+        Queue<Human> queue = getQueues(direction).get(zone);
+
+        return queue == null ? null : queue.peek();
+    }
+
+    @Nullable
+    Human poll(Direction direction, Zone zone) {
+        Queue<Human> queue = getQueues(direction).get(zone);
+        Human human = queue == null ? null : queue.poll();
+        if (human != null) {
+            count(human, -1);
+        }
+
+        return human;
+    }
+
+    @Nullable
+    Human peekAssigned(Elevator elevator) {
+        Queue<Human> queue = assignedQueues.get(elevator);
+
+        return queue == null ? null : queue.peek();
+    }
+
+    @Nullable
+    Human pollAssigned(Elevator elevator) {
+        Queue<Human> queue = assignedQueues.get(elevator);
+        Human human = queue == null ? null : queue.poll();
+        if (human != null) {
+            countAssigned(human, -1);
+        }
+
+        return human;
+    }
+
+    /**
+     * Moves people from the head of the car's queue while their total weight fits into the given space.
+     */
+    void pollAssigned(Elevator elevator, int freeSpace, Collection<Human> humans) {
+        Queue<Human> queue = assignedQueues.get(elevator);
+        while (queue != null && !queue.isEmpty() && queue.peek().getWeight() <= freeSpace) {
+            Human human = queue.poll();
+            freeSpace -= human.getWeight();
+            countAssigned(human, -1);
+            humans.add(human);
+        }
+    }
+
+    int size(Direction direction) {
+        return direction == Direction.UP ? numberOfPeopleUp : numberOfPeopleDown;
+    }
+
+    int size(Direction direction, Zone zone) {
+        Queue<Human> queue = getQueues(direction).get(zone);
+
+        return queue == null ? 0 : queue.size();
+    }
+
+    int assignedSize(Direction direction) {
+        return direction == Direction.UP ? numberOfAssignedUp : numberOfAssignedDown;
+    }
+
+    List<Human> getAssigned(Direction direction) {
+        if (assignedSize(direction) == 0) {
+            return Collections.emptyList();
+        }
+
+        List<Human> humans = new ArrayList<>(assignedSize(direction));
+        assignedQueues.values().forEach(queue -> queue.forEach(human -> {
+            if (human.getCall().getDirection() == direction) {
+                humans.add(human);
+            }
+        }));
+
+        return humans;
+    }
+
+    void forEach(Consumer<Human> consumer) {
+        queuesUp.values().forEach(queue -> queue.forEach(consumer));
+        queuesDown.values().forEach(queue -> queue.forEach(consumer));
+        assignedQueues.values().forEach(queue -> queue.forEach(consumer));
+    }
+
+    Map<Zone, Queue<Human>> getQueues(Direction direction) {
+        return direction == Direction.UP ? queuesUp : queuesDown;
+    }
+
+    Map<Elevator, Queue<Human>> getAssignedQueues() {
+        return assignedQueues;
+    }
+
+    private void count(Human human, int delta) {
+        if (human.getCall().getDirection() == Direction.UP) {
+            numberOfPeopleUp += delta;
+        } else {
+            numberOfPeopleDown += delta;
+        }
+    }
+
+    private void countAssigned(Human human, int delta) {
+        if (human.getCall().getDirection() == Direction.UP) {
+            numberOfAssignedUp += delta;
+        } else {
+            numberOfAssignedDown += delta;
+        }
+    }
+}
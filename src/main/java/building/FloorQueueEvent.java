@@ -0,0 +1,32 @@
+package building;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder sample of the people waiting at a floor, taken whenever someone joins or leaves its queues.
+ */
+@Name("elevators.FloorQueue")
+@Label("Floor Queue")
+@Category({"Elevators", "Floor"})
+@Description("Depth of the queues at a floor")
+@StackTrace(false)
+class FloorQueueEvent extends jdk.jfr.Event {
+    @Label("Floor")
+    int floorNumber;
+
+    @Label("Waiting Up")
+    int numberOfPeopleUp;
+
+    @Label("Waiting Down")
+    int numberOfPeopleDown;
+
+    @Label("Assigned Up")
+    int numberOfAssignedUp;
+
+    @Label("Assigned Down")
+    int numberOfAssignedDown;
+}
@@ -0,0 +1,93 @@
+package building;
+
+import building.state.Direction;
+import building.state.State;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Cars standing at a floor with their doors open, counted by floor and direction, in all and by the zone of the
+ * car, so a floor can find out whether a car that can take its call is already loading there without taking the
+ * controller's or the cars' locks. The cars report their state changes, which are applied one at a time; lookups
+ * are lock-free and O(1).
+ */
+class LoadingIndex {
+    private static final int NOT_LOADING = -1;
+    private static final int NUMBER_OF_DIRECTIONS = Direction.values().length;
+
+    private final Map<Elevator, int[]> slots;
+    private volatile AtomicIntegerArray counts;
+    // replaced as a whole when a zone is added or its counts grow
+    private volatile Map<Zone, AtomicIntegerArray> zoneCounts;
+
+    LoadingIndex() {
+        this.slots = new IdentityHashMap<>();
+        this.counts = new AtomicIntegerArray(0);
+        this.zoneCounts = new IdentityHashMap<>();
+    }
+
+    synchronized void update(Elevator elevator, int floorNumber, Direction direction, State state) {
+        int slot = state == State.OPEN_DOOR || state == State.LOAD
+                ? floorNumber * NUMBER_OF_DIRECTIONS + direction.ordinal()
+                : NOT_LOADING;
+        int[] elevatorSlot = slots.get(elevator);
+        if (elevatorSlot == null) {
+            elevatorSlot = new int[]{NOT_LOADING};
+            slots.put(elevator, elevatorSlot);
+        }
+        int previousSlot = elevatorSlot[0];
+        if (slot == previousSlot) {
+            return;
+        }
+
+        Zone zone = elevator.getZone();
+        if (slot >= counts.length()) {
+            counts = grow(counts, slot);
+        }
+        AtomicIntegerArray currentZoneCounts = zoneCounts.get(zone);
+        if (currentZoneCounts == null || slot >= currentZoneCounts.length()) {
+            currentZoneCounts = grow(currentZoneCounts == null ? new AtomicIntegerArray(0) : currentZoneCounts,
+                    slot);
+            Map<Zone, AtomicIntegerArray> grownZoneCounts = new IdentityHashMap<>(zoneCounts);
+            grownZoneCounts.put(zone, currentZoneCounts);
+            zoneCounts = grownZoneCounts;
+        }
+        // counted at the new place first, so a car moving between slots is never missed by a lookup
+        if (slot != NOT_LOADING) {
+            counts.incrementAndGet(slot);
+            currentZoneCounts.incrementAndGet(slot);
+        }
+        if (previousSlot != NOT_LOADING) {
+            counts.decrementAndGet(previousSlot);
+            currentZoneCounts.decrementAndGet(previousSlot);
+        }
+        elevatorSlot[0] = slot;
+    }
+
+    /**
+     * Whether a car of the zone, or of any zone for {@link Zone#ALL}, is loading at the floor in the given direction
+     * or without a direction yet.
+     */
+    boolean isLoading(int floorNumber, Direction direction, Zone zone) {
+        AtomicIntegerArray currentCounts = zone.isAll() ? counts : zoneCounts.get(zone);
+        int offset = floorNumber * NUMBER_OF_DIRECTIONS;
+        if (currentCounts == null || floorNumber < 0 || offset >= currentCounts.length()) {
+            return false;
+        }
+
+        return currentCounts.get(offset + direction.ordinal()) > 0
+                || currentCounts.get(offset + Direction.NONE.ordinal()) > 0;
+    }
+
+    private static AtomicIntegerArray grow(AtomicIntegerArray counts, int slot) {
+        int length = Math.max(2 * counts.length(), (slot / NUMBER_OF_DIRECTIONS + 1) * NUMBER_OF_DIRECTIONS);
+        AtomicIntegerArray grownCounts = new AtomicIntegerArray(length);
+        for (int i = 0; i < counts.length(); i++) {
+            grownCounts.set(i, counts.get(i));
+        }
+
+        return grownCounts;
+    }
+}
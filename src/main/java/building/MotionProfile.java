@@ -0,0 +1,80 @@
+package building;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Jerk-limited (S-curve) motion from rest to rest. Lengths are in metres, times in seconds,
+ * travel times are returned in milliseconds of simulated time.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class MotionProfile {
+    public static final double DEFAULT_FLOOR_HEIGHT = 3.5;
+    public static final double DEFAULT_ACCELERATION = 1.0;
+    public static final double DEFAULT_JERK = 1.5;
+    private static final double MILLIS_IN_SECOND = 1000;
+
+    private final double floorHeight;
+    private final double ratedSpeed;
+    private final double acceleration;
+    private final double jerk;
+
+    private MotionProfile(double floorHeight, double ratedSpeed, double acceleration, double jerk) {
+        checkArgument(floorHeight > 0, "floor height must be positive");
+        checkArgument(ratedSpeed > 0, "rated speed must be positive");
+        checkArgument(acceleration > 0, "acceleration must be positive");
+        checkArgument(jerk > 0, "jerk must be positive");
+
+        this.floorHeight = floorHeight;
+        this.ratedSpeed = ratedSpeed;
+        this.acceleration = acceleration;
+        this.jerk = jerk;
+    }
+
+    public static MotionProfile of(double ratedSpeed) {
+        return new MotionProfile(DEFAULT_FLOOR_HEIGHT, ratedSpeed, DEFAULT_ACCELERATION, DEFAULT_JERK);
+    }
+
+    public static MotionProfile of(double floorHeight, double ratedSpeed, double acceleration, double jerk) {
+        return new MotionProfile(floorHeight, ratedSpeed, acceleration, jerk);
+    }
+
+    public long getTravelTime(int numberOfFloors) {
+        checkArgument(numberOfFloors >= 0);
+
+        return Math.round(getTravelSeconds(numberOfFloors * floorHeight) * MILLIS_IN_SECOND);
+    }
+
+    double getTravelSeconds(double distance) {
+        if (distance == 0) {
+            return 0;
+        }
+
+        double ratedAccelerationTime = getAccelerationTime(ratedSpeed);
+        if (distance >= ratedSpeed * ratedAccelerationTime) {
+            return distance / ratedSpeed + ratedAccelerationTime;
+        }
+
+        if (distance >= 2 * Math.pow(acceleration, 3) / (jerk * jerk)) {
+            double peakSpeed = acceleration * (Math.sqrt(Math.pow(acceleration / jerk, 2) + 4 * distance / acceleration)
+                    - acceleration / jerk) / 2;
+
+            return 2 * getAccelerationTime(peakSpeed);
+        }
+
+        return 4 * Math.cbrt(distance / (2 * jerk));
+    }
+
+    private double getAccelerationTime(double speed) {
+        if (speed >= acceleration * acceleration / jerk) {
+            return speed / acceleration + acceleration / jerk;
+        }
+
+        return 2 * Math.sqrt(speed / jerk);
+    }
+}
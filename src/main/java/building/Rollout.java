@@ -0,0 +1,227 @@
+package building;
+
+import java.util.Arrays;
+
+/**
+ * Working copy of a {@link BuildingSnapshot} played forward the way {@link Elevator#step()} runs a car: it heads
+ * for its oldest call, stops on the way at other calls and at people going its way, and every boarding or
+ * leaving passenger holds the doors for one door cycle. No new people arrive during a rollout. Times are
+ * relative to the moment of the snapshot.
+ */
+class Rollout {
+    private static final long IDLE = Long.MAX_VALUE;
+    private static final int DELIVERED = -2;
+    private static final int NONE = -1;
+
+    private final BuildingSnapshot snapshot;
+    private final int[] floorNumbers;
+    private final int[] directions;
+    private final long[] readyTimes;
+    private final int[] loads;
+    private final int[][] calls;
+    private final int[] numberOfCalls;
+    private final int[] cars;
+    private long cost;
+    private int numberOfWaiting;
+
+    private Rollout(BuildingSnapshot snapshot) {
+        int numberOfElevators = snapshot.floorNumbers.length;
+
+        this.snapshot = snapshot;
+        this.floorNumbers = snapshot.floorNumbers.clone();
+        this.directions = snapshot.directions.clone();
+        this.readyTimes = new long[numberOfElevators];
+        this.loads = new int[numberOfElevators];
+        this.calls = new int[numberOfElevators][];
+        this.numberOfCalls = new int[numberOfElevators];
+        this.cars = snapshot.cars.clone();
+        for (int i = 0; i < cars.length; i++) {
+            if (cars[i] == BuildingSnapshot.NOT_RIDING) {
+                numberOfWaiting++;
+            } else {
+                loads[cars[i]] += snapshot.weights[i];
+            }
+        }
+        for (int i = 0; i < numberOfElevators; i++) {
+            calls[i] = snapshot.calls[i].clone();
+            numberOfCalls[i] = calls[i].length;
+            readyTimes[i] = numberOfCalls[i] == 0 ? IDLE : snapshot.readyDelays[i];
+        }
+    }
+
+    static Rollout of(BuildingSnapshot snapshot) {
+        return new Rollout(snapshot);
+    }
+
+    long run(long horizon) {
+        while (true) {
+            int car = nextCar();
+            if (car < 0 || readyTimes[car] >= horizon) {
+                break;
+            }
+
+            step(car);
+        }
+
+        return cost + numberOfWaiting * horizon;
+    }
+
+    private int nextCar() {
+        int car = NONE;
+        for (int i = 0; i < readyTimes.length; i++) {
+            if (readyTimes[i] != IDLE && (car < 0 || readyTimes[i] < readyTimes[car])) {
+                car = i;
+            }
+        }
+
+        return car;
+    }
+
+    private void step(int car) {
+        long time = readyTimes[car];
+        int floorNumber = floorNumbers[car];
+
+        boolean hasExecutedCalls = removeCalls(car, floorNumber);
+        if (hasExecutedCalls || canPickUp(car, floorNumber, directions[car])) {
+            long doorTime = snapshot.stopTimes[car] / 2;
+            time += snapshot.stopTimes[car];
+            time = disembark(car, floorNumber, time, doorTime);
+            if (!hasRiders(car)) {
+                directions[car] = numberOfCalls[car] == 0 ? 0 : getDestinationDirection(car);
+            }
+            readyTimes[car] = embark(car, floorNumber, time, doorTime);
+            return;
+        }
+
+        if (numberOfCalls[car] == 0) {
+            directions[car] = 0;
+            readyTimes[car] = IDLE;
+            return;
+        }
+
+        int targetFloorNumber = BuildingSnapshot.floorNumberOf(calls[car][0]);
+        int step = Integer.signum(targetFloorNumber - floorNumber);
+        int nextFloorNumber = targetFloorNumber;
+        for (int i = floorNumber + step; i != targetFloorNumber; i += step) {
+            if (hasCall(car, i) || canPickUp(car, i, step)) {
+                nextFloorNumber = i;
+                break;
+            }
+        }
+
+        directions[car] = step;
+        readyTimes[car] = time + snapshot.travelTimes[car][Math.abs(nextFloorNumber - floorNumber)];
+        floorNumbers[car] = nextFloorNumber;
+    }
+
+    private boolean canPickUp(int car, int floorNumber, int direction) {
+        if (direction == 0 || numberOfCalls[car] == 0 || getDestinationDirection(car) != direction) {
+            return false;
+        }
+
+        int human = findFirstWaiting(car, floorNumber, direction);
+
+        return human != NONE && loads[car] + snapshot.weights[human] <= snapshot.capacities[car];
+    }
+
+    private long disembark(int car, int floorNumber, long time, long doorTime) {
+        for (int i = 0; i < cars.length; i++) {
+            if (cars[i] == car && snapshot.targets[i] == floorNumber) {
+                time += doorTime;
+                cars[i] = DELIVERED;
+                loads[car] -= snapshot.weights[i];
+            }
+        }
+
+        return time;
+    }
+
+    private long embark(int car, int floorNumber, long time, long doorTime) {
+        int direction = directions[car];
+        if (direction == 0) {
+            int human = findFirstWaiting(car, floorNumber, 0);
+            if (human == NONE) {
+                return time;
+            }
+            direction = Integer.signum(snapshot.targets[human] - floorNumber);
+        }
+
+        int destinationDirection = numberOfCalls[car] == 0 ? 0 : getDestinationDirection(car);
+        if (destinationDirection != 0 && destinationDirection != direction) {
+            return time;
+        }
+
+        int human = findFirstWaiting(car, floorNumber, direction);
+        while (human != NONE && loads[car] + snapshot.weights[human] <= snapshot.capacities[car]) {
+            time += doorTime;
+            cost += time;
+            numberOfWaiting--;
+            cars[human] = car;
+            loads[car] += snapshot.weights[human];
+            directions[car] = direction;
+            addCall(car, snapshot.targets[human], direction);
+
+            human = findFirstWaiting(car, floorNumber, direction);
+        }
+
+        return time;
+    }
+
+    private int findFirstWaiting(int car, int floorNumber, int direction) {
+        for (int i = 0; i < cars.length; i++) {
+            if (cars[i] == BuildingSnapshot.NOT_RIDING
+                    && snapshot.origins[i] == floorNumber
+                    && (direction == 0 || Integer.signum(snapshot.targets[i] - floorNumber) == direction)
+                    && snapshot.zones[car].serves(snapshot.targets[i])) {
+                return i;
+            }
+        }
+
+        return NONE;
+    }
+
+    private boolean hasRiders(int car) {
+        for (int value : cars) {
+            if (value == car) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private int getDestinationDirection(int car) {
+        return BuildingSnapshot.directionOf(calls[car][0]);
+    }
+
+    private boolean hasCall(int car, int floorNumber) {
+        for (int i = 0; i < numberOfCalls[car]; i++) {
+            if (BuildingSnapshot.floorNumberOf(calls[car][i]) == floorNumber) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean removeCalls(int car, int floorNumber) {
+        int size = 0;
+        for (int i = 0; i < numberOfCalls[car]; i++) {
+            if (BuildingSnapshot.floorNumberOf(calls[car][i]) != floorNumber) {
+                calls[car][size++] = calls[car][i];
+            }
+        }
+
+        boolean result = size < numberOfCalls[car];
+        numberOfCalls[car] = size;
+
+        return result;
+    }
+
+    private void addCall(int car, int floorNumber, int direction) {
+        if (numberOfCalls[car] == calls[car].length) {
+            calls[car] = Arrays.copyOf(calls[car], Math.max(4, calls[car].length * 2));
+        }
+        calls[car][numberOfCalls[car]++] = BuildingSnapshot.encode(floorNumber, direction);
+    }
+}
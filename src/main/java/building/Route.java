@@ -0,0 +1,28 @@
+package building;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+public class Route {
+    private final Zone zone;
+    private final int targetFloorNumber;
+
+    private Route(Zone zone, int targetFloorNumber) {
+        checkNotNull(zone);
+        checkArgument(targetFloorNumber >= Floor.GROUND_FLOOR);
+
+        this.zone = zone;
+        this.targetFloorNumber = targetFloorNumber;
+    }
+
+    public static Route of(Zone zone, int targetFloorNumber) {
+        return new Route(zone, targetFloorNumber);
+    }
+}
@@ -0,0 +1,109 @@
+package building;
+
+import javax.annotation.Nullable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * How fast the simulator itself runs: the simulated time, car steps and delivered people of a building and the
+ * bytes allocated by the threads that step its cars, counted from the last restart until the gauge is stopped,
+ * along with the wall-clock time they took. The gauge is read from any thread while the building runs. A stepping
+ * thread adds what it has allocated every {@link #SAMPLE_INTERVAL} steps and when it stops or restarts the gauge,
+ * so the allocations of a shard are its own, and a thread that exits does not take them away.
+ */
+public class SpeedGauge {
+    private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private static final boolean IS_ALLOCATION_COUNTED = isAllocationCounted();
+    private static final int SAMPLE_INTERVAL = 64;
+
+    private final Building building;
+    private final LongAdder numberOfSteps;
+    private final LongAdder allocatedBytes;
+    private final ThreadLocal<AllocationSample> samples;
+    private volatile SpeedReading start;
+    @Nullable
+    private volatile SpeedReading end;
+
+    private SpeedGauge(Building building) {
+        this.building = building;
+        this.numberOfSteps = new LongAdder();
+        this.allocatedBytes = new LongAdder();
+        this.samples = ThreadLocal.withInitial(AllocationSample::new);
+        this.start = current();
+    }
+
+    static SpeedGauge of(Building building) {
+        return new SpeedGauge(building);
+    }
+
+    void countStep() {
+        numberOfSteps.increment();
+
+        AllocationSample sample = samples.get();
+        if (++sample.numberOfSteps == SAMPLE_INTERVAL) {
+            sample.add();
+        }
+    }
+
+    /**
+     * Starts counting anew, e.g. when a simulation has replaced the clock and the statistics of the building.
+     */
+    public void restart() {
+        samples.get().add();
+        start = current();
+        end = null;
+    }
+
+    /**
+     * Freezes the gauge at the end of a run, while the threads that ran it are still alive and their allocations
+     * can be counted.
+     */
+    public void stop() {
+        samples.get().add();
+        end = current();
+    }
+
+    public SpeedReading read() {
+        SpeedReading endReading = end;
+
+        return (endReading == null ? current() : endReading).since(start);
+    }
+
+    private SpeedReading current() {
+        return SpeedReading.of(System.nanoTime(), building.getClock().currentTime(), numberOfSteps.sum(),
+                building.getStatistics().getNumberOfDeliveredPeople(),
+                IS_ALLOCATION_COUNTED ? allocatedBytes.sum() : -1);
+    }
+
+    private static boolean isAllocationCounted() {
+        return threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemoryEnabled();
+    }
+
+    private static long getCurrentThreadAllocatedBytes() {
+        return IS_ALLOCATION_COUNTED
+                ? ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes()
+                : 0;
+    }
+
+    /**
+     * What the owning thread had allocated when it last added its allocations to the gauge.
+     */
+    private class AllocationSample {
+        private long threadAllocatedBytes;
+        private int numberOfSteps;
+
+        private AllocationSample() {
+            this.threadAllocatedBytes = getCurrentThreadAllocatedBytes();
+        }
+
+        private void add() {
+            long currentBytes = getCurrentThreadAllocatedBytes();
+            allocatedBytes.add(currentBytes - threadAllocatedBytes);
+            threadAllocatedBytes = currentBytes;
+            numberOfSteps = 0;
+        }
+    }
+}
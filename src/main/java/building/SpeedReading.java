@@ -0,0 +1,79 @@
+package building;
+
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * What a {@link SpeedGauge} has counted over a stretch of wall-clock time, and the rates that follow from it.
+ * The allocated bytes are -1 when the JVM cannot count them.
+ */
+@Getter
+public class SpeedReading {
+    private static final double NANOS_IN_SECOND = 1e9;
+    private static final double MILLIS_IN_SECOND = 1e3;
+    private static final double BYTES_IN_MEGABYTE = 1 << 20;
+
+    private final long wallTime;
+    private final long simulatedTime;
+    private final long numberOfSteps;
+    private final long numberOfDeliveredPeople;
+    private final long allocatedBytes;
+
+    private SpeedReading(long wallTime, long simulatedTime, long numberOfSteps, long numberOfDeliveredPeople,
+                         long allocatedBytes) {
+        this.wallTime = wallTime;
+        this.simulatedTime = simulatedTime;
+        this.numberOfSteps = numberOfSteps;
+        this.numberOfDeliveredPeople = numberOfDeliveredPeople;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    static SpeedReading of(long wallTime, long simulatedTime, long numberOfSteps, long numberOfDeliveredPeople,
+                           long allocatedBytes) {
+        return new SpeedReading(wallTime, simulatedTime, numberOfSteps, numberOfDeliveredPeople, allocatedBytes);
+    }
+
+    /**
+     * What has been counted between the given earlier reading and this one.
+     */
+    public SpeedReading since(SpeedReading reading) {
+        return new SpeedReading(wallTime - reading.wallTime, simulatedTime - reading.simulatedTime,
+                numberOfSteps - reading.numberOfSteps, numberOfDeliveredPeople - reading.numberOfDeliveredPeople,
+                allocatedBytes < 0 || reading.allocatedBytes < 0 ? -1 : allocatedBytes - reading.allocatedBytes);
+    }
+
+    /**
+     * Simulated seconds per wall-clock second.
+     */
+    public double getSimulatedTimeRate() {
+        return perSecond(simulatedTime / MILLIS_IN_SECOND);
+    }
+
+    public double getStepRate() {
+        return perSecond(numberOfSteps);
+    }
+
+    public double getPassengerRate() {
+        return perSecond(numberOfDeliveredPeople);
+    }
+
+    /**
+     * Allocated bytes per wall-clock second, or -1 when the JVM cannot count them.
+     */
+    public double getAllocationRate() {
+        return allocatedBytes < 0 ? -1 : perSecond(Math.max(0, allocatedBytes));
+    }
+
+    private double perSecond(double value) {
+        return wallTime <= 0 ? 0 : value * NANOS_IN_SECOND / wallTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%.1f simulated s/s, %.0f steps/s, %.1f delivered people/s, %.1f MB/s allocated",
+                getSimulatedTimeRate(), getStepRate(), getPassengerRate(),
+                getAllocationRate() / BYTES_IN_MEGABYTE);
+    }
+}
@@ -0,0 +1,112 @@
+package building;
+
+import lombok.EqualsAndHashCode;
+
+import java.util.BitSet;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+@EqualsAndHashCode
+public class Zone {
+    public static final Zone ALL = new Zone(new BitSet(), true);
+
+    private final BitSet floors;
+    private final boolean isAll;
+
+    private Zone(BitSet floors, boolean isAll) {
+        this.floors = floors;
+        this.isAll = isAll;
+    }
+
+    public static Zone of(int... floorNumbers) {
+        checkNotNull(floorNumbers);
+        checkArgument(floorNumbers.length > 0);
+
+        BitSet floors = new BitSet();
+        for (int floorNumber : floorNumbers) {
+            checkArgument(floorNumber >= Floor.GROUND_FLOOR);
+            floors.set(floorNumber);
+        }
+
+        return new Zone(floors, false);
+    }
+
+    public static Zone ofRange(int fromFloorNumber, int toFloorNumber) {
+        checkArgument(fromFloorNumber >= Floor.GROUND_FLOOR);
+        checkArgument(toFloorNumber >= fromFloorNumber);
+
+        BitSet floors = new BitSet();
+        floors.set(fromFloorNumber, toFloorNumber + 1);
+
+        return new Zone(floors, false);
+    }
+
+    public Zone union(Zone zone) {
+        checkNotNull(zone);
+
+        if (isAll || zone.isAll) {
+            return ALL;
+        }
+
+        BitSet union = (BitSet) floors.clone();
+        union.or(zone.floors);
+
+        return new Zone(union, false);
+    }
+
+    public boolean isAll() {
+        return isAll;
+    }
+
+    public boolean serves(int floorNumber) {
+        return isAll ? floorNumber >= Floor.GROUND_FLOOR : floors.get(floorNumber);
+    }
+
+    public int getNumberOfFloors() {
+        return isAll ? Integer.MAX_VALUE : floors.cardinality();
+    }
+
+    public int getHighestFloorNumber() {
+        return isAll ? Integer.MAX_VALUE : floors.length() - 1;
+    }
+
+    public boolean intersects(Zone zone) {
+        checkNotNull(zone);
+
+        return isAll || zone.isAll || floors.intersects(zone.floors);
+    }
+
+    public int getNearestCommonFloor(Zone zone, int floorNumber) {
+        checkNotNull(zone);
+        checkArgument(intersects(zone));
+
+        if (isAll && zone.isAll) {
+            return floorNumber;
+        }
+
+        int nearest = -1;
+        for (int i = 0; i <= Math.min(getHighestFloorNumber(), zone.getHighestFloorNumber()); i++) {
+            boolean isCommon = serves(i) && zone.serves(i) && i != floorNumber;
+            if (isCommon && (nearest < 0 || Math.abs(i - floorNumber) < Math.abs(nearest - floorNumber))) {
+                nearest = i;
+            }
+        }
+
+        return nearest;
+    }
+
+    long[] toLongArray() {
+        return floors.toLongArray();
+    }
+
+    static Zone fromLongArray(boolean isAll, long[] words) {
+        return isAll ? ALL : new Zone(BitSet.valueOf(words), false);
+    }
+
+    @Override
+    public String toString() {
+        return isAll ? "ALL" : floors.stream().mapToObj(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+    }
+}
@@ -0,0 +1,146 @@
+package building.dispatch;
+
+import building.Call;
+import building.Elevator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Snapshot of pending hall calls and of the time each car needs to reach them. The cost of an assignment is
+ * the total estimated wait: every call a car has to take over delays the calls it serves later by one stop.
+ */
+public class AssignmentProblem {
+    public static final long INCOMPATIBLE = Long.MAX_VALUE;
+    public static final int UNASSIGNED = -1;
+
+    private final List<Call> calls;
+    private final List<Elevator> elevators;
+    private final long[][] arrivalTimes;
+    private final long[] stopTimes;
+    private final int[] currentAssignment;
+    private final int[][] compatibleElevators;
+
+    private AssignmentProblem(List<Call> calls, List<Elevator> elevators, long[][] arrivalTimes, long[] stopTimes,
+                              int[] currentAssignment) {
+        checkArgument(arrivalTimes.length == calls.size());
+        checkArgument(currentAssignment.length == calls.size());
+        checkArgument(stopTimes.length == elevators.size());
+
+        this.calls = ImmutableList.copyOf(calls);
+        this.elevators = ImmutableList.copyOf(elevators);
+        this.arrivalTimes = arrivalTimes;
+        this.stopTimes = stopTimes;
+        this.currentAssignment = currentAssignment;
+        this.compatibleElevators = new int[calls.size()][];
+
+        for (int i = 0; i < calls.size(); i++) {
+            long[] callArrivalTimes = arrivalTimes[i];
+            checkArgument(callArrivalTimes.length == elevators.size());
+
+            compatibleElevators[i] = IntStream.range(0, elevators.size())
+                    .filter(j -> callArrivalTimes[j] != INCOMPATIBLE)
+                    .toArray();
+            checkArgument(compatibleElevators[i].length > 0, "no elevator serves %s", calls.get(i));
+        }
+    }
+
+    public static AssignmentProblem of(List<Call> calls, List<Elevator> elevators, long[][] arrivalTimes,
+                                       long[] stopTimes, int[] currentAssignment) {
+        checkNotNull(calls);
+        checkNotNull(elevators);
+        checkNotNull(arrivalTimes);
+        checkNotNull(stopTimes);
+        checkNotNull(currentAssignment);
+
+        return new AssignmentProblem(calls, elevators, arrivalTimes, stopTimes, currentAssignment);
+    }
+
+    public int getNumberOfCalls() {
+        return calls.size();
+    }
+
+    int getNumberOfElevators() {
+        return elevators.size();
+    }
+
+    int[] getCompatibleElevators(int call) {
+        return compatibleElevators[call];
+    }
+
+    /**
+     * Keeps the calls on their current cars and gives every other call to the car that reaches it first.
+     */
+    int[] getInitialAssignment() {
+        int[] assignment = new int[calls.size()];
+        for (int i = 0; i < assignment.length; i++) {
+            int current = currentAssignment[i];
+            if (current != UNASSIGNED && arrivalTimes[i][current] != INCOMPATIBLE) {
+                assignment[i] = current;
+                continue;
+            }
+
+            int best = compatibleElevators[i][0];
+            for (int elevator : compatibleElevators[i]) {
+                if (arrivalTimes[i][elevator] < arrivalTimes[i][best]) {
+                    best = elevator;
+                }
+            }
+            assignment[i] = best;
+        }
+
+        return assignment;
+    }
+
+    long getCost(int[] assignment) {
+        int[] buffer = new int[calls.size()];
+        long cost = 0;
+        for (int i = 0; i < elevators.size(); i++) {
+            cost += getElevatorCost(i, assignment, buffer);
+        }
+
+        return cost;
+    }
+
+    long getElevatorCost(int elevator, int[] assignment, int[] buffer) {
+        int size = 0;
+        for (int i = 0; i < assignment.length; i++) {
+            if (assignment[i] != elevator) {
+                continue;
+            }
+
+            int position = size++;
+            while (position > 0 && arrivalTimes[buffer[position - 1]][elevator] > arrivalTimes[i][elevator]) {
+                buffer[position] = buffer[position - 1];
+                position--;
+            }
+            buffer[position] = i;
+        }
+
+        long cost = 0;
+        int numberOfExtraStops = 0;
+        for (int i = 0; i < size; i++) {
+            int call = buffer[i];
+            cost += arrivalTimes[call][elevator] + numberOfExtraStops * stopTimes[elevator];
+            if (currentAssignment[call] != elevator) {
+                numberOfExtraStops++;
+            }
+        }
+
+        return cost;
+    }
+
+    ImmutableMap<Call, Elevator> toPlan(int[] assignment) {
+        ImmutableMap.Builder<Call, Elevator> plan = ImmutableMap.builder();
+        for (int i = 0; i < assignment.length; i++) {
+            plan.put(calls.get(i), elevators.get(assignment[i]));
+        }
+
+        return plan.build();
+    }
+}
@@ -0,0 +1,6 @@
+package building.dispatch;
+
+public enum ControlMode {
+    CONVENTIONAL,
+    DESTINATION
+}
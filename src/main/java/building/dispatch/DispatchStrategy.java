@@ -0,0 +1,11 @@
+package building.dispatch;
+
+import building.Call;
+import building.Elevator;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface DispatchStrategy {
+    Optional<Elevator> selectElevator(Call call, List<Elevator> elevators);
+}
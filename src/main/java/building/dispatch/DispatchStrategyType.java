@@ -0,0 +1,19 @@
+package building.dispatch;
+
+import java.util.function.Supplier;
+
+public enum DispatchStrategyType {
+    NEAREST_IDLE(NearestIdleStrategy::of),
+    NEAREST_CAR(NearestCarStrategy::of),
+    LOOKAHEAD(LookaheadStrategy::of);
+
+    private final Supplier<DispatchStrategy> factory;
+
+    DispatchStrategyType(Supplier<DispatchStrategy> factory) {
+        this.factory = factory;
+    }
+
+    public DispatchStrategy create() {
+        return factory.get();
+    }
+}
@@ -0,0 +1,57 @@
+package building.dispatch;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+public class FloorDemand {
+    private final double[] demand;
+    private final long[] updateTimes;
+    private final double decayRate;
+
+    private FloorDemand(int numberOfFloors, long halfLife) {
+        checkArgument(numberOfFloors > 0);
+        checkArgument(halfLife > 0);
+
+        this.demand = new double[numberOfFloors];
+        this.updateTimes = new long[numberOfFloors];
+        this.decayRate = Math.log(2) / halfLife;
+    }
+
+    public static FloorDemand of(int numberOfFloors, long halfLife) {
+        return new FloorDemand(numberOfFloors, halfLife);
+    }
+
+    public synchronized void record(int floorNumber, long time) {
+        checkArgument(floorNumber >= 0 && floorNumber < demand.length);
+
+        demand[floorNumber] = getDemand(floorNumber, time) + 1;
+        updateTimes[floorNumber] = Math.max(time, updateTimes[floorNumber]);
+    }
+
+    public synchronized double getDemand(int floorNumber, long time) {
+        checkArgument(floorNumber >= 0 && floorNumber < demand.length);
+
+        long elapsedTime = Math.max(0, time - updateTimes[floorNumber]);
+
+        return demand[floorNumber] * Math.exp(-decayRate * elapsedTime);
+    }
+
+    public synchronized double getRecordedDemand(int floorNumber) {
+        return demand[floorNumber];
+    }
+
+    public synchronized long getUpdateTime(int floorNumber) {
+        return updateTimes[floorNumber];
+    }
+
+    public synchronized void restore(int floorNumber, double value, long time) {
+        checkArgument(floorNumber >= 0 && floorNumber < demand.length);
+        checkArgument(value >= 0);
+
+        demand[floorNumber] = value;
+        updateTimes[floorNumber] = time;
+    }
+
+    public int getNumberOfFloors() {
+        return demand.length;
+    }
+}
@@ -0,0 +1,73 @@
+package building.dispatch;
+
+import building.BuildingSnapshot;
+import building.Call;
+import building.Elevator;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Gives the call to each candidate car in turn on a snapshot of the building, plays every variant a few
+ * minutes ahead and picks the one where people wait the least.
+ */
+public class LookaheadStrategy implements DispatchStrategy {
+    public static final long DEFAULT_HORIZON = 180_000;
+
+    @Getter
+    private final long horizon;
+
+    private LookaheadStrategy(long horizon) {
+        checkArgument(horizon > 0, "lookahead horizon must be positive");
+
+        this.horizon = horizon;
+    }
+
+    public static LookaheadStrategy of() {
+        return new LookaheadStrategy(DEFAULT_HORIZON);
+    }
+
+    public static LookaheadStrategy of(long horizon) {
+        return new LookaheadStrategy(horizon);
+    }
+
+    @Override
+    public Optional<Elevator> selectElevator(Call call, List<Elevator> elevators) {
+        checkNotNull(call);
+        checkNotNull(elevators);
+
+        List<Elevator> candidates = elevators.stream()
+                .filter(i -> NearestCarStrategy.isCandidate(i, call))
+                .collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+
+        BuildingSnapshot snapshot = BuildingSnapshot.of(candidates.get(0).getBuilding());
+        List<Elevator> allElevators = snapshot.getElevators();
+
+        // one rollout per candidate, ties go to the car that reaches the call first
+        Elevator bestElevator = null;
+        long bestCost = Long.MAX_VALUE;
+        long bestArrivalTime = Long.MAX_VALUE;
+        for (Elevator elevator : candidates) {
+            long cost = snapshot.withCall(allElevators.indexOf(elevator), call).simulate(horizon);
+            if (cost > bestCost) {
+                continue;
+            }
+            long arrivalTime = elevator.getEstimatedArrivalTime(call.getTargetFloorNumber(), call.getDirection());
+            if (cost < bestCost || arrivalTime < bestArrivalTime) {
+                bestElevator = elevator;
+                bestCost = cost;
+                bestArrivalTime = arrivalTime;
+            }
+        }
+
+        return Optional.ofNullable(bestElevator);
+    }
+}
@@ -0,0 +1,45 @@
+package building.dispatch;
+
+import building.Call;
+import building.Elevator;
+import building.state.Direction;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class NearestCarStrategy implements DispatchStrategy {
+    private NearestCarStrategy() {
+    }
+
+    public static NearestCarStrategy of() {
+        return new NearestCarStrategy();
+    }
+
+    @Override
+    public Optional<Elevator> selectElevator(Call call, List<Elevator> elevators) {
+        checkNotNull(call);
+        checkNotNull(elevators);
+
+        return elevators.stream()
+                .filter(i -> isCandidate(i, call))
+                .min(Comparator.comparing(i -> Math.abs(i.getCurrentFloorNumber() - call.getTargetFloorNumber())));
+    }
+
+    static boolean isCandidate(Elevator elevator, Call call) {
+        return elevator.isIdle() || isApproaching(elevator, call);
+    }
+
+    private static boolean isApproaching(Elevator elevator, Call call) {
+        Direction direction = call.getDirection();
+        if (!elevator.getDirection().equals(direction) || !elevator.getDestinationDirection().equals(direction)) {
+            return false;
+        }
+
+        int distance = call.getTargetFloorNumber() - elevator.getCurrentFloorNumber();
+
+        return direction.equals(Direction.UP) ? distance > 0 : distance < 0;
+    }
+}
@@ -0,0 +1,29 @@
+package building.dispatch;
+
+import building.Call;
+import building.Elevator;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class NearestIdleStrategy implements DispatchStrategy {
+    private NearestIdleStrategy() {
+    }
+
+    public static NearestIdleStrategy of() {
+        return new NearestIdleStrategy();
+    }
+
+    @Override
+    public Optional<Elevator> selectElevator(Call call, List<Elevator> elevators) {
+        checkNotNull(call);
+        checkNotNull(elevators);
+
+        return elevators.stream()
+                .filter(Elevator::isIdle)
+                .min(Comparator.comparing(i -> Math.abs(i.getCurrentFloorNumber() - call.getTargetFloorNumber())));
+    }
+}
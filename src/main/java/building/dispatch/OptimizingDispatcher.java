@@ -0,0 +1,179 @@
+package building.dispatch;
+
+import building.Call;
+import building.Elevator;
+import com.google.common.collect.ImmutableMap;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Searches assignments of all pending hall calls to cars with simulated annealing. Several independent chains
+ * run on a fork-join pool. A search in the background for a real-time controller runs a chain per worker until the
+ * time budget or the iteration limit is spent, and the best plan is published atomically and picked up by the
+ * controller. A search that a fast simulation waits for always runs {@link #MAX_CHAINS} chains on the pool to the
+ * iteration limit, so a seeded run picks the same plans on any machine.
+ */
+@Slf4j
+public class OptimizingDispatcher {
+    public static final long DEFAULT_BUDGET = 5;
+    public static final long CYCLE_PERIOD = 1_000;
+    public static final int MAX_ITERATIONS = 5_000;
+    public static final int MAX_CHAINS = 4;
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+    private static final int DEADLINE_CHECK_INTERVAL = 64;
+    private static final double INITIAL_TEMPERATURE = 2_000;
+    private static final double COOLING_RATE = 0.999;
+
+    @Getter
+    private final long budget;
+    private final long seed;
+    private final ForkJoinPool pool;
+    private final int numberOfChains;
+    private final AtomicBoolean isSearching;
+    private final AtomicReference<Map<Call, Elevator>> plan;
+
+    private OptimizingDispatcher(long budget, long seed, ForkJoinPool pool) {
+        checkArgument(budget > 0, "optimizer budget must be positive");
+        checkNotNull(pool);
+
+        this.budget = budget;
+        this.seed = seed;
+        this.pool = pool;
+        this.numberOfChains = Math.max(1, Math.min(MAX_CHAINS, pool.getParallelism()));
+        this.isSearching = new AtomicBoolean(false);
+        this.plan = new AtomicReference<>();
+    }
+
+    public static OptimizingDispatcher of() {
+        return new OptimizingDispatcher(DEFAULT_BUDGET, 0, ForkJoinPool.commonPool());
+    }
+
+    public static OptimizingDispatcher of(long budget) {
+        return new OptimizingDispatcher(budget, 0, ForkJoinPool.commonPool());
+    }
+
+    public static OptimizingDispatcher of(long budget, long seed, ForkJoinPool pool) {
+        return new OptimizingDispatcher(budget, seed, pool);
+    }
+
+    public boolean isSearching() {
+        return isSearching.get();
+    }
+
+    /**
+     * Starts a search in the background unless one is already running. Never blocks the caller.
+     */
+    public boolean submit(AssignmentProblem problem) {
+        checkNotNull(problem);
+
+        if (!isSearching.compareAndSet(false, true)) {
+            return false;
+        }
+
+        pool.execute(() -> {
+            try {
+                plan.set(search(problem));
+            } catch (RuntimeException exception) {
+                log.error("assignment search has failed: {}", exception.getMessage());
+            } finally {
+                isSearching.set(false);
+            }
+        });
+
+        return true;
+    }
+
+    /**
+     * Returns the latest published plan and forgets it, so every plan is applied once.
+     */
+    @Nullable
+    public Map<Call, Elevator> pollPlan() {
+        return plan.getAndSet(null);
+    }
+
+    /**
+     * Searches on the pool without the time budget and waits for the plan, which depends on the problem alone.
+     */
+    public Map<Call, Elevator> optimize(AssignmentProblem problem) {
+        checkNotNull(problem);
+
+        return pool.submit(() -> search(problem, MAX_CHAINS, NO_DEADLINE)).join();
+    }
+
+    private Map<Call, Elevator> search(AssignmentProblem problem) {
+        return search(problem, numberOfChains, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budget));
+    }
+
+    private Map<Call, Elevator> search(AssignmentProblem problem, int numberOfChains, long deadline) {
+        if (problem.getNumberOfCalls() == 0) {
+            return ImmutableMap.of();
+        }
+
+        List<int[]> results = IntStream.range(0, numberOfChains)
+                .parallel()
+                .mapToObj(i -> anneal(problem, new Random(seed * 31 + i), deadline))
+                .collect(Collectors.toList());
+        int[] best = results.stream()
+                .min(Comparator.comparingLong(problem::getCost))
+                .orElseThrow();
+
+        return problem.toPlan(best);
+    }
+
+    static int[] anneal(AssignmentProblem problem, Random random, long deadline) {
+        int[] assignment = problem.getInitialAssignment();
+        int[] best = assignment.clone();
+        int[] buffer = new int[assignment.length];
+        long cost = problem.getCost(assignment);
+        long bestCost = cost;
+        double temperature = INITIAL_TEMPERATURE;
+
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            if (deadline != NO_DEADLINE && i % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                break;
+            }
+            temperature *= COOLING_RATE;
+
+            int call = random.nextInt(assignment.length);
+            int[] candidates = problem.getCompatibleElevators(call);
+            int oldElevator = assignment[call];
+            int newElevator = candidates[random.nextInt(candidates.length)];
+            if (newElevator == oldElevator) {
+                continue;
+            }
+
+            long before = problem.getElevatorCost(oldElevator, assignment, buffer)
+                    + problem.getElevatorCost(newElevator, assignment, buffer);
+            assignment[call] = newElevator;
+            long delta = problem.getElevatorCost(oldElevator, assignment, buffer)
+                    + problem.getElevatorCost(newElevator, assignment, buffer) - before;
+
+            if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                cost += delta;
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    System.arraycopy(assignment, 0, best, 0, assignment.length);
+                }
+            } else {
+                assignment[call] = oldElevator;
+            }
+        }
+
+        return best;
+    }
+}
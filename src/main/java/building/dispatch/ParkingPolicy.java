@@ -0,0 +1,79 @@
+package building.dispatch;
+
+import building.Elevator;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class ParkingPolicy {
+    public static final long DEFAULT_HALF_LIFE = 10 * 60_000;
+    public static final double MIN_DEMAND = 0.5;
+
+    @Getter
+    private final long halfLife;
+    private final FloorDemand demand;
+
+    private ParkingPolicy(int numberOfFloors, long halfLife) {
+        checkArgument(halfLife > 0);
+
+        this.halfLife = halfLife;
+        this.demand = FloorDemand.of(numberOfFloors, halfLife);
+    }
+
+    public static ParkingPolicy of(int numberOfFloors) {
+        return new ParkingPolicy(numberOfFloors, DEFAULT_HALF_LIFE);
+    }
+
+    public static ParkingPolicy of(int numberOfFloors, long halfLife) {
+        return new ParkingPolicy(numberOfFloors, halfLife);
+    }
+
+    public FloorDemand getFloorDemand() {
+        return demand;
+    }
+
+    public void recordArrival(int floorNumber, long time) {
+        demand.record(floorNumber, time);
+    }
+
+    public double getDemand(int floorNumber, long time) {
+        return demand.getDemand(floorNumber, time);
+    }
+
+    public OptionalInt selectParkingFloor(Elevator elevator, List<Elevator> elevators, long time) {
+        checkNotNull(elevator);
+        checkNotNull(elevators);
+
+        int parkingFloor = -1;
+        double parkingDemand = MIN_DEMAND;
+        for (int i = 0; i < demand.getNumberOfFloors(); i++) {
+            double floorDemand = demand.getDemand(i, time);
+            if (elevator.getZone().serves(i) && !isCovered(i, elevator, elevators) && (floorDemand > parkingDemand
+                    || floorDemand == parkingDemand && isCloser(i, parkingFloor, elevator))) {
+                parkingFloor = i;
+                parkingDemand = floorDemand;
+            }
+        }
+
+        if (parkingFloor < 0) {
+            return OptionalInt.empty();
+        }
+
+        return OptionalInt.of(parkingFloor);
+    }
+
+    private boolean isCovered(int floorNumber, Elevator elevator, List<Elevator> elevators) {
+        return elevators.stream()
+                .filter(i -> i != elevator && i.isIdle())
+                .anyMatch(i -> i.getParkingFloorNumber().orElse(i.getCurrentFloorNumber()) == floorNumber);
+    }
+
+    private boolean isCloser(int floorNumber, int otherFloorNumber, Elevator elevator) {
+        return otherFloorNumber < 0 || Math.abs(floorNumber - elevator.getCurrentFloorNumber())
+                < Math.abs(otherFloorNumber - elevator.getCurrentFloorNumber());
+    }
+}
@@ -0,0 +1,38 @@
+package building.dispatch;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+public class ReassignmentPolicy {
+    public static final long DEFAULT_THRESHOLD = 10_000;
+    public static final long DEFAULT_PERIOD = 5_000;
+
+    private final long threshold;
+    private final long period;
+
+    private ReassignmentPolicy(long threshold, long period) {
+        checkArgument(threshold >= 0, "reassignment threshold must not be negative");
+        checkArgument(period > 0, "reassignment period must be positive");
+
+        this.threshold = threshold;
+        this.period = period;
+    }
+
+    public static ReassignmentPolicy of() {
+        return new ReassignmentPolicy(DEFAULT_THRESHOLD, DEFAULT_PERIOD);
+    }
+
+    public static ReassignmentPolicy of(long threshold, long period) {
+        return new ReassignmentPolicy(threshold, period);
+    }
+
+    public boolean isWorthReassigning(long currentArrivalTime, long newArrivalTime) {
+        return currentArrivalTime - newArrivalTime > threshold;
+    }
+}
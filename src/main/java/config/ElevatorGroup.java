@@ -0,0 +1,84 @@
+package config;
+
+import building.Elevator;
+import building.Floor;
+import building.MotionProfile;
+import building.Zone;
+import com.google.common.collect.ImmutableList;
+import lombok.Getter;
+import lombok.ToString;
+import util.interrupt.Interruptible;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+@Getter
+@ToString
+public class ElevatorGroup {
+    private final String name;
+    private final int count;
+    private final int capacity;
+    private final int startFloorNumber;
+    private final int moveSpeed;
+    private final int doorWorkSpeed;
+    private final Zone zone;
+    @Nullable
+    private final MotionProfile motionProfile;
+
+    private ElevatorGroup(String name, int count, int capacity, int startFloorNumber,
+                          int moveSpeed, int doorWorkSpeed, Zone zone, @Nullable MotionProfile motionProfile) {
+        checkNotNull(name);
+        checkNotNull(zone);
+        checkArgument(count > 0, "elevator group %s must have at least one elevator", name);
+        checkArgument(capacity > Elevator.MIN_CAPACITY, "elevator group %s has invalid capacity %s", name, capacity);
+        checkArgument(startFloorNumber >= Floor.GROUND_FLOOR,
+                "elevator group %s has invalid start floor %s", name, startFloorNumber);
+        checkArgument(moveSpeed >= Interruptible.MIN_SPEED && moveSpeed <= Interruptible.MAX_SPEED,
+                "elevator group %s has invalid move speed %s", name, moveSpeed);
+        checkArgument(doorWorkSpeed >= Interruptible.MIN_SPEED && doorWorkSpeed <= Interruptible.MAX_SPEED,
+                "elevator group %s has invalid door speed %s", name, doorWorkSpeed);
+        checkArgument(zone.serves(startFloorNumber),
+                "elevator group %s starts at floor %s outside of its zone %s", name, startFloorNumber, zone);
+
+        this.name = name;
+        this.count = count;
+        this.capacity = capacity;
+        this.startFloorNumber = startFloorNumber;
+        this.moveSpeed = moveSpeed;
+        this.doorWorkSpeed = doorWorkSpeed;
+        this.zone = zone;
+        this.motionProfile = motionProfile;
+    }
+
+    public static ElevatorGroup of(String name, int count, int capacity, int startFloorNumber,
+                                   int moveSpeed, int doorWorkSpeed) {
+        return new ElevatorGroup(name, count, capacity, startFloorNumber, moveSpeed, doorWorkSpeed, Zone.ALL, null);
+    }
+
+    public static ElevatorGroup of(String name, int count, int capacity, int startFloorNumber,
+                                   int moveSpeed, int doorWorkSpeed, Zone zone) {
+        return new ElevatorGroup(name, count, capacity, startFloorNumber, moveSpeed, doorWorkSpeed, zone, null);
+    }
+
+    public static ElevatorGroup of(String name, int count, int capacity, int startFloorNumber,
+                                   int doorWorkSpeed, Zone zone, MotionProfile motionProfile) {
+        checkNotNull(motionProfile);
+
+        return new ElevatorGroup(name, count, capacity, startFloorNumber, Interruptible.MIN_SPEED, doorWorkSpeed,
+                zone, motionProfile);
+    }
+
+    public List<Elevator> createElevators() {
+        ImmutableList.Builder<Elevator> elevators = ImmutableList.builder();
+        for (int i = 0; i < count; i++) {
+            elevators.add(motionProfile == null
+                    ? Elevator.of(capacity, startFloorNumber, moveSpeed, doorWorkSpeed, zone)
+                    : Elevator.of(capacity, startFloorNumber, doorWorkSpeed, zone, motionProfile));
+        }
+
+        return elevators.build();
+    }
+}
@@ -0,0 +1,8 @@
+package config;
+
+public enum OutputSink {
+    CONSOLE,
+    CSV,
+    COLUMNAR,
+    LOCKS
+}
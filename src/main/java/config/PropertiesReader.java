@@ -0,0 +1,165 @@
+package config;
+
+import building.Zone;
+import com.google.common.collect.ImmutableList;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+class PropertiesReader {
+    private static final String LIST_SEPARATOR = ",";
+    private static final String RANGE_SEPARATOR = "-";
+
+    private final Properties properties;
+    private final Set<String> readKeys;
+
+    private PropertiesReader(Properties properties) {
+        checkNotNull(properties);
+
+        this.properties = properties;
+        this.readKeys = new HashSet<>();
+    }
+
+    static PropertiesReader of(Properties properties) {
+        return new PropertiesReader(properties);
+    }
+
+    boolean contains(String key) {
+        return properties.containsKey(key);
+    }
+
+    String getString(String key) {
+        String value = properties.getProperty(key);
+        checkArgument(value != null && !value.isBlank(), "missing config key %s", key);
+        readKeys.add(key);
+
+        return value.trim();
+    }
+
+    String getString(String key, String defaultValue) {
+        return contains(key) ? getString(key) : defaultValue;
+    }
+
+    int getInt(String key) {
+        String value = getString(key);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException(String.format("config key %s is not a number: %s", key, value));
+        }
+    }
+
+    int getInt(String key, int defaultValue) {
+        return contains(key) ? getInt(key) : defaultValue;
+    }
+
+    long getLong(String key, long defaultValue) {
+        if (!contains(key)) {
+            return defaultValue;
+        }
+
+        String value = getString(key);
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException(String.format("config key %s is not a number: %s", key, value));
+        }
+    }
+
+    boolean getBoolean(String key, boolean defaultValue) {
+        if (!contains(key)) {
+            return defaultValue;
+        }
+
+        String value = getString(key);
+        checkArgument(value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false"),
+                "config key %s is not a boolean: %s", key, value);
+
+        return Boolean.parseBoolean(value);
+    }
+
+    double getDouble(String key, double defaultValue) {
+        if (!contains(key)) {
+            return defaultValue;
+        }
+
+        String value = getString(key);
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException(String.format("config key %s is not a number: %s", key, value));
+        }
+    }
+
+    <E extends Enum<E>> E getEnum(String key, Class<E> type, E defaultValue) {
+        return contains(key) ? toEnum(key, getString(key), type) : defaultValue;
+    }
+
+    <E extends Enum<E>> List<E> getEnumList(String key, Class<E> type, E defaultValue) {
+        if (!contains(key)) {
+            return ImmutableList.of(defaultValue);
+        }
+
+        ImmutableList.Builder<E> values = ImmutableList.builder();
+        for (String value : getString(key).split(LIST_SEPARATOR)) {
+            values.add(toEnum(key, value.trim(), type));
+        }
+
+        return values.build();
+    }
+
+    List<String> getList(String key) {
+        ImmutableList.Builder<String> values = ImmutableList.builder();
+        for (String value : getString(key).split(LIST_SEPARATOR)) {
+            checkArgument(!value.isBlank(), "config key %s has an empty element", key);
+            values.add(value.trim());
+        }
+
+        return values.build();
+    }
+
+    Zone getZone(String key) {
+        if (!contains(key)) {
+            return Zone.ALL;
+        }
+
+        Zone zone = null;
+        for (String part : getList(key)) {
+            Zone partZone;
+            try {
+                int separator = part.indexOf(RANGE_SEPARATOR, 1);
+                partZone = separator < 0
+                        ? Zone.of(Integer.parseInt(part))
+                        : Zone.ofRange(Integer.parseInt(part.substring(0, separator).trim()),
+                        Integer.parseInt(part.substring(separator + 1).trim()));
+            } catch (NumberFormatException exception) {
+                throw new IllegalArgumentException(String.format("config key %s has invalid floors %s", key, part));
+            }
+            zone = zone == null ? partZone : zone.union(partZone);
+        }
+
+        return zone;
+    }
+
+    void checkAllKeysRead() {
+        Set<String> unknownKeys = new TreeSet<>(properties.stringPropertyNames());
+        unknownKeys.removeAll(readKeys);
+
+        checkArgument(unknownKeys.isEmpty(), "unknown config keys %s", unknownKeys);
+    }
+
+    private <E extends Enum<E>> E toEnum(String key, String value, Class<E> type) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException(String.format("config key %s has unknown value %s", key, value));
+        }
+    }
+}
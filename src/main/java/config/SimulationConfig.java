@@ -0,0 +1,277 @@
+package config;
+
+import building.Building;
+import building.Controller;
+import building.Floor;
+import building.MotionProfile;
+import building.Zone;
+import building.dispatch.ControlMode;
+import building.dispatch.DispatchStrategyType;
+import building.dispatch.OptimizingDispatcher;
+import building.dispatch.ParkingPolicy;
+import building.dispatch.ReassignmentPolicy;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import human.Human;
+import lombok.Getter;
+import lombok.ToString;
+import simulation.ShardedSimulation;
+import simulation.StoppingRule;
+import simulation.Simulation;
+import simulation.SweepDefinition;
+import util.interrupt.Interruptible;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+@Getter
+@ToString
+public class SimulationConfig {
+    public static final String DEFAULT_RESOURCE = "simulation.properties";
+    public static final int DEFAULT_RENDERING_SPEED = 600;
+
+    private final int numberOfFloors;
+    private final List<ElevatorGroup> elevatorGroups;
+    private final DispatchStrategyType strategy;
+    private final ControlMode controlMode;
+    private final boolean parking;
+    private final long parkingHalfLife;
+    @Nullable
+    private final ReassignmentPolicy reassignmentPolicy;
+    private final boolean optimizer;
+    private final long optimizerBudget;
+    private final TrafficProfile traffic;
+    private final SimulationMode mode;
+    private final long duration;
+    private final long seed;
+    private final long transferTime;
+    @Nullable
+    private final StoppingRule stoppingRule;
+    private final int arrivalBufferCapacity;
+    @Nullable
+    private final Path checkpointLoadPath;
+    @Nullable
+    private final Path checkpointSavePath;
+    private final long checkpointTime;
+    private final Set<OutputSink> sinks;
+    private final int renderingSpeed;
+    private final long speedReportPeriod;
+    @Nullable
+    private final Path csvPath;
+    @Nullable
+    private final Path columnarPath;
+    @Nullable
+    private final Path locksPath;
+
+    private SimulationConfig(PropertiesReader reader) {
+        this.numberOfFloors = reader.getInt("building.floors");
+        checkArgument(numberOfFloors >= Building.MIN_NUMBER_OF_FLOORS,
+                "building must have at least %s floors", Building.MIN_NUMBER_OF_FLOORS);
+
+        double floorHeight = reader.getDouble("building.floor-height", MotionProfile.DEFAULT_FLOOR_HEIGHT);
+        checkArgument(floorHeight > 0, "floor height must be positive");
+
+        ImmutableList.Builder<ElevatorGroup> groups = ImmutableList.builder();
+        for (String name : reader.getList("elevator.groups")) {
+            String prefix = "elevator." + name + ".";
+            int count = reader.getInt(prefix + "count");
+            int capacity = reader.getInt(prefix + "capacity");
+            int startFloorNumber = reader.getInt(prefix + "start-floor", Floor.GROUND_FLOOR);
+            int doorWorkSpeed = reader.getInt(prefix + "door-speed", Interruptible.MIN_SPEED);
+            Zone zone = reader.getZone(prefix + "floors");
+            ElevatorGroup group = reader.contains(prefix + "rated-speed")
+                    ? ElevatorGroup.of(name, count, capacity, startFloorNumber, doorWorkSpeed, zone,
+                    MotionProfile.of(floorHeight,
+                            reader.getDouble(prefix + "rated-speed", 0),
+                            reader.getDouble(prefix + "acceleration", MotionProfile.DEFAULT_ACCELERATION),
+                            reader.getDouble(prefix + "jerk", MotionProfile.DEFAULT_JERK)))
+                    : ElevatorGroup.of(name, count, capacity, startFloorNumber,
+                    reader.getInt(prefix + "move-speed", Interruptible.MIN_SPEED), doorWorkSpeed, zone);
+            checkArgument(group.getStartFloorNumber() < numberOfFloors,
+                    "elevator group %s starts above the last floor", name);
+            checkArgument(group.getZone().isAll() || group.getZone().getHighestFloorNumber() < numberOfFloors,
+                    "elevator group %s serves floors above the last floor", name);
+            groups.add(group);
+        }
+        this.elevatorGroups = groups.build();
+        checkZones();
+
+        this.strategy = reader.getEnum("controller.strategy", DispatchStrategyType.class,
+                DispatchStrategyType.NEAREST_IDLE);
+        this.controlMode = reader.getEnum("controller.mode", ControlMode.class, ControlMode.CONVENTIONAL);
+        this.parking = reader.getBoolean("controller.parking", false);
+        this.parkingHalfLife = reader.getLong("controller.parking.half-life", ParkingPolicy.DEFAULT_HALF_LIFE / 1000)
+                * 1000;
+        checkArgument(parkingHalfLife > 0, "parking half-life must be positive");
+        ReassignmentPolicy reassignment = ReassignmentPolicy.of(
+                reader.getLong("controller.reassignment.threshold", ReassignmentPolicy.DEFAULT_THRESHOLD / 1000) * 1000,
+                reader.getLong("controller.reassignment.period", ReassignmentPolicy.DEFAULT_PERIOD / 1000) * 1000);
+        this.reassignmentPolicy = reader.getBoolean("controller.reassignment", false) ? reassignment : null;
+        this.optimizer = reader.getBoolean("controller.optimizer", false);
+        this.optimizerBudget = reader.getLong("controller.optimizer.budget", OptimizingDispatcher.DEFAULT_BUDGET);
+        checkArgument(optimizerBudget > 0, "optimizer budget must be positive");
+        this.traffic = TrafficProfile.of(reader.getInt("traffic.arrival-rate"),
+                reader.getInt("traffic.weight-from", Human.MIN_WEIGHT),
+                reader.getInt("traffic.weight-to", Human.MAX_WEIGHT));
+
+        this.mode = reader.getEnum("simulation.mode", SimulationMode.class, SimulationMode.REAL_TIME);
+        this.duration = reader.getLong("simulation.duration", SweepDefinition.DEFAULT_DURATION / 1000) * 1000;
+        this.seed = reader.getLong("simulation.seed", SweepDefinition.DEFAULT_SEED);
+        checkArgument(duration > 0, "simulation duration must be positive");
+        this.transferTime = reader.getLong("simulation.transfer-time", ShardedSimulation.DEFAULT_TRANSFER_TIME / 1000)
+                * 1000;
+        checkArgument(transferTime > 0, "transfer time must be positive");
+        double precision = reader.getDouble("simulation.precision", 0);
+        long precisionPeriod = reader.getLong("simulation.precision.period", StoppingRule.DEFAULT_PERIOD / 1000) * 1000;
+        checkArgument(precisionPeriod > 0, "precision period must be positive");
+        checkArgument(precision == 0 || mode == SimulationMode.FAST, "precision is supported in the fast mode only");
+        this.stoppingRule = precision == 0 ? null : StoppingRule.of(precision, precisionPeriod);
+        this.arrivalBufferCapacity = reader.getInt("simulation.arrival-buffer", 0);
+        checkArgument(arrivalBufferCapacity == 0 || arrivalBufferCapacity >= Simulation.MIN_ARRIVAL_BUFFER_CAPACITY,
+                "arrival buffer must hold at least %s arrivals", Simulation.MIN_ARRIVAL_BUFFER_CAPACITY);
+        checkArgument(mode != SimulationMode.REAL_TIME || traffic.isRealTimeRate(),
+                "arrival rate %s cannot be generated in real time", traffic.getArrivalRate());
+        this.checkpointLoadPath = reader.contains("simulation.checkpoint.load")
+                ? Paths.get(reader.getString("simulation.checkpoint.load"))
+                : null;
+        this.checkpointSavePath = reader.contains("simulation.checkpoint.save")
+                ? Paths.get(reader.getString("simulation.checkpoint.save"))
+                : null;
+        this.checkpointTime = reader.getLong("simulation.checkpoint.time", duration / 2000) * 1000;
+        checkArgument(checkpointTime > 0 && checkpointTime <= duration,
+                "checkpoint time must be within the simulation duration");
+        checkArgument(mode == SimulationMode.FAST || checkpointLoadPath == null && checkpointSavePath == null,
+                "checkpoints are supported in the fast mode only");
+
+        this.sinks = ImmutableSet.copyOf(reader.getEnumList("output.sinks", OutputSink.class, OutputSink.CONSOLE));
+        this.renderingSpeed = reader.getInt("output.console.rendering-speed", DEFAULT_RENDERING_SPEED);
+        checkArgument(renderingSpeed >= Interruptible.MIN_SPEED && renderingSpeed <= Interruptible.MAX_SPEED,
+                "invalid console rendering speed %s", renderingSpeed);
+        this.speedReportPeriod = reader.getLong("output.speed.period", 0) * 1000;
+        checkArgument(speedReportPeriod >= 0, "speed report period must not be negative");
+        this.csvPath = sinks.contains(OutputSink.CSV) || reader.contains("output.csv.path")
+                ? Paths.get(reader.getString("output.csv.path"))
+                : null;
+        this.columnarPath = sinks.contains(OutputSink.COLUMNAR) || reader.contains("output.columnar.path")
+                ? Paths.get(reader.getString("output.columnar.path"))
+                : null;
+        this.locksPath = sinks.contains(OutputSink.LOCKS) || reader.contains("output.locks.path")
+                ? Paths.get(reader.getString("output.locks.path"))
+                : null;
+        checkArgument(mode != SimulationMode.SHARDED || !sinks.contains(OutputSink.COLUMNAR),
+                "columnar records are not supported in the sharded mode");
+
+        reader.checkAllKeysRead();
+    }
+
+    private void checkZones() {
+        List<Zone> zones = elevatorGroups.stream()
+                .map(ElevatorGroup::getZone)
+                .distinct()
+                .collect(Collectors.toList());
+
+        for (int i = Floor.GROUND_FLOOR; i < numberOfFloors; i++) {
+            int floorNumber = i;
+            checkArgument(zones.stream().anyMatch(zone -> zone.serves(floorNumber)),
+                    "floor %s is not served by any elevator group", floorNumber);
+        }
+
+        Set<Zone> connectedZones = new HashSet<>();
+        Deque<Zone> queue = new ArrayDeque<>();
+        queue.add(zones.get(0));
+        connectedZones.add(zones.get(0));
+        while (!queue.isEmpty()) {
+            Zone zone = queue.poll();
+            for (Zone nextZone : zones) {
+                if (zone.intersects(nextZone) && connectedZones.add(nextZone)) {
+                    queue.add(nextZone);
+                }
+            }
+        }
+        checkArgument(connectedZones.size() == zones.size(),
+                "elevator zones %s do not share transfer floors", zones);
+    }
+
+    public static SimulationConfig of(Properties properties) {
+        return new SimulationConfig(PropertiesReader.of(properties));
+    }
+
+    public static SimulationConfig load(Path path) throws IOException {
+        checkNotNull(path);
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        return of(properties);
+    }
+
+    public static SimulationConfig loadDefault() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream stream = SimulationConfig.class.getClassLoader().getResourceAsStream(DEFAULT_RESOURCE)) {
+            checkNotNull(stream, "resource %s is missing", DEFAULT_RESOURCE);
+            properties.load(stream);
+        }
+
+        return of(properties);
+    }
+
+    public Building createBuilding() {
+        return createBuilding(elevatorGroups);
+    }
+
+    public Simulation createSimulation() {
+        return Simulation.of(createBuilding(), traffic.getArrivalRate(), traffic.getWeightFrom(),
+                traffic.getWeightTo(), duration, seed).setArrivalBufferCapacity(arrivalBufferCapacity);
+    }
+
+    /**
+     * Creates a simulation with a shard for every zone; groups that serve the same floors share a shard.
+     */
+    public ShardedSimulation createShardedSimulation() {
+        Map<Zone, List<ElevatorGroup>> groupsByZone = elevatorGroups.stream()
+                .collect(Collectors.groupingBy(ElevatorGroup::getZone, LinkedHashMap::new, Collectors.toList()));
+        List<Building> buildings = groupsByZone.values().stream()
+                .map(this::createBuilding)
+                .collect(Collectors.toList());
+
+        return ShardedSimulation.of(buildings, traffic.getArrivalRate(), traffic.getWeightFrom(),
+                traffic.getWeightTo(), duration, seed, transferTime);
+    }
+
+    private Building createBuilding(List<ElevatorGroup> groups) {
+        Controller controller = Controller.of(strategy.create());
+        controller.setControlMode(controlMode);
+        if (parking) {
+            controller.setParkingPolicy(ParkingPolicy.of(numberOfFloors, parkingHalfLife));
+        }
+        controller.setReassignmentPolicy(reassignmentPolicy);
+        if (optimizer) {
+            controller.setOptimizingDispatcher(OptimizingDispatcher.of(optimizerBudget));
+        }
+
+        Building building = Building.of(numberOfFloors).setController(controller);
+        groups.forEach(group -> group.createElevators().forEach(building::addElevator));
+
+        return building;
+    }
+}
@@ -0,0 +1,7 @@
+package config;
+
+public enum SimulationMode {
+    REAL_TIME,
+    FAST,
+    SHARDED
+}
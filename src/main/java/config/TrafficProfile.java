@@ -0,0 +1,42 @@
+package config;
+
+import human.Human;
+import lombok.Getter;
+import lombok.ToString;
+import simulation.Simulation;
+import util.interrupt.Interruptible;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+@Getter
+@ToString
+public class TrafficProfile {
+    private final int arrivalRate;
+    private final int weightFrom;
+    private final int weightTo;
+
+    private TrafficProfile(int arrivalRate, int weightFrom, int weightTo) {
+        checkArgument(arrivalRate >= Simulation.MIN_ARRIVAL_RATE, "invalid arrival rate %s", arrivalRate);
+        checkArgument(weightFrom >= Human.MIN_WEIGHT, "weight from %s is below %s", weightFrom, Human.MIN_WEIGHT);
+        checkArgument(weightTo <= Human.MAX_WEIGHT, "weight to %s is above %s", weightTo, Human.MAX_WEIGHT);
+        checkArgument(weightTo > weightFrom, "weight range %s..%s is empty", weightFrom, weightTo);
+
+        this.arrivalRate = arrivalRate;
+        this.weightFrom = weightFrom;
+        this.weightTo = weightTo;
+    }
+
+    public static TrafficProfile of(int arrivalRate, int weightFrom, int weightTo) {
+        return new TrafficProfile(arrivalRate, weightFrom, weightTo);
+    }
+
+    public int getGenerateSpeed() {
+        return Interruptible.DEFAULT_OPERATION_TIME - (int) (Simulation.MILLIS_IN_MINUTE / arrivalRate);
+    }
+
+    public boolean isRealTimeRate() {
+        int generateSpeed = getGenerateSpeed();
+
+        return generateSpeed >= Interruptible.MIN_SPEED && generateSpeed <= Interruptible.MAX_SPEED;
+    }
+}
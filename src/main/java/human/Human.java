@@ -1,12 +1,16 @@
 package human;
 
 import building.Call;
+import building.Elevator;
 import building.Floor;
+import building.Route;
+import building.Zone;
 import building.state.Direction;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
+import javax.annotation.Nullable;
 import java.util.UUID;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -14,41 +18,114 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 @Getter
 @ToString
-@EqualsAndHashCode
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Human {
     public static final int MIN_WEIGHT = 10;
     public static final int MAX_WEIGHT = 200;
 
+    @EqualsAndHashCode.Include
     private final UUID ssn;
     private final int weight;
-    private final Call call;
+    private final int destinationFloorNumber;
     private final Floor startFloor;
+    private volatile Call call;
+    private volatile Zone zone;
+    @ToString.Exclude
+    private volatile Elevator assignedElevator;
+    @ToString.Exclude
+    private volatile Floor currentFloor;
+    @ToString.Exclude
+    private volatile boolean hasArrived;
+    @ToString.Exclude
+    private volatile long arrivalTime;
+    @ToString.Exclude
+    private volatile long waitingSince;
+    @ToString.Exclude
+    private volatile long boardingTime;
+    @ToString.Exclude
+    private volatile long waitTime;
+    @ToString.Exclude
+    private volatile int numberOfRides;
 
-    private Human(int weight, int targetFloorNumber, Floor startFloor) {
+    private Human(UUID ssn, int weight, int targetFloorNumber, Floor startFloor) {
+        checkNotNull(ssn);
         checkNotNull(startFloor);
         checkArgument(targetFloorNumber >= Floor.GROUND_FLOOR);
         checkArgument(targetFloorNumber != startFloor.getFloorNumber());
         checkArgument(weight >= MIN_WEIGHT && weight <= MAX_WEIGHT);
 
         this.startFloor = startFloor;
-        this.ssn = UUID.randomUUID();
+        this.currentFloor = startFloor;
+        this.ssn = ssn;
         this.weight = weight;
+        this.destinationFloorNumber = targetFloorNumber;
+        this.zone = Zone.ALL;
         this.call = Call.of(targetFloorNumber,
                 targetFloorNumber - startFloor.getFloorNumber() > 0 ? Direction.UP : Direction.DOWN);
     }
 
     public static Human of(int weight, int targetFloorNumber, Floor startFloor) {
-        return new Human(weight, targetFloorNumber, startFloor);
+        return new Human(UUID.randomUUID(), weight, targetFloorNumber, startFloor);
+    }
+
+    public static Human of(UUID ssn, int weight, int targetFloorNumber, Floor startFloor) {
+        return new Human(ssn, weight, targetFloorNumber, startFloor);
     }
 
     public static Human of(int weight, Floor targetFloor, Floor startFloor) {
         checkNotNull(targetFloor);
         checkArgument(!targetFloor.equals(startFloor));
 
-        return new Human(weight, targetFloor.getFloorNumber(), startFloor);
+        return new Human(UUID.randomUUID(), weight, targetFloor.getFloorNumber(), startFloor);
+    }
+
+    public void arriveAt(Floor floor, long time) {
+        checkNotNull(floor);
+        checkArgument(time >= 0);
+        checkArgument(floor.getFloorNumber() != destinationFloorNumber);
+
+        if (!hasArrived) {
+            arrivalTime = time;
+            hasArrived = true;
+        }
+        waitingSince = time;
+        currentFloor = floor;
+    }
+
+    /**
+     * Boards a car at the given time. In the fast mode a car step moves the clock forward at once, so a car that
+     * was due earlier may pick up a person who got to a transfer floor "later"; such a change takes no wait time.
+     */
+    public void board(long time) {
+        checkArgument(time >= 0);
+
+        boardingTime = time;
+        waitTime += Math.max(0, time - waitingSince);
+        numberOfRides++;
+    }
+
+    public void restoreRides(long boardingTime, long waitTime, int numberOfRides) {
+        checkArgument(boardingTime >= 0 && waitTime >= 0 && numberOfRides >= 0);
+
+        this.boardingTime = boardingTime;
+        this.waitTime = waitTime;
+        this.numberOfRides = numberOfRides;
+    }
+
+    public void followRoute(Route route) {
+        checkNotNull(route);
+        checkArgument(route.getTargetFloorNumber() != currentFloor.getFloorNumber());
+
+        zone = route.getZone();
+        call = Call.of(route.getTargetFloorNumber(), currentFloor.getFloorNumber());
+        assignedElevator = null;
+    }
+
+    public void assignTo(@Nullable Elevator elevator) {
+        assignedElevator = elevator;
     }
 
     public void pushButton() {
-        startFloor.callElevator(call.getDirection());
+        currentFloor.callElevator(call.getDirection(), zone);
     }
 }
\ No newline at end of file
@@ -0,0 +1,201 @@
+package simulation;
+
+import util.HumanGenerator;
+import util.ReplayableRandom;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Arrivals of a simulation drawn ahead of its clock by a producer thread into a bounded ring of primitive records,
+ * so the event loop only reads the next due record instead of drawing it. The producer draws from the random
+ * streams of the simulation in the same order the simulation would, and stops after the first arrival later than
+ * the duration. Every record keeps the positions the streams had when it was due, so the simulation can still be
+ * checkpointed at the exact state of an inline run.
+ *
+ * <p>One producer and one consumer: the producer publishes every record, the consumer gives back the slots it has
+ * read a quarter of the ring at a time and wakes the producer if the ring was full. The fields of the next arrival
+ * are read after {@link #peekTime()}. The producer runs until the last arrival or until {@link #stop()}.
+ */
+class ArrivalPipeline implements Runnable {
+    private final ReplayableRandom random;
+    private final ReplayableRandom humanRandom;
+    private final int arrivalRate;
+    private final int numberOfFloors;
+    private final int weightFrom;
+    private final int weightTo;
+    private final long duration;
+    private final int mask;
+    private final int batchSize;
+    private final long[] times;
+    private final int[] floorNumbers;
+    private final int[] targetFloorNumbers;
+    private final int[] weights;
+    private final long[] randomDraws;
+    private final long[] humanRandomDraws;
+    private final AtomicLong produced;
+    private final AtomicLong consumed;
+    private volatile boolean isStopped;
+    private volatile boolean isProducerWaiting;
+    private Thread producer;
+    private long firstTime;
+    // producer's view
+    private long cachedConsumed;
+    // consumer's view
+    private long readIndex;
+    private long cachedProduced;
+
+    private ArrivalPipeline(ReplayableRandom random, ReplayableRandom humanRandom, int arrivalRate,
+                            int numberOfFloors, int weightFrom, int weightTo, long duration, int capacity) {
+        checkArgument(capacity >= Simulation.MIN_ARRIVAL_BUFFER_CAPACITY, "arrival buffer must hold at least %s arrivals",
+                Simulation.MIN_ARRIVAL_BUFFER_CAPACITY);
+
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.random = random;
+        this.humanRandom = humanRandom;
+        this.arrivalRate = arrivalRate;
+        this.numberOfFloors = numberOfFloors;
+        this.weightFrom = weightFrom;
+        this.weightTo = weightTo;
+        this.duration = duration;
+        this.mask = size - 1;
+        this.batchSize = size / 4;
+        this.times = new long[size];
+        this.floorNumbers = new int[size];
+        this.targetFloorNumbers = new int[size];
+        this.weights = new int[size];
+        this.randomDraws = new long[size];
+        this.humanRandomDraws = new long[size];
+        this.produced = new AtomicLong();
+        this.consumed = new AtomicLong();
+    }
+
+    static ArrivalPipeline of(ReplayableRandom random, ReplayableRandom humanRandom, int arrivalRate,
+                              int numberOfFloors, int weightFrom, int weightTo, long duration, int capacity) {
+        return new ArrivalPipeline(random, humanRandom, arrivalRate, numberOfFloors, weightFrom, weightTo, duration,
+                capacity);
+    }
+
+    int getCapacity() {
+        return times.length;
+    }
+
+    boolean isStarted() {
+        return producer != null;
+    }
+
+    /**
+     * Starts drawing from the arrival at the given time, whose interval has already been drawn; from then on the
+     * random streams belong to the producer.
+     */
+    void start(long nextArrivalTime) {
+        checkState(producer == null, "arrival pipeline has already been started");
+
+        firstTime = nextArrivalTime;
+        producer = new Thread(this, "arrivals");
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    void stop() {
+        isStopped = true;
+        if (producer != null) {
+            LockSupport.unpark(producer);
+        }
+    }
+
+    /**
+     * Time of the next arrival; waits for the producer if it has not drawn it yet.
+     */
+    long peekTime() {
+        if (readIndex == cachedProduced) {
+            awaitProduced();
+        }
+
+        return times[slot()];
+    }
+
+    int getFloorNumber() {
+        return floorNumbers[slot()];
+    }
+
+    int getTargetFloorNumber() {
+        return targetFloorNumbers[slot()];
+    }
+
+    int getWeight() {
+        return weights[slot()];
+    }
+
+    /**
+     * Number of values drawn from the arrival stream once the interval of the next arrival was drawn.
+     */
+    long getRandomDraws() {
+        return randomDraws[slot()];
+    }
+
+    /**
+     * Number of values drawn from the human stream before the next arrival was drawn.
+     */
+    long getHumanRandomDraws() {
+        return humanRandomDraws[slot()];
+    }
+
+    void poll() {
+        readIndex++;
+        if ((readIndex & (batchSize - 1)) == 0) {
+            // a volatile write, so the producer either sees the slots or is seen waiting for them
+            consumed.set(readIndex);
+            if (isProducerWaiting) {
+                LockSupport.unpark(producer);
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        long time = firstTime;
+        for (long index = 0; !isStopped; index++) {
+            while (index - cachedConsumed > mask) {
+                isProducerWaiting = true;
+                cachedConsumed = consumed.get();
+                if (index - cachedConsumed > mask) {
+                    LockSupport.park(this);
+                }
+                isProducerWaiting = false;
+                if (isStopped) {
+                    return;
+                }
+            }
+
+            int slot = (int) index & mask;
+            times[slot] = time;
+            randomDraws[slot] = random.getNumberOfDraws();
+            humanRandomDraws[slot] = humanRandom.getNumberOfDraws();
+            int floorNumber = HumanGenerator.nextFloorNumber(humanRandom, numberOfFloors);
+            floorNumbers[slot] = floorNumber;
+            weights[slot] = HumanGenerator.nextWeight(humanRandom, weightFrom, weightTo);
+            targetFloorNumbers[slot] = HumanGenerator.nextTargetFloorNumber(humanRandom, numberOfFloors, floorNumber);
+            produced.lazySet(index + 1);
+
+            if (time > duration) {
+                return;
+            }
+            time += Simulation.nextArrivalInterval(random, arrivalRate);
+        }
+    }
+
+    private int slot() {
+        return (int) readIndex & mask;
+    }
+
+    private void awaitProduced() {
+        while ((cachedProduced = produced.get()) == readIndex) {
+            checkState(producer.isAlive() || produced.get() != readIndex, "arrival pipeline has stopped");
+            Thread.onSpinWait();
+        }
+    }
+}
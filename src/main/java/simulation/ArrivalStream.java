@@ -0,0 +1,109 @@
+package simulation;
+
+import human.Human;
+import lombok.AccessLevel;
+import lombok.Getter;
+import util.HumanGenerator;
+import util.ReplayableRandom;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Arrivals of a simulation drawn in advance: when each person comes, from which floor to which and how heavy.
+ * The stream is drawn from the seed exactly as a {@link Simulation} with that seed would draw it, and it is
+ * immutable, so any number of simulations can play the same people at once. Variants of a controller compared
+ * on one stream differ only by their own decisions, not by the luck of their traffic.
+ */
+@Getter
+public class ArrivalStream {
+    private final int numberOfFloors;
+    private final int arrivalRate;
+    private final long duration;
+    private final long seed;
+    @Getter(AccessLevel.NONE)
+    private final long[] times;
+    @Getter(AccessLevel.NONE)
+    private final int[] floorNumbers;
+    @Getter(AccessLevel.NONE)
+    private final int[] targetFloorNumbers;
+    @Getter(AccessLevel.NONE)
+    private final int[] weights;
+
+    private ArrivalStream(int numberOfFloors, int arrivalRate, int weightFrom, int weightTo, long duration,
+                          long seed) {
+        checkArgument(numberOfFloors > 1);
+        checkArgument(arrivalRate >= Simulation.MIN_ARRIVAL_RATE);
+        checkArgument(weightTo > weightFrom);
+        checkArgument(duration > 0);
+
+        this.numberOfFloors = numberOfFloors;
+        this.arrivalRate = arrivalRate;
+        this.duration = duration;
+        this.seed = seed;
+
+        ReplayableRandom random = ReplayableRandom.of(seed);
+        ReplayableRandom humanRandom = ReplayableRandom.of(random.nextLong());
+        int capacity = (int) Math.min(duration * arrivalRate / Simulation.MILLIS_IN_MINUTE + 1, 1 << 20);
+        long[] arrivalTimes = new long[capacity];
+        int[] arrivalFloorNumbers = new int[capacity];
+        int[] arrivalTargetFloorNumbers = new int[capacity];
+        int[] arrivalWeights = new int[capacity];
+
+        int size = 0;
+        for (long time = Simulation.nextArrivalInterval(random, arrivalRate); time <= duration;
+             time += Simulation.nextArrivalInterval(random, arrivalRate)) {
+            if (size == arrivalTimes.length) {
+                int length = arrivalTimes.length * 2;
+                arrivalTimes = Arrays.copyOf(arrivalTimes, length);
+                arrivalFloorNumbers = Arrays.copyOf(arrivalFloorNumbers, length);
+                arrivalTargetFloorNumbers = Arrays.copyOf(arrivalTargetFloorNumbers, length);
+                arrivalWeights = Arrays.copyOf(arrivalWeights, length);
+            }
+
+            int floorNumber = HumanGenerator.nextFloorNumber(humanRandom, numberOfFloors);
+            arrivalTimes[size] = time;
+            arrivalFloorNumbers[size] = floorNumber;
+            arrivalWeights[size] = HumanGenerator.nextWeight(humanRandom, weightFrom, weightTo);
+            arrivalTargetFloorNumbers[size] = HumanGenerator.nextTargetFloorNumber(humanRandom, numberOfFloors,
+                    floorNumber);
+            size++;
+        }
+
+        this.times = Arrays.copyOf(arrivalTimes, size);
+        this.floorNumbers = Arrays.copyOf(arrivalFloorNumbers, size);
+        this.targetFloorNumbers = Arrays.copyOf(arrivalTargetFloorNumbers, size);
+        this.weights = Arrays.copyOf(arrivalWeights, size);
+    }
+
+    public static ArrivalStream of(int numberOfFloors, int arrivalRate, int weightFrom, int weightTo,
+                                   long duration, long seed) {
+        return new ArrivalStream(numberOfFloors, arrivalRate, weightFrom, weightTo, duration, seed);
+    }
+
+    public static ArrivalStream of(SimulationParameters parameters) {
+        return new ArrivalStream(parameters.getNumberOfFloors(), parameters.getArrivalRate(),
+                Human.MIN_WEIGHT, Human.MAX_WEIGHT, parameters.getDuration(), parameters.getSeed());
+    }
+
+    public int size() {
+        return times.length;
+    }
+
+    public long getTime(int index) {
+        return times[index];
+    }
+
+    public int getFloorNumber(int index) {
+        return floorNumbers[index];
+    }
+
+    public int getTargetFloorNumber(int index) {
+        return targetFloorNumbers[index];
+    }
+
+    public int getWeight(int index) {
+        return weights[index];
+    }
+}
@@ -0,0 +1,153 @@
+package simulation;
+
+import building.BuildingCheckpoint;
+import util.ReplayableRandom;
+import util.StatisticsHolder;
+import util.TimeHistogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Saves a paused {@link Simulation} to a file and loads it back into a simulation created from the same
+ * configuration. The file holds the clock, the pending events, the positions of both random streams, the
+ * collected statistics and the state of the building, so a warmed-up run can be saved once and every strategy
+ * under test continued from exactly the same moment.
+ */
+public class Checkpoint {
+    private static final int MAGIC = 0x454c4556;
+    private static final int VERSION = 3;
+
+    private Checkpoint() {
+    }
+
+    public static void save(Simulation simulation, Path path) throws IOException {
+        checkNotNull(simulation);
+        checkNotNull(path);
+        checkArgument(!simulation.hasTransfers(), "shards of a sharded simulation cannot be saved");
+        checkArgument(!simulation.hasArrivalStream(), "simulations playing an arrival stream cannot be saved");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+
+        output.writeLong(simulation.getClock().currentTime());
+        output.writeLong(simulation.getNextArrivalTime());
+        output.writeLong(simulation.getNextReassignmentTime());
+        output.writeLong(simulation.getNextPlanTime());
+        long[] readyTimes = simulation.getReadyTimes();
+        output.writeInt(readyTimes.length);
+        for (long readyTime : readyTimes) {
+            output.writeLong(readyTime);
+        }
+        writeRandom(simulation.getRandom(), simulation.getRandomDraws(), output);
+        writeRandom(simulation.getHumanRandom(), simulation.getHumanRandomDraws(), output);
+
+        StatisticsHolder statistics = simulation.getStatistics();
+        output.writeInt(statistics.getNumberOfDeliveredPeople());
+        output.writeInt(statistics.getNumberOfGeneratedPeople());
+        output.writeInt(statistics.getNumberOfPassedFloors());
+        writeTimes(statistics.getWaitTimes(), output);
+        writeTimes(statistics.getJourneyTimes(), output);
+
+        BuildingCheckpoint.write(simulation.getBuilding(), output);
+        output.flush();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Loads the checkpoint into a simulation that has not run yet. The simulation must be created from the
+     * configuration of the saved one: the number of floors and the elevators are checked, strategies and
+     * policies are taken as they are.
+     */
+    public static void restore(Path path, Simulation simulation) throws IOException {
+        checkNotNull(path);
+        checkNotNull(simulation);
+        checkArgument(simulation.getClock().currentTime() == 0, "simulation has already run");
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer input = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            restore(input, simulation);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException exception) {
+            throw new IllegalArgumentException("checkpoint is corrupted", exception);
+        }
+    }
+
+    private static void restore(ByteBuffer input, Simulation simulation) {
+        checkArgument(input.remaining() >= 2 * Integer.BYTES && input.getInt() == MAGIC, "not a checkpoint");
+        checkArgument(input.getInt() == VERSION, "unsupported checkpoint version");
+
+        long time = input.getLong();
+        checkArgument(time <= simulation.getDuration(), "checkpoint is later than the simulation end");
+        simulation.getClock().setTime(time);
+        simulation.setNextArrivalTime(input.getLong());
+        simulation.setNextReassignmentTime(input.getLong());
+        simulation.setNextPlanTime(input.getLong());
+        long[] readyTimes = simulation.getReadyTimes();
+        checkArgument(input.getInt() == readyTimes.length, "checkpoint has another number of elevators");
+        for (int i = 0; i < readyTimes.length; i++) {
+            readyTimes[i] = input.getLong();
+        }
+        simulation.scheduleElevators();
+        readRandom(simulation.getRandom(), input);
+        readRandom(simulation.getHumanRandom(), input);
+
+        int numberOfDeliveredPeople = input.getInt();
+        int numberOfGeneratedPeople = input.getInt();
+        int numberOfPassedFloors = input.getInt();
+        simulation.getStatistics().restore(numberOfDeliveredPeople, numberOfGeneratedPeople, numberOfPassedFloors,
+                readTimes(input), readTimes(input));
+
+        BuildingCheckpoint.read(simulation.getBuilding(), input);
+        checkArgument(!input.hasRemaining(), "checkpoint has trailing data");
+    }
+
+    private static void writeRandom(ReplayableRandom random, long numberOfDraws, DataOutputStream output)
+            throws IOException {
+        output.writeLong(random.getInitialSeed());
+        output.writeLong(numberOfDraws);
+    }
+
+    private static void readRandom(ReplayableRandom random, ByteBuffer input) {
+        random.restore(input.getLong(), input.getLong());
+    }
+
+    private static void writeTimes(TimeHistogram times, DataOutputStream output) throws IOException {
+        TimeHistogram copy = times.copy();
+        long[] counts = copy.getCounts();
+        output.writeLong(copy.getSum());
+        output.writeLong(copy.getMaxValue());
+        output.writeInt(counts.length);
+        for (long count : counts) {
+            output.writeLong(count);
+        }
+    }
+
+    private static TimeHistogram readTimes(ByteBuffer input) {
+        long sum = input.getLong();
+        long maxValue = input.getLong();
+        long[] counts = new long[input.getInt()];
+        input.asLongBuffer().get(counts);
+        input.position(input.position() + counts.length * Long.BYTES);
+
+        return TimeHistogram.of(counts, sum, maxValue);
+    }
+}
@@ -0,0 +1,248 @@
+package simulation;
+
+import util.StatisticsHolder;
+import util.TimeHistogram;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Applies a {@link StoppingRule} to a running simulation: remembers the statistics counters at the end of every
+ * period and estimates the warm-up and the confidence intervals from them. The throughput and the 95th percentile
+ * of the waits of a period, which only tell where the warm-up ends, are computed once, when the period ends; the
+ * 95th percentile of a batch is that of all the waits in it, the quantity the result reports. The waits and the
+ * journeys are kept as histograms of segments of whole periods; when there are {@value #MAX_SEGMENTS} of them,
+ * neighbours are merged and a segment grows twice as long, so a long run needs no more memory than a short one and
+ * the warm-up and the batches are cut on segment bounds.
+ */
+class ConvergenceMonitor {
+    private static final int MAX_SEGMENTS = 8 * StoppingRule.NUMBER_OF_BATCHES;
+
+    private final StatisticsHolder statistics;
+    private final StoppingRule rule;
+    private final long startTime;
+    private final List<Mark> marks;
+    private final Segment initialTimes;
+    private final List<Segment> segments;
+    private Segment lastTimes;
+    private Segment openSegment;
+    private int segmentLength;
+    private int openPeriods;
+    private double[] throughputs;
+    private double[] waitTimesP95;
+    private int warmUpSegments;
+    private double waitTimeP95;
+    private double throughputHalfWidth;
+    private double waitTimeP95HalfWidth;
+
+    private ConvergenceMonitor(StatisticsHolder statistics, StoppingRule rule, long startTime) {
+        this.statistics = statistics;
+        this.rule = rule;
+        this.startTime = startTime;
+        this.marks = new ArrayList<>();
+        this.initialTimes = Segment.of(statistics);
+        this.segments = new ArrayList<>();
+        this.lastTimes = initialTimes;
+        this.openSegment = Segment.of();
+        this.segmentLength = 1;
+        this.throughputs = new double[StoppingRule.NUMBER_OF_BATCHES];
+        this.waitTimesP95 = new double[StoppingRule.NUMBER_OF_BATCHES];
+        this.waitTimeP95 = Double.NaN;
+        this.throughputHalfWidth = Double.NaN;
+        this.waitTimeP95HalfWidth = Double.NaN;
+
+        marks.add(Mark.of(statistics));
+    }
+
+    static ConvergenceMonitor of(StatisticsHolder statistics, StoppingRule rule, long startTime) {
+        return new ConvergenceMonitor(statistics, rule, startTime);
+    }
+
+    /**
+     * Records the end of a period and tells whether the run has converged.
+     */
+    boolean observe() {
+        Mark from = marks.get(marks.size() - 1);
+        Mark to = Mark.of(statistics);
+        marks.add(to);
+        Segment times = Segment.of(statistics);
+        Segment periodTimes = times.since(lastTimes);
+        lastTimes = times;
+        addPeriod(periodTimes);
+
+        int numberOfPeriods = marks.size() - 1;
+        if (numberOfPeriods > throughputs.length) {
+            throughputs = Arrays.copyOf(throughputs, 2 * throughputs.length);
+            waitTimesP95 = Arrays.copyOf(waitTimesP95, 2 * waitTimesP95.length);
+        }
+        throughputs[numberOfPeriods - 1] = to.numberOfDeliveredPeople - from.numberOfDeliveredPeople;
+        // a period without waits repeats the last percentile instead of pulling the series to zero
+        waitTimesP95[numberOfPeriods - 1] = periodTimes.waitTimes.getCount() == 0
+                ? numberOfPeriods > 1 ? waitTimesP95[numberOfPeriods - 2] : 0
+                : periodTimes.waitTimes.getPercentile(95);
+        int warmUpPeriods = Math.max(getTruncationPoint(Arrays.copyOf(throughputs, numberOfPeriods)),
+                getTruncationPoint(Arrays.copyOf(waitTimesP95, numberOfPeriods)));
+        warmUpSegments = Math.min((warmUpPeriods + segmentLength - 1) / segmentLength, segments.size());
+
+        int batchSize = (segments.size() - warmUpSegments) / StoppingRule.NUMBER_OF_BATCHES;
+        if (batchSize == 0) {
+            return false;
+        }
+
+        // the segments that do not make a whole batch are counted to the warm-up
+        warmUpSegments = segments.size() - batchSize * StoppingRule.NUMBER_OF_BATCHES;
+        double[] batchThroughputs = new double[StoppingRule.NUMBER_OF_BATCHES];
+        double[] batchWaitTimesP95 = new double[StoppingRule.NUMBER_OF_BATCHES];
+        double batchTime = (double) batchSize * segmentLength * rule.getPeriod();
+        for (int i = 0; i < StoppingRule.NUMBER_OF_BATCHES; i++) {
+            int batchStart = warmUpSegments + i * batchSize;
+            int batchEnd = batchStart + batchSize;
+            batchThroughputs[i] = (marks.get(batchEnd * segmentLength).numberOfDeliveredPeople
+                    - marks.get(batchStart * segmentLength).numberOfDeliveredPeople)
+                    * SimulationResult.MILLIS_IN_HOUR / batchTime;
+            TimeHistogram batchWaitTimes = TimeHistogram.of();
+            for (Segment segment : segments.subList(batchStart, batchEnd)) {
+                batchWaitTimes.merge(segment.waitTimes);
+            }
+            batchWaitTimesP95[i] = batchWaitTimes.getPercentile(95);
+        }
+        waitTimeP95 = Arrays.stream(batchWaitTimesP95).average().orElse(0);
+        throughputHalfWidth = getHalfWidth(batchThroughputs);
+        waitTimeP95HalfWidth = getHalfWidth(batchWaitTimesP95);
+
+        return isPrecise(throughputHalfWidth, batchThroughputs) && isPrecise(waitTimeP95HalfWidth, batchWaitTimesP95);
+    }
+
+    private void addPeriod(Segment periodTimes) {
+        openSegment.merge(periodTimes);
+        if (++openPeriods < segmentLength) {
+            return;
+        }
+
+        segments.add(openSegment);
+        openSegment = Segment.of();
+        openPeriods = 0;
+        if (segments.size() == MAX_SEGMENTS) {
+            for (int i = 0; i < MAX_SEGMENTS / 2; i++) {
+                segments.set(i, segments.get(2 * i).merge(segments.get(2 * i + 1)));
+            }
+            segments.subList(MAX_SEGMENTS / 2, MAX_SEGMENTS).clear();
+            segmentLength *= 2;
+        }
+    }
+
+    /**
+     * Mean of the 95th percentiles of the waits in the batches, the estimate the last interval is centred on.
+     */
+    double getWaitTimeP95() {
+        return waitTimeP95;
+    }
+
+    /**
+     * Result of the run after the warm-up, up to the given time.
+     */
+    ConvergenceResult getResult(long time, boolean isConverged) {
+        int warmUpPeriods = warmUpSegments * segmentLength;
+        Mark warmUpEnd = marks.get(warmUpPeriods);
+        long warmUpTime = warmUpPeriods * rule.getPeriod();
+        Segment warmUpTimes = Segment.of().merge(initialTimes);
+        for (Segment segment : segments.subList(0, warmUpSegments)) {
+            warmUpTimes.merge(segment);
+        }
+        Segment steadyTimes = Segment.of(statistics).since(warmUpTimes);
+
+        StatisticsHolder steadyStatistics = StatisticsHolder.newInstance();
+        steadyStatistics.restore(statistics.getNumberOfDeliveredPeople() - warmUpEnd.numberOfDeliveredPeople,
+                statistics.getNumberOfGeneratedPeople() - warmUpEnd.numberOfGeneratedPeople,
+                statistics.getNumberOfPassedFloors() - warmUpEnd.numberOfPassedFloors,
+                steadyTimes.waitTimes, steadyTimes.journeyTimes);
+        long runTime = time - startTime;
+
+        return ConvergenceResult.of(SimulationResult.of(steadyStatistics, Math.max(1, runTime - warmUpTime)),
+                warmUpTime, runTime, isConverged, throughputHalfWidth, waitTimeP95HalfWidth);
+    }
+
+    /**
+     * MSER: the number of leading observations whose removal leaves the smallest standard error of the mean of the
+     * rest, searched in the first half of the series.
+     */
+    static int getTruncationPoint(double[] observations) {
+        int size = observations.length;
+        double sum = 0;
+        double sumOfSquares = 0;
+        int truncationPoint = 0;
+        double minError = Double.MAX_VALUE;
+        for (int d = size - 1; d >= 0; d--) {
+            sum += observations[d];
+            sumOfSquares += observations[d] * observations[d];
+            int rest = size - d;
+            double error = (sumOfSquares - sum * sum / rest) / ((double) rest * rest);
+            if (d <= size / 2 && error <= minError) {
+                minError = error;
+                truncationPoint = d;
+            }
+        }
+
+        return truncationPoint;
+    }
+
+    static double getHalfWidth(double[] batchMeans) {
+        return StudentT.getHalfWidth(batchMeans);
+    }
+
+    private boolean isPrecise(double halfWidth, double[] batchMeans) {
+        double mean = Arrays.stream(batchMeans).average().orElse(0);
+
+        return mean > 0 && halfWidth <= rule.getPrecision() * mean;
+    }
+
+    private static class Mark {
+        private final int numberOfDeliveredPeople;
+        private final int numberOfGeneratedPeople;
+        private final int numberOfPassedFloors;
+
+        private Mark(StatisticsHolder statistics) {
+            this.numberOfDeliveredPeople = statistics.getNumberOfDeliveredPeople();
+            this.numberOfGeneratedPeople = statistics.getNumberOfGeneratedPeople();
+            this.numberOfPassedFloors = statistics.getNumberOfPassedFloors();
+        }
+
+        private static Mark of(StatisticsHolder statistics) {
+            return new Mark(statistics);
+        }
+    }
+
+    private static class Segment {
+        private final TimeHistogram waitTimes;
+        private final TimeHistogram journeyTimes;
+
+        private Segment(TimeHistogram waitTimes, TimeHistogram journeyTimes) {
+            this.waitTimes = waitTimes;
+            this.journeyTimes = journeyTimes;
+        }
+
+        private static Segment of() {
+            return new Segment(TimeHistogram.of(), TimeHistogram.of());
+        }
+
+        private static Segment of(StatisticsHolder statistics) {
+            return new Segment(statistics.getWaitTimes().copy(), statistics.getJourneyTimes().copy());
+        }
+
+        private Segment merge(Segment segment) {
+            waitTimes.merge(segment.waitTimes);
+            journeyTimes.merge(segment.journeyTimes);
+
+            return this;
+        }
+
+        /**
+         * Times added since an earlier copy of the same statistics.
+         */
+        private Segment since(Segment earlier) {
+            return new Segment(waitTimes.copy().subtract(earlier.waitTimes),
+                    journeyTimes.copy().subtract(earlier.journeyTimes));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package simulation;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Outcome of a run under a {@link StoppingRule}: the result of the run after its warm-up, how long the warm-up
+ * and the whole run were, and the half-widths of the 95% confidence intervals of the throughput (people per
+ * hour) and of the 95th percentile of the wait (milliseconds). The half-widths are NaN when the run was too short
+ * to estimate them.
+ */
+@Getter
+@ToString
+public class ConvergenceResult {
+    private final SimulationResult result;
+    private final long warmUpTime;
+    private final long runTime;
+    private final boolean isConverged;
+    private final double throughputHalfWidth;
+    private final double waitTimeP95HalfWidth;
+
+    private ConvergenceResult(SimulationResult result, long warmUpTime, long runTime, boolean isConverged,
+                              double throughputHalfWidth, double waitTimeP95HalfWidth) {
+        checkNotNull(result);
+
+        this.result = result;
+        this.warmUpTime = warmUpTime;
+        this.runTime = runTime;
+        this.isConverged = isConverged;
+        this.throughputHalfWidth = throughputHalfWidth;
+        this.waitTimeP95HalfWidth = waitTimeP95HalfWidth;
+    }
+
+    static ConvergenceResult of(SimulationResult result, long warmUpTime, long runTime, boolean isConverged,
+                                double throughputHalfWidth, double waitTimeP95HalfWidth) {
+        return new ConvergenceResult(result, warmUpTime, runTime, isConverged, throughputHalfWidth,
+                waitTimeP95HalfWidth);
+    }
+}
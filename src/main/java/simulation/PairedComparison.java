@@ -0,0 +1,171 @@
+package simulation;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import human.Human;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.log4j.Level;
+import org.apache.log4j.LogManager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.ToDoubleFunction;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Compares a variant with the baseline by common random numbers: every replication draws one
+ * {@link ArrivalStream} and both play it at the same time, so the paired differences of their results are free of
+ * the noise of the traffic and a small difference shows up in far fewer simulated hours than with independent runs.
+ * Replication {@code i} draws its arrivals from the baseline seed plus {@code i}.
+ */
+@Slf4j
+public class PairedComparison {
+    public static final int DEFAULT_REPLICATIONS = 10;
+
+    private static final String OUTPUT_OPTION = "--output=";
+    private static final String PARALLELISM_OPTION = "--parallelism=";
+    private static final String REPLICATIONS_OPTION = "--replications=";
+    private static final String DEFAULT_OUTPUT = "paired.csv";
+    private static final Map<String, ToDoubleFunction<SimulationResult>> METRICS = ImmutableMap.of(
+            "throughput_per_hour", SimulationResult::getThroughput,
+            "wait_mean_ms", SimulationResult::getMeanWaitTime,
+            "wait_p95_ms", SimulationResult::getWaitTimeP95,
+            "journey_p95_ms", SimulationResult::getJourneyTimeP95);
+
+    private final SimulationParameters baseline;
+    private final SimulationParameters variant;
+    private final int numberOfReplications;
+    private final int parallelism;
+
+    private PairedComparison(SimulationParameters baseline, SimulationParameters variant, int numberOfReplications,
+                             int parallelism) {
+        checkNotNull(baseline);
+        checkNotNull(variant);
+        checkArgument(baseline.getNumberOfFloors() == variant.getNumberOfFloors()
+                        && baseline.getArrivalRate() == variant.getArrivalRate()
+                        && baseline.getDuration() == variant.getDuration(),
+                "variants must have the same floors, arrival rate and duration to share arrivals");
+        checkArgument(numberOfReplications > 1);
+        checkArgument(parallelism > 0);
+
+        this.baseline = baseline;
+        this.variant = variant;
+        this.numberOfReplications = numberOfReplications;
+        this.parallelism = parallelism;
+    }
+
+    public static PairedComparison of(SimulationParameters baseline, SimulationParameters variant,
+                                      int numberOfReplications) {
+        return new PairedComparison(baseline, variant, numberOfReplications,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public static PairedComparison of(SimulationParameters baseline, SimulationParameters variant,
+                                      int numberOfReplications, int parallelism) {
+        return new PairedComparison(baseline, variant, numberOfReplications, parallelism);
+    }
+
+    public List<PairedDifference> run() {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try {
+            List<ForkJoinTask<SimulationResult>> baselineTasks = new ArrayList<>();
+            List<ForkJoinTask<SimulationResult>> variantTasks = new ArrayList<>();
+            for (int i = 0; i < numberOfReplications; i++) {
+                ArrivalStream arrivals = ArrivalStream.of(baseline.getNumberOfFloors(), baseline.getArrivalRate(),
+                        Human.MIN_WEIGHT, Human.MAX_WEIGHT, baseline.getDuration(), baseline.getSeed() + i);
+                baselineTasks.add(pool.submit(() -> Simulation.of(baseline, arrivals).run()));
+                variantTasks.add(pool.submit(() -> Simulation.of(variant, arrivals).run()));
+            }
+
+            List<SimulationResult> baselineResults = join(baselineTasks);
+            List<SimulationResult> variantResults = join(variantTasks);
+
+            ImmutableList.Builder<PairedDifference> differences = ImmutableList.builder();
+            METRICS.forEach((metric, value) -> differences.add(PairedDifference.of(metric,
+                    baselineResults.stream().mapToDouble(value).toArray(),
+                    variantResults.stream().mapToDouble(value).toArray())));
+
+            return differences.build();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public static void writeCsv(List<PairedDifference> differences, Path path) throws IOException {
+        checkNotNull(differences);
+        checkNotNull(path);
+
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(PairedDifference.CSV_HEADER);
+            writer.newLine();
+
+            for (PairedDifference difference : differences) {
+                writer.write(difference.toCsvRow());
+                writer.newLine();
+            }
+        }
+    }
+
+    private static List<SimulationResult> join(List<ForkJoinTask<SimulationResult>> tasks) {
+        List<SimulationResult> results = new ArrayList<>();
+        for (ForkJoinTask<SimulationResult> task : tasks) {
+            results.add(task.join());
+        }
+
+        return results;
+    }
+
+    /**
+     * Takes the options of {@link SweepDefinition#parse(String...)}, which must describe exactly two combinations:
+     * the baseline and the variant, e.g. {@code --strategy=nearest_idle,nearest_car}.
+     */
+    public static void main(String[] args) throws IOException {
+        Path output = Paths.get(DEFAULT_OUTPUT);
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int numberOfReplications = DEFAULT_REPLICATIONS;
+        List<String> sweepArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            if (arg.startsWith(OUTPUT_OPTION)) {
+                output = Paths.get(arg.substring(OUTPUT_OPTION.length()));
+            } else if (arg.startsWith(PARALLELISM_OPTION)) {
+                parallelism = Integer.parseInt(arg.substring(PARALLELISM_OPTION.length()));
+            } else if (arg.startsWith(REPLICATIONS_OPTION)) {
+                numberOfReplications = Integer.parseInt(arg.substring(REPLICATIONS_OPTION.length()));
+            } else {
+                sweepArgs.add(arg);
+            }
+        }
+
+        LogManager.getRootLogger().setLevel(Level.WARN);
+
+        List<SimulationParameters> combinations = SweepDefinition.parse(sweepArgs.toArray(new String[0]))
+                .getCombinations();
+        checkArgument(combinations.size() == 2, "a baseline and a variant are expected, not %s combinations",
+                combinations.size());
+
+        long startTime = System.currentTimeMillis();
+        List<PairedDifference> differences = PairedComparison.of(combinations.get(0), combinations.get(1),
+                numberOfReplications, parallelism).run();
+        writeCsv(differences, output);
+
+        differences.forEach(difference -> System.out.printf("%s: %.2f -> %.2f, difference %.2f +- %.2f "
+                        + "(+- %.2f unpaired)%s%n", difference.getMetric(), difference.getBaselineMean(),
+                difference.getVariantMean(), difference.getDifference(), difference.getHalfWidth(),
+                difference.getUnpairedHalfWidth(), difference.isSignificant() ? ", significant" : ""));
+        System.out.printf("%d replications finished in %d ms, report: %s%n",
+                numberOfReplications, System.currentTimeMillis() - startTime, output.toAbsolutePath());
+    }
+}
@@ -0,0 +1,65 @@
+package simulation;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Locale;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Difference of one result between a variant and the baseline over replications on common arrivals. The
+ * half-width is that of the mean paired difference; the unpaired half-width is what the same replications would
+ * give if the two were run on independent arrivals, for comparison.
+ */
+@Getter
+@ToString
+public class PairedDifference {
+    public static final String CSV_HEADER = "metric,replications,baseline_mean,variant_mean,difference,"
+            + "difference_half_width,unpaired_half_width,significant";
+
+    private final String metric;
+    private final int numberOfReplications;
+    private final double baselineMean;
+    private final double variantMean;
+    private final double difference;
+    private final double halfWidth;
+    private final double unpairedHalfWidth;
+
+    private PairedDifference(String metric, double[] baseline, double[] variant) {
+        checkNotNull(metric);
+        checkArgument(baseline.length > 1 && baseline.length == variant.length);
+
+        int size = baseline.length;
+        double[] differences = new double[size];
+        for (int i = 0; i < size; i++) {
+            differences[i] = variant[i] - baseline[i];
+        }
+
+        this.metric = metric;
+        this.numberOfReplications = size;
+        this.baselineMean = StudentT.getMean(baseline);
+        this.variantMean = StudentT.getMean(variant);
+        this.difference = StudentT.getMean(differences);
+        this.halfWidth = StudentT.getHalfWidth(differences);
+        this.unpairedHalfWidth = StudentT.getQuantile(2 * size - 2)
+                * Math.sqrt((StudentT.getVariance(baseline) + StudentT.getVariance(variant)) / size);
+    }
+
+    static PairedDifference of(String metric, double[] baseline, double[] variant) {
+        return new PairedDifference(metric, baseline, variant);
+    }
+
+    /**
+     * Whether the 95% confidence interval of the difference leaves out zero.
+     */
+    public boolean isSignificant() {
+        return Math.abs(difference) > halfWidth;
+    }
+
+    public String toCsvRow() {
+        return String.format(Locale.ROOT, "%s,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%b", metric, numberOfReplications,
+                baselineMean, variantMean, difference, halfWidth, unpairedHalfWidth, isSignificant());
+    }
+}
@@ -0,0 +1,65 @@
+package simulation;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class ParameterRange {
+    private static final String LIST_SEPARATOR = ",";
+    private static final String RANGE_SEPARATOR = ":";
+
+    private final List<Integer> values;
+
+    private ParameterRange(List<Integer> values) {
+        checkArgument(!values.isEmpty());
+
+        this.values = ImmutableList.copyOf(values);
+    }
+
+    public static ParameterRange of(int value) {
+        return new ParameterRange(ImmutableList.of(value));
+    }
+
+    public static ParameterRange of(int from, int to, int step) {
+        checkArgument(from <= to);
+        checkArgument(step > 0);
+
+        ImmutableList.Builder<Integer> values = ImmutableList.builder();
+        for (long value = from; value <= to; value += step) {
+            values.add((int) value);
+        }
+
+        return new ParameterRange(values.build());
+    }
+
+    /**
+     * Parses either a comma separated list ("10,20,40") or an inclusive range
+     * with an optional step ("10:40" or "10:40:5").
+     */
+    public static ParameterRange parse(String text) {
+        checkNotNull(text);
+
+        if (text.contains(RANGE_SEPARATOR)) {
+            String[] bounds = text.split(RANGE_SEPARATOR);
+            checkArgument(bounds.length == 2 || bounds.length == 3, "illegal range %s", text);
+
+            int step = bounds.length == 3 ? Integer.parseInt(bounds[2].trim()) : 1;
+
+            return of(Integer.parseInt(bounds[0].trim()), Integer.parseInt(bounds[1].trim()), step);
+        }
+
+        ImmutableList.Builder<Integer> values = ImmutableList.builder();
+        for (String value : text.split(LIST_SEPARATOR)) {
+            values.add(Integer.parseInt(value.trim()));
+        }
+
+        return new ParameterRange(values.build());
+    }
+
+    public List<Integer> getValues() {
+        return values;
+    }
+}
@@ -0,0 +1,215 @@
+package simulation;
+
+import building.Building;
+import building.Zone;
+import com.google.common.collect.ImmutableList;
+import human.Human;
+import lombok.extern.slf4j.Slf4j;
+import util.StatisticsHolder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Fast simulation of a zoned tower split into shards, one per elevator bank, each with its own controller,
+ * clock and statistics and running on its own thread. Every shard draws the same stream of arrivals and keeps
+ * the people whose first car is in its bank. People who change banks at a transfer floor are handed over
+ * through a bounded queue and reach the next bank's landing after the transfer time, the walk between banks.
+ *
+ * <p>The transfer time is also the lookahead of the shards: they advance in windows of that length and meet at
+ * a barrier after each one, so a handover always lands in a window its receiver has not simulated yet. The
+ * result does not depend on how the threads interleave.
+ */
+@Slf4j
+public class ShardedSimulation {
+    public static final long DEFAULT_TRANSFER_TIME = 10_000;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1_024;
+    private static final long DRAIN_PERIOD = 1;
+
+    private final List<Shard> shards;
+    private final Map<Zone, Shard> shardsByZone;
+    private final long duration;
+    private final long transferTime;
+    private final Phaser phaser;
+    private final AtomicReference<RuntimeException> failure;
+
+    private ShardedSimulation(List<Building> buildings, int arrivalRate, int weightFrom, int weightTo,
+                              long duration, long seed, long transferTime, int queueCapacity) {
+        checkNotNull(buildings);
+        checkArgument(!buildings.isEmpty());
+        checkArgument(transferTime > 0);
+        checkArgument(queueCapacity > 0);
+        checkArgument(buildings.stream().mapToInt(Building::getNumberOfFloors).distinct().count() == 1,
+                "shards must have the same floors");
+
+        List<Zone> zones = buildings.stream()
+                .flatMap(building -> building.getZones().stream())
+                .distinct()
+                .collect(Collectors.toList());
+        checkArgument(zones.size() == buildings.stream().mapToInt(building -> building.getZones().size()).sum(),
+                "every zone must be simulated by one shard");
+
+        this.duration = duration;
+        this.transferTime = transferTime;
+        this.phaser = new Phaser(buildings.size());
+        this.failure = new AtomicReference<>();
+        this.shardsByZone = new HashMap<>();
+
+        List<Shard> shardList = new ArrayList<>();
+        for (int i = 0; i < buildings.size(); i++) {
+            Building building = buildings.get(i).setRoutingZones(zones);
+            Shard shard = new Shard(i, Simulation.of(building, arrivalRate, weightFrom, weightTo, duration, seed),
+                    queueCapacity);
+            building.getZones().forEach(zone -> shardsByZone.put(zone, shard));
+            shardList.add(shard);
+        }
+        this.shards = ImmutableList.copyOf(shardList);
+    }
+
+    public static ShardedSimulation of(List<Building> buildings, int arrivalRate, int weightFrom, int weightTo,
+                                       long duration, long seed, long transferTime) {
+        return new ShardedSimulation(buildings, arrivalRate, weightFrom, weightTo, duration, seed, transferTime,
+                DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public static ShardedSimulation of(List<Building> buildings, int arrivalRate, int weightFrom, int weightTo,
+                                       long duration, long seed, long transferTime, int queueCapacity) {
+        return new ShardedSimulation(buildings, arrivalRate, weightFrom, weightTo, duration, seed, transferTime,
+                queueCapacity);
+    }
+
+    public int getNumberOfShards() {
+        return shards.size();
+    }
+
+    public List<Building> getBuildings() {
+        return shards.stream()
+                .map(shard -> shard.building)
+                .collect(Collectors.toList());
+    }
+
+    public SimulationResult run() {
+        List<Thread> threads = new ArrayList<>();
+        for (Shard shard : shards) {
+            Thread thread = new Thread(shard, "shard " + shard.index);
+            threads.add(thread);
+            thread.start();
+        }
+
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException exception) {
+            threads.forEach(Thread::interrupt);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("sharded simulation has been interrupted", exception);
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
+        StatisticsHolder statistics = StatisticsHolder.newInstance();
+        shards.forEach(shard -> statistics.add(shard.simulation.getStatistics()));
+
+        log.info("sharded simulation has finished after {} ms of simulated time", duration);
+
+        return SimulationResult.of(statistics, duration);
+    }
+
+    private class Shard implements Runnable {
+        private final int index;
+        private final Simulation simulation;
+        private final Building building;
+        private final BlockingQueue<Transfer> inbound;
+        private final List<Transfer> received;
+        private long sequenceNumber;
+
+        private Shard(int index, Simulation simulation, int queueCapacity) {
+            this.index = index;
+            this.simulation = simulation;
+            this.building = simulation.getBuilding();
+            this.inbound = new ArrayBlockingQueue<>(queueCapacity);
+            this.received = new ArrayList<>();
+
+            simulation.getHumanGenerator().setFilter((fromFloorNumber, toFloorNumber) ->
+                    building.getZones().contains(building.findRoute(fromFloorNumber, toFloorNumber).getZone()));
+            building.setTransferHandler(this::send);
+        }
+
+        @Override
+        public void run() {
+            try {
+                long windowEnd = 0;
+                while (windowEnd < duration) {
+                    windowEnd = Math.min(windowEnd + transferTime, duration);
+                    drain();
+                    received.forEach(simulation::addTransfer);
+                    received.clear();
+                    simulation.runUntil(windowEnd);
+                    if (!awaitWindow()) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                fail(new IllegalStateException("shard has been interrupted", exception));
+            } catch (RuntimeException exception) {
+                fail(exception);
+            }
+        }
+
+        private void send(Human human, int floorNumber) {
+            Zone zone = building.findRoute(floorNumber, human.getDestinationFloorNumber()).getZone();
+            Shard target = shardsByZone.get(zone);
+            Transfer transfer = Transfer.of(human, floorNumber, simulation.getClock().currentTime() + transferTime,
+                    index, sequenceNumber++);
+
+            try {
+                while (!target.inbound.offer(transfer, DRAIN_PERIOD, TimeUnit.MILLISECONDS)) {
+                    drain();
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("shard has been interrupted", exception);
+            }
+        }
+
+        /**
+         * Empties the inbound queue so that senders blocked on it can go on. The transfers are handed to the
+         * simulation only when the next window starts: a car step may have already moved the clock past them.
+         */
+        private void drain() {
+            inbound.drainTo(received);
+        }
+
+        private boolean awaitWindow() throws InterruptedException {
+            int phase = phaser.arrive();
+            while (true) {
+                try {
+                    return phaser.awaitAdvanceInterruptibly(phase, DRAIN_PERIOD, TimeUnit.MILLISECONDS) >= 0;
+                } catch (TimeoutException exception) {
+                    drain();
+                }
+            }
+        }
+
+        private void fail(RuntimeException exception) {
+            failure.compareAndSet(null, exception);
+            phaser.forceTermination();
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package simulation;
+
+import building.Building;
+import building.Controller;
+import building.Elevator;
+import building.Floor;
+import building.dispatch.OptimizingDispatcher;
+import building.dispatch.ReassignmentPolicy;
+import human.Human;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import util.HumanGenerator;
+import util.ReplayableRandom;
+import util.StatisticsHolder;
+import util.clock.TimingWheel;
+import util.clock.VirtualClock;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+@Slf4j
+public class Simulation implements AutoCloseable {
+    public static final long MILLIS_IN_MINUTE = 60_000;
+    public static final int MIN_ARRIVAL_RATE = 1;
+    public static final int MIN_ARRIVAL_BUFFER_CAPACITY = 64;
+    private static final long IDLE = Long.MAX_VALUE;
+
+    @Getter
+    private final Building building;
+    private final int arrivalRate;
+    private final int weightFrom;
+    private final int weightTo;
+    @Getter
+    private final long duration;
+    @Getter(AccessLevel.PACKAGE)
+    private final VirtualClock clock;
+    @Getter(AccessLevel.PACKAGE)
+    private final StatisticsHolder statistics;
+    @Getter(AccessLevel.PACKAGE)
+    private final HumanGenerator humanGenerator;
+    private final List<Elevator> elevators;
+    @Getter(AccessLevel.PACKAGE)
+    private final long[] readyTimes;
+    private final TimingWheel elevatorWheel;
+    private final TimingWheel.Timer[] elevatorTimers;
+    @Getter(AccessLevel.PACKAGE)
+    private final ReplayableRandom random;
+    @Getter(AccessLevel.PACKAGE)
+    private final ReplayableRandom humanRandom;
+    private final PriorityQueue<Transfer> transfers;
+    @Nullable
+    private final ArrivalStream arrivals;
+    private int nextArrivalIndex;
+    @Nullable
+    private ArrivalPipeline pipeline;
+    private boolean isClosed;
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private long nextArrivalTime;
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private long nextReassignmentTime;
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private long nextPlanTime;
+
+    private Simulation(Building building, int arrivalRate, int weightFrom, int weightTo, long duration, long seed,
+                       @Nullable ArrivalStream arrivals) {
+        checkNotNull(building);
+        checkNotNull(building.getController());
+        checkArgument(arrivalRate >= MIN_ARRIVAL_RATE);
+        checkArgument(duration > 0);
+        checkArgument(arrivals == null || arrivals.getNumberOfFloors() == building.getNumberOfFloors(),
+                "arrival stream is drawn for another number of floors");
+        checkArgument(arrivals == null || arrivals.getDuration() >= duration, "arrival stream is too short");
+
+        this.arrivalRate = arrivalRate;
+        this.weightFrom = weightFrom;
+        this.weightTo = weightTo;
+        this.duration = duration;
+        this.clock = VirtualClock.of();
+        this.statistics = StatisticsHolder.newInstance();
+        this.random = ReplayableRandom.of(seed);
+        this.humanRandom = ReplayableRandom.of(random.nextLong());
+
+        this.building = building.setClock(clock).setStatistics(statistics);
+        this.humanGenerator = HumanGenerator.of(building, weightFrom, weightTo, humanRandom);
+        this.elevators = building.getElevators();
+        this.readyTimes = new long[elevators.size()];
+        Arrays.fill(readyTimes, IDLE);
+        this.elevatorWheel = TimingWheel.of();
+        this.elevatorTimers = new TimingWheel.Timer[elevators.size()];
+        for (int i = 0; i < elevatorTimers.length; i++) {
+            elevatorTimers[i] = TimingWheel.Timer.of(i);
+        }
+        this.transfers = new PriorityQueue<>();
+        this.arrivals = arrivals;
+        this.nextArrivalTime = arrivals == null ? nextArrivalInterval(random, arrivalRate) : nextStreamArrivalTime();
+        building.getSpeedGauge().restart();
+    }
+
+    public static Simulation of(SimulationParameters parameters) {
+        return of(parameters, null);
+    }
+
+    /**
+     * Simulation of the parameters that plays the given arrivals instead of drawing its own, so that several
+     * simulations can be compared on the very same people.
+     */
+    public static Simulation of(SimulationParameters parameters, @Nullable ArrivalStream arrivals) {
+        checkNotNull(parameters);
+
+        Controller controller = Controller.of(parameters.getStrategy().create());
+        controller.setControlMode(parameters.getControlMode());
+
+        Building building = Building.of(parameters.getNumberOfFloors()).setController(controller);
+        for (int i = 0; i < parameters.getNumberOfElevators(); i++) {
+            building.addElevator(Elevator.of(parameters.getCapacity(), Floor.GROUND_FLOOR,
+                    parameters.getMoveSpeed(), parameters.getDoorWorkSpeed()));
+        }
+
+        return new Simulation(building, parameters.getArrivalRate(), Human.MIN_WEIGHT, Human.MAX_WEIGHT,
+                parameters.getDuration(), parameters.getSeed(), arrivals);
+    }
+
+    public static Simulation of(Building building, int arrivalRate, int weightFrom, int weightTo,
+                                long duration, long seed) {
+        return new Simulation(building, arrivalRate, weightFrom, weightTo, duration, seed, null);
+    }
+
+    public static Simulation of(Building building, ArrivalStream arrivals, long duration) {
+        checkNotNull(arrivals);
+
+        return new Simulation(building, arrivals.getArrivalRate(), Human.MIN_WEIGHT, Human.MAX_WEIGHT, duration,
+                arrivals.getSeed(), arrivals);
+    }
+
+    /**
+     * Has the arrivals drawn ahead of the clock by a producer thread into a ring of the given capacity instead of
+     * in the event loop; 0 draws them inline again. The results stay the same.
+     */
+    public Simulation setArrivalBufferCapacity(int capacity) {
+        checkArgument(capacity >= 0);
+        checkState(arrivals == null, "simulation plays an arrival stream");
+        checkState(pipeline == null || !pipeline.isStarted(), "arrival pipeline has already been started");
+
+        this.pipeline = capacity == 0
+                ? null
+                : ArrivalPipeline.of(random, humanRandom, arrivalRate, building.getNumberOfFloors(), weightFrom,
+                weightTo, duration, capacity);
+
+        return this;
+    }
+
+    /**
+     * Stops drawing the arrivals of a run that will not be finished, e.g. after {@link #runUntil(long)} and a
+     * checkpoint; a finished run stops by itself. The simulation cannot run on afterwards.
+     */
+    @Override
+    public void close() {
+        isClosed = true;
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    public SimulationResult run() {
+        runUntil(duration);
+
+        log.info("simulation has finished after {} ms of simulated time", duration);
+
+        return SimulationResult.of(statistics, duration);
+    }
+
+    /**
+     * Runs in periods of the rule until the throughput and the 95th percentile of the wait after the warm-up are
+     * known precisely enough, or up to the duration of the simulation.
+     */
+    public ConvergenceResult run(StoppingRule rule) {
+        checkNotNull(rule);
+
+        ConvergenceMonitor monitor = ConvergenceMonitor.of(statistics, rule, clock.currentTime());
+        boolean isConverged = false;
+        while (!isConverged && clock.currentTime() + rule.getPeriod() <= duration) {
+            runUntil(clock.currentTime() + rule.getPeriod());
+            isConverged = monitor.observe();
+        }
+        if (!isConverged && clock.currentTime() < duration) {
+            runUntil(duration);
+        }
+        building.getSpeedGauge().stop();
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+
+        ConvergenceResult result = monitor.getResult(clock.currentTime(), isConverged);
+        log.info("simulation has {} after {} ms of simulated time, {} ms of them warm-up",
+                isConverged ? "converged" : "not converged", result.getRunTime(), result.getWarmUpTime());
+
+        return result;
+    }
+
+    /**
+     * Plays all events up to the given time and stops there, so the run can be checkpointed and continued by
+     * another call or by {@link #run()}.
+     */
+    public void runUntil(long time) {
+        checkArgument(time >= clock.currentTime() && time <= duration);
+        checkState(building.getController() != null);
+        checkState(!isClosed, "simulation has been closed");
+
+        Controller controller = building.getController();
+        if (pipeline != null && !pipeline.isStarted()) {
+            pipeline.start(nextArrivalTime);
+            nextArrivalTime = pipeline.peekTime();
+        }
+        while (true) {
+            TimingWheel.Timer elevatorTimer = elevatorWheel.peek();
+            long nextElevatorTime = elevatorTimer == null ? IDLE : elevatorTimer.getDeadline();
+            long nextTransferTime = transfers.isEmpty() ? IDLE : transfers.peek().getTime();
+            long eventTime = Math.min(nextArrivalTime, Math.min(nextElevatorTime, nextTransferTime));
+
+            if (eventTime > time) {
+                break;
+            }
+
+            clock.setTime(eventTime);
+            if (nextArrivalTime == eventTime) {
+                arrive();
+            } else if (nextTransferTime == eventTime) {
+                Transfer transfer = transfers.poll();
+                building.getFloor(transfer.getFloorNumber()).addHuman(transfer.getHuman());
+            } else {
+                int elevatorIndex = elevatorWheel.poll().getPriority();
+                Elevator elevator = elevators.get(elevatorIndex);
+                if (elevator.step()) {
+                    setReadyTime(elevatorIndex, clock.currentTime());
+                } else {
+                    elevator.idle();
+                    elevator.park();
+                    setReadyTime(elevatorIndex, IDLE);
+                }
+            }
+
+            controller.dispatchAllCalls();
+            ReassignmentPolicy reassignmentPolicy = controller.getReassignmentPolicy();
+            if (reassignmentPolicy != null && clock.currentTime() >= nextReassignmentTime) {
+                controller.reassignCalls();
+                nextReassignmentTime = clock.currentTime() + reassignmentPolicy.getPeriod();
+            }
+            if (controller.getOptimizingDispatcher() != null && clock.currentTime() >= nextPlanTime) {
+                controller.optimizeCalls();
+                nextPlanTime = clock.currentTime() + OptimizingDispatcher.CYCLE_PERIOD;
+            }
+            wakeUpCalledElevators();
+        }
+
+        clock.setTime(time);
+        if (time == duration) {
+            building.getSpeedGauge().stop();
+            if (pipeline != null) {
+                pipeline.stop();
+            }
+        }
+    }
+
+    void addTransfer(Transfer transfer) {
+        checkNotNull(transfer);
+        checkArgument(transfer.getTime() > clock.currentTime(), "transfer arrives in the past");
+
+        transfers.add(transfer);
+    }
+
+    boolean hasTransfers() {
+        return !transfers.isEmpty();
+    }
+
+    /**
+     * Schedules the elevators at their ready times again after the times have been restored from a checkpoint.
+     */
+    void scheduleElevators() {
+        for (int i = 0; i < readyTimes.length; i++) {
+            setReadyTime(i, readyTimes[i]);
+        }
+    }
+
+    boolean hasArrivalStream() {
+        return arrivals != null;
+    }
+
+    /**
+     * Values drawn from the arrival stream as of the next arrival, wherever the arrivals are drawn.
+     */
+    long getRandomDraws() {
+        return pipeline != null && pipeline.isStarted() ? pipeline.getRandomDraws() : random.getNumberOfDraws();
+    }
+
+    long getHumanRandomDraws() {
+        return pipeline != null && pipeline.isStarted()
+                ? pipeline.getHumanRandomDraws()
+                : humanRandom.getNumberOfDraws();
+    }
+
+    static long nextArrivalInterval(Random random, int arrivalRate) {
+        double meanInterval = (double) MILLIS_IN_MINUTE / arrivalRate;
+
+        return Math.max(1, Math.round(-meanInterval * Math.log(1 - random.nextDouble())));
+    }
+
+    private void setReadyTime(int elevatorIndex, long readyTime) {
+        readyTimes[elevatorIndex] = readyTime;
+        if (readyTime == IDLE) {
+            elevatorWheel.cancel(elevatorTimers[elevatorIndex]);
+        } else {
+            elevatorWheel.schedule(elevatorTimers[elevatorIndex], readyTime);
+        }
+    }
+
+    private void arrive() {
+        if (pipeline != null) {
+            humanGenerator.generateHuman(pipeline.getFloorNumber(), pipeline.getTargetFloorNumber(),
+                    pipeline.getWeight());
+            pipeline.poll();
+            nextArrivalTime = pipeline.peekTime();
+        } else if (arrivals == null) {
+            humanGenerator.generateHuman();
+            nextArrivalTime += nextArrivalInterval(random, arrivalRate);
+        } else {
+            humanGenerator.generateHuman(arrivals.getFloorNumber(nextArrivalIndex),
+                    arrivals.getTargetFloorNumber(nextArrivalIndex), arrivals.getWeight(nextArrivalIndex));
+            nextArrivalIndex++;
+            nextArrivalTime = nextStreamArrivalTime();
+        }
+    }
+
+    private long nextStreamArrivalTime() {
+        return nextArrivalIndex < arrivals.size() ? arrivals.getTime(nextArrivalIndex) : IDLE;
+    }
+
+    private void wakeUpCalledElevators() {
+        for (int i = 0; i < readyTimes.length; i++) {
+            if (readyTimes[i] == IDLE && elevators.get(i).hasCalls()) {
+                setReadyTime(i, clock.currentTime());
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package simulation;
+
+import building.Building;
+import building.Elevator;
+import building.dispatch.ControlMode;
+import building.dispatch.DispatchStrategyType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import util.interrupt.Interruptible;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+@Getter
+@ToString
+public class SimulationParameters {
+    private final int numberOfFloors;
+    private final int numberOfElevators;
+    private final int capacity;
+    private final int moveSpeed;
+    private final int doorWorkSpeed;
+    private final int arrivalRate;
+    private final DispatchStrategyType strategy;
+    private final ControlMode controlMode;
+    private final long duration;
+    private final long seed;
+
+    @Builder
+    private SimulationParameters(int numberOfFloors, int numberOfElevators, int capacity, int moveSpeed,
+                                 int doorWorkSpeed, int arrivalRate, DispatchStrategyType strategy,
+                                 ControlMode controlMode, long duration, long seed) {
+        checkArgument(numberOfFloors >= Building.MIN_NUMBER_OF_FLOORS);
+        checkArgument(numberOfElevators >= Building.MIN_NUMBER_OF_ELEVATORS);
+        checkArgument(capacity > Elevator.MIN_CAPACITY);
+        checkArgument(moveSpeed >= Interruptible.MIN_SPEED && moveSpeed <= Interruptible.MAX_SPEED);
+        checkArgument(doorWorkSpeed >= Interruptible.MIN_SPEED && doorWorkSpeed <= Interruptible.MAX_SPEED);
+        checkArgument(arrivalRate >= Simulation.MIN_ARRIVAL_RATE);
+        checkNotNull(strategy);
+        checkArgument(duration > 0);
+
+        this.numberOfFloors = numberOfFloors;
+        this.numberOfElevators = numberOfElevators;
+        this.capacity = capacity;
+        this.moveSpeed = moveSpeed;
+        this.doorWorkSpeed = doorWorkSpeed;
+        this.arrivalRate = arrivalRate;
+        this.strategy = strategy;
+        this.controlMode = controlMode == null ? ControlMode.CONVENTIONAL : controlMode;
+        this.duration = duration;
+        this.seed = seed;
+    }
+}
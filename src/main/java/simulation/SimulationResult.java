@@ -0,0 +1,60 @@
+package simulation;
+
+import lombok.Getter;
+import lombok.ToString;
+import util.StatisticsHolder;
+import util.TimeHistogram;
+
+import java.util.Locale;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+@Getter
+@ToString
+public class SimulationResult {
+    public static final long MILLIS_IN_HOUR = 60 * Simulation.MILLIS_IN_MINUTE;
+    public static final String CSV_HEADER = "simulated_time_ms,generated,delivered,passed_floors,"
+            + "throughput_per_hour,wait_mean_ms,wait_p50_ms,wait_p90_ms,wait_p95_ms,wait_p99_ms,journey_p95_ms";
+
+    private final long simulatedTime;
+    private final int numberOfGeneratedPeople;
+    private final int numberOfDeliveredPeople;
+    private final int numberOfPassedFloors;
+    private final double throughput;
+    private final double meanWaitTime;
+    private final long waitTimeP50;
+    private final long waitTimeP90;
+    private final long waitTimeP95;
+    private final long waitTimeP99;
+    private final long journeyTimeP95;
+
+    private SimulationResult(StatisticsHolder statistics, long simulatedTime) {
+        checkNotNull(statistics);
+        checkArgument(simulatedTime > 0);
+
+        TimeHistogram waitTimes = statistics.getWaitTimes();
+
+        this.simulatedTime = simulatedTime;
+        this.numberOfGeneratedPeople = statistics.getNumberOfGeneratedPeople();
+        this.numberOfDeliveredPeople = statistics.getNumberOfDeliveredPeople();
+        this.numberOfPassedFloors = statistics.getNumberOfPassedFloors();
+        this.throughput = (double) numberOfDeliveredPeople * MILLIS_IN_HOUR / simulatedTime;
+        this.meanWaitTime = waitTimes.getMean();
+        this.waitTimeP50 = waitTimes.getPercentile(50);
+        this.waitTimeP90 = waitTimes.getPercentile(90);
+        this.waitTimeP95 = waitTimes.getPercentile(95);
+        this.waitTimeP99 = waitTimes.getPercentile(99);
+        this.journeyTimeP95 = statistics.getJourneyTimes().getPercentile(95);
+    }
+
+    public static SimulationResult of(StatisticsHolder statistics, long simulatedTime) {
+        return new SimulationResult(statistics, simulatedTime);
+    }
+
+    public String toCsvRow() {
+        return String.format(Locale.ROOT, "%d,%d,%d,%d,%.2f,%.1f,%d,%d,%d,%d,%d",
+                simulatedTime, numberOfGeneratedPeople, numberOfDeliveredPeople, numberOfPassedFloors, throughput,
+                meanWaitTime, waitTimeP50, waitTimeP90, waitTimeP95, waitTimeP99, journeyTimeP95);
+    }
+}
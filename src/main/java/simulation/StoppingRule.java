@@ -0,0 +1,41 @@
+package simulation;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * When a fast run has seen enough. The run is observed in periods of simulated time; the warm-up is cut off with
+ * MSER and the rest is split into {@value #NUMBER_OF_BATCHES} batches, whose means give 95% confidence intervals
+ * of the throughput and of the 95th percentile of the wait. The run stops once both intervals are narrower than
+ * the precision, relative to their estimates, or when it reaches its duration.
+ */
+@Getter
+@ToString
+public class StoppingRule {
+    public static final long DEFAULT_PERIOD = 30_000;
+    public static final int NUMBER_OF_BATCHES = 20;
+
+    private final double precision;
+    private final long period;
+
+    private StoppingRule(double precision, long period) {
+        checkArgument(precision > 0 && precision < 1, "precision must be within (0, 1)");
+        checkArgument(period > 0, "period must be positive");
+
+        this.precision = precision;
+        this.period = period;
+    }
+
+    /**
+     * Rule with the given relative half-width of the confidence intervals, e.g. 0.05 for 5% of the estimate.
+     */
+    public static StoppingRule of(double precision) {
+        return new StoppingRule(precision, DEFAULT_PERIOD);
+    }
+
+    public static StoppingRule of(double precision, long period) {
+        return new StoppingRule(precision, period);
+    }
+}
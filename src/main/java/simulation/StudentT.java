@@ -0,0 +1,64 @@
+package simulation;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Two-sided 95% confidence intervals of a mean from a few independent observations, e.g. batch means or
+ * replications.
+ */
+final class StudentT {
+    private static final double[] QUANTILES = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+    private static final double QUANTILE_40 = 2.021;
+    private static final double QUANTILE_60 = 2.000;
+    private static final double QUANTILE_120 = 1.980;
+    private static final double NORMAL_QUANTILE = 1.960;
+
+    private StudentT() {
+    }
+
+    /**
+     * Two-sided 95% quantile of Student's t-distribution; above 30 degrees of freedom the quantile of the nearest
+     * smaller tabulated number is taken, which only widens the interval.
+     */
+    static double getQuantile(int degreesOfFreedom) {
+        checkArgument(degreesOfFreedom > 0);
+
+        if (degreesOfFreedom <= QUANTILES.length) {
+            return QUANTILES[degreesOfFreedom - 1];
+        } else if (degreesOfFreedom < 40) {
+            return QUANTILES[QUANTILES.length - 1];
+        } else if (degreesOfFreedom < 60) {
+            return QUANTILE_40;
+        } else if (degreesOfFreedom < 120) {
+            return QUANTILE_60;
+        }
+
+        return degreesOfFreedom == 120 ? QUANTILE_120 : NORMAL_QUANTILE;
+    }
+
+    static double getMean(double[] observations) {
+        return Arrays.stream(observations).average().orElse(0);
+    }
+
+    static double getVariance(double[] observations) {
+        checkArgument(observations.length > 1);
+
+        double mean = getMean(observations);
+        double sumOfSquares = 0;
+        for (double observation : observations) {
+            sumOfSquares += (observation - mean) * (observation - mean);
+        }
+
+        return sumOfSquares / (observations.length - 1);
+    }
+
+    static double getHalfWidth(double[] observations) {
+        return getQuantile(observations.length - 1) * Math.sqrt(getVariance(observations) / observations.length);
+    }
+}
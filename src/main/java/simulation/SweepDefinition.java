@@ -0,0 +1,158 @@
+package simulation;
+
+import building.dispatch.ControlMode;
+import building.dispatch.DispatchStrategyType;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+@Getter
+public class SweepDefinition {
+    public static final long DEFAULT_DURATION = SimulationResult.MILLIS_IN_HOUR;
+    public static final long DEFAULT_SEED = 42;
+
+    private static final String OPTION_PREFIX = "--";
+    private static final String OPTION_SEPARATOR = "=";
+    private static final Set<String> OPTIONS = ImmutableSet.of("floors", "elevators", "capacity", "move-speed",
+            "door-speed", "arrival-rate", "strategy", "control", "duration", "seed", "precision");
+
+    private final ParameterRange floors;
+    private final ParameterRange elevators;
+    private final ParameterRange capacities;
+    private final ParameterRange moveSpeeds;
+    private final ParameterRange doorWorkSpeeds;
+    private final ParameterRange arrivalRates;
+    private final List<DispatchStrategyType> strategies;
+    private final List<ControlMode> controlModes;
+    private final long duration;
+    private final long seed;
+    @Nullable
+    private final StoppingRule stoppingRule;
+
+    private SweepDefinition(ParameterRange floors, ParameterRange elevators, ParameterRange capacities,
+                            ParameterRange moveSpeeds, ParameterRange doorWorkSpeeds, ParameterRange arrivalRates,
+                            List<DispatchStrategyType> strategies, List<ControlMode> controlModes,
+                            long duration, long seed, @Nullable StoppingRule stoppingRule) {
+        checkNotNull(floors);
+        checkNotNull(elevators);
+        checkNotNull(capacities);
+        checkNotNull(moveSpeeds);
+        checkNotNull(doorWorkSpeeds);
+        checkNotNull(arrivalRates);
+        checkNotNull(strategies);
+        checkArgument(!strategies.isEmpty());
+        checkNotNull(controlModes);
+        checkArgument(!controlModes.isEmpty());
+        checkArgument(duration > 0);
+
+        this.floors = floors;
+        this.elevators = elevators;
+        this.capacities = capacities;
+        this.moveSpeeds = moveSpeeds;
+        this.doorWorkSpeeds = doorWorkSpeeds;
+        this.arrivalRates = arrivalRates;
+        this.strategies = ImmutableList.copyOf(strategies);
+        this.controlModes = ImmutableList.copyOf(controlModes);
+        this.duration = duration;
+        this.seed = seed;
+        this.stoppingRule = stoppingRule;
+    }
+
+    public static SweepDefinition of(ParameterRange floors, ParameterRange elevators, ParameterRange capacities,
+                                     ParameterRange moveSpeeds, ParameterRange doorWorkSpeeds,
+                                     ParameterRange arrivalRates, List<DispatchStrategyType> strategies,
+                                     List<ControlMode> controlModes, long duration, long seed) {
+        return new SweepDefinition(floors, elevators, capacities, moveSpeeds, doorWorkSpeeds, arrivalRates,
+                strategies, controlModes, duration, seed, null);
+    }
+
+    /**
+     * Reads options of the form {@code --name=range}, see {@link ParameterRange#parse(String)}.
+     * Duration is given in simulated seconds. With {@code --precision=0.05} every simulation stops by a
+     * {@link StoppingRule} of that precision, at the latest after the duration.
+     */
+    public static SweepDefinition parse(String... args) {
+        checkNotNull(args);
+
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            checkArgument(arg.startsWith(OPTION_PREFIX) && arg.contains(OPTION_SEPARATOR), "illegal option %s", arg);
+
+            int separator = arg.indexOf(OPTION_SEPARATOR);
+            String name = arg.substring(OPTION_PREFIX.length(), separator);
+            checkArgument(OPTIONS.contains(name), "unknown option %s", name);
+
+            options.put(name, arg.substring(separator + 1));
+        }
+
+        ImmutableList.Builder<DispatchStrategyType> strategies = ImmutableList.builder();
+        for (String strategy : options.getOrDefault("strategy", DispatchStrategyType.NEAREST_IDLE.name()).split(",")) {
+            strategies.add(DispatchStrategyType.valueOf(strategy.trim().toUpperCase(Locale.ROOT)));
+        }
+
+        ImmutableList.Builder<ControlMode> controlModes = ImmutableList.builder();
+        for (String controlMode : options.getOrDefault("control", ControlMode.CONVENTIONAL.name()).split(",")) {
+            controlModes.add(ControlMode.valueOf(controlMode.trim().toUpperCase(Locale.ROOT)));
+        }
+
+        return new SweepDefinition(
+                ParameterRange.parse(options.getOrDefault("floors", "10")),
+                ParameterRange.parse(options.getOrDefault("elevators", "10")),
+                ParameterRange.parse(options.getOrDefault("capacity", "500")),
+                ParameterRange.parse(options.getOrDefault("move-speed", "100")),
+                ParameterRange.parse(options.getOrDefault("door-speed", "100")),
+                ParameterRange.parse(options.getOrDefault("arrival-rate", "10")),
+                strategies.build(),
+                controlModes.build(),
+                options.containsKey("duration")
+                        ? Long.parseLong(options.get("duration")) * 1000
+                        : DEFAULT_DURATION,
+                options.containsKey("seed") ? Long.parseLong(options.get("seed")) : DEFAULT_SEED,
+                options.containsKey("precision") ? StoppingRule.of(Double.parseDouble(options.get("precision"))) : null);
+    }
+
+    public List<SimulationParameters> getCombinations() {
+        ImmutableList.Builder<SimulationParameters> combinations = ImmutableList.builder();
+
+        for (int numberOfFloors : floors.getValues()) {
+            for (int numberOfElevators : elevators.getValues()) {
+                for (int capacity : capacities.getValues()) {
+                    for (int moveSpeed : moveSpeeds.getValues()) {
+                        for (int doorWorkSpeed : doorWorkSpeeds.getValues()) {
+                            for (int arrivalRate : arrivalRates.getValues()) {
+                                for (DispatchStrategyType strategy : strategies) {
+                                    for (ControlMode controlMode : controlModes) {
+                                        combinations.add(SimulationParameters.builder()
+                                                .numberOfFloors(numberOfFloors)
+                                                .numberOfElevators(numberOfElevators)
+                                                .capacity(capacity)
+                                                .moveSpeed(moveSpeed)
+                                                .doorWorkSpeed(doorWorkSpeed)
+                                                .arrivalRate(arrivalRate)
+                                                .strategy(strategy)
+                                                .controlMode(controlMode)
+                                                .duration(duration)
+                                                .seed(seed)
+                                                .build());
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        return combinations.build();
+    }
+}
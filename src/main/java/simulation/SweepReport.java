@@ -0,0 +1,53 @@
+package simulation;
+
+import com.google.common.collect.ImmutableList;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class SweepReport {
+    private static final String CSV_HEADER = "floors,elevators,capacity,move_speed,door_speed,arrival_rate,strategy,control,"
+            + SimulationResult.CSV_HEADER;
+
+    private final List<SweepResult> results;
+
+    private SweepReport(List<SweepResult> results) {
+        checkNotNull(results);
+
+        this.results = ImmutableList.copyOf(results);
+    }
+
+    public static SweepReport of(List<SweepResult> results) {
+        return new SweepReport(results);
+    }
+
+    public void writeCsv(Path path) throws IOException {
+        checkNotNull(path);
+
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+
+            for (SweepResult result : results) {
+                writer.write(toCsvRow(result));
+                writer.newLine();
+            }
+        }
+    }
+
+    private String toCsvRow(SweepResult result) {
+        SimulationParameters parameters = result.getParameters();
+
+        return String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%d,%s,%s,%s",
+                parameters.getNumberOfFloors(), parameters.getNumberOfElevators(), parameters.getCapacity(),
+                parameters.getMoveSpeed(), parameters.getDoorWorkSpeed(), parameters.getArrivalRate(),
+                parameters.getStrategy(), parameters.getControlMode(), result.getResult().toCsvRow());
+    }
+}
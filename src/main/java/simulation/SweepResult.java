@@ -0,0 +1,25 @@
+package simulation;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+@Getter
+@ToString
+public class SweepResult {
+    private final SimulationParameters parameters;
+    private final SimulationResult result;
+
+    private SweepResult(SimulationParameters parameters, SimulationResult result) {
+        checkNotNull(parameters);
+        checkNotNull(result);
+
+        this.parameters = parameters;
+        this.result = result;
+    }
+
+    public static SweepResult of(SimulationParameters parameters, SimulationResult result) {
+        return new SweepResult(parameters, result);
+    }
+}
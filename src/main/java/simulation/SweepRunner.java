@@ -0,0 +1,107 @@
+package simulation;
+
+import com.google.common.collect.ImmutableList;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.log4j.Level;
+import org.apache.log4j.LogManager;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+@Slf4j
+public class SweepRunner {
+    private static final String OUTPUT_OPTION = "--output=";
+    private static final String PARALLELISM_OPTION = "--parallelism=";
+    private static final String DEFAULT_OUTPUT = "sweep.csv";
+
+    private final List<SimulationParameters> combinations;
+    @Nullable
+    private final StoppingRule stoppingRule;
+    private final int parallelism;
+
+    private SweepRunner(List<SimulationParameters> combinations, @Nullable StoppingRule stoppingRule,
+                        int parallelism) {
+        checkNotNull(combinations);
+        checkArgument(parallelism > 0);
+
+        this.combinations = ImmutableList.copyOf(combinations);
+        this.stoppingRule = stoppingRule;
+        this.parallelism = parallelism;
+    }
+
+    public static SweepRunner of(SweepDefinition definition) {
+        checkNotNull(definition);
+
+        return new SweepRunner(definition.getCombinations(), definition.getStoppingRule(),
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public static SweepRunner of(SweepDefinition definition, int parallelism) {
+        checkNotNull(definition);
+
+        return new SweepRunner(definition.getCombinations(), definition.getStoppingRule(), parallelism);
+    }
+
+    public List<SweepResult> run() {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try {
+            List<ForkJoinTask<SweepResult>> tasks = new ArrayList<>();
+            for (SimulationParameters parameters : combinations) {
+                tasks.add(pool.submit(() -> SweepResult.of(parameters, run(parameters))));
+            }
+
+            ImmutableList.Builder<SweepResult> results = ImmutableList.builder();
+            for (ForkJoinTask<SweepResult> task : tasks) {
+                results.add(task.join());
+            }
+
+            return results.build();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private SimulationResult run(SimulationParameters parameters) {
+        Simulation simulation = Simulation.of(parameters);
+
+        return stoppingRule == null ? simulation.run() : simulation.run(stoppingRule).getResult();
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path output = Paths.get(DEFAULT_OUTPUT);
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        List<String> sweepArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            if (arg.startsWith(OUTPUT_OPTION)) {
+                output = Paths.get(arg.substring(OUTPUT_OPTION.length()));
+            } else if (arg.startsWith(PARALLELISM_OPTION)) {
+                parallelism = Integer.parseInt(arg.substring(PARALLELISM_OPTION.length()));
+            } else {
+                sweepArgs.add(arg);
+            }
+        }
+
+        LogManager.getRootLogger().setLevel(Level.WARN);
+
+        SweepDefinition definition = SweepDefinition.parse(sweepArgs.toArray(new String[0]));
+        SweepRunner runner = SweepRunner.of(definition, parallelism);
+
+        long startTime = System.currentTimeMillis();
+        List<SweepResult> results = runner.run();
+        SweepReport.of(results).writeCsv(output);
+
+        System.out.printf("%d simulations finished in %d ms, report: %s%n",
+                results.size(), System.currentTimeMillis() - startTime, output.toAbsolutePath());
+    }
+}
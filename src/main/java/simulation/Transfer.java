@@ -0,0 +1,47 @@
+package simulation;
+
+import human.Human;
+import lombok.Getter;
+
+import java.util.Comparator;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A person handed over from one shard to another at a transfer floor. Transfers are ordered by time, then by
+ * the shard they come from and the order they were sent in, so a shard applies them in the same order however
+ * its threads interleave.
+ */
+@Getter
+class Transfer implements Comparable<Transfer> {
+    private static final Comparator<Transfer> ORDER = Comparator.comparingLong(Transfer::getTime)
+            .thenComparingInt(Transfer::getSourceIndex)
+            .thenComparingLong(Transfer::getSequenceNumber);
+
+    private final Human human;
+    private final int floorNumber;
+    private final long time;
+    private final int sourceIndex;
+    private final long sequenceNumber;
+
+    private Transfer(Human human, int floorNumber, long time, int sourceIndex, long sequenceNumber) {
+        checkNotNull(human);
+        checkArgument(floorNumber >= 0 && time >= 0);
+
+        this.human = human;
+        this.floorNumber = floorNumber;
+        this.time = time;
+        this.sourceIndex = sourceIndex;
+        this.sequenceNumber = sequenceNumber;
+    }
+
+    static Transfer of(Human human, int floorNumber, long time, int sourceIndex, long sequenceNumber) {
+        return new Transfer(human, floorNumber, time, sourceIndex, sequenceNumber);
+    }
+
+    @Override
+    public int compareTo(Transfer transfer) {
+        return ORDER.compare(this, transfer);
+    }
+}
@@ -7,8 +7,9 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import util.interrupt.Interruptible;
 
+import javax.annotation.Nullable;
 import java.util.Random;
-import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -24,51 +25,56 @@ public class HumanGenerator extends Thread implements Interruptible {
     public boolean isRunning;
 
     private final Random random;
+    @Nullable
+    private volatile BiPredicate<Integer, Integer> filter;
 
-    private HumanGenerator(Building building, int weightFrom, int weightTo, int generateSpeed) {
+    private HumanGenerator(Building building, int weightFrom, int weightTo, int generateSpeed, Random random) {
         checkArgument(generateSpeed >= MIN_SPEED && generateSpeed <= MAX_SPEED);
         checkArgument(weightFrom >= Human.MIN_WEIGHT);
         checkArgument(weightTo <= Human.MAX_WEIGHT);
         checkArgument(weightTo >= weightFrom);
         checkNotNull(building);
+        checkNotNull(random);
 
         this.generateSpeed = generateSpeed;
         this.weightFrom = weightFrom;
         this.building = building;
         this.weightTo = weightTo;
-        this.random = new Random();
+        this.random = random;
 
         String threadName = "humanGenerator";
         this.setName(threadName);
     }
 
     public static HumanGenerator of(Building building, int weightFrom, int weightTo, int generateSpeed) {
-        return new HumanGenerator(building, weightFrom, weightTo, generateSpeed);
+        return new HumanGenerator(building, weightFrom, weightTo, generateSpeed, new Random());
     }
 
     public static HumanGenerator of(Building building, int weightFrom, int weightTo) {
-        return new HumanGenerator(building, weightFrom, weightTo, MIN_SPEED);
+        return new HumanGenerator(building, weightFrom, weightTo, MIN_SPEED, new Random());
     }
 
-    public static HumanGenerator of(Building building) {
-        return new HumanGenerator(building, Human.MIN_WEIGHT, Human.MAX_WEIGHT, MIN_SPEED);
+    public static HumanGenerator of(Building building, int weightFrom, int weightTo, Random random) {
+        return new HumanGenerator(building, weightFrom, weightTo, MIN_SPEED, random);
     }
 
-    public void generate() {
-        Floor floor = building.getFloor(Math.abs(random.nextInt()) % building.getNumberOfFloors());
-        int weight = Math.abs(random.nextInt()) % (weightTo - weightFrom) + weightFrom;
-        int targetFloor;
-
-        do {
-            targetFloor = Math.abs(random.nextInt()) % building.getNumberOfFloors();
-        } while (targetFloor == floor.getFloorNumber());
+    public static HumanGenerator of(Building building) {
+        return new HumanGenerator(building, Human.MIN_WEIGHT, Human.MAX_WEIGHT, MIN_SPEED, new Random());
+    }
 
-        floor.addHuman(Human.of(weight, targetFloor, floor));
+    /**
+     * Keeps only people whose start and target floor numbers pass the filter. The others are drawn all the
+     * same, so generators with the same random seed and different filters split one stream of arrivals.
+     */
+    public void setFilter(@Nullable BiPredicate<Integer, Integer> filter) {
+        this.filter = filter;
+    }
 
-        StatisticsHolder.getInstance().incrementNumberOfGeneratedPeople();
+    public void generate() {
+        Human human = generateHuman();
 
         try {
-            TimeUnit.MILLISECONDS.sleep(DEFAULT_OPERATION_TIME - generateSpeed);
+            building.getClock().pause(DEFAULT_OPERATION_TIME - generateSpeed);
         } catch (InterruptedException exception) {
             log.error("human generator has been interrupted");
             log.error(exception.getMessage());
@@ -76,7 +82,59 @@ public class HumanGenerator extends Thread implements Interruptible {
             Thread.currentThread().interrupt();
         }
 
-        log.info("human has been generated at {}", targetFloor);
+        if (human != null) {
+            log.info("human has been generated at {}", human.getCall().getTargetFloorNumber());
+        }
+    }
+
+    @Nullable
+    public Human generateHuman() {
+        int numberOfFloors = building.getNumberOfFloors();
+        int floorNumber = nextFloorNumber(random, numberOfFloors);
+        int weight = nextWeight(random, weightFrom, weightTo);
+        int targetFloorNumber = nextTargetFloorNumber(random, numberOfFloors, floorNumber);
+
+        return generateHuman(floorNumber, targetFloorNumber, weight);
+    }
+
+    /**
+     * Puts a human drawn elsewhere, e.g. taken from a stream of arrivals generated in advance, on its floor.
+     */
+    @Nullable
+    public Human generateHuman(int floorNumber, int targetFloorNumber, int weight) {
+        BiPredicate<Integer, Integer> currentFilter = filter;
+        if (currentFilter != null && !currentFilter.test(floorNumber, targetFloorNumber)) {
+            return null;
+        }
+
+        Floor floor = building.getFloor(floorNumber);
+        Human human = Human.of(weight, targetFloorNumber, floor);
+        floor.addHuman(human);
+
+        building.getStatistics().incrementNumberOfGeneratedPeople();
+
+        return human;
+    }
+
+    /**
+     * The start floor, the weight and the target floor of a person are drawn in this order, so that any stream of
+     * arrivals with the same seed gets the same people.
+     */
+    public static int nextFloorNumber(Random random, int numberOfFloors) {
+        return Math.abs(random.nextInt()) % numberOfFloors;
+    }
+
+    public static int nextWeight(Random random, int weightFrom, int weightTo) {
+        return Math.abs(random.nextInt()) % (weightTo - weightFrom) + weightFrom;
+    }
+
+    public static int nextTargetFloorNumber(Random random, int numberOfFloors, int floorNumber) {
+        int targetFloorNumber;
+        do {
+            targetFloorNumber = Math.abs(random.nextInt()) % numberOfFloors;
+        } while (targetFloorNumber == floorNumber);
+
+        return targetFloorNumber;
     }
 
     public void turnOff() {
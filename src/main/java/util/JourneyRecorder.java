@@ -0,0 +1,17 @@
+package util;
+
+/**
+ * Receives one record per ride of a passenger in a car, one per delivered passenger and one per step of a car
+ * (a run between floors or a door cycle, which starts and ends at the same floor). Calls come from the elevator
+ * threads in the real-time mode, so implementations must be thread-safe.
+ */
+public interface JourneyRecorder {
+    void recordMovement(int elevatorIndex, int fromFloorNumber, int toFloorNumber, int numberOfPassengers,
+                        long startTime, long endTime);
+
+    void recordRide(int elevatorIndex, int fromFloorNumber, int toFloorNumber, int weight,
+                    long boardingTime, long alightingTime);
+
+    void recordPassenger(int startFloorNumber, int destinationFloorNumber, int weight, long arrivalTime,
+                         long deliveryTime, long waitTime, int numberOfRides);
+}
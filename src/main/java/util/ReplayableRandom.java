@@ -0,0 +1,65 @@
+package util;
+
+import java.util.Random;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Random that remembers its seed and how many values it has drawn, so the same stream can be recreated at the
+ * same position.
+ */
+public class ReplayableRandom extends Random {
+    private long initialSeed;
+    private long numberOfDraws;
+
+    private ReplayableRandom(long seed) {
+        super(seed);
+    }
+
+    public static ReplayableRandom of(long seed) {
+        return new ReplayableRandom(seed);
+    }
+
+    public static ReplayableRandom of(long seed, long numberOfDraws) {
+        ReplayableRandom random = new ReplayableRandom(seed);
+        random.skip(numberOfDraws);
+
+        return random;
+    }
+
+    public long getInitialSeed() {
+        return initialSeed;
+    }
+
+    public synchronized long getNumberOfDraws() {
+        return numberOfDraws;
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+
+        initialSeed = seed;
+        numberOfDraws = 0;
+    }
+
+    public synchronized void restore(long seed, long numberOfDraws) {
+        setSeed(seed);
+        skip(numberOfDraws);
+    }
+
+    private void skip(long numberOfDraws) {
+        checkArgument(numberOfDraws >= 0);
+
+        for (long i = 0; i < numberOfDraws; i++) {
+            next(Integer.SIZE);
+        }
+    }
+
+    @Override
+    protected synchronized int next(int bits) {
+        numberOfDraws++;
+
+        return super.next(bits);
+    }
+}
@@ -0,0 +1,89 @@
+package util;
+
+import building.Building;
+import building.SpeedReading;
+import com.google.common.collect.ImmutableList;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import util.interrupt.Interruptible;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Logs the speed of the simulator for each building every period of wall-clock time, next to the counters of
+ * its statistics. The rates are those of the last period.
+ */
+@Slf4j
+public class SpeedReporter extends Thread implements Interruptible {
+    private final List<Building> buildings;
+    private final long period;
+    private final SpeedReading[] lastReadings;
+    @Getter
+    private volatile boolean isRunning;
+
+    private SpeedReporter(List<Building> buildings, long period) {
+        checkNotNull(buildings);
+        checkArgument(!buildings.isEmpty());
+        checkArgument(period > 0);
+
+        this.buildings = ImmutableList.copyOf(buildings);
+        this.period = period;
+        this.lastReadings = new SpeedReading[buildings.size()];
+
+        setName("speedReporter");
+        setDaemon(true);
+    }
+
+    /**
+     * Reporter of the given buildings every period in milliseconds.
+     */
+    public static SpeedReporter of(List<Building> buildings, long period) {
+        return new SpeedReporter(buildings, period);
+    }
+
+    public void report() {
+        for (int i = 0; i < buildings.size(); i++) {
+            Building building = buildings.get(i);
+            SpeedReading reading = building.getSpeedGauge().read();
+            SpeedReading lastReading = lastReadings[i];
+            StatisticsHolder statistics = building.getStatistics();
+
+            log.info("building {}: {}; generated {}, delivered {}, passed floors {}", i,
+                    lastReading == null ? reading : reading.since(lastReading),
+                    statistics.getNumberOfGeneratedPeople(), statistics.getNumberOfDeliveredPeople(),
+                    statistics.getNumberOfPassedFloors());
+            lastReadings[i] = reading;
+        }
+    }
+
+    @Override
+    public void turnOff() {
+        isRunning = false;
+        interrupt();
+    }
+
+    @Override
+    public void turnOn() {
+        isRunning = true;
+    }
+
+    @Override
+    public void run() {
+        turnOn();
+        while (isRunning) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(period);
+            } catch (InterruptedException exception) {
+                isRunning = false;
+                Thread.currentThread().interrupt();
+
+                return;
+            }
+            report();
+        }
+    }
+}
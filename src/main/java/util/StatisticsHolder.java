@@ -1,5 +1,6 @@
 package util;
 
+import javax.annotation.Nullable;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class StatisticsHolder {
@@ -8,11 +9,21 @@ public class StatisticsHolder {
     private final AtomicInteger numberOfDeliveredPeople;
     private final AtomicInteger numberOfGeneratedPeople;
     private final AtomicInteger numberOfPassedFloors;
+    private final TimeHistogram waitTimes;
+    private final TimeHistogram journeyTimes;
+    @Nullable
+    private volatile JourneyRecorder recorder;
 
     private StatisticsHolder() {
         numberOfDeliveredPeople = new AtomicInteger(0);
         numberOfGeneratedPeople = new AtomicInteger(0);
         numberOfPassedFloors = new AtomicInteger(0);
+        waitTimes = TimeHistogram.of();
+        journeyTimes = TimeHistogram.of();
+    }
+
+    public static StatisticsHolder newInstance() {
+        return new StatisticsHolder();
     }
 
     public static StatisticsHolder getInstance() {
@@ -34,6 +45,27 @@ public class StatisticsHolder {
         numberOfDeliveredPeople.set(0);
         numberOfGeneratedPeople.set(0);
         numberOfPassedFloors.set(0);
+        waitTimes.clear();
+        journeyTimes.clear();
+    }
+
+    public void restore(int numberOfDeliveredPeople, int numberOfGeneratedPeople, int numberOfPassedFloors,
+                        TimeHistogram waitTimes, TimeHistogram journeyTimes) {
+        restart();
+
+        this.numberOfDeliveredPeople.set(numberOfDeliveredPeople);
+        this.numberOfGeneratedPeople.set(numberOfGeneratedPeople);
+        this.numberOfPassedFloors.set(numberOfPassedFloors);
+        this.waitTimes.merge(waitTimes);
+        this.journeyTimes.merge(journeyTimes);
+    }
+
+    public void add(StatisticsHolder statistics) {
+        numberOfDeliveredPeople.addAndGet(statistics.getNumberOfDeliveredPeople());
+        numberOfGeneratedPeople.addAndGet(statistics.getNumberOfGeneratedPeople());
+        numberOfPassedFloors.addAndGet(statistics.getNumberOfPassedFloors());
+        waitTimes.merge(statistics.getWaitTimes());
+        journeyTimes.merge(statistics.getJourneyTimes());
     }
 
     public void incrementNumberOfDeliveredPeople() {
@@ -48,6 +80,53 @@ public class StatisticsHolder {
         numberOfPassedFloors.incrementAndGet();
     }
 
+    public void addNumberOfPassedFloors(int passedFloors) {
+        numberOfPassedFloors.addAndGet(passedFloors);
+    }
+
+    public void recordWaitTime(long waitTime) {
+        waitTimes.add(waitTime);
+    }
+
+    public void recordJourneyTime(long journeyTime) {
+        journeyTimes.add(journeyTime);
+    }
+
+    public void setRecorder(@Nullable JourneyRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    public boolean isRecording() {
+        return recorder != null;
+    }
+
+    public void recordRide(int elevatorIndex, int fromFloorNumber, int toFloorNumber, int weight,
+                           long boardingTime, long alightingTime) {
+        JourneyRecorder localRecorder = recorder;
+        if (localRecorder != null) {
+            localRecorder.recordRide(elevatorIndex, fromFloorNumber, toFloorNumber, weight, boardingTime,
+                    alightingTime);
+        }
+    }
+
+    public void recordMovement(int elevatorIndex, int fromFloorNumber, int toFloorNumber, int numberOfPassengers,
+                               long startTime, long endTime) {
+        JourneyRecorder localRecorder = recorder;
+        if (localRecorder != null) {
+            localRecorder.recordMovement(elevatorIndex, fromFloorNumber, toFloorNumber, numberOfPassengers, startTime,
+                    endTime);
+        }
+    }
+
+    public void recordPassenger(int startFloorNumber, int destinationFloorNumber, int weight, long arrivalTime,
+                                long deliveryTime, long waitTime, int numberOfRides) {
+        JourneyRecorder localRecorder = recorder;
+        if (localRecorder != null) {
+            localRecorder.recordPassenger(startFloorNumber, destinationFloorNumber, weight, arrivalTime, deliveryTime,
+                    waitTime, numberOfRides);
+        }
+    }
+
     public int getNumberOfDeliveredPeople() {
         return numberOfDeliveredPeople.get();
     }
@@ -60,4 +139,14 @@ public class StatisticsHolder {
         return numberOfPassedFloors.get();
     }
 
+    /**
+     * Wait times in buckets, so the statistics of a run stay the same size however many people it moves.
+     */
+    public TimeHistogram getWaitTimes() {
+        return waitTimes;
+    }
+
+    public TimeHistogram getJourneyTimes() {
+        return journeyTimes;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,189 @@
+package util;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Counts non-negative times in log-linear buckets: values below {@value #SUB_BUCKETS} are exact, larger ones
+ * fall into buckets no wider than 1/64 of their value. Histograms of separate chunks are merged, so
+ * percentiles of any number of records need a few kilobytes per group; the mean is kept exact. Thread-safe.
+ */
+public class TimeHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+
+    private long[] counts;
+    private long totalCount;
+    private long sum;
+    private long maxValue;
+
+    private TimeHistogram(long[] counts, long totalCount, long sum, long maxValue) {
+        this.counts = counts;
+        this.totalCount = totalCount;
+        this.sum = sum;
+        this.maxValue = maxValue;
+    }
+
+    public static TimeHistogram of() {
+        return new TimeHistogram(new long[SUB_BUCKETS], 0, 0, 0);
+    }
+
+    /**
+     * A histogram with the given counts of the buckets, the sum and the largest of its values, e.g. one read back
+     * from a checkpoint.
+     */
+    public static TimeHistogram of(long[] counts, long sum, long maxValue) {
+        checkNotNull(counts);
+        checkArgument(sum >= 0 && maxValue >= 0);
+
+        long totalCount = 0;
+        for (long count : counts) {
+            checkArgument(count >= 0, "bucket count must not be negative");
+            totalCount += count;
+        }
+
+        return new TimeHistogram(Arrays.copyOf(counts, Math.max(counts.length, SUB_BUCKETS)), totalCount, sum,
+                maxValue);
+    }
+
+    public synchronized void add(long value) {
+        checkArgument(value >= 0);
+
+        int index = indexOf(value);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length * 2));
+        }
+        counts[index]++;
+        totalCount++;
+        sum += value;
+        maxValue = Math.max(maxValue, value);
+    }
+
+    public TimeHistogram merge(TimeHistogram histogram) {
+        checkNotNull(histogram);
+
+        TimeHistogram other = histogram.copy();
+        synchronized (this) {
+            if (other.counts.length > counts.length) {
+                counts = Arrays.copyOf(counts, other.counts.length);
+            }
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            totalCount += other.totalCount;
+            sum += other.sum;
+            maxValue = Math.max(maxValue, other.maxValue);
+        }
+
+        return this;
+    }
+
+    /**
+     * Takes away the values of an earlier copy of this histogram, leaving the ones added since; the largest value
+     * left is known to the width of its bucket.
+     */
+    public TimeHistogram subtract(TimeHistogram histogram) {
+        checkNotNull(histogram);
+
+        TimeHistogram other = histogram.copy();
+        synchronized (this) {
+            checkArgument(other.counts.length <= counts.length || other.totalCount == 0,
+                    "histogram is not an earlier copy");
+            int highestIndex = -1;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] -= i < other.counts.length ? other.counts[i] : 0;
+                checkArgument(counts[i] >= 0, "histogram is not an earlier copy");
+                if (counts[i] > 0) {
+                    highestIndex = i;
+                }
+            }
+            totalCount -= other.totalCount;
+            sum -= other.sum;
+            maxValue = highestIndex < 0 ? 0 : Math.min(maxValue, upperBoundOf(highestIndex));
+        }
+
+        return this;
+    }
+
+    public synchronized TimeHistogram copy() {
+        int length = totalCount == 0 ? SUB_BUCKETS : Math.max(indexOf(maxValue) + 1, SUB_BUCKETS);
+
+        return new TimeHistogram(Arrays.copyOf(counts, length), totalCount, sum, maxValue);
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        sum = 0;
+        maxValue = 0;
+    }
+
+    public synchronized long getCount() {
+        return totalCount;
+    }
+
+    public synchronized long getSum() {
+        return sum;
+    }
+
+    public synchronized long getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * Counts of the buckets up to the one of the largest value.
+     */
+    public synchronized long[] getCounts() {
+        return Arrays.copyOf(counts, totalCount == 0 ? 0 : indexOf(maxValue) + 1);
+    }
+
+    public synchronized double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Nearest-rank percentile, reported as the upper bound of its bucket, so it never understates a tail.
+     */
+    public synchronized long getPercentile(double percentile) {
+        checkArgument(percentile > 0 && percentile <= 100);
+
+        if (totalCount == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long count = 0;
+        for (int i = 0; i < counts.length; i++) {
+            count += counts[i];
+            if (count >= rank) {
+                return Math.min(upperBoundOf(i), maxValue);
+            }
+        }
+
+        return maxValue;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+
+        return shift * HALF_SUB_BUCKETS + (int) (value >> shift);
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        int shift = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        long subBucket = index - (long) shift * HALF_SUB_BUCKETS;
+
+        return (subBucket << shift) + ((1L << shift) - 1);
+    }
+}
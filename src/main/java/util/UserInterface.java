@@ -38,9 +38,10 @@ public class UserInterface extends Thread implements Interruptible {
         System.out.flush();
 
         String color;
-        System.out.printf("Delivered: %s\n", StatisticsHolder.getInstance().getNumberOfDeliveredPeople());
-        System.out.printf("Generated: %s\n", StatisticsHolder.getInstance().getNumberOfGeneratedPeople());
-        System.out.printf("Floors passed: %s\n", StatisticsHolder.getInstance().getNumberOfPassedFloors());
+        System.out.printf("Delivered: %s\n", building.getStatistics().getNumberOfDeliveredPeople());
+        System.out.printf("Generated: %s\n", building.getStatistics().getNumberOfGeneratedPeople());
+        System.out.printf("Floors passed: %s\n", building.getStatistics().getNumberOfPassedFloors());
+        System.out.printf("Speed: %s\n", building.getSpeedGauge().read());
 
         System.out.println(building.getController().getAllCalls());
         for (int i = 0; i < building.getElevators().size(); i++) {
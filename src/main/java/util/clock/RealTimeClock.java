@@ -0,0 +1,25 @@
+package util.clock;
+
+import java.util.concurrent.TimeUnit;
+
+public class RealTimeClock implements SimulationClock {
+    private final long startTime;
+
+    private RealTimeClock() {
+        this.startTime = System.currentTimeMillis();
+    }
+
+    public static RealTimeClock of() {
+        return new RealTimeClock();
+    }
+
+    @Override
+    public long currentTime() {
+        return System.currentTimeMillis() - startTime;
+    }
+
+    @Override
+    public void pause(long millis) throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(millis);
+    }
+}
@@ -0,0 +1,7 @@
+package util.clock;
+
+public interface SimulationClock {
+    long currentTime();
+
+    void pause(long millis) throws InterruptedException;
+}
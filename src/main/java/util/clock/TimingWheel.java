@@ -0,0 +1,235 @@
+package util.clock;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Hierarchical timing wheel for timers in virtual milliseconds. A slot of level {@code k} spans {@code 64^k} ms,
+ * and a timer sits at the level of the highest six-bit digit in which its deadline differs from the time of the
+ * wheel. It moves down a level when the wheel reaches its slot. Scheduling and cancelling are O(1), and finding
+ * the earliest timer looks at one slot. Timers due at the same millisecond come out by ascending priority. Not
+ * thread-safe.
+ */
+public class TimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int NUMBER_OF_SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = NUMBER_OF_SLOTS - 1;
+    private static final int NUMBER_OF_LEVELS = (Long.SIZE + SLOT_BITS - 1) / SLOT_BITS;
+
+    private final Timer[][] slots;
+    private final long[] occupiedSlots;
+    private long time;
+    private int size;
+    @Nullable
+    private Timer earliest;
+
+    private TimingWheel(long time) {
+        checkArgument(time >= 0);
+
+        this.slots = new Timer[NUMBER_OF_LEVELS][NUMBER_OF_SLOTS];
+        this.occupiedSlots = new long[NUMBER_OF_LEVELS];
+        this.time = time;
+    }
+
+    public static TimingWheel of() {
+        return new TimingWheel(0);
+    }
+
+    public static TimingWheel of(long time) {
+        return new TimingWheel(time);
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Schedules the timer at the deadline, which must not be earlier than the time of the wheel; a scheduled timer
+     * is moved.
+     */
+    public void schedule(Timer timer, long deadline) {
+        checkNotNull(timer);
+        checkArgument(deadline >= time, "deadline %s is earlier than the wheel time %s", deadline, time);
+
+        if (timer.isScheduled()) {
+            unlink(timer);
+        } else {
+            size++;
+        }
+        timer.deadline = deadline;
+        link(timer);
+        earliest = null;
+    }
+
+    public void cancel(Timer timer) {
+        checkNotNull(timer);
+
+        if (timer.isScheduled()) {
+            unlink(timer);
+            size--;
+            earliest = null;
+        }
+    }
+
+    /**
+     * The earliest timer, of the lowest priority among the earliest ones, or null if there are none.
+     */
+    @Nullable
+    public Timer peek() {
+        if (earliest == null && size > 0) {
+            earliest = findEarliest();
+        }
+
+        return earliest;
+    }
+
+    /**
+     * Removes the earliest timer and moves the wheel to its deadline.
+     */
+    @Nullable
+    public Timer poll() {
+        Timer timer = peek();
+        if (timer == null) {
+            return null;
+        }
+
+        advanceTo(timer.deadline);
+        unlink(timer);
+        size--;
+        earliest = null;
+
+        return timer;
+    }
+
+    /**
+     * Moves the wheel to the given time, which must not be later than the earliest timer.
+     */
+    public void advanceTo(long newTime) {
+        checkArgument(newTime >= time, "wheel cannot go back in time");
+        checkArgument(size == 0 || newTime <= peek().deadline, "wheel cannot skip timers");
+
+        if (newTime == time) {
+            return;
+        }
+
+        // no timer is due before the new time, so only the slot the new time falls into has to move down
+        int level = getLevel(time, newTime);
+        time = newTime;
+        if (level > 0) {
+            int slot = getSlot(newTime, level);
+            Timer timer = slots[level][slot];
+            slots[level][slot] = null;
+            occupiedSlots[level] &= ~(1L << slot);
+            while (timer != null) {
+                Timer next = timer.next;
+                timer.previous = null;
+                timer.next = null;
+                link(timer);
+                timer = next;
+            }
+        }
+    }
+
+    private Timer findEarliest() {
+        int level = 0;
+        while (occupiedSlots[level] == 0) {
+            level++;
+        }
+
+        Timer earliestTimer = slots[level][Long.numberOfTrailingZeros(occupiedSlots[level])];
+        for (Timer timer = earliestTimer.next; timer != null; timer = timer.next) {
+            if (timer.deadline < earliestTimer.deadline
+                    || timer.deadline == earliestTimer.deadline && timer.priority < earliestTimer.priority) {
+                earliestTimer = timer;
+            }
+        }
+
+        return earliestTimer;
+    }
+
+    private void link(Timer timer) {
+        int level = getLevel(time, timer.deadline);
+        int slot = getSlot(timer.deadline, level);
+        Timer head = slots[level][slot];
+        timer.next = head;
+        if (head != null) {
+            head.previous = timer;
+        }
+        slots[level][slot] = timer;
+        occupiedSlots[level] |= 1L << slot;
+        timer.level = level;
+        timer.slot = slot;
+    }
+
+    private void unlink(Timer timer) {
+        if (timer.previous != null) {
+            timer.previous.next = timer.next;
+        } else {
+            slots[timer.level][timer.slot] = timer.next;
+            if (timer.next == null) {
+                occupiedSlots[timer.level] &= ~(1L << timer.slot);
+            }
+        }
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+        }
+        timer.previous = null;
+        timer.next = null;
+        timer.level = Timer.NOT_SCHEDULED;
+    }
+
+    private static int getLevel(long time, long deadline) {
+        return time == deadline ? 0 : (Long.SIZE - 1 - Long.numberOfLeadingZeros(time ^ deadline)) / SLOT_BITS;
+    }
+
+    private static int getSlot(long deadline, int level) {
+        return (int) (deadline >>> (level * SLOT_BITS)) & SLOT_MASK;
+    }
+
+    /**
+     * A timer owned by its user and rescheduled as often as needed, so the wheel does not allocate.
+     */
+    public static final class Timer {
+        private static final int NOT_SCHEDULED = -1;
+
+        private final int priority;
+        private long deadline;
+        private int level;
+        private int slot;
+        @Nullable
+        private Timer previous;
+        @Nullable
+        private Timer next;
+
+        private Timer(int priority) {
+            this.priority = priority;
+            this.level = NOT_SCHEDULED;
+        }
+
+        public static Timer of(int priority) {
+            return new Timer(priority);
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public boolean isScheduled() {
+            return level != NOT_SCHEDULED;
+        }
+    }
+}
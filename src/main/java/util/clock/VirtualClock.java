@@ -0,0 +1,39 @@
+package util.clock;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+public class VirtualClock implements SimulationClock {
+    private long time;
+
+    private VirtualClock(long time) {
+        checkArgument(time >= 0);
+
+        this.time = time;
+    }
+
+    public static VirtualClock of() {
+        return new VirtualClock(0);
+    }
+
+    public static VirtualClock of(long time) {
+        return new VirtualClock(time);
+    }
+
+    @Override
+    public long currentTime() {
+        return time;
+    }
+
+    @Override
+    public void pause(long millis) {
+        checkArgument(millis >= 0);
+
+        time += millis;
+    }
+
+    public void setTime(long time) {
+        checkArgument(time >= 0);
+
+        this.time = time;
+    }
+}
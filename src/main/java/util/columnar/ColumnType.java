@@ -0,0 +1,15 @@
+package util.columnar;
+
+import lombok.Getter;
+
+public enum ColumnType {
+    INT(Integer.BYTES),
+    LONG(Long.BYTES);
+
+    @Getter
+    private final int width;
+
+    ColumnType(int width) {
+        this.width = width;
+    }
+}
@@ -0,0 +1,126 @@
+package util.columnar;
+
+import util.JourneyRecorder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Streams journey records into columnar files in a directory: {@value #PASSENGERS_FILE} with a row per
+ * delivered passenger, {@value #RIDES_FILE} with a row per ride in a car and {@value #MOVEMENTS_FILE} with a
+ * row per step of a car. Times are in milliseconds.
+ * Records that come after {@link #close()}, e.g. from elevator threads during shutdown, are dropped.
+ */
+public class ColumnarJourneyRecorder implements JourneyRecorder, Closeable {
+    public static final String PASSENGERS_FILE = "passengers.columnar";
+    public static final String RIDES_FILE = "rides.columnar";
+    public static final String MOVEMENTS_FILE = "movements.columnar";
+    public static final List<String> PASSENGER_COLUMNS = List.of("start_floor", "destination_floor", "weight",
+            "arrival_time", "delivery_time", "wait_time", "rides");
+    public static final List<String> RIDE_COLUMNS = List.of("elevator", "from_floor", "to_floor", "weight",
+            "boarding_time", "alighting_time");
+    public static final List<String> MOVEMENT_COLUMNS = List.of("elevator", "from_floor", "to_floor", "passengers",
+            "start_time", "end_time");
+
+    private final ColumnarWriter passengers;
+    private final ColumnarWriter rides;
+    private final ColumnarWriter movements;
+    private boolean isClosed;
+
+    private ColumnarJourneyRecorder(Path directory) throws IOException {
+        checkNotNull(directory);
+
+        Files.createDirectories(directory);
+        this.passengers = ColumnarWriter.of(directory.resolve(PASSENGERS_FILE), PASSENGER_COLUMNS,
+                List.of(ColumnType.INT, ColumnType.INT, ColumnType.INT, ColumnType.LONG, ColumnType.LONG,
+                        ColumnType.LONG, ColumnType.INT));
+        this.rides = ColumnarWriter.of(directory.resolve(RIDES_FILE), RIDE_COLUMNS,
+                List.of(ColumnType.INT, ColumnType.INT, ColumnType.INT, ColumnType.INT, ColumnType.LONG,
+                        ColumnType.LONG));
+        this.movements = ColumnarWriter.of(directory.resolve(MOVEMENTS_FILE), MOVEMENT_COLUMNS,
+                List.of(ColumnType.INT, ColumnType.INT, ColumnType.INT, ColumnType.INT, ColumnType.LONG,
+                        ColumnType.LONG));
+    }
+
+    public static ColumnarJourneyRecorder of(Path directory) throws IOException {
+        return new ColumnarJourneyRecorder(directory);
+    }
+
+    @Override
+    public synchronized void recordMovement(int elevatorIndex, int fromFloorNumber, int toFloorNumber,
+                                            int numberOfPassengers, long startTime, long endTime) {
+        if (isClosed) {
+            return;
+        }
+
+        movements.setInt(0, elevatorIndex);
+        movements.setInt(1, fromFloorNumber);
+        movements.setInt(2, toFloorNumber);
+        movements.setInt(3, numberOfPassengers);
+        movements.setLong(4, startTime);
+        movements.setLong(5, endTime);
+        endRow(movements);
+    }
+
+    @Override
+    public synchronized void recordRide(int elevatorIndex, int fromFloorNumber, int toFloorNumber, int weight,
+                                        long boardingTime, long alightingTime) {
+        if (isClosed) {
+            return;
+        }
+
+        rides.setInt(0, elevatorIndex);
+        rides.setInt(1, fromFloorNumber);
+        rides.setInt(2, toFloorNumber);
+        rides.setInt(3, weight);
+        rides.setLong(4, boardingTime);
+        rides.setLong(5, alightingTime);
+        endRow(rides);
+    }
+
+    @Override
+    public synchronized void recordPassenger(int startFloorNumber, int destinationFloorNumber, int weight,
+                                             long arrivalTime, long deliveryTime, long waitTime,
+                                             int numberOfRides) {
+        if (isClosed) {
+            return;
+        }
+
+        passengers.setInt(0, startFloorNumber);
+        passengers.setInt(1, destinationFloorNumber);
+        passengers.setInt(2, weight);
+        passengers.setLong(3, arrivalTime);
+        passengers.setLong(4, deliveryTime);
+        passengers.setLong(5, waitTime);
+        passengers.setInt(6, numberOfRides);
+        endRow(passengers);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        isClosed = true;
+        try {
+            passengers.close();
+        } finally {
+            try {
+                rides.close();
+            } finally {
+                movements.close();
+            }
+        }
+    }
+
+    private static void endRow(ColumnarWriter writer) {
+        try {
+            writer.endRow();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
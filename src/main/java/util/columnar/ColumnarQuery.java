@@ -0,0 +1,121 @@
+package util.columnar;
+
+import com.google.common.collect.ImmutableList;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Counts the rows of a columnar file that fall into the given ranges and summarizes every column over them.
+ * Chunks are scanned one at a time, so memory does not grow with the file.
+ */
+public class ColumnarQuery {
+    public static final String WHERE_OPTION = "--where=";
+    private static final String RANGE_SEPARATOR = ":";
+
+    private final ColumnarReader reader;
+    private final List<Filter> filters;
+
+    private ColumnarQuery(ColumnarReader reader, List<Filter> filters) {
+        checkNotNull(reader);
+
+        this.reader = reader;
+        this.filters = filters;
+    }
+
+    public static ColumnarQuery of(ColumnarReader reader) {
+        return new ColumnarQuery(reader, ImmutableList.of());
+    }
+
+    /**
+     * Returns a query that also keeps only rows whose column value lies within {@code from..to} inclusive.
+     */
+    public ColumnarQuery where(String column, long from, long to) {
+        checkArgument(from <= to);
+
+        return new ColumnarQuery(reader, ImmutableList.<Filter>builder()
+                .addAll(filters)
+                .add(new Filter(reader.getColumnIndex(column), from, to))
+                .build());
+    }
+
+    public Map<String, LongSummaryStatistics> summarize() throws IOException {
+        List<String> names = reader.getNames();
+        LongSummaryStatistics[] statistics = new LongSummaryStatistics[names.size()];
+        for (int i = 0; i < statistics.length; i++) {
+            statistics[i] = new LongSummaryStatistics();
+        }
+
+        for (int i = 0; i < reader.getNumberOfChunks(); i++) {
+            ColumnarReader.Chunk chunk = reader.readChunk(i);
+            for (int row = 0; row < chunk.getNumberOfRows(); row++) {
+                if (matches(chunk, row)) {
+                    for (int column = 0; column < statistics.length; column++) {
+                        statistics[column].accept(chunk.getLong(column, row));
+                    }
+                }
+            }
+        }
+
+        Map<String, LongSummaryStatistics> result = new LinkedHashMap<>();
+        for (int i = 0; i < statistics.length; i++) {
+            result.put(names.get(i), statistics[i]);
+        }
+
+        return result;
+    }
+
+    private boolean matches(ColumnarReader.Chunk chunk, int row) {
+        for (Filter filter : filters) {
+            long value = chunk.getLong(filter.column, row);
+            if (value < filter.from || value > filter.to) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public static void main(String[] args) throws IOException {
+        checkArgument(args.length > 0, "usage: ColumnarQuery <file> [--where=<column>:<from>:<to>]...");
+
+        Path path = Paths.get(args[0]);
+        try (ColumnarReader reader = ColumnarReader.of(path)) {
+            ColumnarQuery query = ColumnarQuery.of(reader);
+            for (int i = 1; i < args.length; i++) {
+                checkArgument(args[i].startsWith(WHERE_OPTION), "unknown option %s", args[i]);
+                String[] parts = args[i].substring(WHERE_OPTION.length()).split(RANGE_SEPARATOR);
+                checkArgument(parts.length == 3, "invalid filter %s", args[i]);
+                query = query.where(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            }
+
+            Map<String, LongSummaryStatistics> summary = query.summarize();
+            System.out.printf("%d of %d rows%n", summary.values().iterator().next().getCount(),
+                    reader.getNumberOfRows());
+            System.out.printf("%-20s %15s %15s %15s%n", "column", "min", "mean", "max");
+            summary.forEach((name, statistics) -> System.out.printf("%-20s %15d %15.1f %15d%n", name,
+                    statistics.getCount() == 0 ? 0 : statistics.getMin(), statistics.getAverage(),
+                    statistics.getCount() == 0 ? 0 : statistics.getMax()));
+        }
+    }
+
+    private static class Filter {
+        private final int column;
+        private final long from;
+        private final long to;
+
+        private Filter(int column, long from, long to) {
+            this.column = column;
+            this.from = from;
+            this.to = to;
+        }
+    }
+}
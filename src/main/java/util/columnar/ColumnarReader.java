@@ -0,0 +1,180 @@
+package util.columnar;
+
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Reads a table written by {@link ColumnarWriter}. Opening scans only the chunk headers; each chunk is mapped
+ * into memory on request, so files larger than the heap or than one mapping can be read chunk by chunk.
+ */
+public class ColumnarReader implements Closeable {
+    private static final int MAX_HEADER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    @Getter
+    private final List<String> names;
+    @Getter
+    private final List<ColumnType> types;
+    private final int rowWidth;
+    private final List<Long> chunkPositions;
+    private final List<Integer> chunkSizes;
+    @Getter
+    private final long numberOfRows;
+
+    private ColumnarReader(Path path) throws IOException {
+        checkNotNull(path);
+
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.names = new ArrayList<>();
+        this.types = new ArrayList<>();
+        this.chunkPositions = new ArrayList<>();
+        this.chunkSizes = new ArrayList<>();
+
+        try {
+            long position = readHeader();
+            int width = 0;
+            for (ColumnType type : types) {
+                width += type.getWidth();
+            }
+            this.rowWidth = width;
+
+            long rows = 0;
+            ByteBuffer chunkHeader = ByteBuffer.allocate(Integer.BYTES);
+            while (position < channel.size()) {
+                chunkHeader.clear();
+                checkArgument(channel.read(chunkHeader, position) == Integer.BYTES, "columnar file is truncated");
+                int size = chunkHeader.getInt(0);
+                checkArgument(size > 0, "columnar file is corrupted");
+
+                chunkPositions.add(position + Integer.BYTES);
+                chunkSizes.add(size);
+                rows += size;
+                position += Integer.BYTES + (long) size * rowWidth;
+            }
+            checkArgument(position == channel.size(), "columnar file is truncated");
+            this.numberOfRows = rows;
+        } catch (IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    public static ColumnarReader of(Path path) throws IOException {
+        return new ColumnarReader(path);
+    }
+
+    public int getColumnIndex(String name) {
+        int index = names.indexOf(name);
+        checkArgument(index >= 0, "unknown column %s", name);
+
+        return index;
+    }
+
+    public int getNumberOfChunks() {
+        return chunkSizes.size();
+    }
+
+    public Chunk readChunk(int index) throws IOException {
+        checkArgument(index >= 0 && index < chunkSizes.size());
+
+        int size = chunkSizes.get(index);
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunkPositions.get(index),
+                (long) size * rowWidth);
+
+        return new Chunk(buffer, size);
+    }
+
+    /**
+     * Streams the chunks in file order; the stream can be made parallel, chunks are independent.
+     */
+    public Stream<Chunk> chunks() {
+        return IntStream.range(0, getNumberOfChunks()).mapToObj(i -> {
+            try {
+                return readChunk(i);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long readHeader() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(channel.size(), MAX_HEADER_SIZE));
+        channel.read(buffer, 0);
+        buffer.flip();
+        try {
+            checkArgument(buffer.getInt() == ColumnarWriter.MAGIC, "not a columnar file");
+            checkArgument(buffer.getInt() == ColumnarWriter.VERSION, "unsupported columnar file version");
+            buffer.getInt();
+            int numberOfColumns = buffer.getInt();
+            checkArgument(numberOfColumns > 0, "columnar file is corrupted");
+            for (int i = 0; i < numberOfColumns; i++) {
+                int type = buffer.get();
+                checkArgument(type >= 0 && type < ColumnType.values().length, "columnar file is corrupted");
+                byte[] name = new byte[buffer.getShort()];
+                buffer.get(name);
+
+                types.add(ColumnType.values()[type]);
+                names.add(new String(name, StandardCharsets.UTF_8));
+            }
+        } catch (BufferUnderflowException | NegativeArraySizeException exception) {
+            throw new IllegalArgumentException("columnar file is truncated", exception);
+        }
+
+        return buffer.position();
+    }
+
+    /**
+     * Rows of one chunk. Values are read in place from the mapped file.
+     */
+    public class Chunk {
+        private final ByteBuffer buffer;
+        @Getter
+        private final int numberOfRows;
+        private final int[] offsets;
+
+        private Chunk(ByteBuffer buffer, int numberOfRows) {
+            this.buffer = buffer;
+            this.numberOfRows = numberOfRows;
+            this.offsets = new int[types.size()];
+            for (int i = 1; i < offsets.length; i++) {
+                offsets[i] = offsets[i - 1] + numberOfRows * types.get(i - 1).getWidth();
+            }
+        }
+
+        public int getInt(int column, int row) {
+            checkArgument(types.get(column) == ColumnType.INT);
+
+            return buffer.getInt(offsets[column] + row * Integer.BYTES);
+        }
+
+        /**
+         * Reads a value of any column as a long.
+         */
+        public long getLong(int column, int row) {
+            return types.get(column) == ColumnType.INT
+                    ? buffer.getInt(offsets[column] + row * Integer.BYTES)
+                    : buffer.getLong(offsets[column] + row * Long.BYTES);
+        }
+    }
+}
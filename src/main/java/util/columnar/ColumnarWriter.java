@@ -0,0 +1,144 @@
+package util.columnar;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Writes a table of fixed-width primitive columns. Rows are collected into one direct buffer per column and
+ * every {@code chunkSize} rows the buffers are written out as a chunk: the number of rows followed by each
+ * column's values back to back. Only one chunk is ever held in memory, whatever the number of rows.
+ *
+ * <p>A row is written by setting each column once and calling {@link #endRow()}.
+ */
+public class ColumnarWriter implements Closeable {
+    static final int MAGIC = 0x45434f4c;
+    static final int VERSION = 1;
+    public static final int DEFAULT_CHUNK_SIZE = 65_536;
+
+    private final FileChannel channel;
+    private final List<ColumnType> types;
+    private final ByteBuffer[] buffers;
+    private final int chunkSize;
+    private int numberOfRows;
+    private long numberOfWrittenRows;
+
+    private ColumnarWriter(Path path, List<String> names, List<ColumnType> types, int chunkSize)
+            throws IOException {
+        checkNotNull(path);
+        checkNotNull(names);
+        checkNotNull(types);
+        checkArgument(!names.isEmpty() && names.size() == types.size());
+        checkArgument(chunkSize > 0);
+
+        this.types = List.copyOf(types);
+        this.chunkSize = chunkSize;
+        this.buffers = new ByteBuffer[types.size() + 1];
+        this.buffers[0] = ByteBuffer.allocateDirect(Integer.BYTES);
+        for (int i = 0; i < types.size(); i++) {
+            buffers[i + 1] = ByteBuffer.allocateDirect(chunkSize * types.get(i).getWidth());
+        }
+
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        writeFully(createHeader(names, types, chunkSize));
+    }
+
+    public static ColumnarWriter of(Path path, List<String> names, List<ColumnType> types) throws IOException {
+        return new ColumnarWriter(path, names, types, DEFAULT_CHUNK_SIZE);
+    }
+
+    public static ColumnarWriter of(Path path, List<String> names, List<ColumnType> types, int chunkSize)
+            throws IOException {
+        return new ColumnarWriter(path, names, types, chunkSize);
+    }
+
+    public void setInt(int column, int value) {
+        checkArgument(types.get(column) == ColumnType.INT);
+
+        buffers[column + 1].putInt(numberOfRows * Integer.BYTES, value);
+    }
+
+    public void setLong(int column, long value) {
+        checkArgument(types.get(column) == ColumnType.LONG);
+
+        buffers[column + 1].putLong(numberOfRows * Long.BYTES, value);
+    }
+
+    public void endRow() throws IOException {
+        checkState(channel.isOpen());
+
+        numberOfRows++;
+        if (numberOfRows == chunkSize) {
+            flushChunk();
+        }
+    }
+
+    public long getNumberOfRows() {
+        return numberOfWrittenRows + numberOfRows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+
+        try {
+            if (numberOfRows > 0) {
+                flushChunk();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flushChunk() throws IOException {
+        buffers[0].clear();
+        buffers[0].putInt(numberOfRows).flip();
+        for (int i = 0; i < types.size(); i++) {
+            buffers[i + 1].clear().limit(numberOfRows * types.get(i).getWidth());
+        }
+
+        writeFully(buffers);
+
+        numberOfWrittenRows += numberOfRows;
+        numberOfRows = 0;
+    }
+
+    private void writeFully(ByteBuffer... sources) throws IOException {
+        ByteBuffer last = sources[sources.length - 1];
+        while (last.hasRemaining()) {
+            channel.write(sources);
+        }
+    }
+
+    private static ByteBuffer createHeader(List<String> names, List<ColumnType> types, int chunkSize) {
+        byte[][] encodedNames = new byte[names.size()][];
+        int size = 4 * Integer.BYTES;
+        for (int i = 0; i < names.size(); i++) {
+            encodedNames[i] = names.get(i).getBytes(StandardCharsets.UTF_8);
+            checkArgument(encodedNames[i].length > 0 && encodedNames[i].length <= Short.MAX_VALUE);
+            size += 1 + Short.BYTES + encodedNames[i].length;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(size);
+        header.putInt(MAGIC).putInt(VERSION).putInt(chunkSize).putInt(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            header.put((byte) types.get(i).ordinal());
+            header.putShort((short) encodedNames[i].length);
+            header.put(encodedNames[i]);
+        }
+
+        return header.flip();
+    }
+}
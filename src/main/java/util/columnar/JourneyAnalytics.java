@@ -0,0 +1,307 @@
+package util.columnar;
+
+import com.google.common.primitives.ImmutableLongArray;
+import util.TimeHistogram;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Aggregates the records written by {@link ColumnarJourneyRecorder}: wait percentiles by floor and hour, the
+ * share of time each car is busy and round-trip times from the lobby. Chunks are mapped one by one and
+ * aggregated by a parallel stream, partial results are merged, so the size of the records is limited by the
+ * disk rather than the heap.
+ */
+public class JourneyAnalytics {
+    public static final long MILLIS_IN_HOUR = 3_600_000;
+    public static final double DEFAULT_PERCENTILE = 99;
+    public static final String PERCENTILE_OPTION = "--percentile=";
+    public static final String LOBBY_OPTION = "--lobby=";
+
+    private final Path directory;
+
+    private JourneyAnalytics(Path directory) {
+        checkNotNull(directory);
+
+        this.directory = directory;
+    }
+
+    public static JourneyAnalytics of(Path directory) {
+        return new JourneyAnalytics(directory);
+    }
+
+    /**
+     * Returns the wait time percentile in milliseconds by start floor and by hour of arrival.
+     */
+    public SortedMap<Integer, SortedMap<Integer, Long>> getWaitPercentiles(double percentile) throws IOException {
+        checkArgument(percentile > 0 && percentile <= 100);
+
+        try (ColumnarReader reader = ColumnarReader.of(directory.resolve(ColumnarJourneyRecorder.PASSENGERS_FILE))) {
+            int floorColumn = reader.getColumnIndex("start_floor");
+            int arrivalColumn = reader.getColumnIndex("arrival_time");
+            int waitColumn = reader.getColumnIndex("wait_time");
+
+            WaitGroups groups = reader.chunks().parallel().collect(WaitGroups::new, (partial, chunk) -> {
+                for (int i = 0; i < chunk.getNumberOfRows(); i++) {
+                    partial.add(chunk.getInt(floorColumn, i),
+                            (int) (chunk.getLong(arrivalColumn, i) / MILLIS_IN_HOUR),
+                            chunk.getLong(waitColumn, i));
+                }
+            }, WaitGroups::merge);
+
+            SortedMap<Integer, SortedMap<Integer, Long>> result = new TreeMap<>();
+            for (int floor = 0; floor < groups.histograms.length; floor++) {
+                for (int hour = 0; hour < groups.histograms[floor].length; hour++) {
+                    TimeHistogram histogram = groups.histograms[floor][hour];
+                    if (histogram != null) {
+                        result.computeIfAbsent(floor, i -> new TreeMap<>())
+                                .put(hour, histogram.getPercentile(percentile));
+                    }
+                }
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Returns the share of the recorded time each car spends moving or with its doors open.
+     */
+    public SortedMap<Integer, Double> getUtilisation() throws IOException {
+        try (ColumnarReader reader = ColumnarReader.of(directory.resolve(ColumnarJourneyRecorder.MOVEMENTS_FILE))) {
+            int elevatorColumn = reader.getColumnIndex("elevator");
+            int startColumn = reader.getColumnIndex("start_time");
+            int endColumn = reader.getColumnIndex("end_time");
+
+            BusyTimes busyTimes = reader.chunks().parallel().collect(BusyTimes::new, (partial, chunk) -> {
+                for (int i = 0; i < chunk.getNumberOfRows(); i++) {
+                    long endTime = chunk.getLong(endColumn, i);
+                    partial.add(chunk.getInt(elevatorColumn, i), endTime - chunk.getLong(startColumn, i));
+                    partial.endTime = Math.max(partial.endTime, endTime);
+                }
+            }, BusyTimes::merge);
+
+            SortedMap<Integer, Double> result = new TreeMap<>();
+            for (int i = 0; i < busyTimes.times.length; i++) {
+                result.put(i, busyTimes.endTime == 0 ? 0 : (double) busyTimes.times[i] / busyTimes.endTime);
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Returns round-trip times by car. A round trip starts when the car leaves the lobby and ends when it
+     * leaves the lobby again; only the time the car is moving or holding its doors open is counted, so time
+     * parked between trips is left out.
+     */
+    public SortedMap<Integer, LongSummaryStatistics> getRoundTripTimes(int lobbyFloorNumber) throws IOException {
+        checkArgument(lobbyFloorNumber >= 0);
+
+        try (ColumnarReader reader = ColumnarReader.of(directory.resolve(ColumnarJourneyRecorder.MOVEMENTS_FILE))) {
+            int elevatorColumn = reader.getColumnIndex("elevator");
+            int fromColumn = reader.getColumnIndex("from_floor");
+            int toColumn = reader.getColumnIndex("to_floor");
+            int startColumn = reader.getColumnIndex("start_time");
+            int endColumn = reader.getColumnIndex("end_time");
+
+            long[][] departures = reader.chunks().parallel().collect(Departures::new, (partial, chunk) -> {
+                for (int i = 0; i < chunk.getNumberOfRows(); i++) {
+                    if (chunk.getInt(fromColumn, i) == lobbyFloorNumber
+                            && chunk.getInt(toColumn, i) != lobbyFloorNumber) {
+                        partial.add(chunk.getInt(elevatorColumn, i), chunk.getLong(startColumn, i));
+                    }
+                }
+            }, Departures::merge).toSortedArrays();
+
+            RoundTrips roundTrips = reader.chunks().parallel().collect(() -> new RoundTrips(departures),
+                    (partial, chunk) -> {
+                        for (int i = 0; i < chunk.getNumberOfRows(); i++) {
+                            long startTime = chunk.getLong(startColumn, i);
+                            partial.add(chunk.getInt(elevatorColumn, i), startTime,
+                                    chunk.getLong(endColumn, i) - startTime);
+                        }
+                    }, RoundTrips::merge);
+
+            SortedMap<Integer, LongSummaryStatistics> result = new TreeMap<>();
+            for (int i = 0; i < departures.length; i++) {
+                result.put(i, Arrays.stream(roundTrips.times[i]).summaryStatistics());
+            }
+
+            return result;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        checkArgument(args.length > 0, "usage: JourneyAnalytics <directory> [--percentile=99] [--lobby=0]");
+
+        double percentile = DEFAULT_PERCENTILE;
+        int lobbyFloorNumber = 0;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith(PERCENTILE_OPTION)) {
+                percentile = Double.parseDouble(args[i].substring(PERCENTILE_OPTION.length()));
+            } else if (args[i].startsWith(LOBBY_OPTION)) {
+                lobbyFloorNumber = Integer.parseInt(args[i].substring(LOBBY_OPTION.length()));
+            } else {
+                throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+
+        long startTime = System.currentTimeMillis();
+        JourneyAnalytics analytics = JourneyAnalytics.of(Paths.get(args[0]));
+
+        SortedMap<Integer, SortedMap<Integer, Long>> waits = analytics.getWaitPercentiles(percentile);
+        SortedSet<Integer> hours = new TreeSet<>();
+        waits.values().forEach(i -> hours.addAll(i.keySet()));
+        System.out.printf("p%s wait by floor and hour, s%n%-6s", percentile, "floor");
+        hours.forEach(hour -> System.out.printf("%9s", "h" + hour));
+        System.out.println();
+        waits.forEach((floor, byHour) -> {
+            System.out.printf("%-6d", floor);
+            hours.forEach(hour -> System.out.printf(byHour.containsKey(hour) ? "%9.1f" : "%9s",
+                    byHour.containsKey(hour) ? byHour.get(hour) / 1000.0 : "-"));
+            System.out.println();
+        });
+
+        SortedMap<Integer, Double> utilisation = analytics.getUtilisation();
+        SortedMap<Integer, LongSummaryStatistics> roundTrips = analytics.getRoundTripTimes(lobbyFloorNumber);
+        System.out.printf("%n%-9s %12s %12s %12s %12s%n", "elevator", "utilisation", "round trips", "rtt mean, s",
+                "rtt max, s");
+        utilisation.forEach((elevator, share) -> {
+            LongSummaryStatistics statistics = roundTrips.getOrDefault(elevator, new LongSummaryStatistics());
+            System.out.printf("%-9d %11.1f%% %12d %12.1f %12.1f%n", elevator, share * 100, statistics.getCount(),
+                    statistics.getAverage() / 1000, statistics.getCount() == 0 ? 0 : statistics.getMax() / 1000.0);
+        });
+
+        System.out.printf("%nanalysed in %d ms%n", System.currentTimeMillis() - startTime);
+    }
+
+    private static class WaitGroups {
+        private TimeHistogram[][] histograms = new TimeHistogram[0][];
+
+        private void add(int floor, int hour, long waitTime) {
+            get(floor, hour).add(waitTime);
+        }
+
+        private void merge(WaitGroups groups) {
+            for (int floor = 0; floor < groups.histograms.length; floor++) {
+                for (int hour = 0; hour < groups.histograms[floor].length; hour++) {
+                    TimeHistogram histogram = groups.histograms[floor][hour];
+                    if (histogram != null) {
+                        get(floor, hour).merge(histogram);
+                    }
+                }
+            }
+        }
+
+        private TimeHistogram get(int floor, int hour) {
+            if (floor >= histograms.length) {
+                int length = histograms.length;
+                histograms = Arrays.copyOf(histograms, floor + 1);
+                Arrays.fill(histograms, length, histograms.length, new TimeHistogram[0]);
+            }
+            if (hour >= histograms[floor].length) {
+                histograms[floor] = Arrays.copyOf(histograms[floor], hour + 1);
+            }
+            if (histograms[floor][hour] == null) {
+                histograms[floor][hour] = TimeHistogram.of();
+            }
+
+            return histograms[floor][hour];
+        }
+    }
+
+    private static class BusyTimes {
+        private long[] times = new long[0];
+        private long endTime;
+
+        private void add(int elevator, long time) {
+            if (elevator >= times.length) {
+                times = Arrays.copyOf(times, elevator + 1);
+            }
+            times[elevator] += time;
+        }
+
+        private void merge(BusyTimes busyTimes) {
+            for (int i = 0; i < busyTimes.times.length; i++) {
+                add(i, busyTimes.times[i]);
+            }
+            endTime = Math.max(endTime, busyTimes.endTime);
+        }
+    }
+
+    private static class Departures {
+        private final List<ImmutableLongArray.Builder> times = new ArrayList<>();
+
+        private void add(int elevator, long time) {
+            while (elevator >= times.size()) {
+                times.add(ImmutableLongArray.builder());
+            }
+            times.get(elevator).add(time);
+        }
+
+        private void merge(Departures departures) {
+            for (int i = 0; i < departures.times.size(); i++) {
+                while (i >= times.size()) {
+                    times.add(ImmutableLongArray.builder());
+                }
+                times.get(i).addAll(departures.times.get(i).build());
+            }
+        }
+
+        private long[][] toSortedArrays() {
+            long[][] result = new long[times.size()][];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = times.get(i).build().toArray();
+                Arrays.sort(result[i]);
+            }
+
+            return result;
+        }
+    }
+
+    private static class RoundTrips {
+        private final long[][] departures;
+        private final long[][] times;
+
+        private RoundTrips(long[][] departures) {
+            this.departures = departures;
+            this.times = new long[departures.length][];
+            for (int i = 0; i < departures.length; i++) {
+                times[i] = new long[Math.max(0, departures[i].length - 1)];
+            }
+        }
+
+        private void add(int elevator, long startTime, long time) {
+            if (elevator >= departures.length) {
+                return;
+            }
+
+            int index = Arrays.binarySearch(departures[elevator], startTime);
+            int roundTrip = index >= 0 ? index : -index - 2;
+            if (roundTrip >= 0 && roundTrip < times[elevator].length) {
+                times[elevator][roundTrip] += time;
+            }
+        }
+
+        private void merge(RoundTrips roundTrips) {
+            for (int i = 0; i < times.length; i++) {
+                for (int j = 0; j < times[i].length; j++) {
+                    times[i][j] += roundTrips.times[i][j];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package util.lock;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reentrant lock that reports how long each outermost acquisition waited and then held it. Waiting on one of
+ * its conditions releases the lock, so it ends the hold and starts a new one when the thread gets it back.
+ */
+class InstrumentedLock implements Lock {
+    private final ReentrantLock lock;
+    private final LockStatistics statistics;
+    private long holdStartTime;
+
+    InstrumentedLock(ReentrantLock lock, LockStatistics statistics) {
+        this.lock = lock;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void lock() {
+        if (lock.isHeldByCurrentThread()) {
+            lock.lock();
+            return;
+        }
+
+        boolean isContended = lock.isLocked();
+        long startTime = System.nanoTime();
+        lock.lock();
+        acquired(startTime, isContended);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        if (lock.isHeldByCurrentThread()) {
+            lock.lockInterruptibly();
+            return;
+        }
+
+        boolean isContended = lock.isLocked();
+        long startTime = System.nanoTime();
+        lock.lockInterruptibly();
+        acquired(startTime, isContended);
+    }
+
+    @Override
+    public boolean tryLock() {
+        boolean isReentrant = lock.isHeldByCurrentThread();
+        long startTime = System.nanoTime();
+        boolean isAcquired = lock.tryLock();
+        if (isAcquired && !isReentrant) {
+            acquired(startTime, false);
+        }
+
+        return isAcquired;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        boolean isReentrant = lock.isHeldByCurrentThread();
+        boolean isContended = lock.isLocked();
+        long startTime = System.nanoTime();
+        boolean isAcquired = lock.tryLock(time, unit);
+        if (isAcquired && !isReentrant) {
+            acquired(startTime, isContended);
+        }
+
+        return isAcquired;
+    }
+
+    @Override
+    public void unlock() {
+        if (lock.getHoldCount() == 1) {
+            statistics.recordHold(System.nanoTime() - holdStartTime);
+        }
+        lock.unlock();
+    }
+
+    @Override
+    public Condition newCondition() {
+        return new InstrumentedCondition(lock.newCondition());
+    }
+
+    private void acquired(long startTime, boolean isContended) {
+        holdStartTime = System.nanoTime();
+        statistics.recordAcquisition(holdStartTime - startTime, isContended);
+    }
+
+    private class InstrumentedCondition implements Condition {
+        private final Condition condition;
+
+        private InstrumentedCondition(Condition condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        public void await() throws InterruptedException {
+            release();
+            try {
+                condition.await();
+            } finally {
+                reacquire();
+            }
+        }
+
+        @Override
+        public void awaitUninterruptibly() {
+            release();
+            condition.awaitUninterruptibly();
+            reacquire();
+        }
+
+        @Override
+        public long awaitNanos(long nanosTimeout) throws InterruptedException {
+            release();
+            try {
+                return condition.awaitNanos(nanosTimeout);
+            } finally {
+                reacquire();
+            }
+        }
+
+        @Override
+        public boolean await(long time, TimeUnit unit) throws InterruptedException {
+            release();
+            try {
+                return condition.await(time, unit);
+            } finally {
+                reacquire();
+            }
+        }
+
+        @Override
+        public boolean awaitUntil(Date deadline) throws InterruptedException {
+            release();
+            try {
+                return condition.awaitUntil(deadline);
+            } finally {
+                reacquire();
+            }
+        }
+
+        @Override
+        public void signal() {
+            condition.signal();
+        }
+
+        @Override
+        public void signalAll() {
+            condition.signalAll();
+        }
+
+        private void release() {
+            if (lock.isHeldByCurrentThread()) {
+                statistics.recordHold(System.nanoTime() - holdStartTime);
+            }
+        }
+
+        private void reacquire() {
+            if (lock.isHeldByCurrentThread()) {
+                holdStartTime = System.nanoTime();
+            }
+        }
+    }
+}
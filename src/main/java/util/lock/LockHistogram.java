@@ -0,0 +1,72 @@
+package util.lock;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Counts durations in nanoseconds in power-of-two buckets. Coarse, but lock-free and of a fixed size, so every
+ * acquisition of every lock can be recorded without contending on anything but the bucket it falls into.
+ */
+class LockHistogram {
+    private final AtomicLongArray counts;
+    private final LongAdder totalCount;
+    private final LongAdder totalTime;
+    private final AtomicLong maxTime;
+
+    LockHistogram() {
+        this.counts = new AtomicLongArray(Long.SIZE);
+        this.totalCount = new LongAdder();
+        this.totalTime = new LongAdder();
+        this.maxTime = new AtomicLong();
+    }
+
+    void add(long time) {
+        long value = Math.max(0, time);
+        counts.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(value) - (value == 0 ? 0 : 1));
+        totalCount.increment();
+        totalTime.add(value);
+        maxTime.accumulateAndGet(value, Math::max);
+    }
+
+    long getCount() {
+        return totalCount.sum();
+    }
+
+    long getTotalTime() {
+        return totalTime.sum();
+    }
+
+    long getMaxTime() {
+        return maxTime.get();
+    }
+
+    /**
+     * Nearest-rank percentile, reported as the upper bound of its bucket, so it never understates a tail.
+     */
+    long getPercentile(double percentile) {
+        checkArgument(percentile > 0 && percentile <= 100);
+
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), getMaxTime());
+            }
+        }
+
+        return getMaxTime();
+    }
+
+    private static long upperBoundOf(int index) {
+        return index >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << (index + 1)) - 1;
+    }
+}
@@ -0,0 +1,67 @@
+package util.lock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Creates the locks of the building, floors, cars and controller. Plain {@link ReentrantLock}s unless profiling
+ * has been enabled before the building is created; then every lock records its acquisitions into the statistics
+ * of its name, shared by all locks with that name, e.g. the locks of all floors.
+ */
+public final class LockProfiler {
+    private static final Map<String, LockStatistics> statistics = new ConcurrentHashMap<>();
+    private static volatile boolean isEnabled;
+
+    private LockProfiler() {
+    }
+
+    public static void enable() {
+        isEnabled = true;
+    }
+
+    public static void disable() {
+        isEnabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    public static Lock newLock(String name, boolean isFair) {
+        checkNotNull(name);
+
+        return isEnabled
+                ? new InstrumentedLock(new ReentrantLock(isFair), statistics.computeIfAbsent(name, LockStatistics::of))
+                : new ReentrantLock(isFair);
+    }
+
+    /**
+     * Statistics of every profiled lock name, the longest total wait first.
+     */
+    public static List<LockStatistics> getStatistics() {
+        return statistics.values().stream()
+                .sorted(Comparator.comparingLong(LockStatistics::getTotalWaitTime).reversed()
+                        .thenComparing(LockStatistics::getName))
+                .collect(Collectors.toList());
+    }
+
+    public static void writeCsv(Path path) throws IOException {
+        checkNotNull(path);
+
+        List<String> lines = new ArrayList<>();
+        lines.add(LockStatistics.CSV_HEADER);
+        getStatistics().forEach(lockStatistics -> lines.add(lockStatistics.toCsvRow()));
+        Files.write(path, lines);
+    }
+}
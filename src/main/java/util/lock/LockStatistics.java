@@ -0,0 +1,82 @@
+package util.lock;
+
+import lombok.Getter;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acquisitions of all locks with one name: how many there were, how many found the lock taken, and how long
+ * the threads waited for it and then held it. Reentrant acquisitions are not counted.
+ */
+public class LockStatistics {
+    public static final String CSV_HEADER = "lock,acquisitions,contended,wait_total_ns,wait_p50_ns,wait_p99_ns,"
+            + "wait_max_ns,hold_total_ns,hold_p50_ns,hold_p99_ns,hold_max_ns";
+
+    @Getter
+    private final String name;
+    private final LongAdder numberOfContendedAcquisitions;
+    private final LockHistogram waitTimes;
+    private final LockHistogram holdTimes;
+
+    private LockStatistics(String name) {
+        this.name = name;
+        this.numberOfContendedAcquisitions = new LongAdder();
+        this.waitTimes = new LockHistogram();
+        this.holdTimes = new LockHistogram();
+    }
+
+    static LockStatistics of(String name) {
+        return new LockStatistics(name);
+    }
+
+    void recordAcquisition(long waitTime, boolean isContended) {
+        waitTimes.add(waitTime);
+        if (isContended) {
+            numberOfContendedAcquisitions.increment();
+        }
+    }
+
+    void recordHold(long holdTime) {
+        holdTimes.add(holdTime);
+    }
+
+    public long getNumberOfAcquisitions() {
+        return waitTimes.getCount();
+    }
+
+    public long getNumberOfContendedAcquisitions() {
+        return numberOfContendedAcquisitions.sum();
+    }
+
+    public long getTotalWaitTime() {
+        return waitTimes.getTotalTime();
+    }
+
+    public long getWaitTime(double percentile) {
+        return waitTimes.getPercentile(percentile);
+    }
+
+    public long getMaxWaitTime() {
+        return waitTimes.getMaxTime();
+    }
+
+    public long getTotalHoldTime() {
+        return holdTimes.getTotalTime();
+    }
+
+    public long getHoldTime(double percentile) {
+        return holdTimes.getPercentile(percentile);
+    }
+
+    public long getMaxHoldTime() {
+        return holdTimes.getMaxTime();
+    }
+
+    public String toCsvRow() {
+        return String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%d,%d,%d,%d,%d",
+                name, getNumberOfAcquisitions(), getNumberOfContendedAcquisitions(),
+                getTotalWaitTime(), getWaitTime(50), getWaitTime(99), getMaxWaitTime(),
+                getTotalHoldTime(), getHoldTime(50), getHoldTime(99), getMaxHoldTime());
+    }
+}
@@ -0,0 +1,71 @@
+package building;
+
+import building.state.Direction;
+import human.Human;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+
+class BuildingSnapshotTest {
+    public static final int NUMBER_OF_FLOORS = 10;
+    public static final int CAPACITY = 500;
+    public static final int WEIGHT = 80;
+    public static final int START_FLOOR_NUMBER = 3;
+    public static final int TARGET_FLOOR_NUMBER = 7;
+    public static final long HORIZON = 120_000;
+
+    private Building building;
+    private Elevator elevator;
+
+    @BeforeEach
+    void init() {
+        elevator = Elevator.of(CAPACITY);
+        building = Building.of(NUMBER_OF_FLOORS).setController(Controller.getEmpty()).addElevator(elevator);
+        building.addHuman(Human.of(WEIGHT, TARGET_FLOOR_NUMBER, building.getFloor(START_FLOOR_NUMBER)));
+    }
+
+    @Test
+    void captureWaitingPeopleTest() {
+        BuildingSnapshot snapshot = BuildingSnapshot.of(building);
+
+        assertThat(snapshot.getNumberOfPeople(), equalTo(1));
+        assertThat(snapshot.getElevators().get(0), equalTo(elevator));
+    }
+
+    @Test
+    void nobodyIsServedWithoutCallTest() {
+        BuildingSnapshot snapshot = BuildingSnapshot.of(building);
+
+        assertThat(snapshot.simulate(HORIZON), equalTo(HORIZON));
+    }
+
+    @Test
+    void simulateCallTest() {
+        BuildingSnapshot snapshot = BuildingSnapshot.of(building);
+
+        long cost = snapshot.withCall(0, Call.of(START_FLOOR_NUMBER, Direction.UP)).simulate(HORIZON);
+
+        assertThat(cost, equalTo(START_FLOOR_NUMBER * elevator.getTravelTime(1)
+                + elevator.getStopTime() + elevator.getStopTime() / 2));
+    }
+
+    @Test
+    void forkDoesNotChangeSnapshotTest() {
+        BuildingSnapshot snapshot = BuildingSnapshot.of(building);
+
+        snapshot.withCall(0, Call.of(START_FLOOR_NUMBER, Direction.UP));
+
+        assertThat(snapshot.simulate(HORIZON), equalTo(HORIZON));
+    }
+
+    @Test
+    void pickUpOnTheWayTest() {
+        elevator.addCall(Call.of(NUMBER_OF_FLOORS - 1, Direction.UP));
+        BuildingSnapshot snapshot = BuildingSnapshot.of(building);
+
+        assertThat(snapshot.simulate(HORIZON), lessThan(HORIZON));
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import util.HumanGenerator;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
@@ -200,6 +201,82 @@ class BuildingTest {
         assertThrows(IllegalStateException.class, building::stopElevators);
     }
 
+    @Test
+    void findRouteWithoutZonesTest() {
+        Building building = Building.of(VALID_NUMBER_OF_FLOORS)
+                .addElevator(Elevator.of(VALID_ELEVATOR_CAPACITY));
+
+        assertThat(building.findRoute(0, 4), equalTo(Route.of(Zone.ALL, 4)));
+    }
+
+    @Test
+    void findRouteToTheMostSpecificZoneTest() {
+        Zone lowZone = Zone.ofRange(0, 2);
+        Building building = Building.of(VALID_NUMBER_OF_FLOORS)
+                .addElevator(Elevator.of(VALID_ELEVATOR_CAPACITY))
+                .addElevator(Elevator.of(VALID_ELEVATOR_CAPACITY, 0, Elevator.MIN_SPEED, Elevator.MIN_SPEED, lowZone));
+
+        assertThat(building.findRoute(0, 2), equalTo(Route.of(lowZone, 2)));
+        assertThat(building.findRoute(0, 4), equalTo(Route.of(Zone.ALL, 4)));
+    }
+
+    @Test
+    void findRouteWithTransferTest() {
+        Zone lowZone = Zone.ofRange(0, 2);
+        Zone shuttleZone = Zone.of(0, 3);
+        Zone highZone = Zone.ofRange(3, 4);
+        Building building = Building.of(VALID_NUMBER_OF_FLOORS)
+                .addElevator(Elevator.of(VALID_ELEVATOR_CAPACITY, 0, Elevator.MIN_SPEED, Elevator.MIN_SPEED, lowZone))
+                .addElevator(Elevator.of(VALID_ELEVATOR_CAPACITY, 0, Elevator.MIN_SPEED, Elevator.MIN_SPEED, shuttleZone))
+                .addElevator(Elevator.of(VALID_ELEVATOR_CAPACITY, 3, Elevator.MIN_SPEED, Elevator.MIN_SPEED, highZone));
+
+        assertThat(building.findRoute(1, 4), equalTo(Route.of(lowZone, 0)));
+        assertThat(building.findRoute(0, 4), equalTo(Route.of(shuttleZone, 3)));
+        assertThat(building.findRoute(3, 4), equalTo(Route.of(highZone, 4)));
+    }
+
+    @Test
+    void findMissingRouteTest() {
+        Building building = Building.of(VALID_NUMBER_OF_FLOORS)
+                .addElevator(Elevator.of(VALID_ELEVATOR_CAPACITY, 0, Elevator.MIN_SPEED, Elevator.MIN_SPEED,
+                        Zone.ofRange(0, 2)));
+
+        assertThrows(IllegalArgumentException.class, () -> building.findRoute(0, 4));
+    }
+
+    @Test
+    void addElevatorWithZoneAboveTheBuildingTest() {
+        Building building = Building.of(VALID_NUMBER_OF_FLOORS);
+
+        assertThrows(IllegalArgumentException.class, () -> building.addElevator(Elevator.of(VALID_ELEVATOR_CAPACITY,
+                0, Elevator.MIN_SPEED, Elevator.MIN_SPEED, Zone.of(0, VALID_NUMBER_OF_FLOORS))));
+    }
+
+    @Test
+    void addHumansTest() {
+        Building building = Building.of(VALID_NUMBER_OF_FLOORS).setController(Controller.getEmpty());
+        Human firstHuman = Human.of(Human.MIN_WEIGHT, 3, building.getFloor(0));
+        Human secondHuman = Human.of(Human.MIN_WEIGHT, 4, building.getFloor(0));
+        Human thirdHuman = Human.of(Human.MIN_WEIGHT, 0, building.getFloor(2));
+
+        building.addHumans(List.of(firstHuman, secondHuman, thirdHuman));
+
+        assertThat(building.getFloor(0).getHumanQueue(Direction.UP), contains(firstHuman, secondHuman));
+        assertThat(building.getFloor(2).getHumanQueue(Direction.DOWN), contains(thirdHuman));
+    }
+
+    @Test
+    void addHumanFromAnotherBuildingTest() {
+        Building building = Building.of(VALID_NUMBER_OF_FLOORS).setController(Controller.getEmpty());
+        Building anotherBuilding = Building.of(VALID_NUMBER_OF_FLOORS).setController(Controller.getEmpty());
+        Human human = Human.of(Human.MIN_WEIGHT, 3, building.getFloor(0));
+        Human strangeHuman = Human.of(Human.MIN_WEIGHT, 3, anotherBuilding.getFloor(0));
+
+        assertThrows(IllegalArgumentException.class, () -> building.addHuman(strangeHuman));
+        assertThrows(IllegalArgumentException.class, () -> building.addHumans(List.of(human, strangeHuman)));
+        assertThat(building.getFloor(0).getNumberOfPeople(Direction.UP), equalTo(0));
+    }
+
     @SneakyThrows
     @Test
     void deliverPeopleTest() {
@@ -1,9 +1,14 @@
 package building;
 
+import building.dispatch.ControlMode;
+import building.dispatch.OptimizingDispatcher;
+import building.dispatch.ParkingPolicy;
+import building.dispatch.ReassignmentPolicy;
 import building.state.Direction;
 import human.Human;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import util.clock.VirtualClock;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -156,6 +161,204 @@ public class ControllerTest {
         assertThat(secondElevator.getCalls(), not(hasItem(call)));
     }
 
+    @Test
+    void dispatchCallToCompatibleElevatorTest() {
+        Controller controller = Controller.getEmpty();
+        Zone lowZone = Zone.ofRange(0, 4);
+        Zone highZone = Zone.of(0).union(Zone.ofRange(5, 9));
+        Elevator lowElevator = Elevator.of(VALID_ELEVATOR_CAPACITY, 0, Elevator.MIN_SPEED, Elevator.MIN_SPEED, lowZone);
+        Elevator highElevator = Elevator.of(VALID_ELEVATOR_CAPACITY, 0, Elevator.MIN_SPEED, Elevator.MIN_SPEED, highZone);
+
+        Building.of(NUMBER_OF_FLOORS).setController(controller)
+                .addElevator(lowElevator)
+                .addElevator(highElevator);
+
+        Call call = Call.of(0, Direction.UP, highZone);
+
+        controller.addCall(call);
+        controller.dispatchCall();
+
+        assertThat(highElevator.getCalls(), hasItem(call));
+        assertThat(lowElevator.getCalls(), not(hasItem(call)));
+    }
+
+    @Test
+    void doNotDispatchCallToUnservedFloorTest() {
+        Controller controller = Controller.getEmpty();
+        Elevator elevator = Elevator.of(VALID_ELEVATOR_CAPACITY, 0, Elevator.MIN_SPEED, Elevator.MIN_SPEED,
+                Zone.ofRange(0, 4));
+
+        Building.of(NUMBER_OF_FLOORS).setController(controller).addElevator(elevator);
+
+        Call call = Call.of(VALID_SECOND_TARGET_FLOOR_NUMBER, Direction.DOWN);
+
+        controller.addCall(call);
+        controller.dispatchCall();
+
+        assertThat(controller.getAllCalls(), hasItem(call));
+        assertThat(elevator.getCalls(), not(hasItem(call)));
+    }
+
+    @Test
+    void assignSameDestinationToSameElevatorTest() {
+        Controller controller = Controller.getEmpty();
+        controller.setControlMode(ControlMode.DESTINATION);
+        building.addElevator(Elevator.of(VALID_ELEVATOR_CAPACITY))
+                .addElevator(Elevator.of(VALID_ELEVATOR_CAPACITY))
+                .setController(controller);
+
+        Human firstHuman = Human.of(VALID_WEIGHT,
+                VALID_FIRST_TARGET_FLOOR_NUMBER, building.getFloor(VALID_START_FLOOR_NUMBER));
+        Human secondHuman = Human.of(VALID_WEIGHT,
+                VALID_FIRST_TARGET_FLOOR_NUMBER, building.getFloor(VALID_START_FLOOR_NUMBER));
+
+        building.addHuman(firstHuman);
+        building.addHuman(secondHuman);
+
+        assertThat(firstHuman.getAssignedElevator(), notNullValue());
+        assertThat(secondHuman.getAssignedElevator(), sameInstance(firstHuman.getAssignedElevator()));
+        assertThat(firstHuman.getAssignedElevator().getCalls(),
+                contains(Call.of(VALID_START_FLOOR_NUMBER, Direction.UP)));
+        assertThat(controller.getAllCalls(), empty());
+    }
+
+    @Test
+    void assignFullGroupToAnotherElevatorTest() {
+        Controller controller = Controller.getEmpty();
+        controller.setControlMode(ControlMode.DESTINATION);
+        building.addElevator(Elevator.of(VALID_ELEVATOR_CAPACITY))
+                .addElevator(Elevator.of(VALID_ELEVATOR_CAPACITY))
+                .setController(controller);
+
+        Human firstHuman = Human.of(VALID_WEIGHT * 2,
+                VALID_FIRST_TARGET_FLOOR_NUMBER, building.getFloor(VALID_START_FLOOR_NUMBER));
+        Human secondHuman = Human.of(VALID_WEIGHT,
+                VALID_FIRST_TARGET_FLOOR_NUMBER, building.getFloor(VALID_START_FLOOR_NUMBER));
+
+        building.addHuman(firstHuman);
+        building.addHuman(secondHuman);
+
+        assertThat(secondHuman.getAssignedElevator(), not(sameInstance(firstHuman.getAssignedElevator())));
+    }
+
+    @Test
+    void releaseAssignmentsTest() {
+        Controller controller = Controller.getEmpty();
+        controller.setControlMode(ControlMode.DESTINATION);
+        Elevator elevator = Elevator.of(VALID_ELEVATOR_CAPACITY);
+        building.addElevator(elevator).setController(controller);
+
+        Human firstHuman = Human.of(VALID_WEIGHT,
+                VALID_FIRST_TARGET_FLOOR_NUMBER, building.getFloor(VALID_START_FLOOR_NUMBER));
+        Human secondHuman = Human.of(VALID_WEIGHT,
+                VALID_FIRST_TARGET_FLOOR_NUMBER, building.getFloor(VALID_START_FLOOR_NUMBER));
+
+        building.addHuman(firstHuman);
+        controller.releaseAssignments(elevator, VALID_START_FLOOR_NUMBER);
+        building.addHuman(secondHuman);
+
+        assertThat(elevator.getCalls(), hasSize(2));
+    }
+
+    @Test
+    void parkElevatorTest() {
+        Controller controller = Controller.getEmpty();
+        controller.setParkingPolicy(ParkingPolicy.of(NUMBER_OF_FLOORS));
+        Elevator elevator = Elevator.of(VALID_ELEVATOR_CAPACITY, NUMBER_OF_FLOORS - 1);
+        building.addElevator(elevator).setController(controller);
+
+        controller.recordArrival(VALID_START_FLOOR_NUMBER, 0);
+        controller.parkElevator(elevator, 0);
+
+        assertThat(elevator.isParking(), equalTo(true));
+        assertThat(elevator.getCalls(), contains(Call.of(VALID_START_FLOOR_NUMBER, Direction.DOWN)));
+    }
+
+    @Test
+    void doNotParkWithoutPolicyTest() {
+        Controller controller = Controller.getEmpty();
+        Elevator elevator = Elevator.of(VALID_ELEVATOR_CAPACITY, NUMBER_OF_FLOORS - 1);
+        building.addElevator(elevator).setController(controller);
+
+        controller.recordArrival(VALID_START_FLOOR_NUMBER, 0);
+        controller.parkElevator(elevator, 0);
+
+        assertThat(elevator.getCalls(), empty());
+    }
+
+    @Test
+    void reassignCallToCloserElevatorTest() {
+        Controller controller = Controller.getEmpty();
+        controller.setReassignmentPolicy(ReassignmentPolicy.of(0, ReassignmentPolicy.DEFAULT_PERIOD));
+        Elevator farElevator = Elevator.of(VALID_ELEVATOR_CAPACITY, NUMBER_OF_FLOORS - 1);
+        Elevator closeElevator = Elevator.of(VALID_ELEVATOR_CAPACITY, VALID_START_FLOOR_NUMBER);
+        building.addElevator(farElevator).setController(controller);
+
+        Call call = Call.of(VALID_START_FLOOR_NUMBER, Direction.UP);
+        controller.addCall(call);
+        controller.dispatchCall();
+        building.addElevator(closeElevator);
+        controller.reassignCalls();
+
+        assertThat(farElevator.getCalls(), empty());
+        assertThat(closeElevator.getCalls(), contains(call));
+    }
+
+    @Test
+    void optimizeQueuedCallsTest() {
+        Controller controller = Controller.getEmpty();
+        controller.setOptimizingDispatcher(OptimizingDispatcher.of());
+        Elevator lowerElevator = Elevator.of(VALID_ELEVATOR_CAPACITY, Floor.GROUND_FLOOR);
+        Elevator upperElevator = Elevator.of(VALID_ELEVATOR_CAPACITY, NUMBER_OF_FLOORS - 1);
+        building.addElevator(lowerElevator).addElevator(upperElevator).setController(controller);
+
+        Call lowerCall = Call.of(Floor.GROUND_FLOOR + 1, Direction.UP);
+        Call upperCall = Call.of(NUMBER_OF_FLOORS - 2, Direction.DOWN);
+        controller.addCall(lowerCall);
+        controller.addCall(upperCall);
+        controller.optimizeCalls();
+
+        assertThat(controller.getAllCalls(), empty());
+        assertThat(lowerElevator.getCalls(), contains(lowerCall));
+        assertThat(upperElevator.getCalls(), contains(upperCall));
+    }
+
+    @Test
+    void optimizeAssignedCallTest() {
+        Controller controller = Controller.getEmpty();
+        controller.setOptimizingDispatcher(OptimizingDispatcher.of());
+        Elevator farElevator = Elevator.of(VALID_ELEVATOR_CAPACITY, NUMBER_OF_FLOORS - 1);
+        Elevator closeElevator = Elevator.of(VALID_ELEVATOR_CAPACITY, VALID_START_FLOOR_NUMBER);
+        building.addElevator(farElevator).setController(controller);
+
+        Call call = Call.of(VALID_START_FLOOR_NUMBER, Direction.UP);
+        controller.addCall(call);
+        controller.dispatchCall();
+        building.addElevator(closeElevator);
+        controller.optimizeCalls();
+
+        assertThat(farElevator.getCalls(), empty());
+        assertThat(closeElevator.getCalls(), contains(call));
+    }
+
+    @Test
+    void keepCallBelowThresholdTest() {
+        Controller controller = Controller.getEmpty();
+        controller.setReassignmentPolicy(ReassignmentPolicy.of(60_000, ReassignmentPolicy.DEFAULT_PERIOD));
+        Elevator farElevator = Elevator.of(VALID_ELEVATOR_CAPACITY, NUMBER_OF_FLOORS - 1);
+        Elevator closeElevator = Elevator.of(VALID_ELEVATOR_CAPACITY, VALID_START_FLOOR_NUMBER);
+        building.addElevator(farElevator).setController(controller);
+
+        Call call = Call.of(VALID_START_FLOOR_NUMBER, Direction.UP);
+        controller.addCall(call);
+        controller.dispatchCall();
+        building.addElevator(closeElevator);
+        controller.reassignCalls();
+
+        assertThat(farElevator.getCalls(), contains(call));
+        assertThat(closeElevator.getCalls(), empty());
+    }
+
     @Test
     void turnOnTest() {
         Controller controller = Controller.getEmpty();
@@ -174,4 +377,63 @@ public class ControllerTest {
 
         assertThat(controller.isRunning(), equalTo(false));
     }
-}
\ No newline at end of file
+
+    @Test
+    void canCallElevatorTest() {
+        Controller controller = Controller.getEmpty();
+        Elevator elevator = Elevator.of(VALID_ELEVATOR_CAPACITY, VALID_START_FLOOR_NUMBER);
+        building.setClock(VirtualClock.of()).addElevator(elevator).setController(controller);
+        Call upCall = Call.of(VALID_START_FLOOR_NUMBER, Direction.UP);
+        Call downCall = Call.of(VALID_START_FLOOR_NUMBER, Direction.DOWN);
+
+        assertThat(controller.canCallElevator(upCall), equalTo(true));
+
+        elevator.openDoor();
+        elevator.addCall(Call.of(VALID_FIRST_TARGET_FLOOR_NUMBER, Direction.UP));
+
+        assertThat(controller.canCallElevator(upCall), equalTo(false));
+        assertThat(controller.canCallElevator(downCall), equalTo(true));
+        assertThat(controller.canCallElevator(Call.of(VALID_FIRST_TARGET_FLOOR_NUMBER, Direction.UP)),
+                equalTo(true));
+
+        elevator.closeDoor();
+
+        assertThat(controller.canCallElevator(upCall), equalTo(true));
+    }
+
+    @Test
+    void canCallElevatorOfOtherZoneTest() {
+        Controller controller = Controller.getEmpty();
+        Zone lowZone = Zone.ofRange(0, 4);
+        Zone highZone = Zone.of(0).union(Zone.ofRange(5, 9));
+        Elevator lowElevator = Elevator.of(VALID_ELEVATOR_CAPACITY, 0, Elevator.MIN_SPEED, Elevator.MIN_SPEED, lowZone);
+        Elevator highElevator = Elevator.of(VALID_ELEVATOR_CAPACITY, 0, Elevator.MIN_SPEED, Elevator.MIN_SPEED, highZone);
+        building.setClock(VirtualClock.of()).addElevator(lowElevator).addElevator(highElevator)
+                .setController(controller);
+
+        lowElevator.openDoor();
+        lowElevator.addCall(Call.of(3, Direction.UP, lowZone));
+
+        assertThat(controller.canCallElevator(Call.of(0, Direction.UP, lowZone)), equalTo(false));
+        assertThat(controller.canCallElevator(Call.of(0, Direction.UP, highZone)), equalTo(true));
+        assertThat(controller.canCallElevator(Call.of(0, Direction.UP)), equalTo(false));
+
+        highElevator.openDoor();
+        highElevator.addCall(Call.of(7, Direction.UP, highZone));
+
+        assertThat(controller.canCallElevator(Call.of(0, Direction.UP, highZone)), equalTo(false));
+    }
+
+    @Test
+    void canCallElevatorWithoutDirectionTest() {
+        Controller controller = Controller.getEmpty();
+        Elevator elevator = Elevator.of(VALID_ELEVATOR_CAPACITY, VALID_START_FLOOR_NUMBER);
+        building.setClock(VirtualClock.of()).addElevator(elevator);
+        elevator.openDoor();
+
+        building.setController(controller);
+
+        assertThat(controller.canCallElevator(Call.of(VALID_START_FLOOR_NUMBER, Direction.UP)), equalTo(false));
+        assertThat(controller.canCallElevator(Call.of(VALID_START_FLOOR_NUMBER, Direction.DOWN)), equalTo(false));
+    }
+}
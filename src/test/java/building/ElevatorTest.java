@@ -1,13 +1,21 @@
 package building;
 
+import building.dispatch.ControlMode;
 import building.state.Direction;
 import building.state.State;
 import human.Human;
+import org.apache.log4j.Level;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import util.StatisticsHolder;
+import util.clock.VirtualClock;
+
+import java.lang.management.ManagementFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -510,6 +518,207 @@ public class ElevatorTest {
         assertThat(elevator.getPassengers(), not(hasItem(thirdHuman)));
     }
 
+    @Test
+    void travelToTest() {
+        VirtualClock clock = VirtualClock.of();
+        MotionProfile profile = MotionProfile.of(2.5);
+        Elevator elevator = Elevator.of(VALID_CAPACITY, 0, VALID_DOOR_WORK_SPEED, Zone.ALL, profile);
+        building.setClock(clock).addElevator(elevator);
+
+        elevator.travelTo(NUMBER_OF_FLOORS - 1);
+
+        assertThat(elevator.getCurrentFloorNumber(), equalTo(NUMBER_OF_FLOORS - 1));
+        assertThat(elevator.getDirection(), equalTo(Direction.UP));
+        assertThat(clock.currentTime(), equalTo(profile.getTravelTime(NUMBER_OF_FLOORS - 1)));
+    }
+
+    @Test
+    void findNextStopTest() {
+        Floor floor = building.getFloor(VALID_FLOOR_NUMBER + 2);
+        Elevator elevator = Elevator.of(VALID_CAPACITY, 0, VALID_DOOR_WORK_SPEED, Zone.ALL, MotionProfile.of(2.5));
+        building.setClock(VirtualClock.of()).addElevator(elevator);
+
+        elevator.addCall(Call.of(NUMBER_OF_FLOORS - 1, Direction.UP));
+
+        assertThat(elevator.findNextStop(NUMBER_OF_FLOORS - 1), equalTo(NUMBER_OF_FLOORS - 1));
+
+        floor.addHuman(Human.of(VALID_WEIGHT, NUMBER_OF_FLOORS - 2, floor));
+
+        assertThat(elevator.findNextStop(NUMBER_OF_FLOORS - 1), equalTo(VALID_FLOOR_NUMBER + 2));
+    }
+
+    @Test
+    void stepTravelsSeveralFloorsTest() {
+        Elevator elevator = Elevator.of(VALID_CAPACITY, 0, VALID_DOOR_WORK_SPEED, Zone.ALL, MotionProfile.of(2.5));
+        building.setClock(VirtualClock.of()).setStatistics(StatisticsHolder.newInstance()).addElevator(elevator);
+
+        elevator.addCall(Call.of(NUMBER_OF_FLOORS - 1, Direction.UP));
+        elevator.step();
+
+        assertThat(elevator.getCurrentFloorNumber(), equalTo(NUMBER_OF_FLOORS - 1));
+        assertThat(building.getStatistics().getNumberOfPassedFloors(), equalTo(NUMBER_OF_FLOORS - 1));
+    }
+
+    @Test
+    void cancelParkingTest() {
+        Elevator elevator = Elevator.of(VALID_CAPACITY);
+        building.addElevator(elevator);
+
+        elevator.parkAt(NUMBER_OF_FLOORS - 1);
+
+        assertThat(elevator.isParking(), equalTo(true));
+        assertThat(elevator.isIdle(), equalTo(true));
+
+        elevator.addCall(Call.of(VALID_FLOOR_NUMBER, Direction.UP));
+
+        assertThat(elevator.isParking(), equalTo(false));
+        assertThat(elevator.getCalls(), contains(Call.of(VALID_FLOOR_NUMBER, Direction.UP)));
+    }
+
+    @Test
+    void arriveAtParkingFloorTest() {
+        Elevator elevator = Elevator.of(VALID_CAPACITY, 0, VALID_DOOR_WORK_SPEED, Zone.ALL, MotionProfile.of(2.5));
+        building.setClock(VirtualClock.of()).addElevator(elevator);
+
+        elevator.parkAt(VALID_FLOOR_NUMBER);
+        elevator.step();
+        elevator.step();
+
+        assertThat(elevator.getCurrentFloorNumber(), equalTo(VALID_FLOOR_NUMBER));
+        assertThat(elevator.isParking(), equalTo(false));
+        assertThat(elevator.getState(), equalTo(State.MOVE));
+        assertThat(elevator.hasCalls(), equalTo(false));
+    }
+
+    @Test
+    void revokeCallTest() {
+        Elevator elevator = Elevator.of(VALID_CAPACITY);
+        building.addElevator(elevator);
+        Call call = Call.of(VALID_FLOOR_NUMBER, Direction.UP);
+
+        elevator.addCall(call);
+
+        assertThat(elevator.revokeCall(call), equalTo(true));
+        assertThat(elevator.getCalls(), empty());
+        assertThat(elevator.revokeCall(call), equalTo(false));
+    }
+
+    @Test
+    void destinationDirectionTest() {
+        Elevator elevator = Elevator.of(VALID_CAPACITY);
+        building.addElevator(elevator);
+        Call downCall = Call.of(VALID_FLOOR_NUMBER, Direction.DOWN);
+        Call upCall = Call.of(VALID_FLOOR_NUMBER + 1, Direction.UP);
+
+        assertThat(elevator.getDestinationDirection(), equalTo(Direction.NONE));
+
+        elevator.addCall(downCall);
+        elevator.addCall(upCall);
+        assertThat(elevator.getDestinationDirection(), equalTo(Direction.DOWN));
+
+        elevator.revokeCall(downCall);
+        assertThat(elevator.getDestinationDirection(), equalTo(Direction.UP));
+
+        elevator.revokeCall(upCall);
+        assertThat(elevator.getDestinationDirection(), equalTo(Direction.NONE));
+    }
+
+    @Test
+    void doNotRevokeServedCallTest() {
+        Elevator elevator = Elevator.of(VALID_CAPACITY, VALID_FLOOR_NUMBER);
+        building.addElevator(elevator);
+        Call call = Call.of(VALID_FLOOR_NUMBER, Direction.UP);
+
+        elevator.addCall(call);
+
+        assertThat(elevator.revokeCall(call), equalTo(false));
+        assertThat(elevator.getCalls(), contains(call));
+    }
+
+    @Test
+    void estimatedArrivalTimeOfIdleElevatorTest() {
+        Elevator elevator = Elevator.of(VALID_CAPACITY);
+        building.addElevator(elevator);
+
+        assertThat(elevator.getEstimatedArrivalTime(0, Direction.UP), equalTo(0L));
+        assertThat(elevator.getEstimatedArrivalTime(3, Direction.DOWN), equalTo(3 * elevator.getTravelTime(1)));
+    }
+
+    @Test
+    void estimatedArrivalTimeOnTheWayTest() {
+        Elevator elevator = Elevator.of(VALID_CAPACITY);
+        building.addElevator(elevator);
+        long floorTime = elevator.getTravelTime(1);
+        long stopTime = 2 * (Elevator.DEFAULT_OPERATION_TIME - elevator.getDoorWorkSpeed());
+
+        elevator.addCall(Call.of(5, Direction.UP));
+
+        assertThat(elevator.getEstimatedArrivalTime(3, Direction.UP), equalTo(3 * floorTime));
+        assertThat(elevator.getEstimatedArrivalTime(3, Direction.DOWN), equalTo(7 * floorTime + stopTime));
+        assertThat(elevator.getEstimatedArrivalTime(8, Direction.UP), equalTo(8 * floorTime + stopTime));
+    }
+
+    @Test
+    void estimatedArrivalTimeWithIntermediateStopTest() {
+        Elevator elevator = Elevator.of(VALID_CAPACITY);
+        building.addElevator(elevator);
+        long floorTime = elevator.getTravelTime(1);
+        long stopTime = 2 * (Elevator.DEFAULT_OPERATION_TIME - elevator.getDoorWorkSpeed());
+
+        elevator.addCall(Call.of(6, Direction.UP));
+        elevator.addCall(Call.of(2, Direction.UP));
+
+        assertThat(elevator.getEstimatedArrivalTime(6, Direction.UP), equalTo(6 * floorTime + stopTime));
+    }
+
+    @Test
+    void estimatedArrivalTimeIsInvalidatedTest() {
+        Elevator elevator = Elevator.of(VALID_CAPACITY);
+        building.addElevator(elevator);
+        long floorTime = elevator.getTravelTime(1);
+        long stopTime = 2 * (Elevator.DEFAULT_OPERATION_TIME - elevator.getDoorWorkSpeed());
+
+        assertThat(elevator.getEstimatedArrivalTime(5, Direction.DOWN), equalTo(5 * floorTime));
+
+        elevator.addCall(Call.of(8, Direction.UP));
+
+        assertThat(elevator.getEstimatedArrivalTime(5, Direction.DOWN), equalTo(11 * floorTime + stopTime));
+
+        elevator.revokeCall(Call.of(8, Direction.UP));
+
+        assertThat(elevator.getEstimatedArrivalTime(5, Direction.DOWN), equalTo(5 * floorTime));
+    }
+
+    @Test
+    void estimatedArrivalTimeWithMotionProfileTest() {
+        MotionProfile profile = MotionProfile.of(2.5);
+        Elevator elevator = Elevator.of(VALID_CAPACITY, 0, VALID_DOOR_WORK_SPEED, Zone.ALL, profile);
+        building.setClock(VirtualClock.of()).addElevator(elevator);
+
+        assertThat(elevator.getEstimatedArrivalTime(7, Direction.UP), equalTo(profile.getTravelTime(7)));
+    }
+
+    @Test
+    void loadAssignedHumansTest() {
+        Floor floor = building.getFloor(VALID_FLOOR_NUMBER);
+        Floor upperFloor = building.getFloor(VALID_FLOOR_NUMBER + 1);
+        Floor lowerFloor = building.getFloor(VALID_FLOOR_NUMBER - 1);
+        Controller controller = Controller.getEmpty();
+        controller.setControlMode(ControlMode.DESTINATION);
+        Elevator elevator = Elevator.of(VALID_CAPACITY, floor);
+        building.setController(controller).addElevator(elevator);
+        Human firstHuman = Human.of(VALID_WEIGHT, upperFloor, floor);
+        Human secondHuman = Human.of(VALID_WEIGHT, lowerFloor, floor);
+
+        floor.addHuman(firstHuman);
+        floor.addHuman(secondHuman);
+
+        elevator.load();
+
+        assertThat(elevator.getPassengers(), contains(firstHuman, secondHuman));
+        assertThat(floor.getFirstAssignedHuman(elevator), nullValue());
+    }
+
     @Test
     void loadFromUpQueueTest() {
         Floor floor = building.getFloor(VALID_FLOOR_NUMBER);
@@ -678,4 +887,48 @@ public class ElevatorTest {
 
         assertThat(elevator.isRunning(), equalTo(false));
     }
+
+    static Object[][] steadyStepData() {
+        return new Object[][]{
+                {Elevator.of(VALID_CAPACITY, 0, VALID_MOVE_SPEED, VALID_DOOR_WORK_SPEED)},
+                {Elevator.of(VALID_CAPACITY, 0, VALID_DOOR_WORK_SPEED, Zone.ALL, MotionProfile.of(2.5))}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("steadyStepData")
+    void steadyStepDoesNotAllocateTest(Elevator elevator) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Logger logger = LogManager.getRootLogger();
+        Level level = logger.getLevel();
+        building.setClock(VirtualClock.of()).addElevator(elevator);
+        Call upCall = Call.of(NUMBER_OF_FLOORS - 1, Direction.UP);
+        Call downCall = Call.of(Floor.GROUND_FLOOR, Direction.DOWN);
+
+        logger.setLevel(Level.WARN);
+        try {
+            shuttle(elevator, upCall, downCall, 20_000);
+            long allocatedBytes = threads.getCurrentThreadAllocatedBytes();
+            int numberOfSteps = shuttle(elevator, upCall, downCall, 20_000);
+            allocatedBytes = threads.getCurrentThreadAllocatedBytes() - allocatedBytes;
+
+            assertThat(numberOfSteps, greaterThan(20_000));
+            assertThat((double) allocatedBytes / numberOfSteps, lessThan(0.1));
+        } finally {
+            logger.setLevel(level);
+        }
+    }
+
+    private static int shuttle(Elevator elevator, Call upCall, Call downCall, int numberOfRuns) {
+        int numberOfSteps = 0;
+        for (int i = 0; i < numberOfRuns; i++) {
+            elevator.addCall(i % 2 == 0 ? upCall : downCall);
+            while (elevator.step()) {
+                numberOfSteps++;
+            }
+            elevator.idle();
+        }
+
+        return numberOfSteps;
+    }
 }
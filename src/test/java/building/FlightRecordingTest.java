@@ -0,0 +1,73 @@
+package building;
+
+import building.dispatch.ControlMode;
+import building.dispatch.NearestCarStrategy;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import simulation.Simulation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class FlightRecordingTest {
+    public static final int NUMBER_OF_FLOORS = 10;
+    public static final int ARRIVAL_RATE = 10;
+    public static final long DURATION = 5 * Simulation.MILLIS_IN_MINUTE;
+    public static final long SEED = 7;
+
+    static Object[][] recordEventsData() {
+        return new Object[][]{
+                {ControlMode.CONVENTIONAL},
+                {ControlMode.DESTINATION}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("recordEventsData")
+    void recordEventsTest(ControlMode controlMode, @TempDir Path directory) throws IOException {
+        Controller controller = Controller.of(NearestCarStrategy.of());
+        controller.setControlMode(controlMode);
+        Building building = Building.of(NUMBER_OF_FLOORS).setController(controller);
+        for (int i = 0; i < 2; i++) {
+            building.addElevator(Elevator.of(500, 0, 100, 100, Zone.ALL));
+        }
+        Path path = directory.resolve("simulation.jfr");
+
+        assertThat(FlightRecording.isRecording(), is(false));
+        try (Recording recording = new Recording()) {
+            recording.enable("elevators.ElevatorState");
+            recording.enable("elevators.Boarding");
+            recording.enable("elevators.Dispatch");
+            recording.enable("elevators.FloorQueue");
+            recording.start();
+            assertThat(FlightRecording.isRecording(), is(true));
+
+            Simulation.of(building, ARRIVAL_RATE, 50, 100, DURATION, SEED).run();
+
+            recording.stop();
+            recording.dump(path);
+        }
+        assertThat(FlightRecording.isRecording(), is(false));
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(path);
+        Set<String> names = events.stream()
+                .map(event -> event.getEventType().getName())
+                .collect(Collectors.toSet());
+        assertThat(names, hasItems("elevators.ElevatorState", "elevators.Boarding", "elevators.Dispatch",
+                "elevators.FloorQueue"));
+        assertThat(events.stream()
+                .filter(event -> event.getEventType().getName().equals("elevators.Boarding"))
+                .mapToInt(event -> event.getInt("numberOfBoarded"))
+                .sum(), greaterThan(0));
+    }
+}
@@ -1,10 +1,14 @@
 package building;
 
+import building.dispatch.ControlMode;
 import building.state.Direction;
 import human.Human;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -328,4 +332,130 @@ class FloorTest {
         assertThat(building.getController().getAllCalls(),
                 hasItem(Call.of(floor.getFloorNumber(), direction)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void addHumanToZoneQueueTest() {
+        Zone lowZone = Zone.ofRange(0, 4);
+        Zone highZone = Zone.of(0).union(Zone.ofRange(5, 9));
+        Building zonedBuilding = Building.of(NUMBER_OF_FLOORS)
+                .addElevator(Elevator.of(VALID_ELEVATOR_CAPACITY, 0, Elevator.MIN_SPEED, Elevator.MIN_SPEED, lowZone))
+                .addElevator(Elevator.of(VALID_ELEVATOR_CAPACITY, 0, Elevator.MIN_SPEED, Elevator.MIN_SPEED, highZone))
+                .setController(Controller.getEmpty());
+        Floor floor = zonedBuilding.getFloor(0);
+        Human lowHuman = Human.of(VALID_WEIGHT, 3, floor);
+        Human highHuman = Human.of(VALID_WEIGHT, 7, floor);
+
+        floor.addHuman(lowHuman);
+        floor.addHuman(highHuman);
+
+        assertThat(floor.getFirstHuman(Direction.UP, lowZone), equalTo(lowHuman));
+        assertThat(floor.getFirstHuman(Direction.UP, highZone), equalTo(highHuman));
+        assertThat(floor.getNumberOfPeople(Direction.UP), equalTo(2));
+        assertThat(zonedBuilding.getController().getAllCalls(),
+                containsInAnyOrder(Call.of(0, Direction.UP, lowZone), Call.of(0, Direction.UP, highZone)));
+    }
+
+    @Test
+    void addHumanWithDestinationControlTest() {
+        Controller controller = Controller.getEmpty();
+        controller.setControlMode(ControlMode.DESTINATION);
+        Elevator elevator = Elevator.of(VALID_ELEVATOR_CAPACITY);
+        Building destinationBuilding = Building.of(NUMBER_OF_FLOORS).addElevator(elevator).setController(controller);
+        Floor floor = destinationBuilding.getFloor(0);
+        Human human = Human.of(VALID_WEIGHT, 3, floor);
+
+        floor.addHuman(human);
+
+        assertThat(human.getAssignedElevator(), sameInstance(elevator));
+        assertThat(floor.getFirstAssignedHuman(elevator), equalTo(human));
+        assertThat(floor.getFirstHuman(Direction.UP), nullValue());
+        assertThat(floor.getNumberOfPeople(Direction.UP), equalTo(1));
+        assertThat(controller.getAllCalls(), empty());
+    }
+
+    @Test
+    void releaseAssignedHumansTest() {
+        Controller controller = Controller.getEmpty();
+        controller.setControlMode(ControlMode.DESTINATION);
+        Elevator elevator = Elevator.of(VALID_ELEVATOR_CAPACITY);
+        Building destinationBuilding = Building.of(NUMBER_OF_FLOORS).addElevator(elevator).setController(controller);
+        Floor floor = destinationBuilding.getFloor(0);
+        Human human = Human.of(VALID_WEIGHT, 3, floor);
+
+        floor.addHuman(human);
+        floor.releaseAssignedHumans(elevator);
+
+        assertThat(human.getAssignedElevator(), nullValue());
+        assertThat(floor.getFirstAssignedHuman(elevator), nullValue());
+        assertThat(floor.getFirstHuman(Direction.UP), equalTo(human));
+        assertThat(controller.getAllCalls(), contains(Call.of(0, Direction.UP)));
+    }
+
+    @Test
+    void pollFirstHumanFromZoneQueueTest() {
+        Zone lowZone = Zone.ofRange(0, 4);
+        Zone highZone = Zone.of(0).union(Zone.ofRange(5, 9));
+        Building zonedBuilding = Building.of(NUMBER_OF_FLOORS)
+                .addElevator(Elevator.of(VALID_ELEVATOR_CAPACITY, 0, Elevator.MIN_SPEED, Elevator.MIN_SPEED, lowZone))
+                .addElevator(Elevator.of(VALID_ELEVATOR_CAPACITY, 0, Elevator.MIN_SPEED, Elevator.MIN_SPEED, highZone))
+                .setController(Controller.getEmpty());
+        Floor floor = zonedBuilding.getFloor(0);
+        Human lowHuman = Human.of(VALID_WEIGHT, 3, floor);
+        Human highHuman = Human.of(VALID_WEIGHT, 7, floor);
+
+        floor.addHuman(lowHuman);
+        floor.addHuman(highHuman);
+
+        assertThat(floor.pollFirstHuman(Direction.UP, highZone), equalTo(highHuman));
+        assertThat(floor.getHumanQueue(Direction.UP), contains(lowHuman));
+    }
+
+    @Test
+    void pollAssignedHumansTest() {
+        Controller controller = Controller.getEmpty();
+        controller.setControlMode(ControlMode.DESTINATION);
+        Elevator elevator = Elevator.of(VALID_ELEVATOR_CAPACITY);
+        Building destinationBuilding = Building.of(NUMBER_OF_FLOORS).addElevator(elevator).setController(controller);
+        Floor floor = destinationBuilding.getFloor(0);
+        Human firstHuman = Human.of(VALID_WEIGHT, 3, floor);
+        Human secondHuman = Human.of(VALID_WEIGHT, 4, floor);
+        Human thirdHuman = Human.of(VALID_WEIGHT, 5, floor);
+
+        floor.addHuman(firstHuman);
+        floor.addHuman(secondHuman);
+        floor.addHuman(thirdHuman);
+
+        List<Human> humans = new ArrayList<>();
+        floor.pollAssignedHumans(elevator, 2 * VALID_WEIGHT + 1, humans);
+
+        assertThat(humans, contains(firstHuman, secondHuman));
+        assertThat(floor.getNumberOfPeople(Direction.UP), equalTo(1));
+
+        floor.pollAssignedHumans(elevator, VALID_WEIGHT - 1, humans);
+
+        assertThat(humans, hasSize(2));
+        assertThat(floor.getFirstAssignedHuman(elevator), equalTo(thirdHuman));
+    }
+
+    @Test
+    void numberOfPeopleFollowsLongQueuesTest() {
+        Floor floor = building.getFloor(VALID_FLOOR_NUMBER);
+        int numberOfPeopleUp = 300;
+        int numberOfPeopleDown = 200;
+
+        for (int i = 0; i < numberOfPeopleUp; i++) {
+            floor.addHuman(Human.of(VALID_WEIGHT, NUMBER_OF_FLOORS - 1, floor));
+        }
+        for (int i = 0; i < numberOfPeopleDown; i++) {
+            floor.addHuman(Human.of(VALID_WEIGHT, 0, floor));
+        }
+        for (int i = 0; i < numberOfPeopleUp / 2; i++) {
+            floor.pollFirstHuman(Direction.UP);
+        }
+
+        assertThat(floor.getNumberOfPeople(Direction.UP), equalTo(numberOfPeopleUp / 2));
+        assertThat(floor.getNumberOfPeople(Direction.DOWN), equalTo(numberOfPeopleDown));
+        assertThat(floor.getNumberOfPeople(Direction.NONE), equalTo(numberOfPeopleDown));
+        assertThat(floor.getHumanQueue(Direction.UP), hasSize(numberOfPeopleUp / 2));
+    }
+}
@@ -0,0 +1,65 @@
+package building;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MotionProfileTest {
+    public static final double ERROR = 1e-9;
+
+    static Object[][] travelSecondsData() {
+        return new Object[][]{
+                {1.0, 1.0, 1.0, 10.0, 12.0},
+                {2.0, 1.0, 2.0, 2.0, 2 * ((Math.sqrt(8.25) - 0.5) / 2 + 0.5)},
+                {2.0, 1.0, 2.0, 0.25, 4 * Math.cbrt(0.25 / 4)},
+                {1.0, 1.0, 1.0, 0.0, 0.0}
+        };
+    }
+
+    static Object[][] invalidProfileData() {
+        return new Object[][]{
+                {0.0, 1.0, 1.0, 1.0},
+                {3.0, 0.0, 1.0, 1.0},
+                {3.0, 1.0, -1.0, 1.0},
+                {3.0, 1.0, 1.0, 0.0}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("travelSecondsData")
+    void travelSecondsTest(double ratedSpeed, double acceleration, double jerk, double distance, double seconds) {
+        MotionProfile profile = MotionProfile.of(1, ratedSpeed, acceleration, jerk);
+
+        assertThat(profile.getTravelSeconds(distance), closeTo(seconds, ERROR));
+    }
+
+    @Test
+    void travelTimeTest() {
+        MotionProfile profile = MotionProfile.of(4, 1, 1, 1);
+
+        assertThat(profile.getTravelTime(0), equalTo(0L));
+        assertThat(profile.getTravelTime(3), equalTo(14_000L));
+    }
+
+    @Test
+    void multiFloorRunIsFasterThanSingleFloorRunsTest() {
+        MotionProfile profile = MotionProfile.of(2.5);
+
+        assertThat(profile.getTravelTime(20), lessThan(20 * profile.getTravelTime(1)));
+        assertThat(profile.getTravelTime(20), greaterThan(profile.getTravelTime(19)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidProfileData")
+    void invalidProfileTest(double floorHeight, double ratedSpeed, double acceleration, double jerk) {
+        assertThrows(IllegalArgumentException.class,
+                () -> MotionProfile.of(floorHeight, ratedSpeed, acceleration, jerk));
+    }
+}
@@ -0,0 +1,53 @@
+package building;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class SpeedReadingTest {
+    public static final long WALL_SECOND = 1_000_000_000;
+
+    @Test
+    void ratesTest() {
+        SpeedReading reading = SpeedReading.of(2 * WALL_SECOND, 60_000, 500, 40, 1 << 21);
+
+        assertThat(reading.getSimulatedTimeRate(), closeTo(30, 1e-9));
+        assertThat(reading.getStepRate(), closeTo(250, 1e-9));
+        assertThat(reading.getPassengerRate(), closeTo(20, 1e-9));
+        assertThat(reading.getAllocationRate(), closeTo(1 << 20, 1e-9));
+        assertThat(reading.toString(), equalTo(
+                "30.0 simulated s/s, 250 steps/s, 20.0 delivered people/s, 1.0 MB/s allocated"));
+    }
+
+    @Test
+    void sinceTest() {
+        SpeedReading start = SpeedReading.of(WALL_SECOND, 1_000, 10, 1, 100);
+        SpeedReading end = SpeedReading.of(3 * WALL_SECOND, 5_000, 30, 5, 300);
+
+        SpeedReading reading = end.since(start);
+
+        assertThat(reading.getWallTime(), equalTo(2 * WALL_SECOND));
+        assertThat(reading.getSimulatedTime(), equalTo(4_000L));
+        assertThat(reading.getNumberOfSteps(), equalTo(20L));
+        assertThat(reading.getNumberOfDeliveredPeople(), equalTo(4L));
+        assertThat(reading.getAllocatedBytes(), equalTo(200L));
+    }
+
+    @Test
+    void unknownAllocationsTest() {
+        SpeedReading reading = SpeedReading.of(WALL_SECOND, 1_000, 10, 1, 100)
+                .since(SpeedReading.of(0, 0, 0, 0, -1));
+
+        assertThat(reading.getAllocatedBytes(), equalTo(-1L));
+        assertThat(reading.getAllocationRate(), equalTo(-1.0));
+    }
+
+    @Test
+    void emptyReadingTest() {
+        SpeedReading reading = SpeedReading.of(0, 0, 0, 0, 0);
+
+        assertThat(reading.getSimulatedTimeRate(), equalTo(0.0));
+        assertThat(reading.getStepRate(), equalTo(0.0));
+    }
+}
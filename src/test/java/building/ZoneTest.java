@@ -0,0 +1,64 @@
+package building;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ZoneTest {
+    @Test
+    void servesRangeTest() {
+        Zone zone = Zone.ofRange(5, 10);
+
+        assertThat(zone.serves(5), equalTo(true));
+        assertThat(zone.serves(10), equalTo(true));
+        assertThat(zone.serves(4), equalTo(false));
+        assertThat(zone.serves(11), equalTo(false));
+        assertThat(zone.getNumberOfFloors(), equalTo(6));
+    }
+
+    @Test
+    void servesExpressFloorsTest() {
+        Zone zone = Zone.of(0, 30);
+
+        assertThat(zone.serves(0), equalTo(true));
+        assertThat(zone.serves(15), equalTo(false));
+        assertThat(zone.serves(30), equalTo(true));
+        assertThat(zone.getHighestFloorNumber(), equalTo(30));
+    }
+
+    @Test
+    void allZoneTest() {
+        assertThat(Zone.ALL.serves(100), equalTo(true));
+        assertThat(Zone.ALL.intersects(Zone.of(3)), equalTo(true));
+        assertThat(Zone.ofRange(0, 3).union(Zone.ALL), equalTo(Zone.ALL));
+    }
+
+    @Test
+    void unionTest() {
+        assertThat(Zone.ofRange(0, 2).union(Zone.of(3)), equalTo(Zone.ofRange(0, 3)));
+    }
+
+    @Test
+    void nearestCommonFloorTest() {
+        Zone lowZone = Zone.ofRange(0, 20);
+        Zone shuttleZone = Zone.of(0, 20, 40);
+
+        assertThat(lowZone.getNearestCommonFloor(shuttleZone, 5), equalTo(0));
+        assertThat(lowZone.getNearestCommonFloor(shuttleZone, 15), equalTo(20));
+        assertThat(lowZone.getNearestCommonFloor(shuttleZone, 20), equalTo(0));
+    }
+
+    @Test
+    void nearestCommonFloorOfDisjointZonesTest() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Zone.ofRange(0, 5).getNearestCommonFloor(Zone.ofRange(6, 10), 0));
+    }
+
+    @Test
+    void invalidZoneTest() {
+        assertThrows(IllegalArgumentException.class, () -> Zone.ofRange(5, 4));
+        assertThrows(IllegalArgumentException.class, () -> Zone.of(-1));
+    }
+}
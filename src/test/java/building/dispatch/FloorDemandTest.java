@@ -0,0 +1,42 @@
+package building.dispatch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FloorDemandTest {
+    public static final int NUMBER_OF_FLOORS = 10;
+    public static final long HALF_LIFE = 60_000;
+    public static final double ERROR = 1e-9;
+
+    @Test
+    void recordTest() {
+        FloorDemand demand = FloorDemand.of(NUMBER_OF_FLOORS, HALF_LIFE);
+
+        demand.record(3, 0);
+        demand.record(3, 0);
+
+        assertThat(demand.getDemand(3, 0), closeTo(2, ERROR));
+        assertThat(demand.getDemand(4, 0), closeTo(0, ERROR));
+    }
+
+    @Test
+    void decayTest() {
+        FloorDemand demand = FloorDemand.of(NUMBER_OF_FLOORS, HALF_LIFE);
+
+        demand.record(3, 0);
+        demand.record(3, HALF_LIFE);
+
+        assertThat(demand.getDemand(3, HALF_LIFE), closeTo(1.5, ERROR));
+        assertThat(demand.getDemand(3, 3 * HALF_LIFE), closeTo(0.375, ERROR));
+    }
+
+    @Test
+    void invalidFloorTest() {
+        FloorDemand demand = FloorDemand.of(NUMBER_OF_FLOORS, HALF_LIFE);
+
+        assertThrows(IllegalArgumentException.class, () -> demand.record(NUMBER_OF_FLOORS, 0));
+    }
+}
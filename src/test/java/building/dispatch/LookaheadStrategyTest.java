@@ -0,0 +1,49 @@
+package building.dispatch;
+
+import building.Building;
+import building.Call;
+import building.Controller;
+import building.Elevator;
+import building.state.Direction;
+import human.Human;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LookaheadStrategyTest {
+    public static final int NUMBER_OF_FLOORS = 10;
+    public static final int CAPACITY = 500;
+    public static final int WEIGHT = 80;
+    public static final int START_FLOOR_NUMBER = 8;
+
+    @Test
+    void selectCloserElevatorTest() {
+        Elevator lowerElevator = Elevator.of(CAPACITY, 0);
+        Elevator upperElevator = Elevator.of(CAPACITY, NUMBER_OF_FLOORS - 1);
+        Building building = Building.of(NUMBER_OF_FLOORS).setController(Controller.getEmpty())
+                .addElevator(lowerElevator)
+                .addElevator(upperElevator);
+        building.addHuman(Human.of(WEIGHT, 0, building.getFloor(START_FLOOR_NUMBER)));
+
+        Optional<Elevator> elevator = LookaheadStrategy.of().selectElevator(
+                Call.of(START_FLOOR_NUMBER, Direction.DOWN), List.of(lowerElevator, upperElevator));
+
+        assertThat(elevator, equalTo(Optional.of(upperElevator)));
+    }
+
+    @Test
+    void noElevatorsTest() {
+        assertThat(LookaheadStrategy.of().selectElevator(Call.of(START_FLOOR_NUMBER, Direction.DOWN), List.of()),
+                equalTo(Optional.empty()));
+    }
+
+    @Test
+    void invalidHorizonTest() {
+        assertThrows(IllegalArgumentException.class, () -> LookaheadStrategy.of(0));
+    }
+}
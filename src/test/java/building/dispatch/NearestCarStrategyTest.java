@@ -0,0 +1,72 @@
+package building.dispatch;
+
+import building.Building;
+import building.Call;
+import building.Controller;
+import building.Elevator;
+import building.state.Direction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import util.clock.VirtualClock;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class NearestCarStrategyTest {
+    public static final int NUMBER_OF_FLOORS = 10;
+    public static final int CAPACITY = 200;
+    public static Building building;
+
+    @BeforeEach
+    void init() {
+        building = Building.of(NUMBER_OF_FLOORS)
+                .setClock(VirtualClock.of())
+                .setController(Controller.of(NearestCarStrategy.of()));
+    }
+
+    @Test
+    void selectApproachingElevatorTest() {
+        Elevator idleElevator = Elevator.of(CAPACITY, 9);
+        Elevator movingElevator = Elevator.of(CAPACITY, 1);
+        building.addElevator(idleElevator).addElevator(movingElevator);
+
+        movingElevator.addCall(Call.of(8, Direction.UP));
+        movingElevator.goUp();
+
+        Optional<Elevator> elevator = NearestCarStrategy.of()
+                .selectElevator(Call.of(4, Direction.UP), building.getElevators());
+
+        assertThat(elevator, equalTo(Optional.of(movingElevator)));
+    }
+
+    @Test
+    void skipElevatorMovingInOtherDirectionTest() {
+        Elevator idleElevator = Elevator.of(CAPACITY, 9);
+        Elevator movingElevator = Elevator.of(CAPACITY, 1);
+        building.addElevator(idleElevator).addElevator(movingElevator);
+
+        movingElevator.addCall(Call.of(8, Direction.UP));
+        movingElevator.goUp();
+
+        Optional<Elevator> elevator = NearestCarStrategy.of()
+                .selectElevator(Call.of(4, Direction.DOWN), building.getElevators());
+
+        assertThat(elevator, equalTo(Optional.of(idleElevator)));
+    }
+
+    @Test
+    void noSuitableElevatorTest() {
+        Elevator movingElevator = Elevator.of(CAPACITY, 5);
+        building.addElevator(movingElevator);
+
+        movingElevator.addCall(Call.of(8, Direction.UP));
+        movingElevator.goUp();
+
+        Optional<Elevator> elevator = NearestCarStrategy.of()
+                .selectElevator(Call.of(2, Direction.UP), building.getElevators());
+
+        assertThat(elevator, equalTo(Optional.empty()));
+    }
+}
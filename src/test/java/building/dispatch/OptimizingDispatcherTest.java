@@ -0,0 +1,110 @@
+package building.dispatch;
+
+import building.Call;
+import building.Elevator;
+import building.state.Direction;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OptimizingDispatcherTest {
+    public static final int CAPACITY = 500;
+    public static final long STOP_TIME = 4_000;
+    public static final long BUDGET = 50;
+    public static final long TIMEOUT = 5_000;
+
+    private final Elevator firstElevator = Elevator.of(CAPACITY);
+    private final Elevator secondElevator = Elevator.of(CAPACITY);
+    private final Call firstCall = Call.of(3, Direction.UP);
+    private final Call secondCall = Call.of(5, Direction.UP);
+
+    private AssignmentProblem createProblem(long[][] arrivalTimes, int[] currentAssignment) {
+        return AssignmentProblem.of(List.of(firstCall, secondCall), List.of(firstElevator, secondElevator),
+                arrivalTimes, new long[]{STOP_TIME, STOP_TIME}, currentAssignment);
+    }
+
+    @Test
+    void spreadCallsBetweenElevatorsTest() {
+        AssignmentProblem problem = createProblem(new long[][]{{1_000, 1_500}, {1_000, 1_500}},
+                new int[]{AssignmentProblem.UNASSIGNED, AssignmentProblem.UNASSIGNED});
+
+        Map<Call, Elevator> plan = OptimizingDispatcher.of(BUDGET).optimize(problem);
+
+        assertThat(plan.keySet(), containsInAnyOrder(firstCall, secondCall));
+        assertThat(plan.get(firstCall), not(sameInstance(plan.get(secondCall))));
+    }
+
+    @Test
+    void keepCurrentAssignmentTest() {
+        AssignmentProblem problem = createProblem(new long[][]{{2_000, 2_500}, {1_000, 1_000}},
+                new int[]{0, 1});
+
+        Map<Call, Elevator> plan = OptimizingDispatcher.of(BUDGET).optimize(problem);
+
+        assertThat(plan.get(firstCall), sameInstance(firstElevator));
+        assertThat(plan.get(secondCall), sameInstance(secondElevator));
+    }
+
+    @Test
+    void skipIncompatibleElevatorTest() {
+        AssignmentProblem problem = createProblem(
+                new long[][]{{AssignmentProblem.INCOMPATIBLE, 9_000}, {AssignmentProblem.INCOMPATIBLE, 9_000}},
+                new int[]{AssignmentProblem.UNASSIGNED, AssignmentProblem.UNASSIGNED});
+
+        Map<Call, Elevator> plan = OptimizingDispatcher.of(BUDGET).optimize(problem);
+
+        assertThat(plan.values(), everyItem(sameInstance(secondElevator)));
+    }
+
+    @Test
+    void optimizeIndependentlyOfPoolTest() {
+        AssignmentProblem problem = createProblem(new long[][]{{1_000, 1_200}, {1_100, 1_000}},
+                new int[]{1, 0});
+        ForkJoinPool singleThreadPool = new ForkJoinPool(1);
+
+        try {
+            Map<Call, Elevator> plan = OptimizingDispatcher.of(1, 0, singleThreadPool).optimize(problem);
+
+            assertThat(OptimizingDispatcher.of(1, 0, ForkJoinPool.commonPool()).optimize(problem), equalTo(plan));
+            assertThat(plan.get(firstCall), sameInstance(firstElevator));
+            assertThat(plan.get(secondCall), sameInstance(secondElevator));
+        } finally {
+            singleThreadPool.shutdown();
+        }
+    }
+
+    @Test
+    void callWithoutElevatorTest() {
+        long[][] arrivalTimes = {{1_000, 1_000}, {AssignmentProblem.INCOMPATIBLE, AssignmentProblem.INCOMPATIBLE}};
+        int[] currentAssignment = {AssignmentProblem.UNASSIGNED, AssignmentProblem.UNASSIGNED};
+
+        assertThrows(IllegalArgumentException.class, () -> createProblem(arrivalTimes, currentAssignment));
+    }
+
+    @Test
+    void publishPlanInBackgroundTest() throws InterruptedException {
+        AssignmentProblem problem = createProblem(new long[][]{{1_000, 1_500}, {1_000, 1_500}},
+                new int[]{AssignmentProblem.UNASSIGNED, AssignmentProblem.UNASSIGNED});
+        OptimizingDispatcher dispatcher = OptimizingDispatcher.of(BUDGET, 0, ForkJoinPool.commonPool());
+
+        assertThat(dispatcher.submit(problem), equalTo(true));
+
+        Map<Call, Elevator> plan = null;
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (plan == null && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(1);
+            plan = dispatcher.pollPlan();
+        }
+
+        assertThat(plan, notNullValue());
+        assertThat(plan.keySet(), containsInAnyOrder(firstCall, secondCall));
+        assertThat(dispatcher.pollPlan(), nullValue());
+    }
+}
@@ -0,0 +1,81 @@
+package building.dispatch;
+
+import building.Building;
+import building.Controller;
+import building.Elevator;
+import building.Zone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class ParkingPolicyTest {
+    public static final int NUMBER_OF_FLOORS = 10;
+    public static final int CAPACITY = 500;
+    public static final long HALF_LIFE = 60_000;
+    public static final int LOBBY = 0;
+    public static final int BUSY_FLOOR = 6;
+
+    private ParkingPolicy policy;
+
+    @BeforeEach
+    void init() {
+        policy = ParkingPolicy.of(NUMBER_OF_FLOORS, HALF_LIFE);
+    }
+
+    @Test
+    void selectBusiestFloorTest() {
+        Elevator elevator = Elevator.of(CAPACITY, NUMBER_OF_FLOORS - 1);
+        Building.of(NUMBER_OF_FLOORS).setController(Controller.getEmpty()).addElevator(elevator);
+
+        policy.recordArrival(LOBBY, 0);
+        policy.recordArrival(LOBBY, 0);
+        policy.recordArrival(BUSY_FLOOR, 0);
+
+        assertThat(policy.selectParkingFloor(elevator, List.of(elevator), 0), equalTo(OptionalInt.of(LOBBY)));
+    }
+
+    @Test
+    void skipCoveredFloorTest() {
+        Elevator firstElevator = Elevator.of(CAPACITY, LOBBY);
+        Elevator secondElevator = Elevator.of(CAPACITY, NUMBER_OF_FLOORS - 1);
+        Building.of(NUMBER_OF_FLOORS).setController(Controller.getEmpty())
+                .addElevator(firstElevator)
+                .addElevator(secondElevator);
+
+        policy.recordArrival(LOBBY, 0);
+        policy.recordArrival(LOBBY, 0);
+        policy.recordArrival(BUSY_FLOOR, 0);
+
+        assertThat(policy.selectParkingFloor(secondElevator, List.of(firstElevator, secondElevator), 0),
+                equalTo(OptionalInt.of(BUSY_FLOOR)));
+    }
+
+    @Test
+    void skipFloorOutsideOfZoneTest() {
+        Elevator elevator = Elevator.of(CAPACITY, NUMBER_OF_FLOORS - 1, Elevator.MIN_SPEED, Elevator.MIN_SPEED,
+                Zone.ofRange(BUSY_FLOOR, NUMBER_OF_FLOORS - 1));
+        Building.of(NUMBER_OF_FLOORS).setController(Controller.getEmpty()).addElevator(elevator);
+
+        policy.recordArrival(LOBBY, 0);
+        policy.recordArrival(LOBBY, 0);
+        policy.recordArrival(BUSY_FLOOR, 0);
+
+        assertThat(policy.selectParkingFloor(elevator, List.of(elevator), 0), equalTo(OptionalInt.of(BUSY_FLOOR)));
+    }
+
+    @Test
+    void forgetOldDemandTest() {
+        Elevator elevator = Elevator.of(CAPACITY, NUMBER_OF_FLOORS - 1);
+        Building.of(NUMBER_OF_FLOORS).setController(Controller.getEmpty()).addElevator(elevator);
+
+        policy.recordArrival(LOBBY, 0);
+
+        assertThat(policy.selectParkingFloor(elevator, List.of(elevator), 2 * HALF_LIFE),
+                equalTo(OptionalInt.empty()));
+    }
+}
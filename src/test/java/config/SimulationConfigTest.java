@@ -0,0 +1,377 @@
+package config;
+
+import building.Building;
+import building.MotionProfile;
+import building.Zone;
+import building.dispatch.ControlMode;
+import building.dispatch.ReassignmentPolicy;
+import building.dispatch.DispatchStrategyType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import simulation.ShardedSimulation;
+import simulation.SimulationResult;
+import simulation.StoppingRule;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SimulationConfigTest {
+    public static Properties properties;
+
+    @BeforeEach
+    void init() {
+        properties = new Properties();
+        properties.setProperty("building.floors", "20");
+        properties.setProperty("controller.strategy", "nearest-car");
+        properties.setProperty("elevator.groups", "local,express");
+        properties.setProperty("elevator.local.count", "3");
+        properties.setProperty("elevator.local.capacity", "500");
+        properties.setProperty("elevator.express.count", "2");
+        properties.setProperty("elevator.express.capacity", "1000");
+        properties.setProperty("elevator.express.start-floor", "10");
+        properties.setProperty("elevator.express.move-speed", "900");
+        properties.setProperty("traffic.arrival-rate", "60");
+        properties.setProperty("simulation.mode", "fast");
+        properties.setProperty("simulation.duration", "300");
+    }
+
+    static Object[][] invalidConfigData() {
+        return new Object[][]{
+                {"building.floors", "1"},
+                {"building.floors", "many"},
+                {"controller.strategy", "random"},
+                {"controller.mode", "random"},
+                {"controller.parking", "sometimes"},
+                {"controller.parking.half-life", "0"},
+                {"controller.reassignment.threshold", "-1"},
+                {"controller.reassignment.period", "0"},
+                {"controller.optimizer.budget", "0"},
+                {"elevator.express.rated-speed", "0"},
+                {"elevator.express.rated-speed", "fast"},
+                {"building.floor-height", "-3"},
+                {"elevator.groups", "local,"},
+                {"elevator.local.count", "0"},
+                {"elevator.express.start-floor", "20"},
+                {"elevator.express.move-speed", "2000"},
+                {"traffic.arrival-rate", "0"},
+                {"traffic.weight-from", "200"},
+                {"simulation.mode", "slow"},
+                {"simulation.duration", "0"},
+                {"simulation.checkpoint.time", "301"},
+                {"simulation.checkpoint.time", "0"},
+                {"simulation.transfer-time", "0"},
+                {"simulation.precision", "-0.1"},
+                {"simulation.precision", "1"},
+                {"simulation.precision.period", "0"},
+                {"simulation.arrival-buffer", "-1"},
+                {"simulation.arrival-buffer", "10"},
+                {"output.sinks", "console,printer"},
+                {"output.sinks", "csv"},
+                {"output.sinks", "columnar"},
+                {"output.sinks", "locks"},
+                {"output.speed.period", "-1"},
+                {"elevator.local.floors", "0-25"},
+                {"elevator.local.floors", "0-x"},
+                {"unknown.key", "1"}
+        };
+    }
+
+    @Test
+    void loadDefaultConfigTest() {
+        assertDoesNotThrow(SimulationConfig::loadDefault);
+    }
+
+    @Test
+    void loadFromFileTest(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("simulation.properties");
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            properties.store(writer, null);
+        }
+
+        SimulationConfig config = SimulationConfig.load(path);
+
+        assertThat(config.getNumberOfFloors(), equalTo(20));
+        assertThat(config.getStrategy(), equalTo(DispatchStrategyType.NEAREST_CAR));
+        assertThat(config.getMode(), equalTo(SimulationMode.FAST));
+        assertThat(config.getDuration(), equalTo(300_000L));
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidConfigData")
+    void invalidConfigTest(String key, String value) {
+        properties.setProperty(key, value);
+
+        assertThrows(IllegalArgumentException.class, () -> SimulationConfig.of(properties));
+    }
+
+    @Test
+    void missingKeyTest() {
+        properties.remove("elevator.express.capacity");
+
+        assertThrows(IllegalArgumentException.class, () -> SimulationConfig.of(properties));
+    }
+
+    @Test
+    void realTimeArrivalRateTest() {
+        properties.setProperty("simulation.mode", "real-time");
+        properties.setProperty("traffic.arrival-rate", "10");
+
+        assertThrows(IllegalArgumentException.class, () -> SimulationConfig.of(properties));
+    }
+
+    @Test
+    void createHeterogeneousBuildingTest() {
+        Building building = SimulationConfig.of(properties).createBuilding();
+
+        assertThat(building.getNumberOfFloors(), equalTo(20));
+        assertThat(building.getElevators(), hasSize(5));
+        assertThat(building.getElevators().get(0).getCapacity(), equalTo(500));
+        assertThat(building.getElevators().get(4).getCapacity(), equalTo(1000));
+        assertThat(building.getElevators().get(4).getCurrentFloorNumber(), equalTo(10));
+        assertThat(building.getElevators().get(4).getMoveSpeed(), equalTo(900));
+    }
+
+    @Test
+    void destinationControlTest() {
+        properties.setProperty("controller.mode", "destination");
+
+        Building building = SimulationConfig.of(properties).createBuilding();
+
+        assertThat(building.getController().getControlMode(), equalTo(ControlMode.DESTINATION));
+    }
+
+    @Test
+    void motionProfileTest() {
+        properties.setProperty("building.floor-height", "4");
+        properties.setProperty("elevator.express.rated-speed", "2.5");
+        properties.setProperty("elevator.express.jerk", "1.2");
+        properties.remove("elevator.express.move-speed");
+
+        Building building = SimulationConfig.of(properties).createBuilding();
+
+        assertThat(building.getElevators().get(0).getMotionProfile(), nullValue());
+        assertThat(building.getElevators().get(4).getMotionProfile(),
+                equalTo(MotionProfile.of(4, 2.5, MotionProfile.DEFAULT_ACCELERATION, 1.2)));
+    }
+
+    @Test
+    void parkingTest() {
+        properties.setProperty("controller.parking", "true");
+        properties.setProperty("controller.parking.half-life", "120");
+
+        Building building = SimulationConfig.of(properties).createBuilding();
+
+        assertThat(building.getController().getParkingPolicy().getHalfLife(), equalTo(120_000L));
+    }
+
+    @Test
+    void reassignmentTest() {
+        properties.setProperty("controller.reassignment", "true");
+        properties.setProperty("controller.reassignment.threshold", "20");
+
+        Building building = SimulationConfig.of(properties).createBuilding();
+
+        assertThat(building.getController().getReassignmentPolicy(),
+                equalTo(ReassignmentPolicy.of(20_000, ReassignmentPolicy.DEFAULT_PERIOD)));
+    }
+
+    @Test
+    void optimizerTest() {
+        properties.setProperty("controller.optimizer", "true");
+        properties.setProperty("controller.optimizer.budget", "20");
+
+        Building building = SimulationConfig.of(properties).createBuilding();
+
+        assertThat(building.getController().getOptimizingDispatcher().getBudget(), equalTo(20L));
+    }
+
+    @Test
+    void createSimulationTest() {
+        SimulationResult result = SimulationConfig.of(properties).createSimulation().run();
+
+        assertThat(result.getNumberOfGeneratedPeople(), greaterThan(0));
+    }
+
+    @Test
+    void zonedElevatorGroupsTest() {
+        properties.setProperty("elevator.local.floors", "0-9");
+        properties.setProperty("elevator.express.floors", "0,10-19");
+
+        SimulationConfig config = SimulationConfig.of(properties);
+
+        assertThat(config.getElevatorGroups().get(0).getZone(), equalTo(Zone.ofRange(0, 9)));
+        assertThat(config.getElevatorGroups().get(1).getZone(), equalTo(Zone.of(0).union(Zone.ofRange(10, 19))));
+    }
+
+    @Test
+    void notServedFloorTest() {
+        properties.setProperty("elevator.local.floors", "0-9");
+        properties.setProperty("elevator.express.floors", "0,10-18");
+
+        assertThrows(IllegalArgumentException.class, () -> SimulationConfig.of(properties));
+    }
+
+    @Test
+    void disconnectedZonesTest() {
+        properties.setProperty("elevator.local.floors", "0-9");
+        properties.setProperty("elevator.express.floors", "10-19");
+
+        assertThrows(IllegalArgumentException.class, () -> SimulationConfig.of(properties));
+    }
+
+    @Test
+    void zonedSimulationDeliversTransferringPeopleTest() {
+        properties.setProperty("building.floors", "30");
+        properties.setProperty("elevator.groups", "low,shuttle,high");
+        properties.setProperty("elevator.low.count", "2");
+        properties.setProperty("elevator.low.capacity", "800");
+        properties.setProperty("elevator.low.floors", "0-14");
+        properties.setProperty("elevator.shuttle.count", "1");
+        properties.setProperty("elevator.shuttle.capacity", "1500");
+        properties.setProperty("elevator.shuttle.floors", "0,15");
+        properties.setProperty("elevator.high.count", "2");
+        properties.setProperty("elevator.high.capacity", "800");
+        properties.setProperty("elevator.high.start-floor", "15");
+        properties.setProperty("elevator.high.floors", "15-29");
+        properties.remove("elevator.local.count");
+        properties.remove("elevator.local.capacity");
+        properties.remove("elevator.express.count");
+        properties.remove("elevator.express.capacity");
+        properties.remove("elevator.express.start-floor");
+        properties.remove("elevator.express.move-speed");
+        properties.setProperty("traffic.arrival-rate", "5");
+
+        SimulationResult result = SimulationConfig.of(properties).createSimulation().run();
+
+        assertThat(result.getNumberOfDeliveredPeople(), greaterThan(result.getNumberOfGeneratedPeople() / 2));
+    }
+
+    @Test
+    void checkpointTest() {
+        properties.setProperty("simulation.checkpoint.save", "warm-up.checkpoint");
+        properties.setProperty("simulation.checkpoint.time", "120");
+
+        SimulationConfig config = SimulationConfig.of(properties);
+
+        assertThat(config.getCheckpointSavePath().toString(), equalTo("warm-up.checkpoint"));
+        assertThat(config.getCheckpointLoadPath(), nullValue());
+        assertThat(config.getCheckpointTime(), equalTo(120_000L));
+    }
+
+    @Test
+    void realTimeCheckpointTest() {
+        properties.setProperty("simulation.mode", "real-time");
+        properties.setProperty("simulation.checkpoint.load", "warm-up.checkpoint");
+
+        assertThrows(IllegalArgumentException.class, () -> SimulationConfig.of(properties));
+    }
+
+    @Test
+    void shardedSimulationTest() {
+        properties.setProperty("simulation.mode", "sharded");
+        properties.setProperty("simulation.transfer-time", "5");
+        properties.setProperty("elevator.local.floors", "0-9");
+        properties.setProperty("elevator.express.floors", "0,10-19");
+
+        SimulationConfig config = SimulationConfig.of(properties);
+        ShardedSimulation simulation = config.createShardedSimulation();
+        SimulationResult result = simulation.run();
+
+        assertThat(config.getTransferTime(), equalTo(5_000L));
+        assertThat(simulation.getNumberOfShards(), equalTo(2));
+        assertThat(result.getNumberOfDeliveredPeople(), greaterThan(result.getNumberOfGeneratedPeople() / 2));
+    }
+
+    @Test
+    void shardedColumnarSinkTest() {
+        properties.setProperty("simulation.mode", "sharded");
+        properties.setProperty("output.sinks", "columnar");
+
+        assertThrows(IllegalArgumentException.class, () -> SimulationConfig.of(properties));
+    }
+
+    @Test
+    void outputSinksTest() {
+        properties.setProperty("output.sinks", "console,csv");
+        properties.setProperty("output.csv.path", "result.csv");
+
+        SimulationConfig config = SimulationConfig.of(properties);
+
+        assertThat(config.getSinks(), containsInAnyOrder(OutputSink.CONSOLE, OutputSink.CSV));
+        assertThat(config.getCsvPath().toString(), equalTo("result.csv"));
+    }
+
+    @Test
+    void columnarSinkTest() {
+        properties.setProperty("output.sinks", "columnar");
+        properties.setProperty("output.columnar.path", "records");
+
+        SimulationConfig config = SimulationConfig.of(properties);
+
+        assertThat(config.getSinks(), contains(OutputSink.COLUMNAR));
+        assertThat(config.getColumnarPath().toString(), equalTo("records"));
+        assertThat(config.getCsvPath(), nullValue());
+    }
+
+    @Test
+    void locksSinkTest() {
+        properties.setProperty("output.sinks", "console,locks");
+        properties.setProperty("output.locks.path", "locks.csv");
+
+        SimulationConfig config = SimulationConfig.of(properties);
+
+        assertThat(config.getSinks(), containsInAnyOrder(OutputSink.CONSOLE, OutputSink.LOCKS));
+        assertThat(config.getLocksPath().toString(), equalTo("locks.csv"));
+    }
+
+    @Test
+    void speedReportPeriodTest() {
+        assertThat(SimulationConfig.of(properties).getSpeedReportPeriod(), equalTo(0L));
+
+        properties.setProperty("output.speed.period", "5");
+
+        assertThat(SimulationConfig.of(properties).getSpeedReportPeriod(), equalTo(5_000L));
+    }
+
+    @Test
+    void precisionTest() {
+        assertThat(SimulationConfig.of(properties).getStoppingRule(), nullValue());
+
+        properties.setProperty("simulation.precision", "0.05");
+        properties.setProperty("simulation.precision.period", "60");
+        StoppingRule rule = SimulationConfig.of(properties).getStoppingRule();
+
+        assertThat(rule.getPrecision(), equalTo(0.05));
+        assertThat(rule.getPeriod(), equalTo(60_000L));
+
+        properties.setProperty("simulation.mode", "real-time");
+
+        assertThrows(IllegalArgumentException.class, () -> SimulationConfig.of(properties));
+
+        properties.setProperty("simulation.precision", "0");
+
+        assertDoesNotThrow(() -> SimulationConfig.of(properties));
+    }
+
+    @Test
+    void arrivalBufferTest() {
+        SimulationResult expectedResult = SimulationConfig.of(properties).createSimulation().run();
+
+        properties.setProperty("simulation.arrival-buffer", "256");
+        SimulationResult result = SimulationConfig.of(properties).createSimulation().run();
+
+        assertThat(result.toCsvRow(), equalTo(expectedResult.toCsvRow()));
+    }
+}
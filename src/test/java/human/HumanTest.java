@@ -126,4 +126,44 @@ class HumanTest {
         assertThat(building.getController().getAllCalls(),
                 hasItem(Call.of(human.getStartFloor(), human.getCall().getDirection())));
     }
+
+    @Test
+    void boardTest() {
+        Floor startFloor = building.getFloor(VALID_START_FLOOR_NUMBER);
+        Human human = Human.of(VALID_WEIGHT, VALID_TARGET_FLOOR_NUMBER, startFloor);
+        human.arriveAt(startFloor, 1_000);
+        human.board(4_000);
+        human.arriveAt(building.getFloor(4), 9_000);
+
+        human.board(10_000);
+
+        assertThat(human.getBoardingTime(), equalTo(10_000L));
+        assertThat(human.getWaitTime(), equalTo(4_000L));
+        assertThat(human.getNumberOfRides(), equalTo(2));
+        assertThrows(IllegalArgumentException.class, () -> human.board(-1));
+    }
+
+    @Test
+    void boardBeforeArrivalTest() {
+        Floor startFloor = building.getFloor(VALID_START_FLOOR_NUMBER);
+        Human human = Human.of(VALID_WEIGHT, VALID_TARGET_FLOOR_NUMBER, startFloor);
+        human.arriveAt(startFloor, 9_000);
+
+        human.board(8_000);
+
+        assertThat(human.getWaitTime(), equalTo(0L));
+    }
+
+    @Test
+    void equalsBySsnTest() {
+        Floor startFloor = building.getFloor(VALID_START_FLOOR_NUMBER);
+        Human human = Human.of(VALID_WEIGHT, VALID_TARGET_FLOOR_NUMBER, startFloor);
+        Human sameHuman = Human.of(human.getSsn(), VALID_WEIGHT, VALID_TARGET_FLOOR_NUMBER, startFloor);
+
+        sameHuman.arriveAt(building.getFloor(4), 1_000);
+
+        assertThat(sameHuman, equalTo(human));
+        assertThat(sameHuman.hashCode(), equalTo(human.hashCode()));
+        assertThat(Human.of(VALID_WEIGHT, VALID_TARGET_FLOOR_NUMBER, startFloor), not(equalTo(human)));
+    }
 }
@@ -0,0 +1,54 @@
+package simulation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ArrivalStreamTest {
+    private static final SimulationParameters PARAMETERS = SimulationTest.validParameters().build();
+
+    @Test
+    void sameResultAsDrawnArrivalsTest() {
+        SimulationResult expectedResult = Simulation.of(PARAMETERS).run();
+
+        SimulationResult result = Simulation.of(PARAMETERS, ArrivalStream.of(PARAMETERS)).run();
+
+        assertThat(result.toCsvRow(), equalTo(expectedResult.toCsvRow()));
+    }
+
+    @Test
+    void arrivalsTest() {
+        ArrivalStream arrivals = ArrivalStream.of(PARAMETERS);
+
+        assertThat(arrivals.size(), greaterThan(0));
+        for (int i = 0; i < arrivals.size(); i++) {
+            assertThat(arrivals.getTime(i), lessThanOrEqualTo(SimulationTest.DURATION));
+            assertThat(arrivals.getFloorNumber(i), not(equalTo(arrivals.getTargetFloorNumber(i))));
+            if (i > 0) {
+                assertThat(arrivals.getTime(i), greaterThan(arrivals.getTime(i - 1)));
+            }
+        }
+    }
+
+    @Test
+    void sharedStreamTest() {
+        ArrivalStream arrivals = ArrivalStream.of(PARAMETERS);
+
+        SimulationResult firstResult = Simulation.of(PARAMETERS, arrivals).run();
+        SimulationResult secondResult = Simulation.of(PARAMETERS, arrivals).run();
+
+        assertThat(secondResult.toCsvRow(), equalTo(firstResult.toCsvRow()));
+    }
+
+    @Test
+    void unsuitableStreamTest() {
+        ArrivalStream arrivals = ArrivalStream.of(PARAMETERS);
+
+        assertThrows(IllegalArgumentException.class, () -> Simulation.of(SimulationTest.validParameters()
+                .numberOfFloors(SimulationTest.NUMBER_OF_FLOORS + 1).build(), arrivals));
+        assertThrows(IllegalArgumentException.class, () -> Simulation.of(SimulationTest.validParameters()
+                .duration(2 * SimulationTest.DURATION).build(), arrivals));
+    }
+}
@@ -0,0 +1,151 @@
+package simulation;
+
+import building.dispatch.ControlMode;
+import building.dispatch.DispatchStrategyType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CheckpointTest {
+    public static final long CHECKPOINT_TIME = SimulationTest.DURATION / 2;
+
+    @TempDir
+    Path directory;
+
+    static Object[][] checkpointData() {
+        return new Object[][]{
+                {DispatchStrategyType.NEAREST_IDLE, ControlMode.CONVENTIONAL},
+                {DispatchStrategyType.NEAREST_CAR, ControlMode.CONVENTIONAL},
+                {DispatchStrategyType.LOOKAHEAD, ControlMode.CONVENTIONAL},
+                {DispatchStrategyType.NEAREST_CAR, ControlMode.DESTINATION}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("checkpointData")
+    void restoreContinuesRunTest(DispatchStrategyType strategy, ControlMode controlMode) throws IOException {
+        SimulationParameters parameters = SimulationTest.validParameters()
+                .arrivalRate(40)
+                .strategy(strategy)
+                .controlMode(controlMode)
+                .build();
+        Path path = directory.resolve("warm-up.checkpoint");
+
+        SimulationResult expectedResult = Simulation.of(parameters).run();
+
+        Simulation savedSimulation = Simulation.of(parameters);
+        savedSimulation.runUntil(CHECKPOINT_TIME);
+        Checkpoint.save(savedSimulation, path);
+
+        Simulation restoredSimulation = Simulation.of(parameters);
+        Checkpoint.restore(path, restoredSimulation);
+        SimulationResult result = restoredSimulation.run();
+
+        assertThat(result.toCsvRow(), equalTo(expectedResult.toCsvRow()));
+    }
+
+    @Test
+    void arrivalBufferTest() throws IOException {
+        SimulationParameters parameters = SimulationTest.validParameters().arrivalRate(40).build();
+        Path path = directory.resolve("warm-up.checkpoint");
+
+        SimulationResult expectedResult = Simulation.of(parameters).run();
+
+        Simulation savedSimulation = Simulation.of(parameters).setArrivalBufferCapacity(64);
+        savedSimulation.runUntil(CHECKPOINT_TIME);
+        Checkpoint.save(savedSimulation, path);
+        savedSimulation.close();
+
+        Simulation restoredSimulation = Simulation.of(parameters);
+        Checkpoint.restore(path, restoredSimulation);
+        Simulation bufferedSimulation = Simulation.of(parameters).setArrivalBufferCapacity(64);
+        Checkpoint.restore(path, bufferedSimulation);
+
+        assertThat(restoredSimulation.run().toCsvRow(), equalTo(expectedResult.toCsvRow()));
+        assertThat(bufferedSimulation.run().toCsvRow(), equalTo(expectedResult.toCsvRow()));
+    }
+
+    @Test
+    void runUntilTest() {
+        SimulationResult expectedResult = Simulation.of(SimulationTest.validParameters().build()).run();
+
+        Simulation simulation = Simulation.of(SimulationTest.validParameters().build());
+        simulation.runUntil(CHECKPOINT_TIME);
+        SimulationResult result = simulation.run();
+
+        assertThat(result.toCsvRow(), equalTo(expectedResult.toCsvRow()));
+    }
+
+    @Test
+    void invalidRunUntilTest() {
+        Simulation simulation = Simulation.of(SimulationTest.validParameters().build());
+        simulation.runUntil(CHECKPOINT_TIME);
+
+        assertThrows(IllegalArgumentException.class, () -> simulation.runUntil(CHECKPOINT_TIME - 1));
+        assertThrows(IllegalArgumentException.class, () -> simulation.runUntil(SimulationTest.DURATION + 1));
+    }
+
+    @Test
+    void invalidFileTest() throws IOException {
+        Path path = Files.write(directory.resolve("random.checkpoint"), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Checkpoint.restore(path, Simulation.of(SimulationTest.validParameters().build())));
+    }
+
+    @Test
+    void truncatedFileTest() throws IOException {
+        Path path = directory.resolve("warm-up.checkpoint");
+        Simulation simulation = Simulation.of(SimulationTest.validParameters().build());
+        simulation.runUntil(CHECKPOINT_TIME);
+        Checkpoint.save(simulation, path);
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Checkpoint.restore(path, Simulation.of(SimulationTest.validParameters().build())));
+    }
+
+    @Test
+    void otherBuildingTest() throws IOException {
+        Path path = directory.resolve("warm-up.checkpoint");
+        Simulation simulation = Simulation.of(SimulationTest.validParameters().build());
+        simulation.runUntil(CHECKPOINT_TIME);
+        Checkpoint.save(simulation, path);
+
+        assertThrows(IllegalArgumentException.class, () -> Checkpoint.restore(path,
+                Simulation.of(SimulationTest.validParameters().numberOfElevators(4).build())));
+        assertThrows(IllegalArgumentException.class, () -> Checkpoint.restore(path,
+                Simulation.of(SimulationTest.validParameters().capacity(600).build())));
+    }
+
+    @Test
+    void restoreIntoStartedSimulationTest() throws IOException {
+        Path path = directory.resolve("warm-up.checkpoint");
+        Simulation simulation = Simulation.of(SimulationTest.validParameters().build());
+        simulation.runUntil(CHECKPOINT_TIME);
+        Checkpoint.save(simulation, path);
+
+        assertThrows(IllegalArgumentException.class, () -> Checkpoint.restore(path, simulation));
+    }
+
+    @Test
+    void arrivalStreamTest() {
+        SimulationParameters parameters = SimulationTest.validParameters().build();
+        Simulation simulation = Simulation.of(parameters, ArrivalStream.of(parameters));
+        simulation.runUntil(CHECKPOINT_TIME);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Checkpoint.save(simulation, directory.resolve("warm-up.checkpoint")));
+    }
+}
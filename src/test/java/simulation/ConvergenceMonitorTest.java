@@ -0,0 +1,70 @@
+package simulation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import util.StatisticsHolder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConvergenceMonitorTest {
+    public static final int NUMBER_OF_PERIODS = 400;
+    public static final long NO_WAIT = -1;
+
+    static Object[][] truncationPointData() {
+        return new Object[][]{
+                {new double[]{5, 5, 5, 5, 5, 5}, 0},
+                {new double[]{0, 0, 10, 11, 9, 10, 11, 9, 10, 10}, 2},
+                {new double[]{50, 30, 20, 10, 11, 9, 10, 11, 9, 10}, 3}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("truncationPointData")
+    void truncationPointTest(double[] observations, int truncationPoint) {
+        assertThat(ConvergenceMonitor.getTruncationPoint(observations), equalTo(truncationPoint));
+    }
+
+    @Test
+    void halfWidthTest() {
+        assertThat(ConvergenceMonitor.getHalfWidth(new double[]{3, 3, 3, 3}), equalTo(0.0));
+        assertThat(ConvergenceMonitor.getHalfWidth(new double[]{1, 3}), closeTo(12.706, 1e-9));
+    }
+
+    static Object[][] sparsePeriodData() {
+        // one wait in a period at most, so the percentile of a period is just its wait, or nothing
+        return new Object[][]{
+                {new long[]{10_000, 100, 100, 100, 100, 100, 100, 100}, 10_000},
+                {new long[]{1_000, NO_WAIT}, 1_000}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("sparsePeriodData")
+    void sparsePeriodsTest(long[] pattern, double waitTimeP95) {
+        StatisticsHolder statistics = StatisticsHolder.newInstance();
+        ConvergenceMonitor monitor = ConvergenceMonitor.of(statistics, StoppingRule.of(0.05), 0);
+
+        boolean isConverged = false;
+        for (int i = 0; i < NUMBER_OF_PERIODS; i++) {
+            statistics.incrementNumberOfDeliveredPeople();
+            if (pattern[i % pattern.length] != NO_WAIT) {
+                statistics.recordWaitTime(pattern[i % pattern.length]);
+            }
+            isConverged = monitor.observe();
+        }
+
+        // the mean of the percentiles of the periods would be 1 337.5 and 500
+        assertThat(monitor.getWaitTimeP95(), closeTo(waitTimeP95, 1e-9));
+        assertThat(isConverged, equalTo(true));
+    }
+
+    @Test
+    void invalidStoppingRuleTest() {
+        assertThrows(IllegalArgumentException.class, () -> StoppingRule.of(0));
+        assertThrows(IllegalArgumentException.class, () -> StoppingRule.of(1));
+        assertThrows(IllegalArgumentException.class, () -> StoppingRule.of(0.1, 0));
+    }
+}
@@ -0,0 +1,64 @@
+package simulation;
+
+import building.dispatch.DispatchStrategyType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PairedComparisonTest {
+    private static final int REPLICATIONS = 4;
+
+    @Test
+    void sameVariantTest() {
+        SimulationParameters parameters = SimulationTest.validParameters().build();
+
+        List<PairedDifference> differences = PairedComparison.of(parameters, parameters, REPLICATIONS, 2).run();
+
+        assertThat(differences, hasSize(4));
+        for (PairedDifference difference : differences) {
+            assertThat(difference.getNumberOfReplications(), equalTo(REPLICATIONS));
+            assertThat(difference.getDifference(), equalTo(0.0));
+            assertThat(difference.getHalfWidth(), equalTo(0.0));
+            assertThat(difference.isSignificant(), is(false));
+        }
+    }
+
+    @Test
+    void pairedDifferencesTest() {
+        List<PairedDifference> differences = PairedComparison.of(SimulationTest.validParameters().build(),
+                SimulationTest.validParameters().strategy(DispatchStrategyType.NEAREST_CAR).build(),
+                REPLICATIONS, 2).run();
+
+        PairedDifference throughput = differences.get(0);
+
+        assertThat(throughput.getMetric(), equalTo("throughput_per_hour"));
+        assertThat(throughput.getDifference(),
+                closeTo(throughput.getVariantMean() - throughput.getBaselineMean(), 1e-9));
+        assertThat(throughput.getHalfWidth(), lessThan(throughput.getUnpairedHalfWidth()));
+    }
+
+    @Test
+    void pairedDifferenceTest() {
+        PairedDifference difference = PairedDifference.of("metric", new double[]{10, 20, 30},
+                new double[]{11, 21, 31});
+
+        assertThat(difference.getDifference(), closeTo(1.0, 1e-9));
+        assertThat(difference.getHalfWidth(), closeTo(0.0, 1e-9));
+        assertThat(difference.getUnpairedHalfWidth(), greaterThan(10.0));
+        assertThat(difference.isSignificant(), is(true));
+        assertThat(difference.toCsvRow(), startsWith("metric,3,20.00,21.00,1.00,0.00,"));
+    }
+
+    @Test
+    void invalidComparisonTest() {
+        SimulationParameters parameters = SimulationTest.validParameters().build();
+
+        assertThrows(IllegalArgumentException.class, () -> PairedComparison.of(parameters,
+                SimulationTest.validParameters().arrivalRate(SimulationTest.ARRIVAL_RATE + 1).build(), REPLICATIONS));
+        assertThrows(IllegalArgumentException.class, () -> PairedComparison.of(parameters, parameters, 1));
+    }
+}
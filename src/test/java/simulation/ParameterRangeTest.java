@@ -0,0 +1,48 @@
+package simulation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParameterRangeTest {
+    static Object[][] validRangeData() {
+        return new Object[][]{
+                {"10", List.of(10)},
+                {"10,20,40", List.of(10, 20, 40)},
+                {"1:4", List.of(1, 2, 3, 4)},
+                {"10:30:10", List.of(10, 20, 30)},
+                {"10:35:10", List.of(10, 20, 30)}
+        };
+    }
+
+    static Object[][] invalidRangeData() {
+        return new Object[][]{
+                {"30:10"},
+                {"10:30:0"},
+                {"1:2:3:4"}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("validRangeData")
+    void parseValidRangeTest(String text, List<Integer> values) {
+        assertThat(ParameterRange.parse(text).getValues(), contains(values.toArray()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidRangeData")
+    void parseInvalidRangeTest(String text) {
+        assertThrows(IllegalArgumentException.class, () -> ParameterRange.parse(text));
+    }
+
+    @Test
+    void parseNotNumberTest() {
+        assertThrows(NumberFormatException.class, () -> ParameterRange.parse("ten"));
+    }
+}
@@ -0,0 +1,91 @@
+package simulation;
+
+import building.Building;
+import building.Controller;
+import building.Elevator;
+import building.Zone;
+import building.dispatch.NearestCarStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ShardedSimulationTest {
+    public static final int NUMBER_OF_FLOORS = 20;
+    public static final Zone LOW_ZONE = Zone.ofRange(0, 9);
+    public static final Zone HIGH_ZONE = Zone.of(0).union(Zone.ofRange(10, 19));
+    public static final int ARRIVAL_RATE = 20;
+    public static final int WEIGHT_FROM = 50;
+    public static final int WEIGHT_TO = 100;
+    public static final long TRANSFER_TIME = 5_000;
+
+    private static Building building(Zone... zones) {
+        Building building = Building.of(NUMBER_OF_FLOORS).setController(Controller.of(NearestCarStrategy.of()));
+        for (Zone zone : zones) {
+            for (int i = 0; i < 2; i++) {
+                building.addElevator(Elevator.of(800, 0, SimulationTest.SPEED, SimulationTest.SPEED, zone));
+            }
+        }
+
+        return building;
+    }
+
+    private static ShardedSimulation zonedTower(int queueCapacity) {
+        return ShardedSimulation.of(List.of(building(LOW_ZONE), building(HIGH_ZONE)), ARRIVAL_RATE,
+                WEIGHT_FROM, WEIGHT_TO, SimulationTest.DURATION, SimulationTest.SEED, TRANSFER_TIME, queueCapacity);
+    }
+
+    @Test
+    void deliverPeopleAcrossShardsTest() {
+        ShardedSimulation simulation = zonedTower(ShardedSimulation.DEFAULT_QUEUE_CAPACITY);
+
+        SimulationResult result = simulation.run();
+
+        assertThat(simulation.getNumberOfShards(), equalTo(2));
+        assertThat(result.getNumberOfDeliveredPeople(), greaterThan(result.getNumberOfGeneratedPeople() / 2));
+    }
+
+    @Test
+    void sameArrivalsAsSingleSimulationTest() {
+        SimulationResult result = zonedTower(ShardedSimulation.DEFAULT_QUEUE_CAPACITY).run();
+        SimulationResult expectedResult = Simulation.of(building(LOW_ZONE, HIGH_ZONE), ARRIVAL_RATE,
+                WEIGHT_FROM, WEIGHT_TO, SimulationTest.DURATION, SimulationTest.SEED).run();
+
+        assertThat(result.getNumberOfGeneratedPeople(), equalTo(expectedResult.getNumberOfGeneratedPeople()));
+    }
+
+    @Test
+    void deterministicResultTest() {
+        SimulationResult expectedResult = zonedTower(ShardedSimulation.DEFAULT_QUEUE_CAPACITY).run();
+
+        assertThat(zonedTower(ShardedSimulation.DEFAULT_QUEUE_CAPACITY).run().toCsvRow(),
+                equalTo(expectedResult.toCsvRow()));
+        assertThat(zonedTower(1).run().toCsvRow(), equalTo(expectedResult.toCsvRow()));
+    }
+
+    @Test
+    void singleShardTest() {
+        SimulationResult expectedResult = Simulation.of(building(Zone.ALL), ARRIVAL_RATE, WEIGHT_FROM, WEIGHT_TO,
+                SimulationTest.DURATION, SimulationTest.SEED).run();
+
+        SimulationResult result = ShardedSimulation.of(List.of(building(Zone.ALL)), ARRIVAL_RATE, WEIGHT_FROM,
+                WEIGHT_TO, SimulationTest.DURATION, SimulationTest.SEED, TRANSFER_TIME).run();
+
+        assertThat(result.toCsvRow(), equalTo(expectedResult.toCsvRow()));
+    }
+
+    @Test
+    void invalidShardsTest() {
+        assertThrows(IllegalArgumentException.class, () -> ShardedSimulation.of(List.of(), ARRIVAL_RATE,
+                WEIGHT_FROM, WEIGHT_TO, SimulationTest.DURATION, SimulationTest.SEED, TRANSFER_TIME));
+        assertThrows(IllegalArgumentException.class, () -> ShardedSimulation.of(
+                List.of(building(LOW_ZONE), building(LOW_ZONE)), ARRIVAL_RATE, WEIGHT_FROM,
+                WEIGHT_TO, SimulationTest.DURATION, SimulationTest.SEED, TRANSFER_TIME));
+        assertThrows(IllegalArgumentException.class, () -> ShardedSimulation.of(
+                List.of(building(LOW_ZONE), building(HIGH_ZONE)), ARRIVAL_RATE, WEIGHT_FROM,
+                WEIGHT_TO, SimulationTest.DURATION, SimulationTest.SEED, 0));
+    }
+}
@@ -0,0 +1,184 @@
+package simulation;
+
+import building.SpeedReading;
+import building.dispatch.ControlMode;
+import building.dispatch.DispatchStrategyType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SimulationTest {
+    public static final int NUMBER_OF_FLOORS = 10;
+    public static final int NUMBER_OF_ELEVATORS = 3;
+    public static final int CAPACITY = 500;
+    public static final int SPEED = 100;
+    public static final int ARRIVAL_RATE = 10;
+    public static final long DURATION = 10 * Simulation.MILLIS_IN_MINUTE;
+    public static final long SEED = 7;
+    public static final int GARBAGE_MEGABYTES = 256;
+
+    static Object[][] strategyData() {
+        return new Object[][]{
+                {DispatchStrategyType.NEAREST_IDLE},
+                {DispatchStrategyType.NEAREST_CAR}
+        };
+    }
+
+    static SimulationParameters.SimulationParametersBuilder validParameters() {
+        return SimulationParameters.builder()
+                .numberOfFloors(NUMBER_OF_FLOORS)
+                .numberOfElevators(NUMBER_OF_ELEVATORS)
+                .capacity(CAPACITY)
+                .moveSpeed(SPEED)
+                .doorWorkSpeed(SPEED)
+                .arrivalRate(ARRIVAL_RATE)
+                .strategy(DispatchStrategyType.NEAREST_IDLE)
+                .duration(DURATION)
+                .seed(SEED);
+    }
+
+    @ParameterizedTest
+    @MethodSource("strategyData")
+    void deliverPeopleTest(DispatchStrategyType strategy) {
+        SimulationResult result = Simulation.of(validParameters().strategy(strategy).build()).run();
+
+        assertThat(result.getNumberOfGeneratedPeople(), greaterThan(0));
+        assertThat(result.getNumberOfDeliveredPeople(), greaterThan(0));
+        assertThat(result.getNumberOfDeliveredPeople(), lessThanOrEqualTo(result.getNumberOfGeneratedPeople()));
+        assertThat(result.getWaitTimeP50(), lessThanOrEqualTo(result.getWaitTimeP99()));
+    }
+
+    @Test
+    void deliverPeopleWithDestinationControlTest() {
+        SimulationResult result = Simulation.of(validParameters().controlMode(ControlMode.DESTINATION).build()).run();
+
+        assertThat(result.getNumberOfDeliveredPeople(), greaterThan(result.getNumberOfGeneratedPeople() / 2));
+    }
+
+    @Test
+    void sameSeedGivesSameResultTest() {
+        SimulationResult firstResult = Simulation.of(validParameters().build()).run();
+        SimulationResult secondResult = Simulation.of(validParameters().build()).run();
+
+        assertThat(secondResult.getNumberOfGeneratedPeople(), equalTo(firstResult.getNumberOfGeneratedPeople()));
+        assertThat(secondResult.getNumberOfDeliveredPeople(), equalTo(firstResult.getNumberOfDeliveredPeople()));
+        assertThat(secondResult.getWaitTimeP95(), equalTo(firstResult.getWaitTimeP95()));
+    }
+
+    @Test
+    void simulatedTimeTest() {
+        SimulationResult result = Simulation.of(validParameters().build()).run();
+
+        assertThat(result.getSimulatedTime(), equalTo(DURATION));
+    }
+
+    @Test
+    void speedGaugeTest() {
+        Simulation simulation = Simulation.of(validParameters().build());
+        SimulationResult result = simulation.run();
+
+        SpeedReading reading = simulation.getBuilding().getSpeedGauge().read();
+
+        assertThat(reading.getSimulatedTime(), equalTo(DURATION));
+        assertThat(reading.getNumberOfDeliveredPeople(), equalTo((long) result.getNumberOfDeliveredPeople()));
+        assertThat(reading.getNumberOfSteps(), greaterThan(0L));
+        assertThat(reading.getSimulatedTimeRate(), greaterThan(0.0));
+        assertThat(simulation.getBuilding().getSpeedGauge().read().getWallTime(), equalTo(reading.getWallTime()));
+        assertThat(reading.getAllocatedBytes(), greaterThan(0L));
+    }
+
+    @Test
+    void speedGaugeCountsOwnAllocationsTest() throws InterruptedException {
+        Simulation simulation = Simulation.of(validParameters().build());
+        simulation.runUntil(DURATION / 2);
+        long allocatedBytes = simulation.getBuilding().getSpeedGauge().read().getAllocatedBytes();
+        AtomicLong garbageBytes = new AtomicLong();
+
+        // a thread that does not step the cars allocates far more than the rest of the run
+        Thread thread = new Thread(() -> {
+            for (int i = 0; i < GARBAGE_MEGABYTES; i++) {
+                garbageBytes.addAndGet(new byte[1 << 20].length);
+            }
+        });
+        thread.start();
+        thread.join();
+        simulation.run();
+
+        assertThat(garbageBytes.get(), equalTo((long) GARBAGE_MEGABYTES << 20));
+        assertThat(simulation.getBuilding().getSpeedGauge().read().getAllocatedBytes() - allocatedBytes,
+                lessThan(garbageBytes.get()));
+    }
+
+    static Object[][] arrivalBufferData() {
+        return new Object[][]{
+                {Simulation.MIN_ARRIVAL_BUFFER_CAPACITY},
+                {100},
+                {4096}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("arrivalBufferData")
+    void arrivalBufferTest(int capacity) {
+        SimulationResult expectedResult = Simulation.of(validParameters().arrivalRate(60).build()).run();
+
+        SimulationResult result = Simulation.of(validParameters().arrivalRate(60).build())
+                .setArrivalBufferCapacity(capacity)
+                .run();
+
+        assertThat(result.toCsvRow(), equalTo(expectedResult.toCsvRow()));
+    }
+
+    @Test
+    void invalidArrivalBufferTest() {
+        SimulationParameters parameters = validParameters().build();
+        Simulation simulation = Simulation.of(parameters).setArrivalBufferCapacity(4096);
+        simulation.runUntil(DURATION / 2);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Simulation.of(parameters).setArrivalBufferCapacity(Simulation.MIN_ARRIVAL_BUFFER_CAPACITY - 1));
+        assertThrows(IllegalStateException.class, () -> simulation.setArrivalBufferCapacity(64));
+        assertThrows(IllegalStateException.class,
+                () -> Simulation.of(parameters, ArrivalStream.of(parameters)).setArrivalBufferCapacity(64));
+
+        simulation.close();
+        assertThrows(IllegalStateException.class, () -> simulation.runUntil(DURATION));
+    }
+
+    @Test
+    void stoppingRuleTest() {
+        long duration = 8 * 60 * Simulation.MILLIS_IN_MINUTE;
+        ConvergenceResult result = Simulation.of(validParameters().duration(duration).build())
+                .run(StoppingRule.of(0.2));
+
+        assertThat(result.isConverged(), is(true));
+        assertThat(result.getRunTime(), lessThan(duration));
+        assertThat(result.getWarmUpTime(), lessThan(result.getRunTime()));
+        assertThat(result.getResult().getSimulatedTime(), equalTo(result.getRunTime() - result.getWarmUpTime()));
+        assertThat(result.getThroughputHalfWidth(), greaterThan(0.0));
+    }
+
+    @Test
+    void stoppingRuleDurationTest() {
+        ConvergenceResult result = Simulation.of(validParameters().build()).run(StoppingRule.of(0.01));
+
+        assertThat(result.isConverged(), is(false));
+        assertThat(result.getRunTime(), equalTo(DURATION));
+    }
+
+    @Test
+    void invalidParametersTest() {
+        assertThrows(IllegalArgumentException.class,
+                () -> validParameters().numberOfElevators(0).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> validParameters().arrivalRate(0).build());
+        assertThrows(NullPointerException.class,
+                () -> validParameters().strategy(null).build());
+    }
+}
@@ -0,0 +1,62 @@
+package simulation;
+
+import building.dispatch.ControlMode;
+import building.dispatch.DispatchStrategyType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SweepDefinitionTest {
+    @Test
+    void defaultDefinitionTest() {
+        SweepDefinition definition = SweepDefinition.parse();
+
+        assertThat(definition.getCombinations(), hasSize(1));
+        assertThat(definition.getDuration(), equalTo(SweepDefinition.DEFAULT_DURATION));
+    }
+
+    @Test
+    void combinationsTest() {
+        SweepDefinition definition = SweepDefinition.parse("--floors=10,20", "--elevators=2:6:2",
+                "--strategy=nearest_idle,NEAREST_CAR", "--duration=60");
+
+        List<SimulationParameters> combinations = definition.getCombinations();
+
+        assertThat(combinations, hasSize(12));
+        assertThat(combinations.get(0).getDuration(), equalTo(60_000L));
+        assertThat(combinations.get(0).getStrategy(), equalTo(DispatchStrategyType.NEAREST_IDLE));
+        assertThat(combinations.get(1).getStrategy(), equalTo(DispatchStrategyType.NEAREST_CAR));
+    }
+
+    @Test
+    void controlModesTest() {
+        SweepDefinition definition = SweepDefinition.parse("--control=conventional,destination");
+
+        List<SimulationParameters> combinations = definition.getCombinations();
+
+        assertThat(combinations, hasSize(2));
+        assertThat(combinations.get(0).getControlMode(), equalTo(ControlMode.CONVENTIONAL));
+        assertThat(combinations.get(1).getControlMode(), equalTo(ControlMode.DESTINATION));
+    }
+
+    @Test
+    void precisionTest() {
+        assertThat(SweepDefinition.parse().getStoppingRule(), nullValue());
+        assertThat(SweepDefinition.parse("--precision=0.05").getStoppingRule().getPrecision(), equalTo(0.05));
+        assertThrows(IllegalArgumentException.class, () -> SweepDefinition.parse("--precision=2"));
+    }
+
+    @Test
+    void unknownOptionTest() {
+        assertThrows(IllegalArgumentException.class, () -> SweepDefinition.parse("--floor=10"));
+    }
+
+    @Test
+    void unknownStrategyTest() {
+        assertThrows(IllegalArgumentException.class, () -> SweepDefinition.parse("--strategy=random"));
+    }
+}
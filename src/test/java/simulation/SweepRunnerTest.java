@@ -0,0 +1,41 @@
+package simulation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class SweepRunnerTest {
+    public static final int PARALLELISM = 2;
+
+    @Test
+    void runAllCombinationsTest() {
+        SweepDefinition definition = SweepDefinition.parse("--elevators=1,2", "--arrival-rate=5,10",
+                "--duration=300");
+
+        List<SweepResult> results = SweepRunner.of(definition, PARALLELISM).run();
+
+        assertThat(results, hasSize(4));
+        assertThat(results.get(0).getParameters().getNumberOfElevators(), equalTo(1));
+        assertThat(results.get(3).getParameters().getArrivalRate(), equalTo(10));
+    }
+
+    @Test
+    void writeCsvTest(@TempDir Path directory) throws IOException {
+        Path output = directory.resolve("sweep.csv");
+        SweepDefinition definition = SweepDefinition.parse("--floors=5,10", "--duration=300");
+
+        SweepReport.of(SweepRunner.of(definition, PARALLELISM).run()).writeCsv(output);
+
+        List<String> lines = Files.readAllLines(output);
+        assertThat(lines, hasSize(3));
+        assertThat(lines.get(0), startsWith("floors,elevators"));
+        assertThat(lines.get(1), startsWith("5,10,500"));
+    }
+}
@@ -106,6 +106,23 @@ class HumanGeneratorTest {
         assertThat(actualNumberOfHuman, equalTo(numberOfGeneratedHuman));
     }
 
+    @Test
+    void filterTest() {
+        Building building = Building.of(NUMBER_OF_FLOORS)
+                .setController(Controller.getEmpty());
+        HumanGenerator humanGenerator = HumanGenerator.of(building,
+                Human.MIN_WEIGHT, Human.MAX_WEIGHT, VALID_SPEED);
+        humanGenerator.setFilter((fromFloorNumber, toFloorNumber) -> fromFloorNumber < toFloorNumber);
+
+        IntStream.range(0, 20).forEach(i -> humanGenerator.generate());
+        int actualNumberOfHuman = building.getFloors().stream()
+                .mapToInt(i -> i.getNumberOfPeople(Direction.UP) + i.getNumberOfPeople(Direction.DOWN)).sum();
+
+        assertThat(building.getFloors().stream().mapToInt(i -> i.getNumberOfPeople(Direction.DOWN)).sum(),
+                equalTo(0));
+        assertThat(actualNumberOfHuman, equalTo(building.getStatistics().getNumberOfGeneratedPeople()));
+    }
+
     @Test
     void turnOnTest() {
         Building building = Building.of(NUMBER_OF_FLOORS);
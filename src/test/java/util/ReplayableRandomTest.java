@@ -0,0 +1,35 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class ReplayableRandomTest {
+    public static final long SEED = 7;
+
+    @Test
+    void replayTest() {
+        ReplayableRandom random = ReplayableRandom.of(SEED);
+        random.nextDouble();
+        random.nextInt(100);
+        random.nextLong();
+
+        ReplayableRandom replayedRandom = ReplayableRandom.of(random.getInitialSeed(), random.getNumberOfDraws());
+
+        assertThat(replayedRandom.getNumberOfDraws(), equalTo(random.getNumberOfDraws()));
+        assertThat(replayedRandom.nextLong(), equalTo(random.nextLong()));
+    }
+
+    @Test
+    void restoreTest() {
+        ReplayableRandom random = ReplayableRandom.of(SEED);
+        random.nextGaussian();
+        ReplayableRandom restoredRandom = ReplayableRandom.of(SEED + 1);
+
+        restoredRandom.restore(SEED, random.getNumberOfDraws());
+
+        assertThat(restoredRandom.getInitialSeed(), equalTo(SEED));
+        assertThat(restoredRandom.nextInt(), equalTo(random.nextInt()));
+    }
+}
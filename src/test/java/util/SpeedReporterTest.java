@@ -0,0 +1,43 @@
+package util;
+
+import building.Building;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SpeedReporterTest {
+    public static final int NUMBER_OF_FLOORS = 10;
+    public static final long PERIOD = 1_000;
+
+    @Test
+    void reportTest() {
+        SpeedReporter reporter = SpeedReporter.of(List.of(Building.of(NUMBER_OF_FLOORS)), PERIOD);
+
+        assertDoesNotThrow(reporter::report);
+        assertDoesNotThrow(reporter::report);
+    }
+
+    @Test
+    void turnOffTest() throws InterruptedException {
+        SpeedReporter reporter = SpeedReporter.of(List.of(Building.of(NUMBER_OF_FLOORS)), PERIOD);
+
+        reporter.start();
+        reporter.turnOff();
+        reporter.join();
+
+        assertThat(reporter.isRunning(), equalTo(false));
+    }
+
+    @Test
+    void invalidReporterTest() {
+        assertThrows(IllegalArgumentException.class, () -> SpeedReporter.of(List.of(), PERIOD));
+        assertThrows(IllegalArgumentException.class,
+                () -> SpeedReporter.of(List.of(Building.of(NUMBER_OF_FLOORS)), 0));
+        assertThrows(NullPointerException.class, () -> SpeedReporter.of(null, PERIOD));
+    }
+}
@@ -0,0 +1,125 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TimeHistogramTest {
+    static Object[][] valueData() {
+        return new Object[][]{
+                {0},
+                {127},
+                {128},
+                {129},
+                {1_000},
+                {65_537},
+                {3_600_000},
+                {Long.MAX_VALUE}
+        };
+    }
+
+    static Object[][] percentileData() {
+        return new Object[][]{
+                {50},
+                {90},
+                {99},
+                {100}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("valueData")
+    void bucketTest(long value) {
+        int index = TimeHistogram.indexOf(value);
+
+        assertThat(TimeHistogram.upperBoundOf(index), greaterThanOrEqualTo(value));
+        assertThat(TimeHistogram.upperBoundOf(index) - value, lessThanOrEqualTo(value / 64));
+        if (index > 0) {
+            assertThat(TimeHistogram.upperBoundOf(index - 1), lessThan(value));
+        }
+    }
+
+    @Test
+    void smallValuesAreExactTest() {
+        TimeHistogram histogram = TimeHistogram.of();
+        for (int i = 1; i <= 100; i++) {
+            histogram.add(i);
+        }
+
+        assertThat(histogram.getCount(), equalTo(100L));
+        assertThat(histogram.getPercentile(50), equalTo(50L));
+        assertThat(histogram.getPercentile(99), equalTo(99L));
+        assertThat(histogram.getPercentile(100), equalTo(100L));
+        assertThat(histogram.getMean(), closeTo(50.5, 0.001));
+    }
+
+    @Test
+    void subtractTest() {
+        TimeHistogram histogram = TimeHistogram.of();
+        for (int i = 1; i <= 100; i++) {
+            histogram.add(i * 1_000L);
+        }
+        TimeHistogram earlier = histogram.copy();
+        histogram.add(500);
+        histogram.add(700);
+
+        histogram.subtract(earlier);
+
+        assertThat(histogram.getCount(), equalTo(2L));
+        assertThat(histogram.getMean(), closeTo(600, 0.001));
+        assertThat(histogram.getPercentile(100), equalTo(TimeHistogram.upperBoundOf(TimeHistogram.indexOf(700))));
+        assertThrows(IllegalArgumentException.class, () -> histogram.subtract(earlier));
+    }
+
+    @Test
+    void copyTest() {
+        TimeHistogram histogram = TimeHistogram.of();
+        histogram.add(3);
+        histogram.add(3_600_000);
+
+        TimeHistogram restored = TimeHistogram.of(histogram.getCounts(), histogram.getSum(), histogram.getMaxValue());
+        histogram.clear();
+
+        assertThat(histogram.getCount(), equalTo(0L));
+        assertThat(restored.getCount(), equalTo(2L));
+        assertThat(restored.getPercentile(50), equalTo(3L));
+        assertThat(restored.getPercentile(100), equalTo(3_600_000L));
+        assertThat(restored.copy().getMean(), closeTo(1_800_001.5, 0.001));
+    }
+
+    @ParameterizedTest
+    @MethodSource("percentileData")
+    void percentileTest(double percentile) {
+        Random random = new Random(7);
+        long[] values = new long[10_000];
+        TimeHistogram firstHistogram = TimeHistogram.of();
+        TimeHistogram secondHistogram = TimeHistogram.of();
+        for (int i = 0; i < 10_000; i++) {
+            long value = (long) (-60_000 * Math.log(1 - random.nextDouble()));
+            values[i] = value;
+            (i % 2 == 0 ? firstHistogram : secondHistogram).add(value);
+        }
+
+        Arrays.sort(values);
+        long expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+        long actual = firstHistogram.merge(secondHistogram).getPercentile(percentile);
+
+        assertThat(actual, greaterThanOrEqualTo(expected));
+        assertThat(actual - expected, lessThanOrEqualTo(expected / 64));
+    }
+
+    @Test
+    void emptyHistogramTest() {
+        assertThat(TimeHistogram.of().getPercentile(99), equalTo(0L));
+        assertThat(TimeHistogram.of().getMean(), closeTo(0, 0.001));
+        assertThrows(IllegalArgumentException.class, () -> TimeHistogram.of().getPercentile(0));
+        assertThrows(IllegalArgumentException.class, () -> TimeHistogram.of().add(-1));
+    }
+}
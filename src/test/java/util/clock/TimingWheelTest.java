@@ -0,0 +1,115 @@
+package util.clock;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TimingWheelTest {
+    public static final long SEED = 7;
+    public static final int NUMBER_OF_TIMERS = 1_000;
+
+    static Object[][] horizonData() {
+        return new Object[][]{
+                {10},
+                {5_000},
+                {10_000_000},
+                {Long.MAX_VALUE / 4}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("horizonData")
+    void pollInOrderTest(long horizon) {
+        Random random = new Random(SEED);
+        TimingWheel wheel = TimingWheel.of();
+        TimingWheel.Timer[] timers = new TimingWheel.Timer[NUMBER_OF_TIMERS];
+        PriorityQueue<TimingWheel.Timer> expectedTimers = new PriorityQueue<>(Comparator
+                .comparingLong(TimingWheel.Timer::getDeadline)
+                .thenComparingInt(TimingWheel.Timer::getPriority));
+        for (int i = 0; i < NUMBER_OF_TIMERS; i++) {
+            timers[i] = TimingWheel.Timer.of(i);
+            wheel.schedule(timers[i], Math.floorMod(random.nextLong(), horizon));
+            expectedTimers.add(timers[i]);
+        }
+
+        // every polled timer is scheduled again later, as a car is after its step
+        for (int i = 0; i < 10 * NUMBER_OF_TIMERS; i++) {
+            TimingWheel.Timer expectedTimer = expectedTimers.poll();
+            TimingWheel.Timer timer = wheel.poll();
+
+            assertThat(timer, sameInstance(expectedTimer));
+            assertThat(wheel.getTime(), equalTo(timer.getDeadline()));
+
+            wheel.schedule(timer, timer.getDeadline() + Math.floorMod(random.nextLong(), Math.min(horizon, 1L << 40)));
+            expectedTimers.add(timer);
+        }
+        assertThat(wheel.size(), equalTo(NUMBER_OF_TIMERS));
+    }
+
+    @Test
+    void samePriorityOrderTest() {
+        TimingWheel wheel = TimingWheel.of();
+        TimingWheel.Timer firstTimer = TimingWheel.Timer.of(1);
+        TimingWheel.Timer secondTimer = TimingWheel.Timer.of(2);
+        wheel.schedule(secondTimer, 100_000);
+        wheel.schedule(firstTimer, 100_000);
+
+        assertThat(wheel.poll(), sameInstance(firstTimer));
+        assertThat(wheel.poll(), sameInstance(secondTimer));
+        assertThat(wheel.poll(), nullValue());
+    }
+
+    @Test
+    void cancelTest() {
+        TimingWheel wheel = TimingWheel.of();
+        TimingWheel.Timer firstTimer = TimingWheel.Timer.of(0);
+        TimingWheel.Timer secondTimer = TimingWheel.Timer.of(1);
+        wheel.schedule(firstTimer, 70);
+        wheel.schedule(secondTimer, 5_000);
+
+        wheel.cancel(firstTimer);
+        wheel.cancel(firstTimer);
+
+        assertThat(firstTimer.isScheduled(), is(false));
+        assertThat(wheel.size(), equalTo(1));
+        assertThat(wheel.peek(), sameInstance(secondTimer));
+    }
+
+    @Test
+    void rescheduleTest() {
+        TimingWheel wheel = TimingWheel.of();
+        TimingWheel.Timer firstTimer = TimingWheel.Timer.of(0);
+        TimingWheel.Timer secondTimer = TimingWheel.Timer.of(1);
+        wheel.schedule(firstTimer, 10);
+        wheel.schedule(secondTimer, 20);
+
+        wheel.schedule(firstTimer, 30);
+
+        assertThat(wheel.size(), equalTo(2));
+        assertThat(wheel.poll(), sameInstance(secondTimer));
+        assertThat(wheel.poll(), sameInstance(firstTimer));
+        assertThat(wheel.isEmpty(), is(true));
+    }
+
+    @Test
+    void advanceTest() {
+        TimingWheel wheel = TimingWheel.of();
+        TimingWheel.Timer timer = TimingWheel.Timer.of(0);
+        wheel.schedule(timer, 300_000);
+
+        wheel.advanceTo(299_999);
+
+        assertThat(wheel.peek(), sameInstance(timer));
+        assertThrows(IllegalArgumentException.class, () -> wheel.advanceTo(300_001));
+        assertThrows(IllegalArgumentException.class, () -> wheel.advanceTo(1));
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule(TimingWheel.Timer.of(1), 1));
+    }
+}
@@ -0,0 +1,37 @@
+package util.clock;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VirtualClockTest {
+    public static final long START_TIME = 1000;
+    public static final long PAUSE_TIME = 500;
+
+    @Test
+    void pauseTest() {
+        VirtualClock clock = VirtualClock.of(START_TIME);
+
+        clock.pause(PAUSE_TIME);
+
+        assertThat(clock.currentTime(), equalTo(START_TIME + PAUSE_TIME));
+    }
+
+    @Test
+    void setTimeTest() {
+        VirtualClock clock = VirtualClock.of();
+
+        clock.setTime(START_TIME);
+
+        assertThat(clock.currentTime(), equalTo(START_TIME));
+    }
+
+    @Test
+    void invalidPauseTest() {
+        VirtualClock clock = VirtualClock.of();
+
+        assertThrows(IllegalArgumentException.class, () -> clock.pause(-1));
+    }
+}
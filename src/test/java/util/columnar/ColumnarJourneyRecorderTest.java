@@ -0,0 +1,62 @@
+package util.columnar;
+
+import building.dispatch.DispatchStrategyType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import simulation.Simulation;
+import simulation.SimulationParameters;
+import simulation.SimulationResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class ColumnarJourneyRecorderTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordSimulationTest() throws IOException {
+        Simulation simulation = Simulation.of(SimulationParameters.builder()
+                .numberOfFloors(10)
+                .numberOfElevators(3)
+                .capacity(500)
+                .moveSpeed(100)
+                .doorWorkSpeed(100)
+                .arrivalRate(30)
+                .strategy(DispatchStrategyType.NEAREST_CAR)
+                .duration(10 * Simulation.MILLIS_IN_MINUTE)
+                .seed(7)
+                .build());
+
+        SimulationResult result;
+        try (ColumnarJourneyRecorder recorder = ColumnarJourneyRecorder.of(directory)) {
+            simulation.getBuilding().getStatistics().setRecorder(recorder);
+            result = simulation.run();
+        }
+
+        try (ColumnarReader passengers = ColumnarReader.of(
+                directory.resolve(ColumnarJourneyRecorder.PASSENGERS_FILE));
+             ColumnarReader rides = ColumnarReader.of(directory.resolve(ColumnarJourneyRecorder.RIDES_FILE));
+             ColumnarReader movements = ColumnarReader.of(
+                     directory.resolve(ColumnarJourneyRecorder.MOVEMENTS_FILE))) {
+            Map<String, LongSummaryStatistics> passengerSummary = ColumnarQuery.of(passengers).summarize();
+            Map<String, LongSummaryStatistics> rideSummary = ColumnarQuery.of(rides).summarize();
+            Map<String, LongSummaryStatistics> movementSummary = ColumnarQuery.of(movements).summarize();
+
+            assertThat(passengers.getNames(), equalTo(ColumnarJourneyRecorder.PASSENGER_COLUMNS));
+            assertThat(passengers.getNumberOfRows(), equalTo((long) result.getNumberOfDeliveredPeople()));
+            assertThat(rides.getNumberOfRows(), equalTo(passengerSummary.get("rides").getSum()));
+            assertThat(passengerSummary.get("rides").getMin(), equalTo(1L));
+            assertThat(passengerSummary.get("wait_time").getMin(), greaterThanOrEqualTo(0L));
+            assertThat(rideSummary.get("elevator").getMax(), lessThan(3L));
+            assertThat(rideSummary.get("alighting_time").getMax(), lessThanOrEqualTo(result.getSimulatedTime()));
+            assertThat(movements.getNumberOfRows(), greaterThan(rides.getNumberOfRows()));
+            assertThat(movementSummary.get("start_time").getMax(), lessThanOrEqualTo(result.getSimulatedTime()));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package util.columnar;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColumnarQueryTest {
+    public static final int NUMBER_OF_ROWS = 10;
+
+    @TempDir
+    Path directory;
+
+    static Object[][] filterData() {
+        return new Object[][]{
+                {0, 9, 10, 0, 9},
+                {3, 5, 3, 3, 5},
+                {8, 20, 2, 8, 9}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("filterData")
+    void whereTest(long from, long to, long count, long min, long max) throws IOException {
+        Path path = ColumnarWriterTest.writeRows(directory.resolve("table.columnar"), NUMBER_OF_ROWS);
+
+        try (ColumnarReader reader = ColumnarReader.of(path)) {
+            Map<String, LongSummaryStatistics> summary = ColumnarQuery.of(reader).where("floor", from, to).summarize();
+
+            assertThat(summary.keySet(), contains("floor", "time"));
+            assertThat(summary.get("floor").getCount(), equalTo(count));
+            assertThat(summary.get("floor").getMin(), equalTo(min));
+            assertThat(summary.get("floor").getMax(), equalTo(max));
+            assertThat(summary.get("time").getMax(), equalTo(max * 1_000_000_000_000L));
+        }
+    }
+
+    @Test
+    void combinedFiltersTest() throws IOException {
+        Path path = ColumnarWriterTest.writeRows(directory.resolve("table.columnar"), NUMBER_OF_ROWS);
+
+        try (ColumnarReader reader = ColumnarReader.of(path)) {
+            Map<String, LongSummaryStatistics> summary = ColumnarQuery.of(reader)
+                    .where("floor", 2, 8)
+                    .where("time", 5_000_000_000_000L, Long.MAX_VALUE)
+                    .summarize();
+
+            assertThat(summary.get("floor").getCount(), equalTo(4L));
+        }
+    }
+
+    @Test
+    void unknownColumnTest() throws IOException {
+        Path path = ColumnarWriterTest.writeRows(directory.resolve("table.columnar"), NUMBER_OF_ROWS);
+
+        try (ColumnarReader reader = ColumnarReader.of(path)) {
+            assertThrows(IllegalArgumentException.class, () -> ColumnarQuery.of(reader).where("speed", 0, 1));
+            assertThrows(IllegalArgumentException.class, () -> ColumnarQuery.of(reader).where("floor", 1, 0));
+        }
+    }
+}
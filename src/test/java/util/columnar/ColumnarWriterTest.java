@@ -0,0 +1,103 @@
+package util.columnar;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColumnarWriterTest {
+    public static final List<String> NAMES = List.of("floor", "time");
+    public static final List<ColumnType> TYPES = List.of(ColumnType.INT, ColumnType.LONG);
+    public static final int CHUNK_SIZE = 4;
+
+    @TempDir
+    Path directory;
+
+    static Object[][] numberOfRowsData() {
+        return new Object[][]{
+                {0, 0},
+                {3, 1},
+                {4, 1},
+                {9, 3}
+        };
+    }
+
+    static Path writeRows(Path path, int numberOfRows) throws IOException {
+        try (ColumnarWriter writer = ColumnarWriter.of(path, NAMES, TYPES, CHUNK_SIZE)) {
+            for (int i = 0; i < numberOfRows; i++) {
+                writer.setInt(0, i);
+                writer.setLong(1, i * 1_000_000_000_000L);
+                writer.endRow();
+            }
+        }
+
+        return path;
+    }
+
+    @ParameterizedTest
+    @MethodSource("numberOfRowsData")
+    void readWrittenRowsTest(int numberOfRows, int numberOfChunks) throws IOException {
+        Path path = writeRows(directory.resolve("table.columnar"), numberOfRows);
+
+        try (ColumnarReader reader = ColumnarReader.of(path)) {
+            assertThat(reader.getNames(), equalTo(NAMES));
+            assertThat(reader.getTypes(), equalTo(TYPES));
+            assertThat(reader.getNumberOfRows(), equalTo((long) numberOfRows));
+            assertThat(reader.getNumberOfChunks(), equalTo(numberOfChunks));
+
+            int row = 0;
+            for (int i = 0; i < reader.getNumberOfChunks(); i++) {
+                ColumnarReader.Chunk chunk = reader.readChunk(i);
+                for (int j = 0; j < chunk.getNumberOfRows(); j++, row++) {
+                    assertThat(chunk.getInt(0, j), equalTo(row));
+                    assertThat(chunk.getLong(0, j), equalTo((long) row));
+                    assertThat(chunk.getLong(1, j), equalTo(row * 1_000_000_000_000L));
+                }
+            }
+            assertThat(row, equalTo(numberOfRows));
+        }
+    }
+
+    @Test
+    void wrongColumnTypeTest() throws IOException {
+        try (ColumnarWriter writer = ColumnarWriter.of(directory.resolve("table.columnar"), NAMES, TYPES)) {
+            assertThrows(IllegalArgumentException.class, () -> writer.setLong(0, 1));
+            assertThrows(IllegalArgumentException.class, () -> writer.setInt(1, 1));
+        }
+    }
+
+    @Test
+    void invalidColumnsTest() {
+        Path path = directory.resolve("table.columnar");
+
+        assertThrows(IllegalArgumentException.class, () -> ColumnarWriter.of(path, List.of(), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> ColumnarWriter.of(path, NAMES, List.of(ColumnType.INT)));
+        assertThrows(IllegalArgumentException.class, () -> ColumnarWriter.of(path, NAMES, TYPES, 0));
+    }
+
+    @Test
+    void truncatedFileTest() throws IOException {
+        Path path = writeRows(directory.resolve("table.columnar"), 9);
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThrows(IllegalArgumentException.class, () -> ColumnarReader.of(path));
+    }
+
+    @Test
+    void notColumnarFileTest() throws IOException {
+        Path path = Files.write(directory.resolve("table.columnar"), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(IllegalArgumentException.class, () -> ColumnarReader.of(path));
+    }
+}
@@ -0,0 +1,82 @@
+package util.columnar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LongSummaryStatistics;
+import java.util.SortedMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JourneyAnalyticsTest {
+    public static final long HOUR = JourneyAnalytics.MILLIS_IN_HOUR;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void init() throws IOException {
+        try (ColumnarJourneyRecorder recorder = ColumnarJourneyRecorder.of(directory)) {
+            for (int i = 1; i <= 100; i++) {
+                recorder.recordPassenger(0, 5, 70, i, i + 50_000, i, 1);
+                recorder.recordPassenger(3, 0, 70, HOUR + i, HOUR + i + 50_000, 10 * i, 1);
+            }
+            recorder.recordPassenger(3, 0, 70, 100, 50_000, 5, 1);
+
+            recorder.recordMovement(0, 0, 0, 1, 0, 1_000);
+            recorder.recordMovement(0, 0, 5, 1, 1_000, 6_000);
+            recorder.recordMovement(0, 5, 5, 0, 6_000, 7_000);
+            recorder.recordMovement(0, 5, 0, 0, 7_000, 12_000);
+            recorder.recordMovement(0, 0, 0, 2, 20_000, 21_000);
+            recorder.recordMovement(0, 0, 3, 2, 21_000, 24_000);
+            recorder.recordMovement(0, 3, 3, 0, 24_000, 25_000);
+            recorder.recordMovement(0, 3, 0, 0, 25_000, 28_000);
+            recorder.recordMovement(0, 0, 2, 1, 28_000, 30_000);
+            recorder.recordMovement(1, 0, 4, 1, 0, 40_000);
+        }
+    }
+
+    @Test
+    void waitPercentilesTest() throws IOException {
+        SortedMap<Integer, SortedMap<Integer, Long>> waits = JourneyAnalytics.of(directory).getWaitPercentiles(99);
+
+        assertThat(waits.keySet(), contains(0, 3));
+        assertThat(waits.get(0).keySet(), contains(0));
+        assertThat(waits.get(0).get(0), equalTo(99L));
+        assertThat(waits.get(3).keySet(), contains(0, 1));
+        assertThat(waits.get(3).get(0), equalTo(5L));
+        assertThat(waits.get(3).get(1), allOf(greaterThanOrEqualTo(990L), lessThanOrEqualTo(1_000L)));
+    }
+
+    @Test
+    void utilisationTest() throws IOException {
+        SortedMap<Integer, Double> utilisation = JourneyAnalytics.of(directory).getUtilisation();
+
+        assertThat(utilisation.keySet(), contains(0, 1));
+        assertThat(utilisation.get(0), closeTo(22_000.0 / 40_000, 1e-9));
+        assertThat(utilisation.get(1), closeTo(1.0, 1e-9));
+    }
+
+    @Test
+    void roundTripTimesTest() throws IOException {
+        SortedMap<Integer, LongSummaryStatistics> roundTrips = JourneyAnalytics.of(directory).getRoundTripTimes(0);
+
+        assertThat(roundTrips.get(0).getCount(), equalTo(2L));
+        assertThat(roundTrips.get(0).getMin(), equalTo(7_000L));
+        assertThat(roundTrips.get(0).getMax(), equalTo(12_000L));
+        assertThat(roundTrips.get(1).getCount(), equalTo(0L));
+    }
+
+    @Test
+    void invalidArgumentsTest() {
+        JourneyAnalytics analytics = JourneyAnalytics.of(directory);
+
+        assertThrows(IllegalArgumentException.class, () -> analytics.getWaitPercentiles(0));
+        assertThrows(IllegalArgumentException.class, () -> analytics.getRoundTripTimes(-1));
+    }
+}
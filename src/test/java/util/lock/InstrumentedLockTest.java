@@ -0,0 +1,121 @@
+package util.lock;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class InstrumentedLockTest {
+    public static final long HOLD_TIME = 50;
+
+    static Object[][] percentileData() {
+        return new Object[][]{
+                {0, 1},
+                {1, 1},
+                {2, 3},
+                {1_000, 1_023},
+                {1_024, 2_047}
+        };
+    }
+
+    private static InstrumentedLock lock(LockStatistics statistics) {
+        return new InstrumentedLock(new ReentrantLock(true), statistics);
+    }
+
+    @Test
+    void countOutermostAcquisitionsTest() {
+        LockStatistics statistics = LockStatistics.of("test");
+        Lock lock = lock(statistics);
+
+        lock.lock();
+        lock.lock();
+        assertThat(lock.tryLock(), is(true));
+        lock.unlock();
+        lock.unlock();
+        lock.unlock();
+
+        assertThat(statistics.getNumberOfAcquisitions(), equalTo(1L));
+        assertThat(statistics.getNumberOfContendedAcquisitions(), equalTo(0L));
+        assertThat(statistics.toCsvRow(), startsWith("test,1,0,"));
+    }
+
+    @Test
+    void recordContendedWaitTest() throws InterruptedException {
+        LockStatistics statistics = LockStatistics.of("test");
+        Lock lock = lock(statistics);
+        CountDownLatch isLocked = new CountDownLatch(1);
+
+        Thread holder = new Thread(() -> {
+            lock.lock();
+            isLocked.countDown();
+            try {
+                TimeUnit.MILLISECONDS.sleep(HOLD_TIME);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+        holder.start();
+        isLocked.await();
+        lock.lock();
+        lock.unlock();
+        holder.join();
+
+        assertThat(statistics.getNumberOfAcquisitions(), equalTo(2L));
+        assertThat(statistics.getNumberOfContendedAcquisitions(), equalTo(1L));
+        assertThat(statistics.getMaxWaitTime(), greaterThan(TimeUnit.MILLISECONDS.toNanos(HOLD_TIME / 2)));
+        assertThat(statistics.getMaxHoldTime(), greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(HOLD_TIME)));
+        assertThat(statistics.getWaitTime(100), greaterThanOrEqualTo(statistics.getMaxWaitTime()));
+    }
+
+    @Test
+    void awaitEndsHoldTest() throws InterruptedException {
+        LockStatistics statistics = LockStatistics.of("test");
+        Lock lock = lock(statistics);
+        Condition condition = lock.newCondition();
+
+        lock.lock();
+        assertThat(condition.await(HOLD_TIME, TimeUnit.MILLISECONDS), is(false));
+        lock.unlock();
+
+        assertThat(statistics.getNumberOfAcquisitions(), equalTo(1L));
+        assertThat(statistics.getTotalHoldTime(), lessThan(TimeUnit.MILLISECONDS.toNanos(HOLD_TIME)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("percentileData")
+    void percentileTest(long value, long expectedPercentile) {
+        LockHistogram histogram = new LockHistogram();
+        histogram.add(value);
+        histogram.add(Long.MAX_VALUE);
+
+        assertThat(histogram.getPercentile(50), equalTo(expectedPercentile));
+        assertThat(histogram.getPercentile(100), equalTo(Long.MAX_VALUE));
+    }
+
+    @Test
+    void profilerTest() {
+        assertThat(LockProfiler.newLock("LockProfilerTest.disabled", true), instanceOf(ReentrantLock.class));
+
+        LockProfiler.enable();
+        try {
+            Lock lock = LockProfiler.newLock("LockProfilerTest.enabled", true);
+            lock.lock();
+            lock.unlock();
+
+            assertThat(lock, instanceOf(InstrumentedLock.class));
+            assertThat(LockProfiler.getStatistics(), hasItem(hasProperty("name", equalTo("LockProfilerTest.enabled"))));
+        } finally {
+            LockProfiler.disable();
+        }
+    }
+}